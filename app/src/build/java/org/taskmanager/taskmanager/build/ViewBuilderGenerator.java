@@ -0,0 +1,385 @@
+package org.taskmanager.taskmanager.build;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+
+/**
+ * This class is run by Maven in the generate-sources phase and turns every
+ * FXML view of the application into a plain Java builder class, so that the
+ * views are created without the FXMLLoader at runtime. The FXML files remain
+ * the source of truth, a view called TaskManagement.fxml generates the class
+ * TaskManagementView in the package of its controller, with a static build method
+ * that creates the nodes, sets the @FXML fields of the controller and the event
+ * handlers directly, and returns the root of the view.
+ * Only the elements and attributes that the views of the application use are
+ * supported, anything else fails the build instead of being silently ignored.
+ * It is run as a single-file source program, so it only depends on the JDK.
+ */
+public class ViewBuilderGenerator {
+
+    private static final String FX_NAMESPACE = "http://javafx.com/fxml";
+
+    // Classes that take type arguments, they are created with the diamond operator.
+    private static final Set<String> GENERIC_TYPES = Set.of("TableView", "TableColumn", "ComboBox", "ListView");
+
+    // Attributes that are set through a setter taking a String.
+    private static final Set<String> STRING_ATTRIBUTES = Set.of("text", "promptText", "style");
+
+    // Attributes that are set through a setter taking a double.
+    private static final Set<String> DOUBLE_ATTRIBUTES = Set.of("spacing", "prefWidth", "prefHeight", "maxWidth", "maxHeight");
+
+    // Attributes that are set through a setter taking a boolean.
+    private static final Set<String> BOOLEAN_ATTRIBUTES = Set.of("disable");
+
+    // Property elements that are read-only lists, their children are added to the list.
+    private static final Set<String> LIST_PROPERTIES = Set.of("columns", "children");
+
+    // The modifiers that can come before the type of an @FXML field or handler.
+    private static final String MODIFIERS = "((?:(?:public|protected|private|static|final)\\s+)*)";
+
+    private final Path sourceRoot;
+    private final StringBuilder body = new StringBuilder();
+    private Set<String> controllerFields;
+    private String controllerSource;
+    private int variableCount;
+
+    /**
+     * Constructor of the generator.
+     * @param sourceRoot The root of the Java sources, used to find the controllers.
+     */
+    private ViewBuilderGenerator(Path sourceRoot) {
+        this.sourceRoot = sourceRoot;
+    }
+
+    /**
+     * Generates the builder classes of all FXML views.
+     * @param args The views directory, the Java source root and the output directory.
+     * @throws Exception In case a view cannot be read or uses something that is not supported.
+     */
+    public static void main(String[] args) throws Exception {
+
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: ViewBuilderGenerator <views dir> <source root> <output dir>");
+        }
+
+        Path viewsDirectory = Paths.get(args[0]);
+        Path sourceRoot = Paths.get(args[1]);
+        Path outputDirectory = Paths.get(args[2]);
+
+        List<Path> views;
+        try (Stream<Path> files = Files.list(viewsDirectory)) {
+            views = files.filter(file -> file.toString().endsWith(".fxml")).sorted().collect(Collectors.toList());
+        }
+
+        for (Path view : views) {
+            new ViewBuilderGenerator(sourceRoot).generate(view, outputDirectory);
+        }
+        System.out.println("Generated " + views.size() + " view builders in " + outputDirectory);
+    }
+
+    /**
+     * Generates the builder class of a single FXML view.
+     * @param view The FXML file of the view.
+     * @param outputDirectory The root directory of the generated sources.
+     * @throws Exception In case the view cannot be read or uses something that is not supported.
+     */
+    private void generate(Path view, Path outputDirectory) throws Exception {
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(view.toFile());
+        Element root = document.getDocumentElement();
+
+        // The controller decides the package of the builder and the fields it can set.
+        String controllerClass = root.getAttributeNS(FX_NAMESPACE, "controller");
+        if (controllerClass.isEmpty()) {
+            throw new IllegalStateException(view + ": the root element needs an fx:controller");
+        }
+        String controllerPackage = controllerClass.substring(0, controllerClass.lastIndexOf('.'));
+        String controllerName = controllerClass.substring(controllerClass.lastIndexOf('.') + 1);
+        readController(controllerClass);
+
+        // The imports of the FXML file are the imports of the builder.
+        Set<String> imports = new LinkedHashSet<>();
+        for (Node node = document.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof ProcessingInstruction && ((ProcessingInstruction) node).getTarget().equals("import")) {
+                imports.add(((ProcessingInstruction) node).getData().trim());
+            }
+        }
+
+        String viewName = view.getFileName().toString().replace(".fxml", "");
+        String rootVariable = createElement(root, view);
+
+        // Mirror the FXMLLoader, which calls a no-argument initialize method of the controller.
+        if (Pattern.compile("void\\s+initialize\\s*\\(\\s*\\)").matcher(controllerSource).find()) {
+            body.append("        controller.initialize();\n");
+        }
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(controllerPackage).append(";\n\n");
+        for (String anImport : imports) {
+            source.append("import ").append(anImport).append(";\n");
+        }
+        source.append("\n/**\n")
+                .append(" * Builds the view of ").append(view.getFileName()).append(" without the FXMLLoader.\n")
+                .append(" * Generated by ViewBuilderGenerator from the FXML file, do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(viewName).append("View {\n\n")
+                .append("    private ").append(viewName).append("View() {}\n\n")
+                .append("    /**\n")
+                .append("     * Creates the nodes of the view and sets the @FXML fields and event handlers of the controller.\n")
+                .append("     * @param controller The controller of the view.\n")
+                .append("     * @return The root of the view.\n")
+                .append("     */\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public static ").append(root.getLocalName()).append(" build(").append(controllerName).append(" controller) {\n")
+                .append(body)
+                .append("        return ").append(rootVariable).append(";\n")
+                .append("    }\n")
+                .append("}\n");
+
+        Path outputFile = outputDirectory.resolve(controllerPackage.replace('.', '/')).resolve(viewName + "View.java");
+        Files.createDirectories(outputFile.getParent());
+        Files.write(outputFile, source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the source of the controller and finds its fields, which are the
+     * only fx:ids that are set on the controller, as the FXMLLoader does.
+     * @param controllerClass The fully qualified name of the controller.
+     * @throws IOException In case the controller source cannot be read.
+     */
+    private void readController(String controllerClass) throws IOException {
+
+        Path controllerFile = sourceRoot.resolve(controllerClass.replace('.', '/') + ".java");
+        controllerSource = new String(Files.readAllBytes(controllerFile), StandardCharsets.UTF_8);
+        controllerFields = new LinkedHashSet<>();
+
+        Matcher matcher = Pattern.compile("@FXML\\s+" + MODIFIERS + "[\\w<>, ?]+\\s+(\\w+)\\s*;").matcher(controllerSource);
+        while (matcher.find()) {
+            if (matcher.group(1).contains("private")) {
+                throw new IllegalStateException(controllerClass + ": @FXML field " + matcher.group(2)
+                        + " must not be private, the generated view builder sets it directly");
+            }
+            controllerFields.add(matcher.group(2));
+        }
+    }
+
+    /**
+     * Generates the statements that create an element, set its attributes and add its children.
+     * @param element The element to create.
+     * @param view The FXML file, used for error messages.
+     * @return The expression that refers to the created object.
+     */
+    private String createElement(Element element, Path view) {
+
+        String type = element.getLocalName();
+        String id = element.getAttributeNS(FX_NAMESPACE, "id");
+        String value = element.getAttributeNS(FX_NAMESPACE, "value");
+        String factoryMethod = element.getAttributeNS(FX_NAMESPACE, "factory");
+
+        String variable;
+        if (!value.isEmpty()) {
+            return type + ".valueOf(" + quote(value) + ")";
+        }
+        else if (!factoryMethod.isEmpty()) {
+            // Collections made by a factory take the type of their children.
+            List<String> children = new ArrayList<>();
+            String elementType = "Object";
+            for (Element child : childElements(element)) {
+                children.add(createElement(child, view));
+                elementType = child.getLocalName();
+            }
+            variable = nextVariable("list");
+            body.append("        javafx.collections.ObservableList<").append(elementType).append("> ").append(variable)
+                    .append(" = ").append(type).append(".").append(factoryMethod).append("();\n");
+            for (String child : children) {
+                body.append("        ").append(variable).append(".add(").append(child).append(");\n");
+            }
+            return variable;
+        }
+        else if (!id.isEmpty() && controllerFields.contains(id)) {
+            variable = "controller." + id;
+            body.append("        ").append(variable).append(" = new ").append(type)
+                    .append(GENERIC_TYPES.contains(type) ? "<>" : "").append("();\n");
+        }
+        else {
+            variable = nextVariable(type);
+            body.append("        ").append(type).append(" ").append(variable).append(" = new ").append(type).append("();\n");
+        }
+
+        if (!id.isEmpty()) {
+            body.append("        ").append(variable).append(".setId(").append(quote(id)).append(");\n");
+        }
+
+        setAttributes(element, variable, view);
+
+        // Lower case children are properties, upper case children are added to the children of a pane.
+        for (Element child : childElements(element)) {
+
+            String name = child.getLocalName();
+
+            if (Character.isUpperCase(name.charAt(0))) {
+                String childVariable = createElement(child, view);
+                body.append("        ").append(variable).append(".getChildren().add(").append(childVariable).append(");\n");
+            }
+            else if (LIST_PROPERTIES.contains(name)) {
+                for (Element item : childElements(child)) {
+                    String itemVariable = createElement(item, view);
+                    body.append("        ").append(variable).append(".get").append(capitalize(name))
+                            .append("().add(").append(itemVariable).append(");\n");
+                }
+            }
+            else {
+                List<Element> values = childElements(child);
+                if (values.size() != 1) {
+                    throw new IllegalStateException(view + ": property " + name + " needs exactly one value");
+                }
+                String valueVariable = createElement(values.get(0), view);
+                body.append("        ").append(variable).append(".set").append(capitalize(name))
+                        .append("(").append(valueVariable).append(");\n");
+            }
+        }
+
+        return variable;
+    }
+
+    /**
+     * Generates the statements that set the attributes of an element.
+     * @param element The element whose attributes are set.
+     * @param variable The expression that refers to the created object.
+     * @param view The FXML file, used for error messages.
+     */
+    private void setAttributes(Element element, String variable, Path view) {
+
+        NamedNodeMap attributes = element.getAttributes();
+
+        for (int i = 0; i < attributes.getLength(); i++) {
+
+            Attr attribute = (Attr) attributes.item(i);
+            String name = attribute.getLocalName() != null ? attribute.getLocalName() : attribute.getName();
+            String value = attribute.getValue();
+
+            // Namespaces and fx: attributes were already handled.
+            if (attribute.getName().startsWith("xmlns") || FX_NAMESPACE.equals(attribute.getNamespaceURI())) {
+                continue;
+            }
+
+            body.append("        ");
+            if (STRING_ATTRIBUTES.contains(name)) {
+                body.append(variable).append(".set").append(capitalize(name)).append("(").append(quote(value)).append(");\n");
+            }
+            else if (DOUBLE_ATTRIBUTES.contains(name)) {
+                body.append(variable).append(".set").append(capitalize(name)).append("(").append(Double.parseDouble(value)).append(");\n");
+            }
+            else if (BOOLEAN_ATTRIBUTES.contains(name)) {
+                body.append(variable).append(".set").append(capitalize(name)).append("(").append(Boolean.parseBoolean(value)).append(");\n");
+            }
+            else if (name.equals("alignment")) {
+                body.append(variable).append(".setAlignment(javafx.geometry.Pos.").append(value).append(");\n");
+            }
+            else if (name.equals("styleClass")) {
+                body.append(variable).append(".getStyleClass().add(").append(quote(value)).append(");\n");
+            }
+            else if (name.startsWith("on") && value.startsWith("#")) {
+                body.append(variable).append(".set").append(capitalize(name)).append("(event -> ")
+                        .append(handlerCall(value.substring(1), view)).append(");\n");
+            }
+            else {
+                throw new IllegalStateException(view + ": attribute " + name + " of " + element.getLocalName() + " is not supported");
+            }
+        }
+    }
+
+    /**
+     * Creates the call of an event handler of the controller, with or without the event.
+     * @param method The name of the handler method.
+     * @param view The FXML file, used for error messages.
+     * @return The call of the handler.
+     */
+    private String handlerCall(String method, Path view) {
+
+        Matcher matcher = Pattern.compile("@FXML\\s+" + MODIFIERS + "\\w+\\s+" + method + "\\s*\\(\\s*(\\w*)").matcher(controllerSource);
+        if (!matcher.find()) {
+            throw new IllegalStateException(view + ": no @FXML handler " + method + " in the controller");
+        }
+        if (matcher.group(1).contains("private")) {
+            throw new IllegalStateException(view + ": @FXML handler " + method
+                    + " must not be private, the generated view builder calls it directly");
+        }
+        return "controller." + method + (matcher.group(2).isEmpty() ? "()" : "(event)");
+    }
+
+    /**
+     * Returns the child elements of an element, comments and text are skipped.
+     * @param element The parent element.
+     * @return The child elements in document order.
+     */
+    private static List<Element> childElements(Element element) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element) {
+                children.add((Element) node);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Creates a new unique local variable name for a type.
+     * @param type The type of the variable.
+     * @return The variable name.
+     */
+    private String nextVariable(String type) {
+        return Character.toLowerCase(type.charAt(0)) + type.substring(1) + variableCount++;
+    }
+
+    /**
+     * Capitalizes the first letter of a name, used for setters and getters.
+     * @param name The name of the property.
+     * @return The capitalized name.
+     */
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Turns a value into a Java string literal.
+     * @param value The value of the attribute.
+     * @return The Java string literal.
+     */
+    private static String quote(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': literal.append("\\\""); break;
+                case '\\': literal.append("\\\\"); break;
+                case '\n': literal.append("\\n"); break;
+                case '\r': literal.append("\\r"); break;
+                case '\t': literal.append("\\t"); break;
+                default: literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
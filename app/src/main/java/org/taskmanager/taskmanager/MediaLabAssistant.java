@@ -1,17 +1,17 @@
 package org.taskmanager.taskmanager;
 
-import java.io.IOException;
 import java.util.Objects;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.stage.Stage;
 
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 
+import org.taskmanager.taskmanager.controller.MediaLabAssistantView;
 import org.taskmanager.taskmanager.controller.MediaLabController;
+import org.taskmanager.taskmanager.utils.StartupTimer;
 
 /**
  * Initial class that starts the application and opens the first controller
@@ -34,20 +34,21 @@ public class MediaLabAssistant extends Application {
 
     /**
      * Creates the mediaLabController and opens the MediaLab Assistant window.
+     * The window is shown right away with placeholders, and the data is then
+     * loaded in the background. The duration of each startup phase is reported.
      * @param primaryStage The primary stage of the application, MediaLab Assistant.
      */
     @Override
     public void start(Stage primaryStage) {
 
-        try {
+        StartupTimer startupTimer = new StartupTimer();
 
-            // Load the FXML file.
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/taskmanager/taskmanager/views/MediaLabAssistant.fxml"));
-            VBox root = loader.load();
+        try {
 
-            // Load the controller responding to the FXML file.
-            MediaLabController controller = loader.getController();
-            controller.initialize();
+            // Build the main view, the generated builder initializes the controller once.
+            MediaLabController controller = new MediaLabController();
+            VBox root = MediaLabAssistantView.build(controller);
+            startupTimer.phase("build main window");
 
             primaryStage.setTitle("MediaLab Assistant");
 
@@ -60,12 +61,14 @@ public class MediaLabAssistant extends Application {
             primaryStage.setOnCloseRequest(event -> controller.onClose(primaryStage));
 
             primaryStage.show();
+            startupTimer.phase("show main window");
+
+            // Fill the window with the data once it is shown.
+            controller.loadDataInBackground(startupTimer);
 
-        } catch (IOException e) {
+        } catch (RuntimeException e) {
             e.printStackTrace();
-            showAlert("Error", "Failed to load FXML.");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            showAlert("Error", "Failed to build the main window.");
         }
     }
 
@@ -6,10 +6,14 @@ import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
+import org.taskmanager.taskmanager.fx.ChangeBus;
+import org.taskmanager.taskmanager.fx.FxRepositories;
 import org.taskmanager.taskmanager.model.Category;
 import org.taskmanager.taskmanager.repository.*;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This is a class that controls the category Management window of the
@@ -19,36 +23,36 @@ import java.util.List;
 public class CategoryController {
 
     // The input elements needed.
-    @FXML private TextField categoryField;
+    @FXML TextField categoryField;
 
     // The table elements needed.
-    @FXML private TableView<Category> categoryTable;
-    @FXML private TableColumn<Category, Integer> categoryIDColumn;
-    @FXML private TableColumn<Category, String> nameColumn;
+    @FXML TableView<Category> categoryTable;
+    @FXML TableColumn<Category, Integer> categoryIDColumn;
+    @FXML TableColumn<Category, String> nameColumn;
 
-    // The controllers and repositories that are required by this controller.
-    private MediaLabController mediaLabController;
+    // The repositories that are required by this controller.
     private CategoryRepository categoryRepository;
     private TaskRepository taskRepository;
 
+    // Updates the table whenever the categories change, cancelled when the window is hidden.
+    private ChangeBus.Subscription changeSubscription;
+
     /**
      * The constructor of the CategoryController which is never used or called.
      */
     public CategoryController(){}
 
     /**
-     * This method is used to initialize properly the controller. The MediaLab controller and
+     * This method is used to initialize properly the controller. The
      * task and category repositories are required. Then it sets the cells of the table to show
      * the values we want. Finally, a listener is added in order to change the value of the
      * input elements to the ones of the category selected for easier updates and additions.
-     * @param mediaLabController The controller of the main (MediaLab Assistant) window.
      * @param taskRepository The task repository.
      * @param categoryRepository The category repository.
      */
-    public void initialize(MediaLabController mediaLabController, TaskRepository taskRepository, CategoryRepository categoryRepository) {
+    public void initialize(TaskRepository taskRepository, CategoryRepository categoryRepository) {
 
-        // Set the controllers and repositories.
-        this.mediaLabController = mediaLabController;
+        // Set the repositories.
         this.categoryRepository = categoryRepository;
         this.taskRepository = taskRepository;
 
@@ -57,7 +61,7 @@ public class CategoryController {
         nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
 
         // Set the items of the table and create the listener.
-        categoryTable.setItems(FXCollections.observableArrayList(categoryRepository.findAll()));
+        categoryTable.setItems(FXCollections.observableArrayList(FxRepositories.categories()));
         categoryTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
                 presetInputs(newSelection);
@@ -65,6 +69,8 @@ public class CategoryController {
                 clearInputs();
             }
         });
+
+        changeSubscription = ChangeBus.subscribe(EnumSet.of(ChangeTopic.CATEGORIES), this::onRepositoryChanged);
     }
 
     /**
@@ -75,10 +81,10 @@ public class CategoryController {
      * the category is added to the categoryTable. Finally, we update the app.
      */
     @FXML
-    private void addCategory() {
+    void addCategory() {
 
         String categoryName = categoryField.getText().trim();
-        List<Category> categories = categoryRepository.findAll();
+        List<Category> categories = FxRepositories.categories();
 
         // Check that there is a name to add.
         if (categoryName.isEmpty()) {
@@ -108,7 +114,7 @@ public class CategoryController {
      * the application.
      */
     @FXML
-    private void updateCategory() {
+    void updateCategory() {
 
         Category selectedCategory = categoryTable.getSelectionModel().getSelectedItem();
 
@@ -122,7 +128,7 @@ public class CategoryController {
         else {
 
             String categoryName = categoryField.getText().trim();
-            List<Category> categories = categoryRepository.findAll();
+            List<Category> categories = FxRepositories.categories();
 
             // Check that there is a name and that it doesn't already exist.
             if (categoryName.isEmpty()) {
@@ -149,7 +155,7 @@ public class CategoryController {
      * repository and the category from the category table.
      */
     @FXML
-    private void deleteCategory() {
+    void deleteCategory() {
 
         Category selectedCategory = categoryTable.getSelectionModel().getSelectedItem();
 
@@ -166,8 +172,6 @@ public class CategoryController {
             taskRepository.deleteTasksByCategory(selectedCategory.getCategoryId());
             // Delete the category from the category repository.
             categoryRepository.delete(selectedCategory.getCategoryId());
-            // Delete the category from the category table.
-            categoryTable.getItems().remove(selectedCategory);
 
             update();
         }
@@ -189,17 +193,29 @@ public class CategoryController {
     }
 
     /**
-     * update the category table and call the mediaLab Controller to update
-     * the application based on the updates in the categories.
+     * Clear the input elements after a change, the category table and the rest of the
+     * application are updated through the ChangeBus.
      */
     private void update(){
-        mediaLabController.updateMediaLabTables();
-        categoryTable.getItems().clear();
-        categoryTable.setItems(FXCollections.observableArrayList(categoryRepository.findAll()));
-        categoryTable.refresh();
         clearInputs();
     }
 
+    /**
+     * This method updates the category table after the categories changed,
+     * it is called by the ChangeBus at most once per pulse.
+     * @param changed The topics that changed since the last call.
+     */
+    private void onRepositoryChanged(Set<ChangeTopic> changed) {
+        categoryTable.setItems(FXCollections.observableArrayList(FxRepositories.categories()));
+    }
+
+    /**
+     * Cancels the subscription of the window to the ChangeBus, called when the window is hidden.
+     */
+    void close() {
+        changeSubscription.cancel();
+    }
+
     /**
      * Used to show an alert to the user.
      * @param title The title of the alert notification.
@@ -0,0 +1,165 @@
+package org.taskmanager.taskmanager.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.stage.Stage;
+
+import org.taskmanager.taskmanager.fx.FxRepositories;
+import org.taskmanager.taskmanager.model.*;
+import org.taskmanager.taskmanager.repository.*;
+
+/**
+ * This class is used to control the delayedTask pop up window.
+ * It has 6 methods, one for initializing, one for loading tasks,
+ * only called in the initialize method, one for adding the tasks that become
+ * delayed while the window is open, one for checking whether the window is open,
+ * one for creating the text of a task and one for closing. The list only holds the delayed tasks themselves,
+ * their text is created only for the rows that are visible.
+ */
+public class DelayedTaskPopUpController {
+
+    // Elements used for displaying the tasks and their count on the window.
+    @FXML ListView<Task> delayedTasksView;
+    @FXML Label delayedTasksCount;
+
+    // Elements used to help with the display elements.
+    private final ObservableList<Task> delayedTasks = FXCollections.observableArrayList();
+
+    /*
+        The text of the visible rows is built in this buffer, it is reused for every row
+        as the cells are only updated on the JavaFX thread.
+     */
+    private final StringBuilder textBuffer = new StringBuilder(256);
+
+    /**
+     * The constructor of the DelayedTaskPopUpController which is never used or called.
+     */
+    public DelayedTaskPopUpController(){}
+
+    /**
+     * This method initializes the controller, calls the loadDelayedTasks method
+     * and sets properly the FXML elements. The cells of the list create the text
+     * of their task only when they are shown.
+     * @param taskRepository The task repository of the application, used to get all tasks.
+     * @param categoryRepository The category repository of the application,
+     *                           used to get the category map to translate id to name.
+     * @param priorityRepository The priority repository of the application,
+     *                           used to get the priority map to translate id to level.
+     */
+    public void initialize(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+
+        // Load delayed tasks and count how many there are.
+        int delayedTasksCountInt = loadDelayedTasks(FxRepositories.tasks());
+
+        Map<Integer, String> categoryMapReverse = categoryRepository.getCategoryMapReverse();
+        Map<Integer, String> priorityMapReverse = priorityRepository.getPriorityMapReverse();
+
+        // Only the visible cells create the text of their task.
+        delayedTasksView.setCellFactory(param -> new ListCell<Task>() {
+
+            @Override
+            protected void updateItem(Task task, boolean empty) {
+                super.updateItem(task, empty);
+                if (empty || task == null) {
+                    setText(null);
+                } else {
+                    setText(formatTask(task, categoryMapReverse, priorityMapReverse));
+                }
+            }
+        });
+
+        // Set the display elements properly.
+        delayedTasksCount.setText(String.valueOf(delayedTasksCountInt));
+        delayedTasksView.setItems(delayedTasks);
+    }
+
+    /**
+     * This method keeps the delayed tasks and counts how many delayed tasks there were.
+     * @param tasks All the tasks from the task repository.
+     * @return The number of delayed tasks that were found.
+     */
+    private int loadDelayedTasks(List<Task> tasks) {
+
+        delayedTasks.clear();
+
+        // Go to every task and keep it if it is delayed.
+        for (Task task : tasks) {
+            if (task.isDelayed()) {
+                delayedTasks.add(task);
+            }
+        }
+
+        return delayedTasks.size();
+    }
+
+    /**
+     * This method adds tasks that became delayed while the application is running
+     * at the end of the list and updates their count.
+     * @param newlyDelayedTasks The tasks that just became delayed.
+     */
+    public void addDelayedTasks(List<Task> newlyDelayedTasks) {
+        delayedTasks.addAll(newlyDelayedTasks);
+        delayedTasksCount.setText(String.valueOf(delayedTasks.size()));
+    }
+
+    /**
+     * This method checks whether the window of the controller is still open.
+     * @return True if the window is showing, False otherwise.
+     */
+    public boolean isShowing() {
+        return delayedTasksView.getScene() != null
+                && delayedTasksView.getScene().getWindow() != null
+                && delayedTasksView.getScene().getWindow().isShowing();
+    }
+
+    /**
+     * This method contains the logic of creating the message that will appear for a delayed task
+     * to the user. It is only called for the rows that are visible.
+     * @param task The delayed task to show.
+     * @param categoryMapReverse The map to translate the category ID to the category name.
+     * @param priorityMapReverse The map to translate the priority ID to the priority level/name.
+     * @return The text of the row.
+     */
+    private String formatTask(Task task, Map<Integer, String> categoryMapReverse, Map<Integer, String> priorityMapReverse) {
+
+        textBuffer.setLength(0);
+
+        // Add all information to the buffer.
+        textBuffer.append("Task: ").append(task.getName()).append("\n")
+                .append("Description: ").append(task.getDescription()).append("\n")
+                .append("Deadline: ").append(task.getDeadline()).append("\n")
+                .append("Category: ").append(categoryMapReverse.get(task.getCategoryId()))
+                .append(" | Priority: ").append(priorityMapReverse.get(task.getPriorityId())).append("\n")
+                .append("----------------------------------\n");
+
+        // If there are notifications show them as well, if not write there are no notifications.
+        if (!task.getNotifications().isEmpty()) {
+            textBuffer.append("🔔 Notifications:\n");
+            for (Notification notification : task.getNotifications()) {
+                textBuffer.append("   - ").append(notification.getMessage()).append("\n")
+                        .append("     📅 Notification Date: ").append(notification.getNotificationDate()).append("\n");
+            }
+        } else {
+            textBuffer.append("🔔 No notifications.\n");
+        }
+
+        return textBuffer.toString();
+    }
+
+    /**
+     * Called when the "OK" button is pressed on the window and closes the window.
+     */
+    @FXML
+    void onClose() {
+        Stage stage = (Stage) delayedTasksView.getScene().getWindow();
+        stage.close();
+    }
+
+}
@@ -0,0 +1,706 @@
+package org.taskmanager.taskmanager.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javafx.application.Platform;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+
+import javafx.collections.transformation.SortedList;
+import javafx.fxml.FXML;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+
+import org.taskmanager.taskmanager.fx.ChangeBus;
+import org.taskmanager.taskmanager.fx.FxRepositories;
+import org.taskmanager.taskmanager.importer.ImportResult;
+import org.taskmanager.taskmanager.importer.RejectedRow;
+import org.taskmanager.taskmanager.importer.TaskImporter;
+import org.taskmanager.taskmanager.metrics.Metrics;
+import org.taskmanager.taskmanager.metrics.MetricsExporter;
+import org.taskmanager.taskmanager.model.*;
+import org.taskmanager.taskmanager.repository.*;
+import org.taskmanager.taskmanager.server.MediaLabServer;
+import org.taskmanager.taskmanager.utils.StartupTimer;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class controls the MediaLab Assistant window. It has an
+ * initialize method to initialize the controller and a method that loads
+ * the data in the background and streams it into the tables. It also has
+ * 7 methods for opening other windows, for notifications that need to be displayed,
+ * for delayed tasks that need to be shown, and for the buttons that
+ * open the task, category and priority management windows respectively, as well
+ * as for the search and the statistics windows. It has 2 methods for importing tasks from a file in the background
+ * and showing the outcome. Additionally to these, it includes 4 methods
+ * for updating the tables when the ChangeBus reports a change, but also 1 method
+ * for when the window closes in order to close all windows of the application that
+ * may be open.
+ */
+public class MediaLabController {
+
+    // Task table and its columns.
+    @FXML TableView<Task> taskTable;
+    @FXML TableColumn<Task, Integer> taskIDColumn;
+    @FXML TableColumn<Task, String> nameColumn;
+    @FXML TableColumn<Task, String> descriptionColumn;
+    @FXML TableColumn<Task, String> deadlineColumn;
+    @FXML TableColumn<Task, String> categoryColumn;
+    @FXML TableColumn<Task, String> priorityColumn;
+    @FXML TableColumn<Task, Integer> notificationNumberColumn;
+    @FXML TableColumn<Task, String> stateColumn;
+
+    // Notification table and its columns.
+    @FXML TableView<NotificationWrapper> notificationTable;
+    @FXML TableColumn<NotificationWrapper, Integer> notificationIDColumn;
+    @FXML TableColumn<NotificationWrapper, Integer> notificationTaskIDColumn;
+    @FXML TableColumn<NotificationWrapper, String> notificationTaskNameColumn;
+    @FXML TableColumn<NotificationWrapper, String> notificationMessageColumn;
+    @FXML TableColumn<NotificationWrapper, String> notificationDateColumn;
+
+    // The buttons that open the management windows, enabled once the data is loaded.
+    @FXML HBox managementButtons;
+
+    // The button that imports tasks from a file, and the progress of the import.
+    @FXML Button importButton;
+    @FXML Label importStatusLabel;
+
+    // The labels for the header of the window.
+    @FXML Label totalTasksLabel;
+    @FXML Label completedTasksLabel;
+    @FXML Label delayedTasksLabel;
+    @FXML Label dueSoonTasksLabel;
+
+    // The number of tasks added to the tables at a time while the tasks are loading.
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    /* 
+        In this part the repositories are initialized, and they are final, 
+        meaning the location they show in memory cannot change
+    */
+    private final TaskRepository taskRepository = new TaskRepository();
+    private final CategoryRepository categoryRepository = new CategoryRepository();
+    private final PriorityRepository priorityRepository = new PriorityRepository();
+
+    // Controllers help us know when a window is up and running and if so to perform specific updates to it.
+    private NotificationDisplayController  notificationDisplayController;
+    private DelayedTaskPopUpController delayedTaskPopUpController;
+
+    // Whether all tasks were loaded, only then the data is saved when the application closes.
+    private boolean tasksLoaded = false;
+
+    // Updates the tables whenever the repositories change, once the data is loaded.
+    private ChangeBus.Subscription changeSubscription;
+
+    // Gathers the notifications that become due and shows them in batches.
+    private NotificationDelivery notificationDelivery;
+
+    // Wakes up at every midnight to mark the tasks whose deadline just passed as delayed.
+    private ScheduledExecutorService dayRolloverTimer;
+
+    // Serves the repositories over HTTP, only when the medialab.server.port system property is set.
+    private MediaLabServer server;
+
+    // Exports the metrics in the Prometheus format, only when the medialab.metrics.port or medialab.metrics.file system property is set.
+    private MetricsExporter metricsExporter;
+
+    // Stages list helps us keep track of all windows and close them along with the MediaLab Assistant window.
+    private final List<Stage> stagesList = new ArrayList<>();
+
+    /**
+     * The constructor of the MediaLabController which is never used or called.
+     */
+    public MediaLabController(){}
+
+    /**
+     * This method is used to initialize properly the controller and the window.
+     * It is called once by MediaLabAssistantView.build, the view builder generated from
+     * the FXML file, and creates properly all the cells of the task and notification table.
+     * The tables and the summary show placeholders
+     * until the data is loaded through loadDataInBackground.
+     */
+    @FXML
+    public void initialize() {
+
+        // The lists of the tables follow the repositories from before they are loaded.
+        FxRepositories.install(taskRepository, categoryRepository, priorityRepository);
+
+        // Creates properly the task table columns  to get the value we want from the Task Class.
+        taskIDColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getTaskId()).asObject());
+        nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
+        descriptionColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDescription()));
+        deadlineColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDeadline()));
+        categoryColumn.setCellValueFactory(cellData -> new SimpleStringProperty(categoryRepository.getCategoryMapReverse().get(cellData.getValue().getCategoryId())));
+        priorityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(priorityRepository.getPriorityMapReverse().get(cellData.getValue().getPriorityId())));
+        notificationNumberColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getNotifications().size()).asObject());
+        stateColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getState().toString()));
+
+        // The table shows the tasks of the projection through a sorted view, which keeps itself in order as tasks come and go.
+        SortedList<Task> sortedTasks = new SortedList<>(FxRepositories.tasks());
+        sortedTasks.comparatorProperty().bind(taskTable.comparatorProperty());
+        taskTable.setItems(sortedTasks);
+
+        // Creates properly the notification table columns  to get the value we want from the NotificationWrapper Class.
+        notificationIDColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getNotificationId()).asObject());
+        notificationTaskIDColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getTaskId()).asObject());
+        notificationTaskNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTaskName()));
+        notificationMessageColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getNotificationMessage()));
+        notificationDateColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getNotificationDate()));
+
+        // The notification table follows the notifications of the tasks the same way.
+        SortedList<NotificationWrapper> sortedNotifications = new SortedList<>(FxRepositories.notifications());
+        sortedNotifications.comparatorProperty().bind(notificationTable.comparatorProperty());
+        notificationTable.setItems(sortedNotifications);
+
+        // Show placeholders until the data is loaded, the management windows open only after that.
+        taskTable.setPlaceholder(new Label("Loading tasks..."));
+        notificationTable.setPlaceholder(new Label("Loading notifications..."));
+        totalTasksLabel.setText("Total Tasks: ...");
+        managementButtons.setDisable(true);
+    }
+
+    /**
+     * This method loads the categories, priorities and tasks on a background thread,
+     * so that the window is already shown while the JSON files are read. The tasks are
+     * read in batches, and every batch is added to the repository and to the tables
+     * on the JavaFX thread as soon as it is read. Whether there are notifications or
+     * delayed tasks is checked on each batch as well, so that the pop-up windows open
+     * right after the last batch without scanning all tasks again. If the loading fails,
+     * the window still finishes loading, without saving the tasks on close, and shows an alert.
+     * @param startupTimer The timer that reports the duration of each startup phase.
+     */
+    public void loadDataInBackground(StartupTimer startupTimer) {
+
+        // The metrics can be read through JMX, and exported if it was asked for, already while the data loads.
+        Metrics.registerMBeans();
+        metricsExporter = MetricsExporter.fromSystemProperties();
+
+        Thread loader = new Thread(() -> {
+            try {
+                // Categories and priorities are small and are needed to show the tasks, read them first.
+                List<Category> loadedCategories = categoryRepository.readAll();
+                List<Priority> loadedPriorities = priorityRepository.readAll();
+                Platform.runLater(() -> {
+                    categoryRepository.setAll(loadedCategories);
+                    priorityRepository.setAll(loadedPriorities);
+                });
+                startupTimer.phase("load categories and priorities");
+
+                // Stream the tasks into the tables and check each batch for the pop-up windows.
+                AtomicBoolean notificationsFound = new AtomicBoolean(false);
+                AtomicBoolean delayedTasksFound = new AtomicBoolean(false);
+
+                boolean completed = taskRepository.readTasks(LOAD_BATCH_SIZE, batch -> {
+                    if (!notificationsFound.get() && TaskRepository.hasNotifications(batch)) {
+                        notificationsFound.set(true);
+                    }
+                    if (!delayedTasksFound.get() && TaskRepository.hasDelayedTasks(batch)) {
+                        delayedTasksFound.set(true);
+                    }
+                    Platform.runLater(() -> addLoadedTasks(batch));
+                });
+                startupTimer.phase("load tasks");
+
+                Platform.runLater(() -> {
+                    finishLoading(completed, notificationsFound.get(), delayedTasksFound.get());
+                    startupTimer.phase("show tables and pop-up windows");
+                });
+            } catch (RuntimeException e) {
+                // Without this the loader would die silently, leaving the window loading and unable to save.
+                e.printStackTrace();
+                Platform.runLater(() -> {
+                    finishLoading(false, false, false);
+                    showAlert(Alert.AlertType.ERROR, "Loading Failed",
+                            "Could not load the tasks, they will not be saved on close: " + e.getMessage());
+                });
+            }
+        }, "medialab-loader");
+
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Adds a batch of loaded tasks to the repository, which the task and notification tables follow through
+     * the projections. Only the total count of the summary is updated until all tasks are loaded.
+     * @param batch The tasks that were just read from the JSON file.
+     */
+    private void addLoadedTasks(List<Task> batch) {
+        taskRepository.addLoaded(batch);
+        totalTasksLabel.setText("Total Tasks: " + FxRepositories.tasks().size() + " (loading...)");
+    }
+
+    /**
+     * Called once all tasks are loaded. It sets the final placeholders, enables the
+     * management windows, sorts the tables, updates the summary and opens the notification
+     * and delayed tasks pop-up windows if needed.
+     * @param completed True if the whole tasks file was read, False otherwise.
+     * @param notificationsFound True if there are notifications that need to be displayed.
+     * @param delayedTasksFound True if there are delayed tasks that need to be displayed.
+     */
+    private void finishLoading(boolean completed, boolean notificationsFound, boolean delayedTasksFound) {
+
+        /*
+            If the tasks file could not be read, saving on close would overwrite it with
+            whatever was read before the error, so nothing is saved in that case.
+        */
+        tasksLoaded = completed;
+
+        taskTable.setPlaceholder(new Label("No tasks"));
+        notificationTable.setPlaceholder(new Label("No notifications"));
+        managementButtons.setDisable(false);
+
+        taskTable.getSortOrder().setAll(List.of(categoryColumn));
+        notificationTable.getSortOrder().setAll(List.of(notificationDateColumn));
+        updateSummary();
+
+        // From now on the tables follow the changes of the repositories.
+        changeSubscription = ChangeBus.subscribe(EnumSet.of(ChangeTopic.TASKS), this::onRepositoryChanged);
+
+        // If there is not a notification display window open and there are notifications to be displayed, display them.
+        if (notificationDisplayController == null && notificationsFound) {
+            notificationDisplay();
+        }
+
+        // If there is not a delayed task window open and there are tasks to be displayed, display them.
+        if (delayedTaskPopUpController == null && delayedTasksFound) {
+            delayedPopUpWindow();
+        }
+
+        /*
+            The notifications that were due were already shown and removed from their tasks,
+            the rest are raised by the scheduler when they become due while the application is running.
+        */
+        NotificationScheduler notificationScheduler = taskRepository.getNotificationScheduler();
+        notificationScheduler.scheduleAll(FxRepositories.tasks());
+        notificationDelivery = new NotificationDelivery(this::showDueNotifications);
+        notificationScheduler.start(notificationDelivery::submit);
+
+        // The tasks whose deadline passes while the application is running become delayed at midnight.
+        dayRolloverTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "day-rollover");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleDayRollover();
+
+        // Other tools can reach the tasks through the HTTP API, if it was asked for.
+        String serverPort = System.getProperty("medialab.server.port");
+        if (serverPort != null) {
+            try {
+                server = new MediaLabServer(taskRepository, categoryRepository, priorityRepository);
+                server.start(Integer.parseInt(serverPort));
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Could not start the MediaLab API on port " + serverPort);
+                e.printStackTrace();
+                server = null;
+            }
+        }
+    }
+
+    /**
+     * This method makes the day rollover timer wake up at the next midnight. The delay is
+     * found again every day, so that changes of the clock, like daylight saving, are followed.
+     */
+    private void scheduleDayRollover() {
+        long delay = Duration.between(LocalDateTime.now(), LocalDate.now().plusDays(1).atStartOfDay()).toMillis();
+        dayRolloverTimer.schedule(() -> Platform.runLater(this::onDayRollover), delay + 1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method runs when the day changes. Only the tasks whose deadline just passed
+     * are marked as delayed, they are added to the delayed tasks window, which opens if it is
+     * not already open, and the summary is updated from the counts the repository keeps.
+     */
+    private void onDayRollover() {
+
+        List<Task> newlyDelayed = taskRepository.markDelayedTasks(LocalDate.now());
+
+        if (!newlyDelayed.isEmpty()) {
+
+            if (delayedTaskPopUpController != null && delayedTaskPopUpController.isShowing()) {
+                delayedTaskPopUpController.addDelayedTasks(newlyDelayed);
+            } else {
+                // A new window finds all the delayed tasks, including the ones that just became delayed.
+                delayedPopUpWindow();
+            }
+
+        }
+
+        // The tasks due in 7 days change every day, even if no task became delayed.
+        updateSummary();
+        scheduleDayRollover();
+    }
+
+    /**
+     * This method shows the notifications that became due while the application is running,
+     * it is called by the notification delivery with a whole batch of them. They are removed from their tasks, as it happens with the ones shown when the application
+     * starts, and added to the notification display window, which opens if it is not already open.
+     * The tables are updated through the ChangeBus, once for the whole batch.
+     * @param due The notifications that became due, along with their tasks.
+     */
+    private void showDueNotifications(List<NotificationWrapper> due) {
+
+        List<NotificationWrapper> toDisplay = new ArrayList<>();
+
+        // The task or the notification may have been deleted before this runs on the JavaFX thread.
+        for (NotificationWrapper notification : due) {
+            Task task = notification.getTask();
+            if (task.getNotifications().contains(notification.getNotification())) {
+                taskRepository.deleteNotification(task, notification.getNotification());
+                toDisplay.add(notification);
+            }
+        }
+
+        if (toDisplay.isEmpty()) {
+            return;
+        }
+
+        if (notificationDisplayController != null && notificationDisplayController.isShowing()) {
+            notificationDisplayController.addNotifications(toDisplay);
+        } else {
+            notificationDisplay();
+            notificationDisplayController.addNotifications(toDisplay);
+        }
+    }
+
+    /**
+     * This method builds the NotificationDisplay view, its controller,
+     * initializes it with the repositories and shows it.
+     */
+    public void notificationDisplay() {
+
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        NotificationDisplayController controller = new NotificationDisplayController();
+        VBox root = NotificationDisplayView.build(controller);
+        controller.initialize(taskRepository, categoryRepository, priorityRepository);
+        notificationDisplayController = controller;
+
+        // Create the stage, the scene, give it a title, add it to the stagesList, show it.
+        Stage notificationStage = new Stage();
+        notificationStage.setTitle("Notifications Display");
+        notificationStage.setScene(new Scene(root));
+
+        stagesList.add(notificationStage);
+        notificationStage.show();
+    }
+
+    /**
+     * This method builds the delayedPopUp view, its controller,
+     * initializes it with the repositories and shows it.
+     */
+    private void delayedPopUpWindow(){
+
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        DelayedTaskPopUpController controller = new DelayedTaskPopUpController();
+        VBox root = DelayedTasksPopUpView.build(controller);
+        controller.initialize(taskRepository, categoryRepository, priorityRepository);
+        delayedTaskPopUpController = controller;
+
+        // Create the stage, the scene, give it a title, add it to the stagesList, show it.
+        Stage delayedPopUpStage = new Stage();
+        delayedPopUpStage.setTitle("Delayed  Tasks");
+        delayedPopUpStage.setScene(new Scene(root));
+
+        stagesList.add(delayedPopUpStage);
+        delayedPopUpStage.show();
+    }
+
+    /**
+     * This method builds the TaskManager view, its controller,
+     * initializes it with the repositories and the MediaLabController, and shows it.
+     */
+    @FXML
+    public void goToTasksWindow() {
+
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        TaskController controller = new TaskController();
+        VBox root = TaskManagementView.build(controller);
+        controller.initialize(taskRepository, categoryRepository, priorityRepository, stagesList);
+
+        // Create the stage, the scene, give it a title, give it a style sheet, add it to the stagesList, show it.
+        Stage taskStage = new Stage();
+        taskStage.setTitle("Tasks Manager");
+
+        Scene scene = new Scene(root, 1000, 700);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/org/taskmanager/taskmanager/style/TaskManagement.css")).toExternalForm());
+        taskStage.setScene(scene);
+        taskStage.setOnCloseRequest(event -> controller.closeOnRequest(taskStage));
+        taskStage.setOnHidden(event -> controller.close());
+
+        stagesList.add(taskStage);
+        taskStage.show();
+    }
+
+    /**
+     * This method builds the CategoryManagement view, its controller,
+     * initializes it with the repositories and the MediaLabController, and shows it.
+     */
+    @FXML
+    public void goToCategoriesWindow() {
+
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        CategoryController controller = new CategoryController();
+        VBox root = CategoryManagementView.build(controller);
+        controller.initialize(taskRepository, categoryRepository);
+
+        // Create the stage, the scene, give it a title, give it a style sheet, add it to the stagesList, show it.
+        Stage categoryStage = new Stage();
+        categoryStage.setTitle("Category Manager");
+
+        Scene scene = new Scene(root, 600, 400);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/org/taskmanager/taskmanager/style/CategoryManagement.css")).toExternalForm());
+        categoryStage.setScene(scene);
+        categoryStage.setOnHidden(event -> controller.close());
+
+        stagesList.add(categoryStage);
+        categoryStage.show();
+    }
+
+    /**
+     * This method builds the PriorityManagement view, its controller,
+     * initializes it with the repositories and the MediaLabController, and shows it.
+     */
+    @FXML
+    public void goToPrioritiesWindow() {
+
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        PriorityController controller = new PriorityController();
+        VBox root = PriorityManagementView.build(controller);
+        controller.initialize(taskRepository, priorityRepository);
+
+        // Create the stage, the scene, give it a title, give it a style sheet, add it to the stagesList, show it.
+        Stage priorityStage = new Stage();
+        priorityStage.setTitle("Priority Manager");
+
+        Scene scene = new Scene(root, 600, 400);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/org/taskmanager/taskmanager/style/PriorityManagement.css")).toExternalForm());
+        priorityStage.setScene(scene);
+        priorityStage.setOnHidden(event -> controller.close());
+
+        stagesList.add(priorityStage);
+        priorityStage.show();
+    }
+
+    /**
+     * This method builds the SearchWindow view, its controller,
+     * initializes it with the repositories and shows it.
+     */
+    @FXML
+    void goToSearchWindow() {
+
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        SearchController controller = new SearchController();
+        VBox root = SearchWindowView.build(controller);
+        controller.initialize(taskRepository, categoryRepository, priorityRepository);
+
+        // Create the stage, the scene, give it a title, give it a style sheet, add it to the stagesList, show it.
+        Stage searchStage = new Stage();
+        searchStage.setTitle("Search Window");
+
+        Scene scene = new Scene(root, 600, 500);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/org/taskmanager/taskmanager/style/SearchWindow.css")).toExternalForm());
+        searchStage.setScene(scene);
+        searchStage.setOnHidden(event -> controller.close());
+
+        stagesList.add(searchStage);
+        searchStage.show();
+    }
+
+    /**
+     * This method builds the Statistics view, its controller,
+     * initializes it with the repositories and shows it.
+     */
+    @FXML
+    void goToStatisticsWindow() {
+
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        StatisticsController controller = new StatisticsController();
+        VBox root = StatisticsView.build(controller);
+        controller.initialize(taskRepository, categoryRepository, priorityRepository);
+
+        // Create the stage, the scene, give it a title, give it a style sheet, add it to the stagesList, show it.
+        Stage statisticsStage = new Stage();
+        statisticsStage.setTitle("Statistics");
+
+        Scene scene = new Scene(root, 760, 600);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/org/taskmanager/taskmanager/style/Statistics.css")).toExternalForm());
+        statisticsStage.setScene(scene);
+        statisticsStage.setOnHidden(event -> controller.close());
+
+        stagesList.add(statisticsStage);
+        statisticsStage.show();
+    }
+
+    /**
+     * This method imports tasks from a CSV or JSON Lines file the user picks, for example one
+     * exported from another tracker. The import runs on a background thread through the TaskImporter,
+     * its progress is shown next to the button, and the tables see all the imported tasks as a single change.
+     */
+    @FXML
+    void importTasks() {
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Tasks");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV or JSON Lines", "*.csv", "*.jsonl", "*.ndjson"),
+                new FileChooser.ExtensionFilter("All Files", "*.*"));
+        File file = fileChooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        importButton.setDisable(true);
+        importStatusLabel.setText("Importing " + file.getName() + "...");
+
+        /*
+            The progress is reported after every batch, but only the latest is shown,
+            with at most one update of the label waiting on the JavaFX thread.
+        */
+        AtomicReference<String> latestProgress = new AtomicReference<>();
+        TaskImporter importer = new TaskImporter(taskRepository, categoryRepository, priorityRepository);
+
+        Thread importThread = new Thread(() -> {
+            try {
+                ImportResult result = importer.importFile(file.toPath(), TaskImporter.DEFAULT_BATCH_SIZE, (rowsRead, tasksImported, rowsRejected) -> {
+                    String text = rowsRead + " rows read, " + tasksImported + " imported, " + rowsRejected + " rejected";
+                    if (latestProgress.getAndSet(text) == null) {
+                        Platform.runLater(() -> importStatusLabel.setText(latestProgress.getAndSet(null)));
+                    }
+                });
+                Platform.runLater(() -> finishImport(file, result));
+            } catch (IOException | IllegalArgumentException e) {
+                e.printStackTrace();
+                Platform.runLater(() -> {
+                    importButton.setDisable(false);
+                    importStatusLabel.setText("");
+                    showAlert(Alert.AlertType.ERROR, "Import Failed", "Could not import " + file.getName() + ": " + e.getMessage());
+                });
+            }
+        }, "task-import");
+        importThread.setDaemon(true);
+        importThread.start();
+    }
+
+    /**
+     * This method shows the outcome of an import, along with the first rows that were rejected, if any.
+     * @param file The imported file.
+     * @param result The outcome of the import.
+     */
+    private void finishImport(File file, ImportResult result) {
+
+        importButton.setDisable(false);
+        importStatusLabel.setText(result.getTasksImported() + " tasks imported");
+
+        if (result.getRowsRejected() == 0 && result.getFailure() == null) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder(result.toString());
+        List<RejectedRow> rejectedRows = result.getRejectedRows();
+        for (int i = 0; i < Math.min(rejectedRows.size(), 20); i++) {
+            message.append(System.lineSeparator()).append("Rejected ").append(rejectedRows.get(i));
+        }
+        if (result.getRowsRejected() > 20) {
+            message.append(System.lineSeparator()).append("... and ").append(result.getRowsRejected() - 20).append(" more rejected rows");
+        }
+        showAlert(result.getFailure() == null ? Alert.AlertType.WARNING : Alert.AlertType.ERROR, "Import of " + file.getName(), message.toString());
+    }
+
+    /**
+     * This method shows an alert to the user.
+     * @param type The type of the alert.
+     * @param title The title of the alert.
+     * @param message The message of the alert.
+     */
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    /**
+     * This method updates the summary of MediaLabAssistant after the tasks changed,
+     * it is called by the ChangeBus at most once per pulse, with all the topics that changed.
+     * The other windows follow the ChangeBus on their own.
+     * @param changed The topics that changed since the last call.
+     */
+    private void onRepositoryChanged(Set<ChangeTopic> changed) {
+
+        /*
+            The task table follows the added, removed and updated tasks through the projection on its own, the tasks of
+            renamed categories and priorities are updated too, and the sorted view places each updated task again.
+            The notification table follows the notifications of the tasks the same way, so only the summary is left.
+        */
+        updateSummary();
+    }
+
+    /**
+     * This method updates the summary at the header of the window.
+     * It reads from the statistics of the repository the number of tasks,
+     * the number of completed tasks, the number of delayed tasks,
+     * and the number of tasks due in 7 days, without going through the tasks.
+     */
+    private void updateSummary() {
+        TaskStatistics statistics = taskRepository.statistics();
+        totalTasksLabel.setText("Total Tasks: " + statistics.getTotal());
+        completedTasksLabel.setText("Completed: " + statistics.getTotal(TaskStateUtils.COMPLETED));
+        delayedTasksLabel.setText("Delayed: " + statistics.getTotal(TaskStateUtils.DELAYED));
+        dueSoonTasksLabel.setText("Due in 7 Days: " + statistics.getDueInSevenDays());
+    }
+
+    /**
+     * This method makes sure that when we close the application all open windows are closed,
+     * but it also calls the saveAll() methods from the repositories to update the JSON files.
+     * @param primaryStage The MediaLab Controller stage.
+     */
+    @FXML
+    public void onClose(Stage primaryStage) {
+
+        for (Stage stage : stagesList) {
+            stage.close();
+        }
+        primaryStage.close();
+        if (changeSubscription != null) {
+            changeSubscription.cancel();
+        }
+        taskRepository.getNotificationScheduler().stop();
+        if (notificationDelivery != null) {
+            notificationDelivery.stop();
+        }
+        if (dayRolloverTimer != null) {
+            dayRolloverTimer.shutdownNow();
+        }
+        if (server != null) {
+            server.stop();
+        }
+
+        // Nothing is saved before the data is loaded, as that would overwrite the JSON files.
+        if (tasksLoaded) {
+            categoryRepository.saveAll();
+            priorityRepository.saveAll();
+            taskRepository.saveAll();
+        }
+
+        // The exported metrics include the save.
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+    }
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package org.taskmanager.taskmanager.controller;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Set;
 
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -10,8 +12,11 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 
+import org.taskmanager.taskmanager.fx.ChangeBus;
 import org.taskmanager.taskmanager.model.*;
+import org.taskmanager.taskmanager.repository.ChangeTopic;
 import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.utils.NotificationPresetUtils;
 import org.taskmanager.taskmanager.utils.TaskStateUtils;
 
 /**
@@ -24,26 +29,28 @@ import org.taskmanager.taskmanager.utils.TaskStateUtils;
 public class NotificationController {
 
     // Showing elements, the task deadline.
-    @FXML private Label deadlineLabel;
-    @FXML private Label notificationCount;
+    @FXML Label deadlineLabel;
+    @FXML Label notificationCount;
 
     // The input elements of the Notification management window.
-    @FXML private TextField notificationField;
-    @FXML private ComboBox<String> presetComboBox;
-    @FXML private DatePicker customDatePicker;
+    @FXML TextField notificationField;
+    @FXML ComboBox<String> presetComboBox;
+    @FXML DatePicker customDatePicker;
 
     // The table elements of the Notification management window.
-    @FXML private TableView<Notification> notificationTable;
-    @FXML private TableColumn<Notification, String> messageColumn;
-    @FXML private TableColumn<Notification, String> dateColumn;
+    @FXML TableView<Notification> notificationTable;
+    @FXML TableColumn<Notification, String> messageColumn;
+    @FXML TableColumn<Notification, String> dateColumn;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private Stage notificationStage;
 
-    // Controllers and repositories needed.
-    private MediaLabController mediaLabController;
+    // The repository needed.
     private TaskRepository taskRepository;
 
+    // Updates the window whenever the task or its notifications change, cancelled when the window is hidden.
+    private ChangeBus.Subscription changeSubscription;
+
     // The task to which the notification management window belongs to.
     private Task task;
 
@@ -56,17 +63,16 @@ public class NotificationController {
      * This method initializes the notification management window. It gets the variables it needs,
      * sets the notification table, adds a listener for selected notifications, handles the notification
      * date selection, sets and shows the deadline of the task to the window, checks and removes notifications
-     * from the preset combo box and updates the notification table.
+     * from the preset combo box and updates the notification table. Finally, the window subscribes
+     * to the ChangeBus, so it follows the changes of its task made from any other window.
      * @param task The task to which the notification window belongs to.
      * @param stage The stage of the notification window.
-     * @param mediaLabController The main window controller.
      * @param taskRepository The task repository, called for addition, update and deletion.
      */
-    public void initialize(Task task,Stage stage, MediaLabController mediaLabController, TaskRepository taskRepository) {
+    public void initialize(Task task,Stage stage, TaskRepository taskRepository) {
 
         // Set the variables.
         this.task = task;
-        this.mediaLabController = mediaLabController;
         this.notificationStage = stage;
         this.taskRepository = taskRepository;
 
@@ -94,41 +100,24 @@ public class NotificationController {
         checkAndRemoveNotifications();
         updateNotificationTable();
         customDatePicker.setDisable(false);
+
+        changeSubscription = ChangeBus.subscribe(EnumSet.of(ChangeTopic.TASKS, ChangeTopic.NOTIFICATIONS), this::onRepositoryChanged);
+        stage.setOnHidden(event -> changeSubscription.cancel());
     }
 
     /**
      * This method adds a notification to the notifications list of its task.
-     * For the deadline it checks the presetComboBox and sets it properly, and
-     * it checks that the date makes sense. Then it adds the Notification
-     * to its task through the task repository. Finally, it
+     * For the deadline it checks the presetComboBox, a preset is kept as it is
+     * and its date follows the deadline, and it checks that the date makes sense.
+     * Then it adds the Notification to its task through the task repository. Finally, it
      * calls for an update to occur to the application.
      */
     @FXML
-    private void addNotification() {
+    void addNotification() {
 
-        String selectedPreset = presetComboBox.getValue();
+        NotificationPresetUtils preset = NotificationPresetUtils.fromString(presetComboBox.getValue());
         String message = notificationField.getText().trim();
-        LocalDate notificationDate = LocalDate.now();
-
-        // Use the proper date for the notification date based on what the user selected.
-        if (selectedPreset.equals("Any")) {
-            notificationDate = customDatePicker.getValue();
-        }
-        else {
-            switch (selectedPreset) {
-                case "1 Day Before": {
-                    notificationDate = LocalDate.parse(task.getDeadline(), formatter).minusDays(1);
-                    break;
-                }
-                case "1 Week Before": {
-                    notificationDate = LocalDate.parse(task.getDeadline(), formatter).minusWeeks(1);
-                    break;
-                }
-                case "1 Month Before":
-                    notificationDate = LocalDate.parse(task.getDeadline(), formatter).minusMonths(1);
-                    break;
-            }
-        }
+        LocalDate notificationDate = notificationDate(preset);
 
         // Check if the notification date makes sense based on the deadline and the current date.
         if (notificationDate.isAfter(LocalDate.parse(task.getDeadline(), formatter)) || notificationDate.isBefore(LocalDate.now())) {
@@ -138,7 +127,11 @@ public class NotificationController {
         }
 
         // Add the notification to its task and update the application.
-        taskRepository.addNotification(task, message, notificationDate.format(formatter));
+        if (preset != null) {
+            taskRepository.addNotification(task, message, preset);
+        } else {
+            taskRepository.addNotification(task, message, notificationDate.format(formatter));
+        }
         update();
     }
 
@@ -146,34 +139,15 @@ public class NotificationController {
      * Update a selected notification
      */
     @FXML
-    private void updateNotification(){
+    void updateNotification(){
 
         Notification selectedNotification = notificationTable.getSelectionModel().getSelectedItem();
 
         if (selectedNotification != null) {
 
-            String selectedPreset = presetComboBox.getValue();
+            NotificationPresetUtils preset = NotificationPresetUtils.fromString(presetComboBox.getValue());
             String message = notificationField.getText().trim();
-            LocalDate notificationDate = LocalDate.now();
-
-            // Use the proper date for the notification date based on what the user selected.
-            if (selectedPreset.equals("Any")) {
-                notificationDate = customDatePicker.getValue();
-            } else {
-                switch (selectedPreset) {
-                    case "1 Day Before": {
-                        notificationDate = LocalDate.parse(task.getDeadline(), formatter).minusDays(1);
-                        break;
-                    }
-                    case "1 Week Before": {
-                        notificationDate = LocalDate.parse(task.getDeadline(), formatter).minusWeeks(1);
-                        break;
-                    }
-                    case "1 Month Before":
-                        notificationDate = LocalDate.parse(task.getDeadline(), formatter).minusMonths(1);
-                        break;
-                }
-            }
+            LocalDate notificationDate = notificationDate(preset);
 
             // Check if the notification date makes sense based on the deadline and the current date.
             if (notificationDate.isAfter(LocalDate.parse(task.getDeadline(), formatter)) || notificationDate.isBefore(LocalDate.now())) {
@@ -183,7 +157,11 @@ public class NotificationController {
             }
 
             // Update the notification through the task repository and update the application.
-            taskRepository.updateNotification(task, selectedNotification, message, notificationDate.format(formatter));
+            if (preset != null) {
+                taskRepository.updateNotification(task, selectedNotification, message, preset);
+            } else {
+                taskRepository.updateNotification(task, selectedNotification, message, notificationDate.format(formatter));
+            }
             update();
         }
         else {
@@ -191,11 +169,23 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Finds the date the notification will appear, used to check that it makes sense.
+     * @param preset The selected preset, or null if "Any" is selected.
+     * @return The date of the preset for the current deadline, or the custom date.
+     */
+    private LocalDate notificationDate(NotificationPresetUtils preset) {
+        if (preset == null) {
+            return customDatePicker.getValue();
+        }
+        return preset.resolve(LocalDate.parse(task.getDeadline(), formatter));
+    }
+
     /**
      * This method deletes a notification from its task's notification list.
      */
     @FXML
-    private void deleteNotification(){
+    void deleteNotification(){
 
         Notification selectedNotification = notificationTable.getSelectionModel().getSelectedItem();
 
@@ -213,7 +203,7 @@ public class NotificationController {
      * to "Any" or not. If it is not, then the customDatePicker is disabled.
      */
     @FXML
-    private void handlePresetSelection() {
+    void handlePresetSelection() {
         String selectedPreset = presetComboBox.getValue();
         customDatePicker.setDisable(!"Any".equals(selectedPreset));
     }
@@ -229,14 +219,21 @@ public class NotificationController {
     }
 
     /**
-     * This method updates the deadline shown in the notification management window.
-     * Based on the new deadline it also updates the rest of the window and the application.
-     * @param deadline The deadline of the task to which this notification window
-     *                 belongs to.
+     * This method updates the window after the tasks or the notifications changed, it is called by
+     * the ChangeBus at most once per pulse. It shows the current deadline and notifications of the task,
+     * and in the case that the task was deleted or set to completed or delayed, this window closes.
+     * @param changed The topics that changed since the last call.
      */
-    public void updateDeadline(String deadline) {
-        deadlineLabel.setText(deadline);
-        update();
+    private void onRepositoryChanged(Set<ChangeTopic> changed) {
+
+        if (!taskRepository.contains(task) || task.getState() == TaskStateUtils.COMPLETED || task.getState() == TaskStateUtils.DELAYED) {
+            closeNotificationWindow();
+            return;
+        }
+
+        deadlineLabel.setText(task.getDeadline());
+        updateNotificationTable();
+        checkAndRemoveNotifications();
     }
 
     /**
@@ -245,24 +242,17 @@ public class NotificationController {
      */
     private void checkAndRemoveNotifications() {
 
-        ObservableList<String> items = FXCollections.observableArrayList(
-                "1 Day Before", "1 Week Before", "1 Month Before", "Any"
-        );
-
-        LocalDate oneDay = LocalDate.parse(task.getDeadline(), formatter).minusDays(1);
-        LocalDate oneWeek = LocalDate.parse(task.getDeadline(), formatter).minusWeeks(1);
-        LocalDate oneMonth = LocalDate.parse(task.getDeadline(), formatter).minusMonths(1);
+        ObservableList<String> items = FXCollections.observableArrayList();
+        LocalDate deadline = LocalDate.parse(task.getDeadline(), formatter);
 
         // Check one by one which notifications don't exist and make sense to show.
-        if (notificationExists(oneDay.format(formatter)) || oneDay.isBefore(LocalDate.now())) {
-            items.remove("1 Day Before");
-        }
-        if (notificationExists(oneWeek.format(formatter)) || oneWeek.isBefore(LocalDate.now())) {
-            items.remove("1 Week Before");
-        }
-        if (notificationExists(oneMonth.format(formatter)) ||  oneMonth.isBefore(LocalDate.now())) {
-            items.remove("1 Month Before");
+        for (NotificationPresetUtils preset : NotificationPresetUtils.values()) {
+            LocalDate presetDate = preset.resolve(deadline);
+            if (!notificationExists(presetDate.format(formatter)) && !presetDate.isBefore(LocalDate.now())) {
+                items.add(preset.toString());
+            }
         }
+        items.add("Any");
 
         presetComboBox.setItems(items);
     }
@@ -281,15 +271,6 @@ public class NotificationController {
         return false;
     }
 
-    /**
-     * This method is used to make sure the update of deadline happens to the proper notification controller
-     * @param task The task that is selected to be updated.
-     * @return True if it is the same task, False otherwise.
-     */
-    public boolean sameTask(Task task) {
-        return this.task.getTaskId() == task.getTaskId();
-    }
-
     /**
      * Clear the FXML input elements. Preset of custom date to 1 day after
      * the current date so that it can exist. Then refresh the notification table.
@@ -309,26 +290,16 @@ public class NotificationController {
     private void presetInputs(Notification newSelection) {
         notificationField.setText(newSelection.getMessage());
         presetComboBox.getSelectionModel().clearSelection();
-        presetComboBox.setValue("Any");
+        presetComboBox.setValue(newSelection.getPreset() != null ? newSelection.getPreset().toString() : "Any");
         customDatePicker.setValue(LocalDate.parse(newSelection.getNotificationDate(), formatter));
     }
 
     /**
-     * This method makes the necessary updates to the notification management window.
-     * It updates the notification table, checks and removes the notifications that do not make sense
-     * after the update, clears the input elements, calls the mediaLab controller to update and,
-     * in the case that a task was set to completed or delayed, this window closes.
+     * This method clears the input elements after a change, the table and the preset
+     * drop-down menu are updated through the ChangeBus, along with the rest of the application.
      */
     private void update(){
-        updateNotificationTable();
-        checkAndRemoveNotifications();
         clearInputs();
-        mediaLabController.updateMediaLabTables();
-
-        // If the task state is set to completed or delayed, close the window.
-        if (task.getState() == TaskStateUtils.COMPLETED || task.getState() == TaskStateUtils.DELAYED) {
-            closeNotificationWindow();
-        }
     }
 
     /**
@@ -0,0 +1,130 @@
+package org.taskmanager.taskmanager.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+import org.taskmanager.taskmanager.metrics.Counter;
+import org.taskmanager.taskmanager.metrics.LatencyHistogram;
+import org.taskmanager.taskmanager.metrics.Metrics;
+import org.taskmanager.taskmanager.model.NotificationWrapper;
+import org.taskmanager.taskmanager.repository.NotificationScheduler.ScheduledNotification;
+
+/**
+ * This class stands between the notification scheduler and the notification display window.
+ * The notifications that become due are not shown one by one, they are gathered for a short
+ * window and then handed to the JavaFX thread together, and the window is updated at most a
+ * few times per second, no matter how many notifications become due at once, for example when
+ * the computer wakes up after a weekend. The time each notification waited to be shown, from the
+ * time it became due, and the number of batches are recorded in the Metrics of the application.
+ */
+public class NotificationDelivery {
+
+    // How long the notifications that become due are gathered before they are shown.
+    private static final long BATCH_WINDOW_MILLIS = 200;
+
+    // At most this many updates of the notification display window happen every second.
+    private static final int MAX_UPDATES_PER_SECOND = 2;
+
+    // The time between a notification becoming due and being shown, and the number of batches, for the whole application.
+    private static final LatencyHistogram DELIVERY_LATENCY = Metrics.histogram("medialab_notification_delivery_seconds",
+            "How long a due notification waits until it is shown.");
+    private static final Counter DELIVERED_BATCHES = Metrics.counter("medialab_notification_batches_total",
+            "The batches of due notifications that were shown.");
+
+    private final Consumer<List<NotificationWrapper>> display;
+    private final long minIntervalMillis = 1000 / MAX_UPDATES_PER_SECOND;
+    private final ScheduledExecutorService timer;
+
+    // The notifications waiting to be shown, along with the time they became due.
+    private final List<ScheduledNotification> pending = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private long lastFlushTime = 0;
+
+    /**
+     * Constructor of the NotificationDelivery, it starts its timer thread.
+     * @param display Shows a batch of due notifications, always called on the JavaFX thread.
+     */
+    public NotificationDelivery(Consumer<List<NotificationWrapper>> display) {
+        this.display = display;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds notifications that just became due to the next batch. It can be called from any
+     * thread, the batch is shown once its window is over and enough time passed since the last one.
+     * @param due The notifications that became due, along with their tasks and the time they became due.
+     */
+    public synchronized void submit(List<ScheduledNotification> due) {
+
+        long now = System.currentTimeMillis();
+        pending.addAll(due);
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            long delay = Math.max(BATCH_WINDOW_MILLIS, lastFlushTime + minIntervalMillis - now);
+            timer.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs on the timer thread, takes the gathered notifications and shows them on the JavaFX thread.
+     */
+    private void flush() {
+
+        List<ScheduledNotification> batch;
+
+        synchronized (this) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+            lastFlushTime = System.currentTimeMillis();
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Platform.runLater(() -> {
+
+            List<NotificationWrapper> notifications = new ArrayList<>(batch.size());
+            for (ScheduledNotification notification : batch) {
+                notifications.add(notification.toWrapper());
+            }
+            display.accept(notifications);
+
+            recordBatch(batch, System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * Records in the Metrics how long each notification of a batch waited since it became due.
+     * @param batch The batch that was shown.
+     * @param shownTime The time the batch was shown.
+     */
+    private static void recordBatch(List<ScheduledNotification> batch, long shownTime) {
+
+        DELIVERED_BATCHES.increment();
+        for (ScheduledNotification notification : batch) {
+            long latency = Math.max(0, shownTime - notification.getDueTime());
+            DELIVERY_LATENCY.record(TimeUnit.MILLISECONDS.toNanos(latency));
+        }
+    }
+
+    /**
+     * Stops the timer thread.
+     * The notifications that were not shown yet are dropped, they are still saved with their tasks.
+     */
+    public synchronized void stop() {
+        timer.shutdownNow();
+    }
+}
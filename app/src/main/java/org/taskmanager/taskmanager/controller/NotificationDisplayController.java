@@ -0,0 +1,212 @@
+package org.taskmanager.taskmanager.controller;
+
+import java.time.LocalDate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.stage.Stage;
+
+import org.taskmanager.taskmanager.model.*;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+
+/**
+ * This class is used to control the notifications pop up window.
+ * It has 8 methods, one for initializing, one for loading notifications,
+ * only called in the initialize method, one for adding the notifications that
+ * become due while the window is open, one for checking whether the window is open,
+ * one for updating the counts, one for showing the notifications of a single task,
+ * one for creating the text of a notification and one for closing. The list only holds the notifications
+ * along with their tasks, their text is created only for the rows that are visible.
+ * When many notifications are shown at once, the window shows how many there are
+ * and for how many tasks, and the user can pick a task to only see its notifications.
+ */
+public class NotificationDisplayController {
+
+    // Elements used for displaying the notifications on the window.
+    @FXML ListView<NotificationWrapper> notificationListView;
+    @FXML Label notificationSummary;
+    @FXML ComboBox<String> taskFilterComboBox;
+    private final ObservableList<NotificationWrapper> notifications = FXCollections.observableArrayList();
+    private final FilteredList<NotificationWrapper> shownNotifications = new FilteredList<>(notifications);
+
+    // The tasks of the filter, in the order of its options after the first one, which shows all tasks.
+    private final List<Task> filterTasks = new ArrayList<>();
+
+    /*
+        The text of the visible rows is built in this buffer, it is reused for every row
+        as the cells are only updated on the JavaFX thread.
+     */
+    private final StringBuilder textBuffer = new StringBuilder(256);
+
+    /**
+     * The constructor of the NotificationDisplayController which is never used or called.
+     */
+    public NotificationDisplayController() {}
+
+    /**
+     * This method initializes the controller, calls the loadNotifications method
+     * and sets properly the FXML elements. The cells of the list create the text
+     * of their notification, along with the information of its task, only when they are shown.
+     * @param taskRepository The task repository of the application, used to get all tasks and
+     *                       by extend the notifications.
+     * @param categoryRepository The category repository of the application,
+     *                           used to get the category map to translate id to name.
+     * @param priorityRepository The priority repository of the application,
+     *                           used to get the priority map to translate id to level.
+     */
+    public void initialize(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+
+        /*
+            The due notifications are shown once, so the repository removes them from their tasks
+            in a single change, which the saved tasks, the scheduler and the ChangeFeed all follow.
+        */
+        loadAllNotifications(taskRepository.takeDueNotifications(LocalDate.now()));
+
+        Map<Integer, String> categoryMapReverse = categoryRepository.getCategoryMapReverse();
+        Map<Integer, String> priorityMapReverse = priorityRepository.getPriorityMapReverse();
+
+        // Only the visible cells create the text of their notification.
+        notificationListView.setCellFactory(param -> new ListCell<NotificationWrapper>() {
+
+            @Override
+            protected void updateItem(NotificationWrapper notification, boolean empty) {
+                super.updateItem(notification, empty);
+                if (empty || notification == null) {
+                    setText(null);
+                } else {
+                    setText(formatNotification(notification, categoryMapReverse, priorityMapReverse));
+                }
+            }
+        });
+
+        // Set the notification list view with the notifications, and count them.
+        notificationListView.setItems(shownNotifications);
+        updateCounts();
+    }
+
+    /**
+     * This method shows the notifications that are due, the repository already removed them from their tasks.
+     * @param due The due notifications, along with their tasks.
+     */
+    private void loadAllNotifications(List<NotificationWrapper> due) {
+        notifications.setAll(due);
+    }
+
+    /**
+     * This method adds notifications that became due while the application is running
+     * at the end of the list. They are already removed from their tasks by the caller.
+     * @param dueNotifications The notifications to show, along with their tasks.
+     */
+    public void addNotifications(List<NotificationWrapper> dueNotifications) {
+        notifications.addAll(dueNotifications);
+        updateCounts();
+        notificationListView.scrollTo(shownNotifications.size() - 1);
+    }
+
+    /**
+     * This method checks whether the window of the controller is still open.
+     * @return True if the window is showing, False otherwise.
+     */
+    public boolean isShowing() {
+        return notificationListView.getScene() != null
+                && notificationListView.getScene().getWindow() != null
+                && notificationListView.getScene().getWindow().isShowing();
+    }
+
+    /**
+     * This method counts the notifications of the window in total and for each task,
+     * and fills the task filter with these counts. The selected task stays selected.
+     */
+    private void updateCounts() {
+
+        // Count the notifications of each task, in the order the tasks first appear.
+        Map<Task, Integer> counts = new LinkedHashMap<>();
+        for (NotificationWrapper notification : notifications) {
+            counts.merge(notification.getTask(), 1, Integer::sum);
+        }
+
+        notificationSummary.setText(notifications.size() + (notifications.size() == 1 ? " notification" : " notifications")
+                + " for " + counts.size() + (counts.size() == 1 ? " task" : " tasks"));
+
+        int selectedIndex = taskFilterComboBox.getSelectionModel().getSelectedIndex();
+        Task selectedTask = selectedIndex > 0 ? filterTasks.get(selectedIndex - 1) : null;
+
+        List<String> options = new ArrayList<>();
+        options.add("All tasks (" + notifications.size() + ")");
+        filterTasks.clear();
+        for (Map.Entry<Task, Integer> count : counts.entrySet()) {
+            options.add(count.getKey().getName() + " (" + count.getValue() + ")");
+            filterTasks.add(count.getKey());
+        }
+
+        // Setting the options clears the selection, so it is found again.
+        taskFilterComboBox.getItems().setAll(options);
+        int index = selectedTask == null ? -1 : filterTasks.indexOf(selectedTask);
+        taskFilterComboBox.getSelectionModel().select(index + 1);
+    }
+
+    /**
+     * Called when a task is picked in the filter, only the notifications of that task
+     * are shown, or all of them when the first option is picked.
+     */
+    @FXML
+    void onTaskFilterSelected() {
+
+        int selectedIndex = taskFilterComboBox.getSelectionModel().getSelectedIndex();
+
+        if (selectedIndex <= 0) {
+            shownNotifications.setPredicate(null);
+        } else {
+            Task task = filterTasks.get(selectedIndex - 1);
+            shownNotifications.setPredicate(notification -> notification.getTask() == task);
+        }
+    }
+
+    /**
+     * This method contains the logic of creating the message that will appear
+     * for a notification to the user. It is only called for the rows that are visible.
+     * @param notification The notification to show, along with its task.
+     * @param categoryMapReverse The map to translate the category ID to the category name.
+     * @param priorityMapReverse The map to translate the priority ID to the priority level/name.
+     * @return The text of the row.
+     */
+    private String formatNotification(NotificationWrapper notification, Map<Integer, String> categoryMapReverse, Map<Integer, String> priorityMapReverse) {
+
+        Task task = notification.getTask();
+        textBuffer.setLength(0);
+
+        textBuffer.append("Task: ").append(task.getName()).append("\n")
+                .append("Description: ").append(task.getDescription()).append("\n")
+                .append("Deadline: ").append(task.getDeadline()).append("\n")
+                .append("Category: ").append(categoryMapReverse.get(task.getCategoryId()))
+                .append(" | Priority: ").append(priorityMapReverse.get(task.getPriorityId())).append("\n")
+                .append("----------------------------------\n")
+                .append("🔔 Notification: ").append(notification.getNotificationMessage()).append("\n")
+                .append("📅 Notification Date: ").append(notification.getNotificationDate());
+
+        return textBuffer.toString();
+    }
+
+    /**
+     * Called when the "OK" button is pressed on the window and closes the window.
+     */
+    @FXML
+    void onClose() {
+        Stage stage = (Stage) notificationListView.getScene().getWindow();
+        stage.close();
+    }
+}
@@ -7,10 +7,14 @@ import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
+import org.taskmanager.taskmanager.fx.ChangeBus;
+import org.taskmanager.taskmanager.fx.FxRepositories;
 import org.taskmanager.taskmanager.model.Priority;
 import org.taskmanager.taskmanager.repository.*;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This is a class that controls the priority Management window of the
@@ -20,37 +24,37 @@ import java.util.List;
 public class PriorityController {
 
     // The input elements needed.
-    @FXML private TextField priorityField;
+    @FXML TextField priorityField;
 
     // The table elements needed.
-    @FXML private TableView<Priority> priorityTable;
-    @FXML private TableColumn<Priority, Integer> priorityIDColumn;
-    @FXML private TableColumn<Priority, String> levelColumn;
+    @FXML TableView<Priority> priorityTable;
+    @FXML TableColumn<Priority, Integer> priorityIDColumn;
+    @FXML TableColumn<Priority, String> levelColumn;
 
-    // The controllers and repositories that are required by this controller.
-    private MediaLabController mediaLabController;
+    // The repositories that are required by this controller.
     private PriorityRepository priorityRepository;
     private TaskRepository taskRepository;
 
+    // Updates the table whenever the priorities change, cancelled when the window is hidden.
+    private ChangeBus.Subscription changeSubscription;
+
     /**
      * The constructor of the PriorityController which is never used or called.
      */
     public PriorityController(){}
 
     /**
-     * This method is used to initialize properly the controller. The MediaLab controller and
+     * This method is used to initialize properly the controller. The
      * task and priority repositories are required. Then it sets the cells of the table to show
      * the values we want. Finally, a listener is added in order to change the value of the 
      * input elements to the ones of the priority selected for easier updates and additions.
-     * @param mediaLabController The controller of the main (MediaLab Assistant) window.
      * @param taskRepository The task repository.
      * @param priorityRepository The priority repository.
      */
     @FXML
-    public void initialize(MediaLabController mediaLabController, TaskRepository taskRepository, PriorityRepository priorityRepository) {
+    public void initialize(TaskRepository taskRepository, PriorityRepository priorityRepository) {
 
-        // Set the controllers and repositories.
-        this.mediaLabController = mediaLabController;
+        // Set the repositories.
         this.taskRepository = taskRepository;
         this.priorityRepository = priorityRepository;
 
@@ -59,7 +63,7 @@ public class PriorityController {
         levelColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getLevel()));
 
         // Set the items of the table and create the listener.
-        priorityTable.setItems(FXCollections.observableArrayList(priorityRepository.findAll()));
+        priorityTable.setItems(FXCollections.observableArrayList(FxRepositories.priorities()));
         priorityTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
                 presetInputs(newSelection);
@@ -67,6 +71,8 @@ public class PriorityController {
                 clearInputs();
             }
         });
+
+        changeSubscription = ChangeBus.subscribe(EnumSet.of(ChangeTopic.PRIORITIES), this::onRepositoryChanged);
     }
 
     /**
@@ -77,10 +83,10 @@ public class PriorityController {
      * the priority is added to the priorityTable. Finally, we update the app.
      */
     @FXML
-    private void addPriority() {
+    void addPriority() {
 
         String priorityLevel = priorityField.getText().trim();
-        List<Priority> priorities = priorityRepository.findAll();
+        List<Priority> priorities = FxRepositories.priorities();
 
         // Check that there is a level to add.
         if (priorityLevel.isEmpty()) {
@@ -109,7 +115,7 @@ public class PriorityController {
      * the application.
      */
     @FXML
-    private void updatePriority() {
+    void updatePriority() {
 
         Priority selectedPriority = priorityTable.getSelectionModel().getSelectedItem();
 
@@ -124,7 +130,7 @@ public class PriorityController {
 
             String priorityLevel = priorityField.getText().trim();
 
-            List<Priority> priorities = priorityRepository.findAll();
+            List<Priority> priorities = FxRepositories.priorities();
 
             // Check that there is a level and that it doesn't already exist.
             if (priorityLevel.isEmpty()) {
@@ -150,7 +156,7 @@ public class PriorityController {
      * repository and the priority from the priority table.
      */
     @FXML
-    private void deletePriority() {
+    void deletePriority() {
 
         Priority selectedPriority = priorityTable.getSelectionModel().getSelectedItem();
 
@@ -166,9 +172,7 @@ public class PriorityController {
             taskRepository.ChangeTaskPriority(selectedPriority.getPriorityId());
             // Delete the priority from the priority repository.
             priorityRepository.delete(selectedPriority.getPriorityId());
-            // Delete the priority from the priority table.
-            priorityTable.getItems().remove(selectedPriority);
-            
+
             update();
         }
     }
@@ -189,17 +193,29 @@ public class PriorityController {
     }
 
     /**
-     * update the priority table and call the mediaLab Controller to update
-     * the application based on the updates in the priorities.
+     * Clear the input elements after a change, the priority table and the rest of the
+     * application are updated through the ChangeBus.
      */
     private void update(){
-        mediaLabController.updateMediaLabTables();
-        priorityTable.getItems().clear();
-        priorityTable.setItems(FXCollections.observableArrayList(priorityRepository.findAll()));
-        priorityTable.refresh();
         clearInputs();
     }
 
+    /**
+     * This method updates the priority table after the priorities changed,
+     * it is called by the ChangeBus at most once per pulse.
+     * @param changed The topics that changed since the last call.
+     */
+    private void onRepositoryChanged(Set<ChangeTopic> changed) {
+        priorityTable.setItems(FXCollections.observableArrayList(FxRepositories.priorities()));
+    }
+
+    /**
+     * Cancels the subscription of the window to the ChangeBus, called when the window is hidden.
+     */
+    void close() {
+        changeSubscription.cancel();
+    }
+
     /**
      * Used to show an alert to the user.
      * @param title The title of the alert notification.
@@ -0,0 +1,260 @@
+package org.taskmanager.taskmanager.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.stage.FileChooser;
+
+import org.taskmanager.taskmanager.exporter.TaskExporter;
+import org.taskmanager.taskmanager.fx.ChangeBus;
+import org.taskmanager.taskmanager.fx.FxRepositories;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.*;
+
+/**
+ * This class is the controller of the Search window. It is used to show
+ * the results of the search and call the taskRepository to make the change.
+ * It has 9 methods, one to initialize it, one for searching tasks when the search
+ * button is pressed, one for exporting the tasks the search finds to a file, one to update
+ * the table and the drop-down menus when the ChangeBus reports a change to the application,
+ * and five that are used by them and by the window closing.
+ */
+public class SearchController {
+
+    // Input elements for the name, category and priority.
+    @FXML TextField searchNameField;
+    @FXML ComboBox<String> searchCategoryComboBox;
+    @FXML ComboBox<String> searchPriorityComboBox;
+
+    // The button that exports the results of the search, disabled while an export runs.
+    @FXML Button exportButton;
+
+    // The task table shown as specifications requested.
+    @FXML TableView<Task> searchResultsTable;
+    @FXML TableColumn<Task, String> nameColumn;
+    @FXML TableColumn<Task, String> dueDateColumn;
+    @FXML TableColumn<Task, String> categoryColumn;
+    @FXML TableColumn<Task, String> priorityColumn;
+
+    // The repositories are kept for up to date
+    private TaskRepository taskRepository;
+    private CategoryRepository categoryRepository;
+    private PriorityRepository priorityRepository;
+
+    // The tasks that are shown to the table at each time.
+    private List<Task> shownTasks;
+
+    // Updates the window whenever the repositories change, cancelled when the window is hidden.
+    private ChangeBus.Subscription changeSubscription;
+
+    /**
+     * The constructor of the SearchController which is never used or called.
+     */
+    public SearchController(){}
+
+    /**
+     * This method initializes the controller with the proper repositories,
+     * sets the table cells to show what we want. Then we choose to show all the tasks
+     * and update it to have the current state of the application, and subscribe to the ChangeBus.
+     * @param taskRepository The repository that has all the tasks.
+     * @param categoryRepository The repository that has all the categories, as well as their maps.
+     * @param priorityRepository The repository that has all the priorities, as well as their maps.
+     */
+    public void initialize(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+
+        // Set the repositories.
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.priorityRepository = priorityRepository;
+
+        // Set the columns of the table.
+        nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
+        dueDateColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDeadline()));
+        categoryColumn.setCellValueFactory(cellData -> new SimpleStringProperty(categoryRepository.getCategoryMapReverse().get(cellData.getValue().getCategoryId())));
+        priorityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(priorityRepository.getPriorityMapReverse().get(cellData.getValue().getPriorityId())));
+
+        // Set to show all the tasks and update.
+        shownTasks = FxRepositories.tasks();
+        update();
+
+        changeSubscription = ChangeBus.subscribe(EnumSet.of(ChangeTopic.TASKS, ChangeTopic.CATEGORIES, ChangeTopic.PRIORITIES), this::onRepositoryChanged);
+    }
+
+    /**
+     * This method updates the window after the repositories changed, it is called by the ChangeBus
+     * at most once per pulse. The drop-down menus are updated first, as a deleted category or priority
+     * may be selected, and then the search runs again, so the results show the current tasks.
+     * @param changed The topics that changed since the last call.
+     */
+    private void onRepositoryChanged(Set<ChangeTopic> changed) {
+
+        if (changed.contains(ChangeTopic.CATEGORIES) || changed.contains(ChangeTopic.PRIORITIES)) {
+            update();
+        }
+        if (changed.contains(ChangeTopic.TASKS)) {
+            searchTasks();
+        }
+    }
+
+    /**
+     * Cancels the subscription of the window to the ChangeBus, called when the window is hidden.
+     */
+    void close() {
+        changeSubscription.cancel();
+    }
+
+    /**
+     * Updates the category and priority drop-down methods and presets them to any,
+     * and shows the previously shown tasks and sorts them based on the category.
+     */
+    private void update(){
+
+        // Update the category drop-down list and set it to Any.
+        ObservableList<String> categoryNames = FXCollections.observableArrayList(categoryRepository.getCategoryMap().keySet());
+        categoryNames.add("Any");
+        searchCategoryComboBox.setItems(categoryNames);
+        searchCategoryComboBox.setValue("Any");
+
+        // Update the priority drop-down list and set it to Any.
+        ObservableList<String> priorityNames = FXCollections.observableArrayList(priorityRepository.getPriorityMap().keySet());
+        priorityNames.add("Any");
+        searchPriorityComboBox.setItems(priorityNames);
+        searchPriorityComboBox.setValue("Any");
+
+        // Set the table to the tasks the user wants shown and sort based on the category column.
+        searchResultsTable.setItems(FXCollections.observableArrayList(shownTasks));
+        searchResultsTable.getSortOrder().add(categoryColumn);
+    }
+
+    /**
+     * This method is used to give to the search method in taskRepository
+     * what it requires. It provides the category and priority ids as well
+     * as the name the user wants the task to contain. Finally, it sets the
+     * table to the tasks that were filtered out.
+     */
+    @FXML
+    void searchTasks() {
+
+        // The name the user wants to search for.
+        String name = searchNameField.getText().toLowerCase();
+
+        // Get the ids of the category and priority chosen.
+        int selectedCategoryId = selectedCategoryId();
+        int selectedPriorityId = selectedPriorityId();
+
+        // Get the filtered tasks and update and sort the table.
+        shownTasks = taskRepository.searchTasks(name, selectedCategoryId, selectedPriorityId);
+        searchResultsTable.setItems(FXCollections.observableArrayList(shownTasks));
+        searchResultsTable.getSortOrder().add(categoryColumn);
+    }
+
+    /**
+     * This method exports the tasks the search finds, with the name, category and priority
+     * chosen at the moment, to a CSV or JSON Lines file the user picks. The export runs on a background
+     * thread through the TaskExporter, which writes the tasks as it finds them, so even a large export
+     * neither blocks the window nor needs more memory.
+     */
+    @FXML
+    void exportResults() {
+
+        TaskFilter filter = new TaskFilter(searchNameField.getText(), selectedCategoryId(), selectedPriorityId());
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Results");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON Lines", "*.jsonl"));
+        File chosen = fileChooser.showSaveDialog(exportButton.getScene().getWindow());
+        if (chosen == null) {
+            return;
+        }
+
+        // The file gets the extension of the chosen type if it has none of its own.
+        File file = chosen;
+        if (!chosen.getName().contains(".")) {
+            file = new File(chosen.getPath() + (fileChooser.getSelectedExtensionFilter().getDescription().equals("CSV") ? ".csv" : ".jsonl"));
+        }
+        TaskExporter.Format format;
+        try {
+            format = TaskExporter.Format.of(file.toPath());
+        } catch (IllegalArgumentException e) {
+            showAlert(Alert.AlertType.WARNING, "Export Results", e.getMessage());
+            return;
+        }
+
+        exportButton.setDisable(true);
+        File exportFile = file;
+        TaskExporter exporter = new TaskExporter(taskRepository, categoryRepository, priorityRepository);
+
+        Thread exportThread = new Thread(() -> {
+            try {
+                long exported = exporter.export(exportFile.toPath(), format, filter);
+                Platform.runLater(() -> {
+                    exportButton.setDisable(false);
+                    showAlert(Alert.AlertType.INFORMATION, "Export Results", "Exported " + exported + " tasks to " + exportFile.getName());
+                });
+            } catch (IOException e) {
+                e.printStackTrace();
+                Platform.runLater(() -> {
+                    exportButton.setDisable(false);
+                    showAlert(Alert.AlertType.ERROR, "Export Results", "Could not export to " + exportFile.getName() + ": " + e.getMessage());
+                });
+            }
+        }, "task-export");
+        exportThread.setDaemon(true);
+        exportThread.start();
+    }
+
+    /**
+     * Translates the category chosen in the drop-down menu to its id.
+     * @return The id of the category, TaskFilter.ANY for any category.
+     */
+    private int selectedCategoryId() {
+        String selectedCategory = searchCategoryComboBox.getValue();
+        if (selectedCategory.equals("Any")) {
+            return TaskFilter.ANY;
+        }
+        return categoryRepository.getCategoryMap().get(selectedCategory);
+    }
+
+    /**
+     * Translates the priority chosen in the drop-down menu to its id.
+     * @return The id of the priority, TaskFilter.ANY for any priority.
+     */
+    private int selectedPriorityId() {
+        String selectedPriority = searchPriorityComboBox.getValue();
+        if (selectedPriority.equals("Any")) {
+            return TaskFilter.ANY;
+        }
+        return priorityRepository.getPriorityMap().get(selectedPriority);
+    }
+
+    /**
+     * This method shows an alert to the user.
+     * @param type The type of the alert.
+     * @param title The title of the alert.
+     * @param message The message of the alert.
+     */
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
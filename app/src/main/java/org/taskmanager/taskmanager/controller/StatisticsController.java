@@ -0,0 +1,161 @@
+package org.taskmanager.taskmanager.controller;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import org.taskmanager.taskmanager.fx.ChangeBus;
+import org.taskmanager.taskmanager.repository.*;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class is the controller of the Statistics window. It shows the number of tasks
+ * of each state, for all the tasks and for every category and priority, how long the delayed tasks
+ * are overdue and how many notifications are waiting. It reads them from the statistics the task repository
+ * keeps up to date, so showing them does not go through the tasks however many there are.
+ * It has 5 methods, one to initialize it, one to show the statistics again when the ChangeBus reports
+ * a change to the application, one to cancel the subscription when the window is hidden, and two that are used by them.
+ */
+public class StatisticsController {
+
+    // The labels with the number of tasks of each state.
+    @FXML Label totalLabel;
+    @FXML Label openLabel;
+    @FXML Label inProgressLabel;
+    @FXML Label postponedLabel;
+    @FXML Label completedLabel;
+    @FXML Label delayedLabel;
+
+    // The labels with the occurrences due soon and the notifications that are waiting.
+    @FXML Label dueSoonLabel;
+    @FXML Label notificationsDueLabel;
+    @FXML Label notificationsNextWeekLabel;
+    @FXML Label notificationsLaterLabel;
+
+    // The table of the categories and priorities and its columns.
+    @FXML TableView<TaskStatistics.Group> groupTable;
+    @FXML TableColumn<TaskStatistics.Group, String> categoryColumn;
+    @FXML TableColumn<TaskStatistics.Group, String> priorityColumn;
+    @FXML TableColumn<TaskStatistics.Group, Integer> openColumn;
+    @FXML TableColumn<TaskStatistics.Group, Integer> inProgressColumn;
+    @FXML TableColumn<TaskStatistics.Group, Integer> postponedColumn;
+    @FXML TableColumn<TaskStatistics.Group, Integer> completedColumn;
+    @FXML TableColumn<TaskStatistics.Group, Integer> delayedColumn;
+    @FXML TableColumn<TaskStatistics.Group, Integer> totalColumn;
+
+    // The table of how long the delayed tasks are overdue and its columns.
+    @FXML TableView<Map.Entry<String, Integer>> overdueTable;
+    @FXML TableColumn<Map.Entry<String, Integer>, String> overdueRangeColumn;
+    @FXML TableColumn<Map.Entry<String, Integer>, Integer> overdueCountColumn;
+
+    // The repositories are kept for up to date
+    private TaskRepository taskRepository;
+    private CategoryRepository categoryRepository;
+    private PriorityRepository priorityRepository;
+
+    // Updates the window whenever the repositories change, cancelled when the window is hidden.
+    private ChangeBus.Subscription changeSubscription;
+
+    /**
+     * The constructor of the StatisticsController which is never used or called.
+     */
+    public StatisticsController(){}
+
+    /**
+     * This method initializes the controller with the proper repositories,
+     * sets the table cells to show what we want, shows the statistics and subscribes to the ChangeBus.
+     * @param taskRepository The repository that has all the tasks and their statistics.
+     * @param categoryRepository The repository that has all the categories, as well as their maps.
+     * @param priorityRepository The repository that has all the priorities, as well as their maps.
+     */
+    public void initialize(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+
+        // Set the repositories.
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.priorityRepository = priorityRepository;
+
+        // Set the columns of the tables.
+        categoryColumn.setCellValueFactory(cellData -> new SimpleStringProperty(categoryName(cellData.getValue())));
+        priorityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(priorityRepository.getPriorityMapReverse().get(cellData.getValue().getPriorityId())));
+        openColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getCount(TaskStateUtils.OPEN)).asObject());
+        inProgressColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getCount(TaskStateUtils.IN_PROGRESS)).asObject());
+        postponedColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getCount(TaskStateUtils.POSTPONED)).asObject());
+        completedColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getCount(TaskStateUtils.COMPLETED)).asObject());
+        delayedColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getCount(TaskStateUtils.DELAYED)).asObject());
+        totalColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getTotal()).asObject());
+        overdueRangeColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getKey()));
+        overdueCountColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getValue()).asObject());
+
+        update();
+
+        changeSubscription = ChangeBus.subscribe(EnumSet.of(ChangeTopic.TASKS, ChangeTopic.NOTIFICATIONS, ChangeTopic.CATEGORIES, ChangeTopic.PRIORITIES), this::onRepositoryChanged);
+    }
+
+    /**
+     * This method shows the statistics again after the repositories changed, it is called by the ChangeBus
+     * at most once per pulse, so a change of many tasks reads the statistics only once.
+     * @param changed The topics that changed since the last call.
+     */
+    private void onRepositoryChanged(Set<ChangeTopic> changed) {
+        update();
+    }
+
+    /**
+     * Cancels the subscription of the window to the ChangeBus, called when the window is hidden.
+     */
+    void close() {
+        changeSubscription.cancel();
+    }
+
+    /**
+     * Reads the statistics from the task repository and shows them in the labels and the tables,
+     * the categories and priorities sorted by their names.
+     */
+    private void update() {
+
+        TaskStatistics statistics = taskRepository.statistics();
+
+        // Update the labels of the states.
+        totalLabel.setText("Total: " + statistics.getTotal());
+        openLabel.setText("Open: " + statistics.getTotal(TaskStateUtils.OPEN));
+        inProgressLabel.setText("In Progress: " + statistics.getTotal(TaskStateUtils.IN_PROGRESS));
+        postponedLabel.setText("Postponed: " + statistics.getTotal(TaskStateUtils.POSTPONED));
+        completedLabel.setText("Completed: " + statistics.getTotal(TaskStateUtils.COMPLETED));
+        delayedLabel.setText("Delayed: " + statistics.getTotal(TaskStateUtils.DELAYED));
+
+        // Update the labels of the occurrences and the notifications.
+        dueSoonLabel.setText("Due in 7 Days: " + statistics.getDueInSevenDays());
+        notificationsDueLabel.setText("Notifications Due: " + statistics.getNotificationsDue());
+        notificationsNextWeekLabel.setText("Next 7 Days: " + statistics.getNotificationsNextSevenDays());
+        notificationsLaterLabel.setText("Later: " + statistics.getNotificationsLater());
+
+        // Update the tables, the groups sorted by their category and then by their priority.
+        List<TaskStatistics.Group> groups = new ArrayList<>(statistics.getGroups());
+        groups.sort(Comparator.comparing(this::categoryName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(group -> String.valueOf(priorityRepository.getPriorityMapReverse().get(group.getPriorityId())), String.CASE_INSENSITIVE_ORDER));
+        groupTable.setItems(FXCollections.observableArrayList(groups));
+        overdueTable.setItems(FXCollections.observableArrayList(new ArrayList<>(statistics.getOverdueAges().entrySet())));
+    }
+
+    /**
+     * Finds the name of the category of a group.
+     * @param group The group.
+     * @return The name of its category.
+     */
+    private String categoryName(TaskStatistics.Group group) {
+        return String.valueOf(categoryRepository.getCategoryMapReverse().get(group.getCategoryId()));
+    }
+}
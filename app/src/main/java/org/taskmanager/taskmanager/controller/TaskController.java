@@ -1,32 +1,36 @@
 package org.taskmanager.taskmanager.controller;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import org.taskmanager.taskmanager.fx.ChangeBus;
+import org.taskmanager.taskmanager.fx.FxRepositories;
 import org.taskmanager.taskmanager.model.Task;
 import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.ChangeTopic;
 import org.taskmanager.taskmanager.repository.PriorityRepository;
 import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
 import org.taskmanager.taskmanager.utils.TaskStateUtils;
 
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -36,30 +40,34 @@ import javafx.stage.Stage;
 /**
  * This class represents the controller for the task management window.
  * It is responsible for the communication with the task repository and for the addition,
- * update and deletion of tasks, as well as leads to the notification management window.
+ * update and deletion of tasks, one at a time or in bulk for all selected tasks,
+ * as well as leads to the notification management window.
  * It also includes 2 more methods to open properly the notification management window and
- * also 7 helpful methods to properly update the task management window inputs and table.
+ * also 6 helpful methods to properly update the task management window inputs and table,
+ * which follows the changes of the tasks, categories and priorities through the ChangeBus.
  */
 public class TaskController {
 
     // FXML input elements
-    @FXML private TextField taskField;
-    @FXML private TextField descriptionField;
-    @FXML private DatePicker deadlinePicker;
-    @FXML private ComboBox<String> categoryComboBox;
-    @FXML private ComboBox<String> priorityComboBox;
-    @FXML private ComboBox<TaskStateUtils> stateComboBox;
+    @FXML TextField taskField;
+    @FXML TextField descriptionField;
+    @FXML DatePicker deadlinePicker;
+    @FXML ComboBox<String> categoryComboBox;
+    @FXML ComboBox<String> priorityComboBox;
+    @FXML ComboBox<TaskStateUtils> stateComboBox;
+    @FXML ComboBox<RecurrenceUtils> recurrenceComboBox;
 
     // Task table elements
-    @FXML private TableView<Task> taskTable;
-    @FXML private TableColumn<Task, Integer> taskIDColumn;
-    @FXML private TableColumn<Task, String> nameColumn;
-    @FXML private TableColumn<Task, String> descriptionColumn;
-    @FXML private TableColumn<Task, String> deadlineColumn;
-    @FXML private TableColumn<Task, String> categoryColumn;
-    @FXML private TableColumn<Task, String> priorityColumn;
-    @FXML private TableColumn<Task, Void> actionsColumn;
-    @FXML private TableColumn<Task, String> stateColumn;
+    @FXML TableView<Task> taskTable;
+    @FXML TableColumn<Task, Integer> taskIDColumn;
+    @FXML TableColumn<Task, String> nameColumn;
+    @FXML TableColumn<Task, String> descriptionColumn;
+    @FXML TableColumn<Task, String> deadlineColumn;
+    @FXML TableColumn<Task, String> categoryColumn;
+    @FXML TableColumn<Task, String> priorityColumn;
+    @FXML TableColumn<Task, Void> actionsColumn;
+    @FXML TableColumn<Task, String> stateColumn;
+    @FXML TableColumn<Task, String> recurrenceColumn;
 
     // The formatter turns a date from string to LocalDate and vice versa.
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -69,10 +77,12 @@ public class TaskController {
     private CategoryRepository categoryRepository;
     private PriorityRepository priorityRepository;
 
-    // The controllers needed for the controller to work properly.
-    private MediaLabController mediaLabController;
+    // The notification management windows opened from this window, they close along with it.
     private final List<NotificationController> notificationControllers = new ArrayList<>();
 
+    // Updates the window whenever the repositories change, cancelled when the window closes.
+    private ChangeBus.Subscription changeSubscription;
+
     // All the stages in the app.
     private List<Stage> stageList;
 
@@ -83,24 +93,22 @@ public class TaskController {
 
     /**
      * This method initializes the task controller.
-     * It sets the repositories and controllers, as well as the maps,
+     * It sets the repositories, as well as the maps,
      * then presets the category, priority and state drop-down menus
      * properly and prepares the task table. We have also included a
-     * listener that presets the input elements
-     * @param mediaLabController The main window controller that updates the whole app.
+     * listener that presets the input elements, and the window subscribes to the ChangeBus.
      * @param taskRepository The repository for all tasks.
      * @param categoryRepository The repository for all categories.
      * @param priorityRepository The repository for all priorities.
      * @param stageList All the stages in the application.
      */
     @FXML
-    public void initialize(MediaLabController  mediaLabController, TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository, List<Stage> stageList) {
+    public void initialize(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository, List<Stage> stageList) {
 
-        // Set repositories and controllers.
+        // Set repositories and stages.
         this.stageList = stageList;
         this.categoryRepository = categoryRepository;
         this.priorityRepository = priorityRepository;
-        this.mediaLabController = mediaLabController;
         this.taskRepository = taskRepository;
 
         // Set category combo box and preset it to Uncategorized.
@@ -120,6 +128,10 @@ public class TaskController {
         stateComboBox.setItems(FXCollections.observableArrayList(stateOptions));
         stateComboBox.setValue(TaskStateUtils.OPEN);
 
+        // Set the recurrence with all available options and preset it to not repeating.
+        recurrenceComboBox.setItems(FXCollections.observableArrayList(RecurrenceUtils.values()));
+        recurrenceComboBox.setValue(RecurrenceUtils.NONE);
+
         // prepare the task table cells properly.
         taskIDColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getTaskId()).asObject());
         nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
@@ -129,13 +141,25 @@ public class TaskController {
         priorityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(priorityRepository.getPriorityMapReverse().get(cellData.getValue().getPriorityId())));
         stateColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getState().toString()));
 
+        // The next occurrence of a recurring task is only found for the rows that are shown.
+        recurrenceColumn.setCellValueFactory(cellData -> {
+            Task task = cellData.getValue();
+            if (!task.isRecurring()) {
+                return new SimpleStringProperty(task.getRecurrence().toString());
+            }
+            return new SimpleStringProperty(task.getRecurrence() + ", then " + task.nextOccurrenceAfter(LocalDate.parse(task.getDeadline(), formatter)));
+        });
+
         // Show a date which is 1 week after today.
         deadlinePicker.setValue(LocalDate.now().plusWeeks(1));
         // Adds the notification button to the task table.
         addNotificationButtonToTable();
 
-        // Set the task table items and set the listener with the presets.
-        taskTable.setItems(FXCollections.observableArrayList(taskRepository.findAll()));
+        // Show the tasks of the projection through a sorted view, allow selecting many tasks for the bulk actions and set the listener with the presets.
+        SortedList<Task> sortedTasks = new SortedList<>(FxRepositories.tasks());
+        sortedTasks.comparatorProperty().bind(taskTable.comparatorProperty());
+        taskTable.setItems(sortedTasks);
+        taskTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
         taskTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
@@ -144,6 +168,8 @@ public class TaskController {
                 clearInputs();
             }
         });
+
+        changeSubscription = ChangeBus.subscribe(EnumSet.of(ChangeTopic.CATEGORIES, ChangeTopic.PRIORITIES), this::onRepositoryChanged);
     }
 
     /**
@@ -153,7 +179,7 @@ public class TaskController {
      * repository.
      */
     @FXML
-    private void addTask() {
+    void addTask() {
 
         // Check that category is not null.
         String selectedCategory = categoryComboBox.getValue();
@@ -190,7 +216,7 @@ public class TaskController {
         }
 
         // Add a task to the repository.
-        taskRepository.add(taskName, description, deadline.format(formatter), categoryRepository.getCategoryMap().get(selectedCategory), priorityRepository.getPriorityMap().get(selectedPriority), selectedState);
+        taskRepository.add(taskName, description, deadline.format(formatter), categoryRepository.getCategoryMap().get(selectedCategory), priorityRepository.getPriorityMap().get(selectedPriority), selectedState, recurrenceComboBox.getValue());
 
         update();
     }
@@ -200,7 +226,7 @@ public class TaskController {
      * selected then it only checks that the name and deadline make sense.
      */
     @FXML
-    private void updateTask() {
+    void updateTask() {
 
         Task selectedTask = taskTable.getSelectionModel().getSelectedItem();
 
@@ -224,18 +250,10 @@ public class TaskController {
                 return;
             }
 
-            // Update the task and the system.
-            taskRepository.update(selectedTask, taskName, description, deadline.format(formatter), categoryRepository.getCategoryMap().get(selectedCategory), priorityRepository.getPriorityMap().get(selectedPriority), selectedState);
+            // Update the task, its notification window follows the change on its own.
+            taskRepository.update(selectedTask, taskName, description, deadline.format(formatter), categoryRepository.getCategoryMap().get(selectedCategory), priorityRepository.getPriorityMap().get(selectedPriority), selectedState, recurrenceComboBox.getValue());
             update();
 
-            // If there is a notification window , and it corresponds to this task,
-            // update its deadline.
-            for (NotificationController controller:notificationControllers){
-                if (controller != null && controller.sameTask(selectedTask)) {
-                    controller.updateDeadline(selectedTask.getDeadline());
-                }
-            }
-
         } else {
             showAlert("Warning", "Please select a task to update.");
         }
@@ -243,11 +261,10 @@ public class TaskController {
 
     /**
      * This method calls the task repository to delete the selected task
-     * from it. It also closes the window of the controller corresponding
-     * to the deleted task.
+     * from it. The notification window of the deleted task closes on its own.
      */
     @FXML
-    private void deleteTask() {
+    void deleteTask() {
 
         Task selectedTask = taskTable.getSelectionModel().getSelectedItem();
 
@@ -257,25 +274,126 @@ public class TaskController {
             taskRepository.delete(selectedTask.getTaskId());
             update();
 
-            // Close the notification window the task corresponds to.
-            for (NotificationController controller:notificationControllers){
-                if (controller != null && controller.sameTask(selectedTask)) {
-                    controller.closeNotificationWindow();
-                }
-            }
-
         } else {
             showAlert("Warning", "Please select a task to delete.");
         }
     }
 
+    /**
+     * This method sets the state chosen in the state drop-down menu to all selected tasks.
+     * The repository changes them in a single operation and the window is updated once.
+     */
+    @FXML
+    void bulkSetState() {
+
+        List<Task> selectedTasks = selectedTasks();
+        TaskStateUtils selectedState = stateComboBox.getValue();
+
+        if (selectedTasks.isEmpty() || selectedState == null) {
+            showAlert("Warning", "Please select the tasks and the state to set.");
+            return;
+        }
+
+        // Completed tasks have no notifications, so their notification windows close on their own.
+        taskRepository.updateState(selectedTasks, selectedState);
+        update();
+    }
+
+    /**
+     * This method moves all selected tasks to the category chosen in the category drop-down menu.
+     * The repository changes them in a single operation and the window is updated once.
+     */
+    @FXML
+    void bulkSetCategory() {
+
+        List<Task> selectedTasks = selectedTasks();
+        String selectedCategory = categoryComboBox.getValue();
+
+        if (selectedTasks.isEmpty() || selectedCategory == null) {
+            showAlert("Warning", "Please select the tasks and the category to set.");
+            return;
+        }
+
+        taskRepository.updateCategory(selectedTasks, categoryRepository.getCategoryMap().get(selectedCategory));
+        update();
+    }
+
+    /**
+     * This method sets the priority chosen in the priority drop-down menu to all selected tasks.
+     * The repository changes them in a single operation and the window is updated once.
+     */
+    @FXML
+    void bulkSetPriority() {
+
+        List<Task> selectedTasks = selectedTasks();
+        String selectedPriority = priorityComboBox.getValue();
+
+        if (selectedTasks.isEmpty() || selectedPriority == null) {
+            showAlert("Warning", "Please select the tasks and the priority to set.");
+            return;
+        }
+
+        taskRepository.updatePriority(selectedTasks, priorityRepository.getPriorityMap().get(selectedPriority));
+        update();
+    }
+
+    /**
+     * This method sets the deadline chosen in the date picker to all selected tasks, after
+     * checking that it is not in the past. The repository changes them in a single operation
+     * and the window is updated once.
+     */
+    @FXML
+    void bulkSetDeadline() {
+
+        List<Task> selectedTasks = selectedTasks();
+        LocalDate deadline = deadlinePicker.getValue();
+
+        if (selectedTasks.isEmpty() || deadline == null) {
+            showAlert("Warning", "Please select the tasks and the deadline to set.");
+            return;
+        }
+        if (deadline.isBefore(LocalDate.now())) {
+            showAlert("Error", "Please select a deadline after the current date.");
+            return;
+        }
+
+        taskRepository.updateDeadline(selectedTasks, deadline.format(formatter));
+        update();
+    }
+
+    /**
+     * This method deletes all selected tasks. The repository removes them in a single
+     * operation and the window is updated once.
+     */
+    @FXML
+    void bulkDelete() {
+
+        List<Task> selectedTasks = selectedTasks();
+
+        if (selectedTasks.isEmpty()) {
+            showAlert("Warning", "Please select the tasks to delete.");
+            return;
+        }
+
+        taskRepository.deleteAll(selectedTasks);
+        update();
+    }
+
+    /**
+     * Returns a copy of the selected tasks, as the update of the window resets the table.
+     * @return The tasks selected in the task table.
+     */
+    private List<Task> selectedTasks() {
+        return new ArrayList<>(taskTable.getSelectionModel().getSelectedItems());
+    }
+
     /**
      * This method properly adds a notification button to each task in the
      * task table. Each button opens a notification management window
      * specifically for that task.
      */
     @FXML
-    private void addNotificationButtonToTable() {
+    void addNotificationButtonToTable() {
 
         actionsColumn.setCellFactory(column -> new TableCell<Task, Void>() {
             private final Button btn = new Button("Manage Notifications");
@@ -319,31 +437,22 @@ public class TaskController {
      */
     private void openNotificationManager(Task task) {
 
-        try {
-
-            // Load the FXML file.
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/taskmanager/taskmanager/views/NotificationManagement.fxml"));
-            Parent root = loader.load();
-
-            // Load the controller of the FXML file.
-            NotificationController controller = loader.getController();
-            notificationControllers.add(controller);
-
-            // Create a stage, initialise it, add it to the stageList
-            Stage stage = new Stage();
-            controller.initialize(task, stage, this.mediaLabController, taskRepository);
-            stageList.add(stage);
-
-            // Set title, scene and styleSheet and then open the window.
-            stage.setTitle("Manage Notifications");
-            Scene scene = new Scene(root, 600, 600);
-            scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/org/taskmanager/taskmanager/style/NotificationManagement.css")).toExternalForm());
-            stage.setScene(scene);
-            stage.show();
-
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // Build the view, the generated builder sets the FXML elements of the controller.
+        NotificationController controller = new NotificationController();
+        Parent root = NotificationManagementView.build(controller);
+        notificationControllers.add(controller);
+
+        // Create a stage, initialise it, add it to the stageList
+        Stage stage = new Stage();
+        controller.initialize(task, stage, taskRepository);
+        stageList.add(stage);
+
+        // Set title, scene and styleSheet and then open the window.
+        stage.setTitle("Manage Notifications");
+        Scene scene = new Scene(root, 600, 600);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/org/taskmanager/taskmanager/style/NotificationManagement.css")).toExternalForm());
+        stage.setScene(scene);
+        stage.show();
     }
 
     /**
@@ -352,7 +461,7 @@ public class TaskController {
      * category to uncategorized if it didn't have anything else or the
      * previous category selected was deleted.
      */
-    public void updateCategories() {
+    private void updateCategories() {
 
         categoryComboBox.getItems().clear();
 
@@ -373,7 +482,7 @@ public class TaskController {
      * priority to Default if it didn't have anything else or the
      * previous priority selected was deleted.
      */
-    public void updatePriorities() {
+    private void updatePriorities() {
 
         priorityComboBox.getItems().clear();
 
@@ -389,14 +498,20 @@ public class TaskController {
     }
 
     /**
-     * This method informs the mediaLabController it should update its tables,
-     * then resets the task table.
+     * This method updates the window after the repositories changed, it is called by the
+     * ChangeBus at most once per pulse, with all the topics that changed, so a bulk action
+     * reloads the drop-down menus a single time.
+     * @param changed The topics that changed since the last call.
      */
-    public void updateTasks(){
-        mediaLabController.updateMediaLabTables();
-        taskTable.getItems().clear();
-        taskTable.setItems(FXCollections.observableArrayList(taskRepository.findAll()));
-        taskTable.refresh();
+    private void onRepositoryChanged(Set<ChangeTopic> changed) {
+
+        if (changed.contains(ChangeTopic.CATEGORIES)) {
+            updateCategories();
+        }
+        if (changed.contains(ChangeTopic.PRIORITIES)) {
+            updatePriorities();
+        }
+        // The added, removed and updated tasks reach the table through the projection, which keeps it in order.
     }
 
     /**
@@ -411,6 +526,7 @@ public class TaskController {
         categoryComboBox.setValue("Uncategorized");
         priorityComboBox.setValue("Default");
         stateComboBox.setValue(TaskStateUtils.OPEN);
+        recurrenceComboBox.setValue(RecurrenceUtils.NONE);
     }
 
     /**
@@ -424,6 +540,7 @@ public class TaskController {
         deadlinePicker.setValue(LocalDate.parse(newSelection.getDeadline(), formatter));
         categoryComboBox.setValue(categoryRepository.getCategoryMapReverse().get(newSelection.getCategoryId()));
         priorityComboBox.setValue(priorityRepository.getPriorityMapReverse().get(newSelection.getPriorityId()));
+        recurrenceComboBox.setValue(newSelection.getRecurrence());
 
         /*
             If the state of the task is delayed, display open, as delayed can only be provided by the
@@ -438,14 +555,10 @@ public class TaskController {
     }
 
     /**
-     * This method calls all the above update methods and clears
-     * the inputs from the input elements.
+     * This method clears the inputs from the input elements after a change,
+     * the table is updated through the ChangeBus.
      */
     private void update(){
-        updateCategories();
-        updatePriorities();
-        updateTasks();
-        taskTable.refresh();
         clearInputs();
     }
 
@@ -473,4 +586,11 @@ public class TaskController {
         }
         stage.close();
     }
+
+    /**
+     * Cancels the subscription of the window to the ChangeBus, called when the window is hidden.
+     */
+    void close() {
+        changeSubscription.cancel();
+    }
 }
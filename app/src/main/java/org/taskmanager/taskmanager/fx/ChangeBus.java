@@ -0,0 +1,144 @@
+package org.taskmanager.taskmanager.fx;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.taskmanager.taskmanager.repository.ChangeTopic;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * This class tells the windows of the application that the repositories changed. Each window
+ * subscribes for the topics it shows, and the topics of every change of the repositories are
+ * published once it is done. The changes are not delivered right away: the topics are gathered until the
+ * next JavaFX pulse, and then every subscriber is called once with all of its topics that changed,
+ * so a burst of changes, for example a bulk action or a batch of due notifications, leads to a
+ * single refresh of each open window. The subscribers are always called on the JavaFX thread,
+ * after the FxProjection lists have received the changes.
+ */
+public class ChangeBus {
+
+    private static final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // The topics that changed since the last delivery, guarded by itself.
+    private static final Set<ChangeTopic> changed = EnumSet.noneOf(ChangeTopic.class);
+    private static final AtomicBoolean deliveryScheduled = new AtomicBoolean(false);
+
+    // Runs for a single pulse after changes are published, created on the JavaFX thread when first needed.
+    private static AnimationTimer pulseTimer;
+
+    /**
+     * The constructor of the ChangeBus which is never used or called.
+     */
+    private ChangeBus() {}
+
+    /**
+     * Subscribes a window to some topics. The subscription has to be cancelled when the window closes.
+     * @param topics The topics the window shows.
+     * @param listener Called once per pulse with the topics of the subscription that changed.
+     * @return The subscription, used to cancel it.
+     */
+    public static Subscription subscribe(Set<ChangeTopic> topics, Consumer<Set<ChangeTopic>> listener) {
+        Subscription subscription = new Subscription(EnumSet.copyOf(topics), listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Publishes that some topics changed, it is called by the listeners that FxRepositories adds
+     * to the repositories after every change, from any thread. Nothing happens if no window is subscribed.
+     * @param topics The topics that changed.
+     */
+    static void publish(Set<ChangeTopic> topics) {
+
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        synchronized (changed) {
+            changed.addAll(topics);
+        }
+
+        if (deliveryScheduled.compareAndSet(false, true)) {
+            Platform.runLater(ChangeBus::deliverOnNextPulse);
+        }
+    }
+
+    /**
+     * Starts the pulse timer, it runs on the JavaFX thread. The timer stops itself at its
+     * first pulse, so it only keeps the JavaFX thread busy while there are changes to deliver.
+     */
+    private static void deliverOnNextPulse() {
+
+        if (pulseTimer == null) {
+            pulseTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    stop();
+                    deliver();
+                }
+            };
+        }
+        pulseTimer.start();
+    }
+
+    /**
+     * Calls every subscriber with its topics that changed since the last delivery.
+     */
+    private static void deliver() {
+
+        Set<ChangeTopic> delivered;
+        synchronized (changed) {
+            delivered = EnumSet.copyOf(changed);
+            changed.clear();
+            // Changes published from now on need another pulse.
+            deliveryScheduled.set(false);
+        }
+
+        if (delivered.isEmpty()) {
+            return;
+        }
+
+        for (Subscription subscription : subscriptions) {
+
+            Set<ChangeTopic> topics = EnumSet.copyOf(delivered);
+            topics.retainAll(subscription.topics);
+
+            // A subscription cancelled by an earlier subscriber of this delivery is skipped.
+            if (!topics.isEmpty() && subscriptions.contains(subscription)) {
+                subscription.listener.accept(topics);
+            }
+        }
+    }
+
+    /**
+     * The subscription of a window to some topics.
+     */
+    public static final class Subscription {
+
+        private final Set<ChangeTopic> topics;
+        private final Consumer<Set<ChangeTopic>> listener;
+
+        /**
+         * Constructor of a subscription.
+         * @param topics The topics of the subscription.
+         * @param listener Called with the topics that changed.
+         */
+        private Subscription(Set<ChangeTopic> topics, Consumer<Set<ChangeTopic>> listener) {
+            this.topics = topics;
+            this.listener = listener;
+        }
+
+        /**
+         * Cancels the subscription, the listener is not called again.
+         */
+        public void cancel() {
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.taskmanager.taskmanager.fx;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.taskmanager.taskmanager.metrics.LatencyHistogram;
+import org.taskmanager.taskmanager.metrics.Metrics;
+import org.taskmanager.taskmanager.repository.ChangeTopic;
+import org.taskmanager.taskmanager.repository.RepositoryListener;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * This class is the JavaFX side of a repository. The repositories keep their data in
+ * thread-safe structures and can be changed from any thread, while the tables of the
+ * application need an ObservableList that is only touched on the JavaFX thread.
+ * As a listener of the repository, every change is queued here while the repository is locked,
+ * so the changes are queued in the order they happened, and then published once the lock is released,
+ * as the listeners of the list may read the repository. The changes are applied to the list on the JavaFX
+ * thread in batches: consecutive additions become a single addAll and consecutive removals a single
+ * removeAll, so the list raises as few changes as possible. An item whose values changed is set again
+ * in its place, so the sorted lists over the projection move it to where its new values belong. Changes published on the JavaFX thread
+ * itself are applied right away, along with the ones still waiting, so the controllers see their
+ * own changes immediately. How long each batch takes to apply, including the updates of the tables
+ * that show the list, is recorded in the Metrics, under the name of the projection.
+ * @param <T> The type of the items of the repository.
+ */
+public class FxProjection<T> implements RepositoryListener<T> {
+
+    /*
+        The thread that owns the lists, the JavaFX thread unless it is replaced,
+        for example by tools that run the repositories without a display.
+     */
+    private static volatile Executor dispatcher = Platform::runLater;
+    private static volatile BooleanSupplier onDispatchThread = Platform::isFxApplicationThread;
+
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+
+    // The changes waiting to be applied, in the order they were published.
+    private final ConcurrentLinkedQueue<Change<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    // How long applying the waiting changes to the list takes.
+    private final LatencyHistogram refreshLatency;
+
+    /**
+     * Constructor of the FxProjection, it starts empty.
+     * @param name The name of the projection, such as tasks, the label of its metrics.
+     */
+    FxProjection(String name) {
+        this.refreshLatency = Metrics.histogram("medialab_table_refresh_seconds",
+                "How long applying the changes of a repository to its list and tables takes.", "list", name);
+    }
+
+    /**
+     * Replaces the thread that owns the lists of all projections. It has to be called
+     * before any repository is used, and only when the JavaFX thread is not available.
+     * @param newDispatcher Runs a task on the thread that owns the lists.
+     * @param newOnDispatchThread Checks whether the current thread is the one that owns the lists.
+     */
+    public static void setDispatcher(Executor newDispatcher, BooleanSupplier newOnDispatchThread) {
+        dispatcher = newDispatcher;
+        onDispatchThread = newOnDispatchThread;
+    }
+
+    /**
+     * Returns the list of the projection, it must only be used on the JavaFX thread.
+     * @return The items of the repository, as far as the JavaFX thread has seen them.
+     */
+    public ObservableList<T> items() {
+        return items;
+    }
+
+    /**
+     * Queues items that were added to the repository.
+     * @param added The added items.
+     */
+    @Override
+    public void added(Collection<T> added) {
+        pending.add(new Change<>(ChangeType.ADD, new ArrayList<>(added)));
+    }
+
+    /**
+     * Queues items that were removed from the repository.
+     * @param removed The removed items.
+     */
+    @Override
+    public void removed(Collection<T> removed) {
+        pending.add(new Change<>(ChangeType.REMOVE, new ArrayList<>(removed)));
+    }
+
+    /**
+     * Queues items whose values changed in the repository.
+     * @param updated The changed items.
+     */
+    @Override
+    public void updated(Collection<T> updated) {
+        pending.add(new Change<>(ChangeType.UPDATE, new ArrayList<>(updated)));
+    }
+
+    /**
+     * Queues that all the items of the repository were replaced.
+     * @param all The new items of the repository.
+     */
+    @Override
+    public void reset(Collection<T> all) {
+        pending.add(new Change<>(ChangeType.RESET, new ArrayList<>(all)));
+    }
+
+    /**
+     * Publishes the queued changes once a change of the repository is done.
+     * @param topics The topics of the change, the list applies all of them alike.
+     */
+    @Override
+    public void changed(Set<ChangeTopic> topics) {
+        publish();
+    }
+
+    /**
+     * Makes sure the queued changes are applied on the owning thread, right away if
+     * this is the owning thread, otherwise with at most one waiting task for all the changes.
+     * It must be called after the lock of the repository is released.
+     */
+    private void publish() {
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        if (onDispatchThread.getAsBoolean()) {
+            drain();
+        } else if (drainScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                drainScheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Applies all the waiting changes to the list, merging the consecutive changes of the same type.
+     */
+    private void drain() {
+
+        long start = System.nanoTime();
+        ChangeType batchType = null;
+        List<T> batch = new ArrayList<>();
+
+        Change<T> change;
+        while ((change = pending.poll()) != null) {
+
+            if (change.type != batchType || change.type == ChangeType.RESET) {
+                apply(batchType, batch);
+                batch = new ArrayList<>();
+                batchType = change.type;
+            }
+            batch.addAll(change.items);
+        }
+        apply(batchType, batch);
+        refreshLatency.recordSince(start);
+    }
+
+    /**
+     * Applies a batch of changes of the same type to the list.
+     * @param type The type of the changes, null if there is nothing to apply.
+     * @param batch The items of the changes.
+     */
+    private void apply(ChangeType type, List<T> batch) {
+
+        if (type == null) {
+            return;
+        }
+
+        switch (type) {
+            case ADD:
+                items.addAll(batch);
+                break;
+            case REMOVE:
+                // A set makes finding each item of the list among the removed ones O(1).
+                Set<T> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+                toRemove.addAll(batch);
+                items.removeAll(toRemove);
+                break;
+            case UPDATE:
+                // Setting an item in its own place is a replacement, which the sorted lists place again.
+                Set<T> toUpdate = Collections.newSetFromMap(new IdentityHashMap<>());
+                toUpdate.addAll(batch);
+                for (int i = 0; i < items.size() && !toUpdate.isEmpty(); i++) {
+                    if (toUpdate.remove(items.get(i))) {
+                        items.set(i, items.get(i));
+                    }
+                }
+                break;
+            case RESET:
+                items.setAll(batch);
+                break;
+        }
+    }
+
+    /**
+     * The types of changes of a repository.
+     */
+    private enum ChangeType {
+        ADD, REMOVE, UPDATE, RESET
+    }
+
+    /**
+     * A change of a repository that waits to be applied to the list.
+     * @param <T> The type of the items of the repository.
+     */
+    private static final class Change<T> {
+
+        private final ChangeType type;
+        private final List<T> items;
+
+        /**
+         * Constructor of a change.
+         * @param type The type of the change.
+         * @param items The items the change is about.
+         */
+        private Change(ChangeType type, List<T> items) {
+            this.type = type;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.taskmanager.taskmanager.fx;
+
+import java.util.Set;
+
+import org.taskmanager.taskmanager.model.Category;
+import org.taskmanager.taskmanager.model.NotificationWrapper;
+import org.taskmanager.taskmanager.model.Priority;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.ChangeTopic;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.RepositoryListener;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+
+import javafx.collections.ObservableList;
+
+/**
+ * This class connects the repositories of the core to the user interface. It adds an FxProjection
+ * to each repository, which gives the tables an ObservableList of its items, and a listener that
+ * publishes the topics of every change to the ChangeBus. The notifications of the tasks have a projection
+ * of their own, fed by the task repository through a NotificationProjection. The projection of a repository is added before
+ * its ChangeBus listener, so the windows are told about a change only after the lists received it.
+ * The repositories keep their data in static fields, and so does this class.
+ */
+public class FxRepositories {
+
+    private static final FxProjection<Task> tasks = new FxProjection<>("tasks");
+    private static final FxProjection<NotificationWrapper> notifications = new FxProjection<>("notifications");
+    private static final FxProjection<Category> categories = new FxProjection<>("categories");
+    private static final FxProjection<Priority> priorities = new FxProjection<>("priorities");
+
+    private static boolean installed = false;
+
+    /**
+     * The constructor of the FxRepositories which is never used or called.
+     */
+    private FxRepositories() {}
+
+    /**
+     * Adds the projections and the ChangeBus listeners to the repositories, only the first time it is called.
+     * It has to be called before the repositories are loaded, so the lists receive the loaded items.
+     * @param taskRepository The task repository.
+     * @param categoryRepository The category repository.
+     * @param priorityRepository The priority repository.
+     */
+    public static synchronized void install(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        taskRepository.addListener(tasks);
+        taskRepository.addListener(new NotificationProjection(notifications));
+        taskRepository.addListener(changeBusListener());
+        categoryRepository.addListener(categories);
+        categoryRepository.addListener(changeBusListener());
+        priorityRepository.addListener(priorities);
+        priorityRepository.addListener(changeBusListener());
+    }
+
+    /**
+     * Returns the list of all the tasks, as the JavaFX thread sees them.
+     * It must only be used on the JavaFX thread, other threads use the snapshots of the repository.
+     * @return The list of all tasks.
+     */
+    public static ObservableList<Task> tasks() {
+        return tasks.items();
+    }
+
+    /**
+     * Returns the list of all the notifications of the tasks, as the JavaFX thread sees them.
+     * @return The list of all notifications, along with the task they belong to.
+     */
+    public static ObservableList<NotificationWrapper> notifications() {
+        return notifications.items();
+    }
+
+    /**
+     * Returns the list of all the categories, as the JavaFX thread sees them.
+     * @return The list of all categories.
+     */
+    public static ObservableList<Category> categories() {
+        return categories.items();
+    }
+
+    /**
+     * Returns the list of all the priorities, as the JavaFX thread sees them.
+     * @return The list of all priorities.
+     */
+    public static ObservableList<Priority> priorities() {
+        return priorities.items();
+    }
+
+    /**
+     * Creates a listener that publishes the topics of every change of a repository to the ChangeBus.
+     * @param <T> The type of the items of the repository.
+     * @return The listener.
+     */
+    private static <T> RepositoryListener<T> changeBusListener() {
+        return new RepositoryListener<T>() {
+            @Override
+            public void changed(Set<ChangeTopic> topics) {
+                ChangeBus.publish(topics);
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package org.taskmanager.taskmanager.fx;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.NotificationWrapper;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.ChangeTopic;
+import org.taskmanager.taskmanager.repository.RepositoryListener;
+
+/**
+ * This class turns the changes of the task repository into changes of the notifications of its tasks,
+ * which it passes on to an FxProjection of NotificationWrappers, so the notification table follows the
+ * notifications the same way the task tables follow the tasks. It keeps the wrappers of the notifications
+ * of every task, so when a task is updated its notifications that are still there keep their wrapper and
+ * are updated, the new ones are added and the deleted ones are removed. Like the other listeners, it is
+ * called while the repository is locked, which is also what guards the wrappers it keeps.
+ */
+class NotificationProjection implements RepositoryListener<Task> {
+
+    private final FxProjection<NotificationWrapper> projection;
+
+    // The wrappers of the notifications of every task, by task id.
+    private final Map<Integer, List<NotificationWrapper>> wrappers = new HashMap<>();
+
+    /**
+     * Constructor of the NotificationProjection, it starts without notifications.
+     * @param projection The projection that receives the changes of the notifications.
+     */
+    NotificationProjection(FxProjection<NotificationWrapper> projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Adds the notifications of the added tasks.
+     * @param added The added tasks.
+     */
+    @Override
+    public void added(Collection<Task> added) {
+
+        List<NotificationWrapper> addedWrappers = new ArrayList<>();
+        for (Task task : added) {
+            List<NotificationWrapper> taskWrappers = wrap(task, Map.of());
+            wrappers.put(task.getTaskId(), taskWrappers);
+            addedWrappers.addAll(taskWrappers);
+        }
+        if (!addedWrappers.isEmpty()) {
+            projection.added(addedWrappers);
+        }
+    }
+
+    /**
+     * Removes the notifications of the removed tasks.
+     * @param removed The removed tasks.
+     */
+    @Override
+    public void removed(Collection<Task> removed) {
+
+        List<NotificationWrapper> removedWrappers = new ArrayList<>();
+        for (Task task : removed) {
+            List<NotificationWrapper> taskWrappers = wrappers.remove(task.getTaskId());
+            if (taskWrappers != null) {
+                removedWrappers.addAll(taskWrappers);
+            }
+        }
+        if (!removedWrappers.isEmpty()) {
+            projection.removed(removedWrappers);
+        }
+    }
+
+    /**
+     * Compares the notifications of the updated tasks with the ones they had before. The notifications
+     * that are still there are updated, as their message or date may have changed, the new ones
+     * are added and the ones that are gone are removed.
+     * @param updated The updated tasks.
+     */
+    @Override
+    public void updated(Collection<Task> updated) {
+
+        List<NotificationWrapper> addedWrappers = new ArrayList<>();
+        List<NotificationWrapper> removedWrappers = new ArrayList<>();
+        List<NotificationWrapper> keptWrappers = new ArrayList<>();
+
+        for (Task task : updated) {
+
+            // The previous wrappers by their notification, the same notification keeps its wrapper.
+            Map<Notification, NotificationWrapper> previous = new IdentityHashMap<>();
+            for (NotificationWrapper wrapper : wrappers.getOrDefault(task.getTaskId(), List.of())) {
+                previous.put(wrapper.getNotification(), wrapper);
+            }
+
+            List<NotificationWrapper> taskWrappers = wrap(task, previous);
+            for (NotificationWrapper wrapper : taskWrappers) {
+                if (previous.remove(wrapper.getNotification()) != null) {
+                    keptWrappers.add(wrapper);
+                } else {
+                    addedWrappers.add(wrapper);
+                }
+            }
+            removedWrappers.addAll(previous.values());
+            wrappers.put(task.getTaskId(), taskWrappers);
+        }
+
+        if (!removedWrappers.isEmpty()) {
+            projection.removed(removedWrappers);
+        }
+        if (!addedWrappers.isEmpty()) {
+            projection.added(addedWrappers);
+        }
+        if (!keptWrappers.isEmpty()) {
+            projection.updated(keptWrappers);
+        }
+    }
+
+    /**
+     * Replaces all the notifications with the ones of the new tasks.
+     * @param all The new tasks of the repository.
+     */
+    @Override
+    public void reset(Collection<Task> all) {
+
+        wrappers.clear();
+        List<NotificationWrapper> allWrappers = new ArrayList<>();
+        for (Task task : all) {
+            List<NotificationWrapper> taskWrappers = wrap(task, Map.of());
+            wrappers.put(task.getTaskId(), taskWrappers);
+            allWrappers.addAll(taskWrappers);
+        }
+        projection.reset(allWrappers);
+    }
+
+    /**
+     * Publishes the changes of the notifications once the change of the repository is done.
+     * @param topics The topics of the change.
+     */
+    @Override
+    public void changed(Set<ChangeTopic> topics) {
+        projection.changed(topics);
+    }
+
+    /**
+     * Wraps the notifications of a task, reusing the wrappers it already had.
+     * @param task The task.
+     * @param previous The previous wrappers of the task by their notification.
+     * @return The wrappers of all the notifications of the task.
+     */
+    private static List<NotificationWrapper> wrap(Task task, Map<Notification, NotificationWrapper> previous) {
+
+        List<NotificationWrapper> taskWrappers = new ArrayList<>(task.getNotifications().size());
+        for (Notification notification : task.getNotifications()) {
+            NotificationWrapper wrapper = previous.get(notification);
+            taskWrappers.add(wrapper != null ? wrapper : new NotificationWrapper(notification, task));
+        }
+        return taskWrappers;
+    }
+}
@@ -0,0 +1,140 @@
+package org.taskmanager.taskmanager.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.taskmanager.taskmanager.exporter.TaskExporter;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.TaskFilter;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskJsonUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class measures the TaskExporter on a large repository. It exports all the tasks and a filtered
+ * part of them to CSV and JSON Lines, and, for comparison, all the tasks through a list to a JSON file as the
+ * tasks file is written. For each export it prints the rows per second and the most heap that was in use above
+ * what the repository itself needs, sampled while the export runs, which for the streaming exports stays
+ * the same however many tasks there are.
+ * It never saves the tasks, so it is better run from a copy of the medialab folder:
+ * java -cp benchmarks/target/benchmarks.jar org.taskmanager.taskmanager.benchmark.ExportBenchmark [tasks]
+ */
+public class ExportBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    /**
+     * The constructor of the ExportBenchmark which is never used or called.
+     */
+    private ExportBenchmark() {}
+
+    /**
+     * Runs the benchmark and prints its results.
+     * @param args The number of tasks (default 1000000).
+     * @throws Exception If a file cannot be written or the benchmark is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        TaskRepository taskRepository = new TaskRepository();
+        CategoryRepository categoryRepository = new CategoryRepository();
+        PriorityRepository priorityRepository = new PriorityRepository();
+        categoryRepository.load();
+        priorityRepository.load();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < taskCount; i++) {
+            taskRepository.add("Task " + i, "Added by the export benchmark", TODAY.plusDays(random.nextInt(1, 365)).toString(),
+                    -1, random.nextInt(-1, 3), TaskStateUtils.OPEN, RecurrenceUtils.NONE);
+        }
+        System.out.printf("Exporting from %d tasks%n", taskCount);
+
+        TaskExporter exporter = new TaskExporter(taskRepository, categoryRepository, priorityRepository);
+        Path file = Files.createTempFile("export-benchmark", ".out");
+        try {
+            measure("CSV, all", file, () -> exporter.export(file, TaskExporter.Format.CSV, task -> true));
+            measure("JSONL, all", file, () -> exporter.export(file, TaskExporter.Format.JSON_LINES, task -> true));
+            Predicate<Task> filter = new TaskFilter("task 1", TaskFilter.ANY, 0);
+            measure("CSV, filtered", file, () -> exporter.export(file, TaskExporter.Format.CSV, filter));
+            measure("JSON through a list", file, () -> {
+                List<Task> tasks = taskRepository.snapshot();
+                TaskJsonUtils.writeTaskListToFile(file.toString(), tasks);
+                return tasks.size();
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Runs an export while a sampler thread records the most heap in use, and prints the results.
+     * @param name The name of the export, printed with the results.
+     * @param file The file the export writes, for its size.
+     * @param export Runs the export and returns the number of exported tasks.
+     * @throws Exception If the export fails or the benchmark is interrupted.
+     */
+    private static void measure(String name, Path file, Export export) throws Exception {
+
+        long baseline = usedMemory();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "heap-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long start = System.nanoTime();
+        long exported = export.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+        sampler.join();
+
+        System.out.printf("%-20s %8d tasks, %6.1f MB in %5.2f s, %8.0f rows/s, peak heap above the repository %6.1f MB%n",
+                name, exported, Files.size(file) / 1e6, seconds, exported / seconds, (peak.get() - baseline) / 1e6);
+    }
+
+    /**
+     * Returns the heap in use after a garbage collection.
+     * @return The used heap in bytes.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    private static long usedMemory() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * An export that is measured.
+     */
+    private interface Export {
+
+        /**
+         * Runs the export.
+         * @return The number of exported tasks.
+         * @throws IOException If the file cannot be written.
+         */
+        long run() throws IOException;
+    }
+}
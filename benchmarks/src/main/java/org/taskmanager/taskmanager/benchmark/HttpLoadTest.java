@@ -0,0 +1,229 @@
+package org.taskmanager.taskmanager.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.server.MediaLabServer;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class puts the HTTP API under load. It starts a MediaLabServer on a free port, fills the task
+ * repository and then has many clients send requests as fast as they can, mostly reads of single tasks,
+ * pages of tasks and notifications, along with some new tasks. At the end it prints the requests per second,
+ * the latencies and the errors of each kind of request, and checks that every task added through the API can be read back.
+ * It never saves the tasks, but it loads the categories and priorities, so it is better run from a copy of the medialab folder:
+ * java -cp benchmarks/target/benchmarks.jar org.taskmanager.taskmanager.benchmark.HttpLoadTest [tasks] [clients] [seconds]
+ */
+public class HttpLoadTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    // The kinds of requests, picked at random with these chances: 40% single task, 35% page of tasks, 15% notifications, 10% new task.
+    private static final String[] KINDS = {"GET task", "GET tasks", "GET notifications", "POST task"};
+    private static final int[] CHANCES = {40, 75, 90, 100};
+
+    // The number of latencies each client keeps per kind of request.
+    private static final int MAX_SAMPLES = 50_000;
+
+    /**
+     * The constructor of the HttpLoadTest which is never used or called.
+     */
+    private HttpLoadTest() {}
+
+    /**
+     * Runs the load test and prints its results.
+     * @param args The number of tasks (default 10000), clients (default 8) and seconds (default 10).
+     * @throws Exception If the server cannot start or the test is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        TaskRepository taskRepository = new TaskRepository();
+        CategoryRepository categoryRepository = new CategoryRepository();
+        PriorityRepository priorityRepository = new PriorityRepository();
+        categoryRepository.load();
+        priorityRepository.load();
+        for (int i = 0; i < taskCount; i++) {
+            taskRepository.add("Task " + i, "Added by the load test", randomDate(ThreadLocalRandom.current()),
+                    -1, -1, TaskStateUtils.OPEN, RecurrenceUtils.NONE);
+        }
+        int[] taskIds = taskRepository.snapshot().stream().mapToInt(Task::getTaskId).toArray();
+
+        MediaLabServer server = new MediaLabServer(taskRepository, categoryRepository, priorityRepository);
+        server.start(0);
+        String base = "http://localhost:" + server.getPort() + "/api";
+        System.out.printf("Sending requests from %d clients for %d s, over %d tasks%n", clients, seconds, taskCount);
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        // Each client keeps its own latencies and counts, they are merged once all clients are done.
+        long[][][] latencies = new long[clients][KINDS.length][MAX_SAMPLES];
+        int[][] samples = new int[clients][KINDS.length];
+        AtomicLong[] errors = new AtomicLong[KINDS.length];
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            errors[kind] = new AtomicLong();
+        }
+        List<Integer> postedIds = Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    int kind = pickKind(random);
+                    HttpRequest request = request(base, kind, taskIds, random);
+                    long before = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        long latency = System.nanoTime() - before;
+                        if (response.statusCode() >= 300) {
+                            errors[kind].incrementAndGet();
+                            continue;
+                        }
+                        if (samples[client][kind] < MAX_SAMPLES) {
+                            latencies[client][kind][samples[client][kind]++] = latency;
+                        }
+                        if (kind == 3) {
+                            postedIds.add(idOf(response.body()));
+                        }
+                    } catch (IOException e) {
+                        errors[kind].incrementAndGet();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "http-client-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long total = 0;
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            int count = 0;
+            for (int client = 0; client < clients; client++) {
+                count += samples[client][kind];
+            }
+            long[] merged = new long[count];
+            int position = 0;
+            for (int client = 0; client < clients; client++) {
+                System.arraycopy(latencies[client][kind], 0, merged, position, samples[client][kind]);
+                position += samples[client][kind];
+            }
+            Arrays.sort(merged);
+            total += count;
+            System.out.printf("%-18s %8d requests, p50 %7.2f ms, p99 %7.2f ms, max %7.2f ms, %d errors%n",
+                    KINDS[kind], count, count == 0 ? 0 : percentile(merged, 0.50) / 1e6, count == 0 ? 0 : percentile(merged, 0.99) / 1e6,
+                    count == 0 ? 0 : merged[count - 1] / 1e6, errors[kind].get());
+        }
+        System.out.printf("%.0f requests/s%n", total / elapsed);
+
+        // Every task added through the API has to be in the latest snapshot.
+        int missing = 0;
+        for (int taskId : postedIds) {
+            if (taskRepository.currentSnapshot().get(taskId) == null) {
+                missing++;
+            }
+        }
+        System.out.printf("%d tasks added through the API, %d missing%n", postedIds.size(), missing);
+
+        server.stop();
+        if (missing > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Picks the kind of the next request.
+     * @param random The random generator of the thread.
+     * @return The index of the kind in KINDS.
+     */
+    private static int pickKind(ThreadLocalRandom random) {
+        int roll = random.nextInt(100);
+        int kind = 0;
+        while (roll >= CHANCES[kind]) {
+            kind++;
+        }
+        return kind;
+    }
+
+    /**
+     * Creates a request of a kind.
+     * @param base The address of the API.
+     * @param kind The index of the kind in KINDS.
+     * @param taskIds The ids of the tasks that were added before the test.
+     * @param random The random generator of the thread.
+     * @return The request.
+     */
+    private static HttpRequest request(String base, int kind, int[] taskIds, ThreadLocalRandom random) {
+        switch (kind) {
+            case 0:
+                return HttpRequest.newBuilder(URI.create(base + "/tasks/" + taskIds[random.nextInt(taskIds.length)])).GET().build();
+            case 1:
+                return HttpRequest.newBuilder(URI.create(base + "/tasks?state=open&dueBefore=" + randomDate(random)
+                        + "&offset=" + random.nextInt(100) + "&limit=50")).GET().build();
+            case 2:
+                return HttpRequest.newBuilder(URI.create(base + "/notifications?dueBefore=" + randomDate(random) + "&limit=50")).GET().build();
+            default:
+                String body = "{\"name\": \"Posted task\", \"description\": \"Added through the API\", \"deadline\": \"" + randomDate(random) + "\"}";
+                return HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        }
+    }
+
+    /**
+     * Reads the id of a task from its JSON, which starts with it.
+     * @param json The JSON of the task.
+     * @return The id of the task.
+     */
+    private static int idOf(String json) {
+        int start = json.indexOf(':') + 1;
+        int end = json.indexOf(',', start);
+        return Integer.parseInt(json.substring(start, end).trim());
+    }
+
+    /**
+     * Returns a percentile of the sorted latencies.
+     * @param sorted The latencies, sorted.
+     * @param fraction The percentile, between 0 and 1.
+     * @return The latency at the percentile, in nanoseconds.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    /**
+     * Picks a random deadline in the coming days.
+     * @param random The random generator of the thread.
+     * @return The deadline in the yyyy-MM-dd format.
+     */
+    private static String randomDate(ThreadLocalRandom random) {
+        return TODAY.plusDays(random.nextInt(1, 60)).toString();
+    }
+}
@@ -0,0 +1,130 @@
+package org.taskmanager.taskmanager.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.taskmanager.taskmanager.importer.ImportResult;
+import org.taskmanager.taskmanager.importer.TaskImporter;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.ChangeTopic;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.RepositoryListener;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+
+/**
+ * This class measures the throughput of the TaskImporter. It writes a CSV and a JSON Lines file with
+ * the same rows, one in a hundred of them not valid, imports each of them and prints the rows per second.
+ * It also checks that the listeners of the repository, like the tables of the user interface, are told
+ * about each import only once, however many batches it has.
+ * It never saves the tasks, but it loads the categories and priorities, so it is better run from a copy of the medialab folder:
+ * java -cp benchmarks/target/benchmarks.jar org.taskmanager.taskmanager.benchmark.ImportBenchmark [rows] [batch size]
+ */
+public class ImportBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    /**
+     * The constructor of the ImportBenchmark which is never used or called.
+     */
+    private ImportBenchmark() {}
+
+    /**
+     * Runs the benchmark and prints its results.
+     * @param args The number of rows (default 200000) and the batch size (default TaskImporter.DEFAULT_BATCH_SIZE).
+     * @throws IOException If the files cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : TaskImporter.DEFAULT_BATCH_SIZE;
+
+        TaskRepository taskRepository = new TaskRepository();
+        CategoryRepository categoryRepository = new CategoryRepository();
+        PriorityRepository priorityRepository = new PriorityRepository();
+        categoryRepository.load();
+        priorityRepository.load();
+
+        // Counts the changes the listeners are told about, and the tasks they are told were added.
+        AtomicInteger changes = new AtomicInteger();
+        AtomicInteger added = new AtomicInteger();
+        taskRepository.addListener(new RepositoryListener<Task>() {
+            @Override
+            public void added(Collection<Task> tasks) {
+                added.addAndGet(tasks.size());
+            }
+
+            @Override
+            public void changed(Set<ChangeTopic> topics) {
+                changes.incrementAndGet();
+            }
+        });
+
+        String[] categories = categoryRepository.getCategoryMap().keySet().toArray(new String[0]);
+        String[] priorities = priorityRepository.getPriorityMap().keySet().toArray(new String[0]);
+        Path csv = Files.createTempFile("import-benchmark", ".csv");
+        Path jsonLines = Files.createTempFile("import-benchmark", ".jsonl");
+        try {
+            write(csv, jsonLines, rows, categories, priorities);
+            System.out.printf("Importing %d rows in batches of %d%n", rows, batchSize);
+
+            for (Path file : new Path[] {csv, jsonLines}) {
+                changes.set(0);
+                added.set(0);
+                TaskImporter importer = new TaskImporter(taskRepository, categoryRepository, priorityRepository);
+                ImportResult result = importer.importFile(file, batchSize, (rowsRead, tasksImported, rowsRejected) -> {});
+                System.out.printf("%-6s %s, listeners told %d time(s) about %d added tasks%n",
+                        TaskImporter.Format.of(file) == TaskImporter.Format.CSV ? "CSV" : "JSONL", result, changes.get(), added.get());
+                if (changes.get() != 1 || added.get() != result.getTasksImported()) {
+                    System.err.println("The listeners should be told once about every imported task");
+                    System.exit(1);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(jsonLines);
+        }
+    }
+
+    /**
+     * Writes the same rows to a CSV and a JSON Lines file.
+     * @param csv The CSV file.
+     * @param jsonLines The JSON Lines file.
+     * @param rows The number of rows.
+     * @param categories The names of the categories the rows may refer to.
+     * @param priorities The levels of the priorities the rows may refer to.
+     * @throws IOException If the files cannot be written.
+     */
+    private static void write(Path csv, Path jsonLines, int rows, String[] categories, String[] priorities) throws IOException {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (BufferedWriter csvWriter = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             BufferedWriter jsonWriter = Files.newBufferedWriter(jsonLines, StandardCharsets.UTF_8)) {
+
+            csvWriter.write("name,description,deadline,category,priority,state,recurrence");
+            csvWriter.newLine();
+            for (int i = 0; i < rows; i++) {
+                String name = "Imported task " + i;
+                String description = i % 10 == 0 ? "Moved from the old tracker, \"as is\"" : "Moved from the old tracker";
+                // One row in a hundred has a deadline that does not exist, so it is rejected.
+                String deadline = i % 100 == 0 ? "2024-02-30" : TODAY.plusDays(random.nextInt(1, 365)).toString();
+                String category = categories[random.nextInt(categories.length)];
+                String priority = priorities[random.nextInt(priorities.length)];
+
+                csvWriter.write(String.join(",", name, "\"" + description.replace("\"", "\"\"") + "\"", deadline, category, priority, "Open", "Does not repeat"));
+                csvWriter.newLine();
+                jsonWriter.write(String.format("{\"name\": \"%s\", \"description\": \"%s\", \"deadline\": \"%s\", \"category\": \"%s\", \"priority\": \"%s\"}",
+                        name, description.replace("\"", "\\\""), deadline, category, priority));
+                jsonWriter.newLine();
+            }
+        }
+    }
+}
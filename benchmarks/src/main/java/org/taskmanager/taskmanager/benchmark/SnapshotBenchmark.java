@@ -0,0 +1,169 @@
+package org.taskmanager.taskmanager.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class compares the two ways of reading all the tasks while they are heavily edited:
+ * taking a TaskSnapshot, which only reads the latest version of the repository, and copying
+ * the tasks to a list through snapshot(). For each way it measures the latency of taking a view
+ * while writer threads keep changing the tasks, and the memory kept by holding on to many views taken
+ * during the edits, which for the snapshots is only the part of the versions that changed between them.
+ * As with the stress test, it never saves the tasks, so it is better run from a copy of the medialab folder:
+ * java -cp benchmarks/target/benchmarks.jar org.taskmanager.taskmanager.benchmark.SnapshotBenchmark [tasks] [writers] [seconds]
+ */
+public class SnapshotBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    // How many views are kept for the memory measurement.
+    private static final int RETAINED_VIEWS = 1000;
+
+    // The ids of the tasks, they continue after the ids of the previous runs.
+    private static int[] taskIds;
+
+    /**
+     * The constructor of the SnapshotBenchmark which is never used or called.
+     */
+    private SnapshotBenchmark() {}
+
+    /**
+     * Runs the benchmark and prints its results.
+     * @param args The number of tasks (default 20000), writer threads (default 2) and seconds per measurement (default 3).
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        TaskRepository taskRepository = new TaskRepository();
+        for (int i = 0; i < taskCount; i++) {
+            taskRepository.add("Task " + i, "Added by the snapshot benchmark", randomDate(ThreadLocalRandom.current()),
+                    -1, -1, TaskStateUtils.OPEN, RecurrenceUtils.NONE);
+        }
+        taskIds = taskRepository.snapshot().stream().mapToInt(Task::getTaskId).toArray();
+        System.out.printf("Reading %d tasks while %d writers edit them, %d s per measurement%n", taskCount, writers, seconds);
+
+        measure("snapshot", taskRepository, writers, seconds, taskRepository::currentSnapshot);
+        measure("list copy", taskRepository, writers, seconds, taskRepository::snapshot);
+    }
+
+    /**
+     * Measures one way of taking a view while the writers edit the tasks, and then the memory kept by many views.
+     * @param name The name of the way, printed with the results.
+     * @param taskRepository The repository.
+     * @param writers The number of writer threads.
+     * @param seconds How long the latency is measured.
+     * @param view Takes a view of all the tasks.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    private static void measure(String name, TaskRepository taskRepository, int writers, int seconds, Supplier<Object> view) throws InterruptedException {
+
+        AtomicLong writes = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    edit(taskRepository);
+                    writes.incrementAndGet();
+                }
+            }, "writer-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+
+        // The latency of taking a view, measured for as long as the writers run.
+        long[] latencies = new long[1 << 20];
+        int samples = 0;
+        Object sink = null;
+        while (System.nanoTime() < end && samples < latencies.length) {
+            long start = System.nanoTime();
+            sink = view.get();
+            latencies[samples++] = System.nanoTime() - start;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // The memory kept by many views taken during edits, every view is one edit apart from the previous one.
+        long before = usedMemory();
+        List<Object> retained = new ArrayList<>(RETAINED_VIEWS);
+        for (int i = 0; i < RETAINED_VIEWS; i++) {
+            edit(taskRepository);
+            retained.add(view.get());
+        }
+        long after = usedMemory();
+
+        Arrays.sort(latencies, 0, samples);
+        System.out.printf("%-9s views: %8d, p50 %9.1f us, p99 %9.1f us, max %9.1f us, writes %7.0f/s, %d views keep %.1f MB (%s)%n",
+                name, samples, percentile(latencies, samples, 0.50) / 1e3, percentile(latencies, samples, 0.99) / 1e3,
+                latencies[samples - 1] / 1e3, writes.get() / (double) seconds, retained.size(),
+                (after - before) / (1024.0 * 1024.0), sink == null ? "" : "ok");
+    }
+
+    /**
+     * Updates a random task, moving its deadline and state.
+     * @param taskRepository The repository to edit.
+     */
+    private static void edit(TaskRepository taskRepository) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Task task = taskRepository.currentSnapshot().get(taskIds[random.nextInt(taskIds.length)]);
+        if (task == null) {
+            return;
+        }
+
+        // The snapshot only has copies, the update finds the task of the repository by its id.
+        taskRepository.update(task, task.getName(), task.getDescription(), randomDate(random), -1, -1,
+                random.nextBoolean() ? TaskStateUtils.OPEN : TaskStateUtils.IN_PROGRESS, RecurrenceUtils.NONE);
+    }
+
+    /**
+     * Returns the memory in use after a few garbage collections.
+     * @return The used bytes of the heap.
+     * @throws InterruptedException If the wait between the collections is interrupted.
+     */
+    private static long usedMemory() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns a percentile of the sorted latencies.
+     * @param sorted The latencies, sorted.
+     * @param count The number of latencies.
+     * @param fraction The percentile, between 0 and 1.
+     * @return The latency at the percentile, in nanoseconds.
+     */
+    private static long percentile(long[] sorted, int count, double fraction) {
+        return sorted[Math.min(count - 1, (int) (count * fraction))];
+    }
+
+    /**
+     * Picks a random deadline in the coming days.
+     * @param random The random generator of the thread.
+     * @return The deadline in the yyyy-MM-dd format.
+     */
+    private static String randomDate(ThreadLocalRandom random) {
+        return TODAY.plusDays(random.nextInt(1, 60)).toString();
+    }
+}
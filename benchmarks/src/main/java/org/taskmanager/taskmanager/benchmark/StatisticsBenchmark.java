@@ -0,0 +1,197 @@
+package org.taskmanager.taskmanager.benchmark;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.repository.TaskStatistics;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class compares the statistics the TaskRepository keeps up to date with counting them
+ * from all the tasks, as the summary of the main window used to. It adds tasks of every state, category, priority
+ * and recurrence, some with notifications and some already delayed, changes and deletes some of them, checks that
+ * both ways give the same numbers, and prints how long each of them takes.
+ * It never saves the tasks, so it can be run from anywhere:
+ * java -cp benchmarks/target/benchmarks.jar org.taskmanager.taskmanager.benchmark.StatisticsBenchmark [tasks]
+ */
+public class StatisticsBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    /**
+     * The constructor of the StatisticsBenchmark which is never used or called.
+     */
+    private StatisticsBenchmark() {}
+
+    /**
+     * Runs the benchmark and prints its results.
+     * @param args The number of tasks (default 200000).
+     */
+    public static void main(String[] args) {
+
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        TaskRepository taskRepository = new TaskRepository();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TaskStateUtils[] states = {TaskStateUtils.OPEN, TaskStateUtils.IN_PROGRESS, TaskStateUtils.POSTPONED, TaskStateUtils.COMPLETED};
+        RecurrenceUtils[] recurrences = RecurrenceUtils.values();
+
+        List<Task> added = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            // Most tasks do not repeat, and a few of them have a deadline that passed.
+            RecurrenceUtils recurrence = random.nextInt(10) == 0 ? recurrences[random.nextInt(recurrences.length)] : RecurrenceUtils.NONE;
+            Task task = taskRepository.add("Task " + i, "Added by the statistics benchmark", TODAY.plusDays(random.nextInt(-400, 365)).toString(),
+                    random.nextInt(-1, 5), random.nextInt(-1, 3), states[random.nextInt(states.length)], recurrence);
+            if (random.nextInt(4) == 0) {
+                taskRepository.addNotification(task, "Reminder", TODAY.plusDays(random.nextInt(-3, 30)).toString());
+            }
+            added.add(task);
+        }
+        taskRepository.markDelayedTasks(TODAY);
+
+        // Change and delete some of the tasks, so the statistics lose their previous versions.
+        for (int i = 0; i < taskCount / 10; i++) {
+            Task task = added.get(random.nextInt(added.size()));
+            if (!taskRepository.contains(task)) {
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0:
+                    taskRepository.updateState(List.of(task), states[random.nextInt(states.length)]);
+                    break;
+                case 1:
+                    taskRepository.updateDeadline(List.of(task), TODAY.plusDays(random.nextInt(-30, 30)).toString());
+                    break;
+                default:
+                    taskRepository.delete(task.getTaskId());
+            }
+        }
+        System.out.printf("Statistics of %d tasks%n", taskRepository.size());
+
+        Statistics kept = collect(taskRepository.statistics());
+        Statistics counted = scan(taskRepository.snapshot());
+        if (!kept.sameAs(counted)) {
+            System.err.println("The kept statistics differ from the counted ones:\n" + kept + "\n" + counted);
+            System.exit(1);
+        }
+        System.out.println(kept);
+
+        // Warm up both ways, then time them.
+        for (int i = 0; i < 20; i++) {
+            taskRepository.statistics();
+            scan(taskRepository.snapshot());
+        }
+        int rounds = 50;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            taskRepository.statistics();
+        }
+        double keptMicros = (System.nanoTime() - start) / 1e3 / rounds;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            scan(taskRepository.snapshot());
+        }
+        double scanMicros = (System.nanoTime() - start) / 1e3 / rounds;
+        System.out.printf("Kept statistics: %10.1f us per read%nCounted from the tasks: %10.1f us per read (%.0fx)%n",
+                keptMicros, scanMicros, scanMicros / keptMicros);
+    }
+
+    /**
+     * Counts the statistics from all the tasks.
+     * @param taskList The tasks.
+     * @return The statistics, in the same form as the repository gives them.
+     */
+    private static Statistics scan(List<Task> taskList) {
+
+        Statistics statistics = new Statistics();
+        for (Task task : taskList) {
+            statistics.groups.merge(task.getCategoryId() + "/" + task.getPriorityId() + "/" + task.getState(), 1, Integer::sum);
+            statistics.states.merge(task.getState().toString(), 1, Integer::sum);
+            if (task.isDelayed()) {
+                long days = ChronoUnit.DAYS.between(LocalDate.parse(task.getDeadline()), TODAY);
+                String range = days <= 7 ? "1-7 days" : days <= 30 ? "8-30 days" : days <= 90 ? "31-90 days" : days <= 365 ? "91-365 days" : "Over a year";
+                statistics.overdue.merge(range, 1, Integer::sum);
+            }
+            for (Notification notification : task.getNotifications()) {
+                LocalDate date = LocalDate.parse(notification.getNotificationDate());
+                statistics.notifications[!date.isAfter(TODAY) ? 0 : !date.isAfter(TODAY.plusDays(7)) ? 1 : 2]++;
+            }
+            statistics.dueInSevenDays += task.occurrencesDueInSevenDays();
+        }
+        return statistics;
+    }
+
+    /**
+     * Puts the statistics of the repository in the same form as the counted ones.
+     * @param taskStatistics The statistics of the repository.
+     * @return The statistics in the form of the counted ones.
+     */
+    private static Statistics collect(TaskStatistics taskStatistics) {
+
+        Statistics statistics = new Statistics();
+        for (TaskStatistics.Group group : taskStatistics.getGroups()) {
+            for (TaskStateUtils state : TaskStateUtils.values()) {
+                if (group.getCount(state) > 0) {
+                    statistics.groups.put(group.getCategoryId() + "/" + group.getPriorityId() + "/" + state, group.getCount(state));
+                }
+            }
+        }
+        for (TaskStateUtils state : TaskStateUtils.values()) {
+            if (taskStatistics.getTotal(state) > 0) {
+                statistics.states.put(state.toString(), taskStatistics.getTotal(state));
+            }
+        }
+        taskStatistics.getOverdueAges().forEach((range, count) -> {
+            if (count > 0) {
+                statistics.overdue.put(range, count);
+            }
+        });
+        statistics.notifications[0] = taskStatistics.getNotificationsDue();
+        statistics.notifications[1] = taskStatistics.getNotificationsNextSevenDays();
+        statistics.notifications[2] = taskStatistics.getNotificationsLater();
+        statistics.dueInSevenDays = taskStatistics.getDueInSevenDays();
+        return statistics;
+    }
+
+    /**
+     * The statistics counted from the tasks.
+     */
+    private static final class Statistics {
+        private final Map<String, Integer> groups = new HashMap<>();
+        private final Map<String, Integer> states = new HashMap<>();
+        private final Map<String, Integer> overdue = new HashMap<>();
+        private final int[] notifications = new int[3];
+        private int dueInSevenDays;
+
+        /**
+         * Shows whether other statistics have the same numbers.
+         * @param other The other statistics.
+         * @return True if every number is the same, else false.
+         */
+        private boolean sameAs(Statistics other) {
+            return groups.equals(other.groups) && states.equals(other.states) && overdue.equals(other.overdue)
+                    && Arrays.equals(notifications, other.notifications) && dueInSevenDays == other.dueInSevenDays;
+        }
+
+        /**
+         * Writes the statistics as text, without the groups which are too many to read.
+         * @return The statistics as text.
+         */
+        @Override
+        public String toString() {
+            return String.format("States %s%n%d groups%nOverdue %s%nNotifications: %d due, %d in the next 7 days, %d later%nDue in 7 Days: %d",
+                    new TreeMap<>(states), groups.size(), new TreeMap<>(overdue), notifications[0], notifications[1], notifications[2], dueInSevenDays);
+        }
+    }
+}
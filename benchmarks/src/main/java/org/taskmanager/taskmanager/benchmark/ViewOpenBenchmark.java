@@ -0,0 +1,114 @@
+package org.taskmanager.taskmanager.benchmark;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import org.taskmanager.taskmanager.controller.*;
+
+/**
+ * This class measures the first-open latency of every window of the application,
+ * meaning the time to create the view, put it in a scene, apply its style and lay it out
+ * the first time it is opened. It can use either the generated view builders or the
+ * FXMLLoader, and since only the first open of each window is measured, each mode
+ * should be run in a fresh JVM:
+ * java -cp benchmarks/target/benchmarks.jar org.taskmanager.taskmanager.benchmark.ViewOpenBenchmark generated
+ * java -cp benchmarks/target/benchmarks.jar org.taskmanager.taskmanager.benchmark.ViewOpenBenchmark fxml
+ */
+public class ViewOpenBenchmark {
+
+    private static final String VIEWS = "/org/taskmanager/taskmanager/views/";
+
+    /**
+     * The constructor of the ViewOpenBenchmark which is never used or called.
+     */
+    private ViewOpenBenchmark() {}
+
+    /**
+     * Starts the JavaFX toolkit and measures every window on the JavaFX thread.
+     * @param args "generated" (default) for the view builders or "fxml" for the FXMLLoader.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+
+        boolean useFxml = args.length > 0 && args[0].equals("fxml");
+        CountDownLatch finished = new CountDownLatch(1);
+
+        Platform.startup(() -> {
+            try {
+                run(useFxml);
+            } finally {
+                finished.countDown();
+            }
+        });
+
+        finished.await();
+        Platform.exit();
+    }
+
+    /**
+     * Opens every window once and prints the latency of each one.
+     * @param useFxml True to use the FXMLLoader, False to use the generated view builders.
+     */
+    private static void run(boolean useFxml) {
+
+        // The windows in the order the user usually opens them.
+        Map<String, ViewFactory> views = new LinkedHashMap<>();
+        views.put("MediaLabAssistant", () -> MediaLabAssistantView.build(new MediaLabController()));
+        views.put("NotificationDisplay", () -> NotificationDisplayView.build(new NotificationDisplayController()));
+        views.put("DelayedTasksPopUp", () -> DelayedTasksPopUpView.build(new DelayedTaskPopUpController()));
+        views.put("TaskManagement", () -> TaskManagementView.build(new TaskController()));
+        views.put("NotificationManagement", () -> NotificationManagementView.build(new NotificationController()));
+        views.put("CategoryManagement", () -> CategoryManagementView.build(new CategoryController()));
+        views.put("PriorityManagement", () -> PriorityManagementView.build(new PriorityController()));
+        views.put("SearchWindow", () -> SearchWindowView.build(new SearchController()));
+
+        System.out.println("First-open latency using " + (useFxml ? "the FXMLLoader" : "the generated view builders"));
+
+        long total = 0;
+        for (Map.Entry<String, ViewFactory> view : views.entrySet()) {
+
+            long start = System.nanoTime();
+
+            Parent root;
+            try {
+                root = useFxml
+                        ? new FXMLLoader(ViewOpenBenchmark.class.getResource(VIEWS + view.getKey() + ".fxml")).load()
+                        : view.getValue().build();
+            } catch (IOException e) {
+                System.err.println("Failed to load " + view.getKey() + ": " + e.getMessage());
+                continue;
+            }
+
+            // Opening a window also means creating its scene, styling it and laying it out.
+            new Scene(root);
+            root.applyCss();
+            root.layout();
+
+            long elapsed = System.nanoTime() - start;
+            total += elapsed;
+            System.out.printf("%-24s %8.2f ms%n", view.getKey(), elapsed / 1_000_000.0);
+        }
+        System.out.printf("%-24s %8.2f ms%n", "Total", TimeUnit.NANOSECONDS.toMicros(total) / 1_000.0);
+    }
+
+    /**
+     * Creates the root of a view with the generated view builder.
+     */
+    @FunctionalInterface
+    private interface ViewFactory {
+
+        /**
+         * Builds the view.
+         * @return The root of the view.
+         */
+        Parent build();
+    }
+}
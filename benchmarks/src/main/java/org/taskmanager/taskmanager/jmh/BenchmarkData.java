@@ -0,0 +1,74 @@
+package org.taskmanager.taskmanager.jmh;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class creates the tasks of the benchmarks, the same ones for the same seed, so the runs can be compared.
+ * The tasks are spread over 5 categories and the 4 priorities, most of them are open or in progress, a tenth of them
+ * repeat, their deadlines are within a year around today, and they have up to 3 notifications each.
+ */
+final class BenchmarkData {
+
+    // The seed of the tasks of every benchmark.
+    static final long SEED = 42;
+
+    // The category of the tasks that are added only to be deleted, no other task has it.
+    static final int DISPOSABLE_CATEGORY = 1000;
+
+    private static final TaskStateUtils[] STATES = {TaskStateUtils.OPEN, TaskStateUtils.OPEN, TaskStateUtils.IN_PROGRESS,
+            TaskStateUtils.IN_PROGRESS, TaskStateUtils.POSTPONED, TaskStateUtils.COMPLETED};
+    private static final RecurrenceUtils[] RECURRENCES = {RecurrenceUtils.DAILY, RecurrenceUtils.WEEKLY, RecurrenceUtils.MONTHLY};
+
+    /**
+     * The constructor of the BenchmarkData which is never used or called.
+     */
+    private BenchmarkData() {}
+
+    /**
+     * Creates tasks that are in no repository.
+     * @param count The number of tasks.
+     * @param random The source of the values, created from the seed.
+     * @return The tasks.
+     */
+    static List<Task> tasks(int count, Random random) {
+
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Task " + i, "Created by the benchmarks, task number " + i,
+                    today.plusDays(random.nextInt(365) - 180).toString(),
+                    random.nextInt(5), random.nextInt(4) - 1, STATES[random.nextInt(STATES.length)]);
+            if (random.nextInt(10) == 0) {
+                task.setRecurrence(RECURRENCES[random.nextInt(RECURRENCES.length)]);
+            }
+            int notifications = random.nextInt(4);
+            for (int n = 0; n < notifications; n++) {
+                task.addNotification(new Notification("Reminder " + n, today.plusDays(random.nextInt(60) - 30).toString()));
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Replaces all the tasks of the repository, which is shared by all its instances, with new ones.
+     * @param taskRepository The repository.
+     * @param count The number of tasks.
+     * @return The tasks now in the repository.
+     */
+    static List<Task> fill(TaskRepository taskRepository, int count) {
+        taskRepository.deleteAll(taskRepository.snapshot());
+        List<Task> tasks = tasks(count, new Random(SEED));
+        taskRepository.addLoaded(tasks);
+        return tasks;
+    }
+}
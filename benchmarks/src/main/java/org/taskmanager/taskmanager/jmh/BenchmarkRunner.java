@@ -0,0 +1,60 @@
+package org.taskmanager.taskmanager.jmh;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the JMH benchmarks with the options of the JMH command line, and unless another result format
+ * is given with -rf, writes the results as JSON to the jmh-results folder, in a file named after the time of the run,
+ * so the runs can be compared over time. The repositories write their ids and change files to the medialab folder,
+ * so it is better run from a copy of the medialab folder, or an empty folder, where that folder is created:
+ * java -jar benchmarks/target/benchmarks.jar [JMH options, for example -p taskCount=100000 TaskRepositoryBenchmark]
+ */
+public class BenchmarkRunner {
+
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+
+    /**
+     * The constructor of the BenchmarkRunner which is never used or called.
+     */
+    private BenchmarkRunner() {}
+
+    /**
+     * Runs the benchmarks.
+     * @param args The options of the JMH command line.
+     * @throws Exception If the options are not valid or the benchmarks fail.
+     */
+    public static void main(String[] args) throws Exception {
+
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp()) {
+            options.showHelp();
+            return;
+        }
+        if (options.shouldList()) {
+            new Runner(options).list();
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (!options.getResultFormat().hasValue()) {
+            Path results = Paths.get("jmh-results");
+            Files.createDirectories(results);
+            Path result = results.resolve(LocalDateTime.now().format(FILE_NAME_FORMATTER) + ".json");
+            builder.resultFormat(ResultFormatType.JSON).result(result.toString());
+            System.out.println("The results are written to " + result);
+        }
+        Files.createDirectories(Paths.get("medialab"));
+
+        new Runner(builder.build()).run();
+    }
+}
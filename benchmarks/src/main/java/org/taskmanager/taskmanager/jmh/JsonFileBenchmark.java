@@ -0,0 +1,86 @@
+package org.taskmanager.taskmanager.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.utils.TaskJsonUtils;
+
+/**
+ * This class measures reading and writing the JSON tasks file, as the application does when it starts and closes.
+ * The file is written once before the measurements and read again and again, and the tasks are written to another file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonFileBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int taskCount;
+
+    private List<Task> tasks;
+    private Path readFile;
+    private Path writeFile;
+
+    /**
+     * Creates the tasks and writes the file that is read.
+     * @throws IOException If the file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tasks = BenchmarkData.tasks(taskCount, new Random(BenchmarkData.SEED));
+        readFile = Files.createTempFile("tasks-read", ".json");
+        writeFile = Files.createTempFile("tasks-write", ".json");
+        TaskJsonUtils.writeTaskListToFile(readFile.toString(), tasks);
+    }
+
+    /**
+     * Deletes the files.
+     * @throws IOException If a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(readFile);
+        Files.deleteIfExists(writeFile);
+    }
+
+    /**
+     * Reads all the tasks of the file.
+     * @return The tasks, so they are not optimized away.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public List<Task> readTaskListFromFile() throws IOException {
+        return TaskJsonUtils.readTaskListFromFile(readFile.toString());
+    }
+
+    /**
+     * Writes all the tasks to a file.
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public void writeTaskListToFile() throws IOException {
+        TaskJsonUtils.writeTaskListToFile(writeFile.toString(), tasks);
+    }
+}
@@ -0,0 +1,134 @@
+package org.taskmanager.taskmanager.jmh;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+
+/**
+ * This class measures deleting tasks from a repository of a given size. The deleted tasks are added
+ * before each measurement, outside of it, in a category no other task has, so the repository keeps its size.
+ * Deleting single tasks is measured in batches of a thousand, and deleting a category with a hundredth of the tasks
+ * one at a time.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskDeletionBenchmark {
+
+    // The number of tasks deleted one by one in each iteration of delete().
+    private static final int DELETE_BATCH = 1000;
+
+    /**
+     * The repository, filled with the tasks.
+     */
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({"1000", "10000", "100000"})
+        int taskCount;
+
+        TaskRepository taskRepository;
+        Random random;
+
+        /**
+         * Fills the repository with the tasks.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            taskRepository = new TaskRepository();
+            BenchmarkData.fill(taskRepository, taskCount);
+            random = new Random(BenchmarkData.SEED);
+        }
+
+        /**
+         * Adds tasks in the category that only the deleted tasks have.
+         * @param count The number of tasks.
+         * @return The tasks.
+         */
+        List<Task> disposable(int count) {
+            List<Task> tasks = BenchmarkData.tasks(count, random);
+            for (Task task : tasks) {
+                task.setCategoryId(BenchmarkData.DISPOSABLE_CATEGORY);
+            }
+            taskRepository.addLoaded(tasks);
+            return tasks;
+        }
+    }
+
+    /**
+     * The tasks that an iteration of delete() deletes.
+     */
+    @State(Scope.Benchmark)
+    public static class Victims {
+
+        List<Task> tasks;
+        int next;
+
+        /**
+         * Adds the tasks before the iteration.
+         * @param data The repository.
+         */
+        @Setup(Level.Iteration)
+        public void setUp(Data data) {
+            tasks = data.disposable(DELETE_BATCH);
+            next = 0;
+        }
+    }
+
+    /**
+     * The tasks of the category that an invocation of deleteTasksByCategory() deletes.
+     */
+    @State(Scope.Benchmark)
+    public static class Category {
+
+        /**
+         * Adds a hundredth of the tasks in the category before the invocation.
+         * @param data The repository.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(Data data) {
+            data.disposable(Math.max(1, data.taskCount / 100));
+        }
+    }
+
+    /**
+     * Deletes one task by its id.
+     * @param data The repository.
+     * @param victims The tasks to delete.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 5, batchSize = DELETE_BATCH)
+    @Warmup(iterations = 3, batchSize = DELETE_BATCH)
+    public void delete(Data data, Victims victims) {
+        data.taskRepository.delete(victims.tasks.get(victims.next++).getTaskId());
+    }
+
+    /**
+     * Deletes all the tasks of a category, as when the category is deleted.
+     * @param data The repository.
+     * @param category The tasks of the category, added before the invocation.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void deleteTasksByCategory(Data data, Category category) {
+        data.taskRepository.deleteTasksByCategory(BenchmarkData.DISPOSABLE_CATEGORY);
+    }
+}
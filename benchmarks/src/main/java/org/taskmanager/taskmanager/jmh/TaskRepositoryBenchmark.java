@@ -0,0 +1,119 @@
+package org.taskmanager.taskmanager.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.taskmanager.taskmanager.model.NotificationWrapper;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.TaskFilter;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.repository.TaskStatistics;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class measures the queries the windows run whenever the tasks change, and the update of a task.
+ * The summary of the main window is measured both as it is read from the statistics of the repository,
+ * and as it was computed before, by counting the tasks, so the two can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int taskCount;
+
+    private TaskRepository taskRepository;
+    private List<Task> tasks;
+    private int next;
+
+    /**
+     * Fills the repository with the tasks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        taskRepository = new TaskRepository();
+        tasks = BenchmarkData.fill(taskRepository, taskCount);
+    }
+
+    /**
+     * Searches the tasks by a part of their name, as the search field does.
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public List<Task> searchTasks() {
+        return taskRepository.searchTasks("task 1", TaskFilter.ANY, 0);
+    }
+
+    /**
+     * Lists the notifications of all the tasks, as the notifications window does.
+     * @return The notifications.
+     */
+    @Benchmark
+    public List<NotificationWrapper> loadNotifications() {
+        return taskRepository.loadNotifications();
+    }
+
+    /**
+     * Checks whether any task has notifications, as the main window does when it opens.
+     * @return True if a task has notifications.
+     */
+    @Benchmark
+    public boolean hasNotifications() {
+        return taskRepository.hasNotifications();
+    }
+
+    /**
+     * Reads the summary of the main window from the statistics of the repository, as updateSummary does.
+     * @return The statistics.
+     */
+    @Benchmark
+    public TaskStatistics summaryFromStatistics() {
+        return taskRepository.statistics();
+    }
+
+    /**
+     * Computes the summary of the main window by counting the tasks.
+     * @return The sum of the counts, so they are not optimized away.
+     */
+    @Benchmark
+    public int summaryByScan() {
+        int summary = taskRepository.size()
+                + taskRepository.countTasks(TaskStateUtils.COMPLETED)
+                + taskRepository.countTasks(TaskStateUtils.DELAYED);
+        for (Task task : taskRepository.snapshot()) {
+            summary += task.occurrencesDueInSevenDays();
+        }
+        return summary;
+    }
+
+    /**
+     * Updates the next task, moving it between Open and In Progress. Neither state is Completed,
+     * so the notifications of the task stay and the work of the update is the same each time.
+     */
+    @Benchmark
+    public void update() {
+        Task task = tasks.get(next);
+        next = (next + 1) % tasks.size();
+        TaskStateUtils state = task.getState() == TaskStateUtils.OPEN ? TaskStateUtils.IN_PROGRESS : TaskStateUtils.OPEN;
+        taskRepository.update(task, task.getName(), task.getDescription(), task.getDeadline(),
+                task.getCategoryId(), task.getPriorityId(), state, RecurrenceUtils.NONE);
+    }
+}
@@ -0,0 +1,15 @@
+module org.taskmanager.taskmanager.core {
+
+    requires com.fasterxml.jackson.databind;
+    requires jdk.httpserver;
+    requires java.management;
+
+    opens org.taskmanager.taskmanager.model to com.fasterxml.jackson.databind;
+    exports org.taskmanager.taskmanager.exporter;
+    exports org.taskmanager.taskmanager.importer;
+    exports org.taskmanager.taskmanager.metrics;
+    exports org.taskmanager.taskmanager.model;
+    exports org.taskmanager.taskmanager.repository;
+    exports org.taskmanager.taskmanager.server;
+    exports org.taskmanager.taskmanager.utils;
+}
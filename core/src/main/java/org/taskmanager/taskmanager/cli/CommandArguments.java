@@ -0,0 +1,162 @@
+package org.taskmanager.taskmanager.cli;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class holds the arguments of a single command of the command line, either the
+ * arguments of the program or a line of a batch file. The first argument is the command,
+ * each "--name value" pair is an option, an option without a value is a flag, and any other
+ * argument, such as the ids of the tasks to delete, is positional. An option may be given more
+ * than once. The options a command reads are remembered, so that the ones it does not know
+ * are reported as mistakes instead of being silently ignored.
+ */
+public class CommandArguments {
+
+    private final String command;
+    private final Map<String, List<String>> options = new LinkedHashMap<>();
+    private final List<String> positional = new ArrayList<>();
+    private final Set<String> used = new LinkedHashSet<>();
+
+    /**
+     * Constructor of the CommandArguments, it splits the arguments into options and positional ones.
+     * @param arguments The command followed by its arguments.
+     */
+    public CommandArguments(List<String> arguments) {
+
+        if (arguments.isEmpty()) {
+            throw new IllegalArgumentException("No command given");
+        }
+        this.command = arguments.get(0).toLowerCase();
+
+        for (int i = 1; i < arguments.size(); i++) {
+
+            String argument = arguments.get(i);
+            if (!argument.startsWith("--")) {
+                positional.add(argument);
+                continue;
+            }
+
+            // The value is the next argument, unless it is another option.
+            String name = argument.substring(2);
+            String value = "true";
+            if (i + 1 < arguments.size() && !arguments.get(i + 1).startsWith("--")) {
+                value = arguments.get(++i);
+            }
+            options.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    /**
+     * Splits a line of a batch file into arguments, at the spaces outside quotes.
+     * Both double and single quotes may surround an argument with spaces, such as a task name.
+     * @param line The line to split.
+     * @return The arguments of the line, empty for a blank line or a comment starting with #.
+     */
+    public static List<String> split(String line) {
+
+        List<String> arguments = new ArrayList<>();
+        if (line.trim().startsWith("#")) {
+            return arguments;
+        }
+
+        StringBuilder current = new StringBuilder();
+        boolean inArgument = false;
+        char quote = 0;
+
+        for (int i = 0; i < line.length(); i++) {
+
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                inArgument = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArgument) {
+                    arguments.add(current.toString());
+                    current.setLength(0);
+                    inArgument = false;
+                }
+            } else {
+                current.append(c);
+                inArgument = true;
+            }
+        }
+
+        if (quote != 0) {
+            throw new IllegalArgumentException("Unclosed quote in: " + line);
+        }
+        if (inArgument) {
+            arguments.add(current.toString());
+        }
+        return arguments;
+    }
+
+    /**
+     * Returns the command, in lower case.
+     * @return The command.
+     */
+    public String command() {
+        return command;
+    }
+
+    /**
+     * Shows whether an option was given.
+     * @param name The name of the option, without the dashes.
+     * @return True if the option was given at least once, False otherwise.
+     */
+    public boolean has(String name) {
+        used.add(name);
+        return options.containsKey(name);
+    }
+
+    /**
+     * Returns the value of an option, the last one if it was given more than once.
+     * @param name The name of the option, without the dashes.
+     * @return The value, or null if the option was not given.
+     */
+    public String get(String name) {
+        used.add(name);
+        List<String> values = options.get(name);
+        return values == null ? null : values.get(values.size() - 1);
+    }
+
+    /**
+     * Returns all the values of an option.
+     * @param name The name of the option, without the dashes.
+     * @return The values in the order they were given, empty if the option was not given.
+     */
+    public List<String> getAll(String name) {
+        used.add(name);
+        return options.getOrDefault(name, new ArrayList<>());
+    }
+
+    /**
+     * Returns the positional arguments.
+     * @return The arguments that are not options, in order.
+     */
+    public List<String> positional() {
+        return positional;
+    }
+
+    /**
+     * Checks that the command read all of its options, it is called once the command ran.
+     * @throws IllegalArgumentException If an option was given that the command does not know.
+     */
+    public void checkAllUsed() {
+        for (String name : options.keySet()) {
+            if (!used.contains(name)) {
+                throw new IllegalArgumentException("Unknown option for " + command + ": --" + name);
+            }
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package org.taskmanager.taskmanager.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class generates a medialab folder of made-up tasks, for trying the application and its tools
+ * with many more tasks than anyone enters by hand. It writes the tasks.json, categories.json and priorities.json
+ * files in the format the repositories save, and an ids.json file so the ids of the new items continue after them.
+ * The tasks are written one at a time through a streaming JSON generator, so the memory it uses does not grow
+ * with the number of tasks, and ten million of them need no larger heap than ten thousand.
+ * The same seed, options and start date always give the same files, byte for byte:
+ * java ... org.taskmanager.taskmanager.cli.DatasetGenerator --output FOLDER [--tasks N] [--seed N] [OPTIONS]
+ */
+public class DatasetGenerator {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: DatasetGenerator --output FOLDER [OPTIONS]",
+            "",
+            "Writes tasks.json, categories.json, priorities.json and ids.json to FOLDER, replacing them.",
+            "Options:",
+            "  --tasks N                 the number of tasks, 10k and 2M are allowed (default 10000)",
+            "  --seed N                  the seed of the random values (default 1)",
+            "  --start-date yyyy-MM-dd   the date the deadlines are spread around (default today)",
+            "  --categories N            the number of categories besides Uncategorized (default 10)",
+            "  --priorities N            the number of priorities besides Default (default 3)",
+            "  --skew S                  how much the first categories and priorities are preferred, 0 for none (default 1)",
+            "  --notifications MEAN      the average number of notifications of a task (default 1.5)",
+            "  --description MIN-MAX     the length of the descriptions in characters (default 0-200)",
+            "  --deadlines FROM..TO      the days of the deadlines from the start date (default -90..365)",
+            "  --states WEIGHTS          the mix of the states, for example Open=40,In Progress=30,Postponed=10,Completed=15,Delayed=5",
+            "  --recurring FRACTION      the part of the tasks that repeat (default 0.05)");
+
+    // The words the names, descriptions and messages are made of.
+    private static final String[] WORDS = {"review", "update", "report", "draft", "meeting", "budget", "design", "test",
+            "release", "plan", "call", "client", "invoice", "schedule", "document", "fix", "prepare", "send", "check",
+            "order", "lab", "course", "project", "notes", "exam", "paper", "slides", "data", "server", "backup"};
+
+    private static final String[] PRIORITY_LEVELS = {"High", "Medium", "Low"};
+
+    private static final RecurrenceUtils[] RECURRENCES = {RecurrenceUtils.DAILY, RecurrenceUtils.WEEKLY, RecurrenceUtils.MONTHLY};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final long taskCount;
+    private final long seed;
+    private final LocalDate startDate;
+    private final int categoryCount;
+    private final int priorityCount;
+    private final double notificationMean;
+    private final int descriptionMin;
+    private final int descriptionMax;
+    private final int deadlineFrom;
+    private final int deadlineTo;
+    private final double recurringFraction;
+
+    // The cumulative weights of the categories, the priorities and the states, searched with a random number.
+    private final double[] categoryWeights;
+    private final double[] priorityWeights;
+    private final TaskStateUtils[] states = TaskStateUtils.values();
+    private final double[] stateWeights;
+
+    /**
+     * Constructor of the DatasetGenerator, it reads and checks the options.
+     * @param arguments The options, the command is not used.
+     */
+    DatasetGenerator(CommandArguments arguments) {
+
+        this.taskCount = parseCount(arguments.get("tasks"), 10_000);
+        this.seed = arguments.has("seed") ? parseLong("seed", arguments.get("seed")) : 1;
+        this.startDate = arguments.has("start-date") ? parseDate(arguments.get("start-date")) : LocalDate.now();
+        this.categoryCount = arguments.has("categories") ? (int) parseLong("categories", arguments.get("categories")) : 10;
+        this.priorityCount = arguments.has("priorities") ? (int) parseLong("priorities", arguments.get("priorities")) : 3;
+        double skew = arguments.has("skew") ? parseDouble("skew", arguments.get("skew")) : 1;
+        this.notificationMean = arguments.has("notifications") ? parseDouble("notifications", arguments.get("notifications")) : 1.5;
+        this.recurringFraction = arguments.has("recurring") ? parseDouble("recurring", arguments.get("recurring")) : 0.05;
+
+        int[] description = parseRange("description", arguments.get("description"), "-", 0, 200);
+        this.descriptionMin = description[0];
+        this.descriptionMax = description[1];
+        int[] deadlines = parseRange("deadlines", arguments.get("deadlines"), "..", -90, 365);
+        this.deadlineFrom = deadlines[0];
+        this.deadlineTo = deadlines[1];
+
+        if (categoryCount < 0 || priorityCount < 0 || skew < 0 || notificationMean < 0 || descriptionMin < 0
+                || recurringFraction < 0 || recurringFraction > 1) {
+            throw new IllegalArgumentException("The counts, the skew and the lengths cannot be negative, and --recurring is between 0 and 1");
+        }
+        // A mean this high would take very long to draw and is surely a mistake.
+        if (notificationMean > 100) {
+            throw new IllegalArgumentException("--notifications cannot be more than 100");
+        }
+
+        this.categoryWeights = zipfWeights(categoryCount + 1, skew);
+        this.priorityWeights = zipfWeights(priorityCount + 1, skew);
+        this.stateWeights = parseStates(arguments.has("states") ? arguments.get("states")
+                : "Open=40,In Progress=30,Postponed=10,Completed=15,Delayed=5");
+    }
+
+    /**
+     * Generates the folder given as arguments. The exit code is 0 on success, 1 if an option
+     * is not valid and 2 if the files could not be written.
+     * @param args The options.
+     */
+    public static void main(String[] args) {
+
+        List<String> arguments = new ArrayList<>();
+        arguments.add("generate");
+        arguments.addAll(Arrays.asList(args));
+        if (arguments.contains("help") || arguments.contains("--help")) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        Path directory;
+        DatasetGenerator generator;
+        try {
+            CommandArguments commandArguments = new CommandArguments(arguments);
+            if (!commandArguments.has("output")) {
+                throw new IllegalArgumentException("--output FOLDER is needed, its files are replaced");
+            }
+            if (!commandArguments.positional().isEmpty()) {
+                throw new IllegalArgumentException("Unknown argument: " + commandArguments.positional().get(0));
+            }
+            directory = Paths.get(commandArguments.get("output"));
+            generator = new DatasetGenerator(commandArguments);
+            commandArguments.checkAllUsed();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            long notifications = generator.generate(directory);
+            System.out.printf("Wrote %d tasks with %d notifications to %s in %.1f s%n",
+                    generator.taskCount, notifications, directory, (System.nanoTime() - start) / 1e9);
+        } catch (IOException e) {
+            System.err.println("Failed to write the files: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Writes all the files of the folder, creating it if needed. Each file is written to a temporary
+     * file first which then replaces it, so a failure never leaves a half-written file behind.
+     * The changes.json file of the previous tasks is deleted, so the clients of the change feed sync again in full.
+     * @param directory The folder.
+     * @return The number of notifications of the tasks.
+     * @throws IOException If a file cannot be written.
+     */
+    long generate(Path directory) throws IOException {
+
+        Files.createDirectories(directory);
+        writeAtomically(directory.resolve("categories.json"), this::writeCategories);
+        writeAtomically(directory.resolve("priorities.json"), this::writePriorities);
+
+        long[] notifications = {0};
+        writeAtomically(directory.resolve("tasks.json"), generator -> notifications[0] = writeTasks(generator));
+
+        // The ids of the new items continue after the generated ones.
+        long lastNotification = notifications[0];
+        writeAtomically(directory.resolve("ids.json"), generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("category", categoryCount);
+            generator.writeNumberField("notification", lastNotification);
+            generator.writeNumberField("priority", priorityCount);
+            generator.writeNumberField("task", taskCount);
+            generator.writeEndObject();
+        });
+        Files.deleteIfExists(directory.resolve("changes.json"));
+        return notifications[0];
+    }
+
+    /**
+     * Writes the categories, Uncategorized and the generated ones.
+     * @param generator The generator of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeCategories(JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        writeItem(generator, "categoryID", -1, "Uncategorized");
+        for (int id = 0; id < categoryCount; id++) {
+            writeItem(generator, "categoryID", id, "Category " + (id + 1));
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the priorities, Default and the generated ones, named High, Medium and Low when there are no more than three.
+     * @param generator The generator of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writePriorities(JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        writeItem(generator, "priorityId", -1, "Default");
+        for (int id = 0; id < priorityCount; id++) {
+            writeItem(generator, "priorityId", id, priorityCount <= PRIORITY_LEVELS.length ? PRIORITY_LEVELS[id] : "Level " + (id + 1));
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a category or a priority.
+     * @param generator The generator of the file.
+     * @param idField The name of the id field, which is not the same in the two files.
+     * @param id The id of the item.
+     * @param name The name of the item.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void writeItem(JsonGenerator generator, String idField, int id, String name) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(idField, id);
+        generator.writeStringField("name", name);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the tasks, with the fields in the order TaskJsonUtils writes them. The values of each task
+     * are drawn from a random generator of its own, seeded from the seed and the id of the task, so a task
+     * is the same whatever the other options are, and only the changed distribution changes it.
+     * @param generator The generator of the file.
+     * @return The number of notifications written.
+     * @throws IOException If the file cannot be written.
+     */
+    private long writeTasks(JsonGenerator generator) throws IOException {
+
+        Random random = new Random();
+        StringBuilder text = new StringBuilder();
+        long notificationId = 0;
+
+        generator.writeStartArray();
+        for (long id = 0; id < taskCount; id++) {
+
+            random.setSeed(mix(seed * 0x9E3779B97F4A7C15L + id));
+
+            TaskStateUtils state = states[pick(stateWeights, random)];
+            int from = deadlineFrom;
+            int to = deadlineTo;
+            if (state == TaskStateUtils.DELAYED) {
+                // A delayed task has missed its deadline.
+                from = Math.min(from, -1);
+                to = Math.min(to, -1);
+            } else if (state != TaskStateUtils.COMPLETED && to >= 0) {
+                // An unfinished task that missed its deadline is marked delayed when it is loaded, which would change the mix.
+                from = Math.max(from, 0);
+            }
+            LocalDate deadline = startDate.plusDays(from + random.nextInt(to - from + 1));
+
+            generator.writeStartObject();
+            generator.writeNumberField("taskID", id);
+            generator.writeStringField("name", words(text, random, 2 + random.nextInt(4), 0));
+            generator.writeStringField("description", words(text, random, Integer.MAX_VALUE,
+                    descriptionMin + random.nextInt(descriptionMax - descriptionMin + 1)));
+            generator.writeStringField("dueDate", deadline.toString());
+            generator.writeNumberField("categoryID", pick(categoryWeights, random) - 1);
+            generator.writeNumberField("priorityID", pick(priorityWeights, random) - 1);
+
+            generator.writeArrayFieldStart("notifications");
+            int notifications = poisson(random);
+            for (int n = 0; n < notifications; n++) {
+                generator.writeStartObject();
+                generator.writeNumberField("notificationId", notificationId++);
+                generator.writeStringField("message", words(text, random, 1 + random.nextInt(6), 0));
+                generator.writeStringField("date", deadline.minusDays(random.nextInt(30)).toString());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+
+            generator.writeStringField("state", state.toString());
+            if (random.nextDouble() < recurringFraction) {
+                generator.writeStringField("recurrence", RECURRENCES[random.nextInt(RECURRENCES.length)].toString());
+                generator.writeStringField("recurrenceStart", deadline.toString());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        return notificationId;
+    }
+
+    /**
+     * Scrambles the bits of a seed, as nearby seeds give alike first values in Random.
+     * It is the finalizer of the SplitMix64 generator.
+     * @param value The seed.
+     * @return The scrambled seed.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Makes a text of random words, the first one capitalized.
+     * @param text The builder the text is made in, it is cleared first.
+     * @param random The random generator of the task.
+     * @param wordCount The number of words, if the length is 0.
+     * @param length The length of the text in characters, cut in the middle of a word if needed, or 0 to give the number of words.
+     * @return The text.
+     */
+    private static String words(StringBuilder text, Random random, int wordCount, int length) {
+        text.setLength(0);
+        if (length == 0 && wordCount == Integer.MAX_VALUE) {
+            return "";
+        }
+        for (int i = 0; i < wordCount && (length == 0 || text.length() < length); i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        if (length > 0) {
+            text.setLength(length);
+        }
+        text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        return text.toString();
+    }
+
+    /**
+     * Draws the number of notifications of a task from a Poisson distribution around their mean.
+     * @param random The random generator of the task.
+     * @return The number of notifications.
+     */
+    private int poisson(Random random) {
+        double limit = Math.exp(-notificationMean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Draws an index from cumulative weights.
+     * @param cumulativeWeights The cumulative weights, the last one is the total.
+     * @param random The random generator of the task.
+     * @return The index whose weight the random number fell in.
+     */
+    private static int pick(double[] cumulativeWeights, Random random) {
+        double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, value);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cumulativeWeights.length - 1);
+    }
+
+    /**
+     * Makes the cumulative weights of a Zipf distribution, where the item at rank k has a weight of 1 / k^skew,
+     * so a skew of 0 makes all the items equally likely.
+     * @param count The number of items.
+     * @param skew The exponent of the distribution.
+     * @return The cumulative weights.
+     */
+    private static double[] zipfWeights(int count, double skew) {
+        double[] weights = new double[count];
+        double total = 0;
+        for (int k = 0; k < count; k++) {
+            total += 1 / Math.pow(k + 1, skew);
+            weights[k] = total;
+        }
+        return weights;
+    }
+
+    /**
+     * Reads the mix of the states, such as Open=40,Completed=60, a state that is not given never appears.
+     * @param text The weights of the states.
+     * @return The cumulative weights, in the order of TaskStateUtils.values().
+     */
+    private double[] parseStates(String text) {
+
+        double[] weights = new double[states.length];
+        for (String part : text.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("--states is a list of STATE=WEIGHT, not " + part);
+            }
+            TaskStateUtils state = null;
+            for (TaskStateUtils candidate : states) {
+                if (candidate.toString().equalsIgnoreCase(pair[0].trim())) {
+                    state = candidate;
+                }
+            }
+            if (state == null) {
+                throw new IllegalArgumentException("Unknown state: " + pair[0].trim());
+            }
+            double weight = parseDouble("states", pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("The weight of a state cannot be negative");
+            }
+            weights[state.ordinal()] = weight;
+        }
+
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            weights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("--states needs a state with a weight above 0");
+        }
+        return weights;
+    }
+
+    /**
+     * Reads a number of tasks, which may end with k for thousands or M for millions.
+     * @param text The number, or null if it was not given.
+     * @param defaultCount The number when it was not given.
+     * @return The number.
+     */
+    private static long parseCount(String text, long defaultCount) {
+        if (text == null) {
+            return defaultCount;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        long multiplier = lower.endsWith("k") ? 1_000 : lower.endsWith("m") ? 1_000_000 : 1;
+        long count = parseLong("tasks", multiplier == 1 ? lower : lower.substring(0, lower.length() - 1)) * multiplier;
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("--tasks is between 0 and " + Integer.MAX_VALUE);
+        }
+        return count;
+    }
+
+    /**
+     * Reads a range of two whole numbers, such as 0-200 or -90..365.
+     * @param name The name of the option, for the error message.
+     * @param text The range, or null if it was not given.
+     * @param separator The text between the two numbers.
+     * @param defaultFrom The start of the range when it was not given.
+     * @param defaultTo The end of the range when it was not given.
+     * @return The start and the end of the range, both included.
+     */
+    private static int[] parseRange(String name, String text, String separator, int defaultFrom, int defaultTo) {
+        if (text == null) {
+            return new int[] {defaultFrom, defaultTo};
+        }
+        int index = text.indexOf(separator, 1);
+        if (index < 0) {
+            throw new IllegalArgumentException("--" + name + " is a range such as " + defaultFrom + separator + defaultTo + ", not " + text);
+        }
+        int from = (int) parseLong(name, text.substring(0, index));
+        int to = (int) parseLong(name, text.substring(index + separator.length()));
+        if (from > to) {
+            throw new IllegalArgumentException("The start of --" + name + " is after its end");
+        }
+        return new int[] {from, to};
+    }
+
+    /**
+     * Reads a whole number.
+     * @param name The name of the option, for the error message.
+     * @param text The number.
+     * @return The number.
+     */
+    private static long parseLong(String name, String text) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " needs a whole number, not " + text);
+        }
+    }
+
+    /**
+     * Reads a number.
+     * @param name The name of the option, for the error message.
+     * @param text The number.
+     * @return The number.
+     */
+    private static double parseDouble(String name, String text) {
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " needs a number, not " + text);
+        }
+    }
+
+    /**
+     * Reads a date.
+     * @param text The date, in the yyyy-MM-dd format.
+     * @return The date.
+     */
+    private static LocalDate parseDate(String text) {
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("--start-date needs a yyyy-MM-dd date, not " + text);
+        }
+    }
+
+    /**
+     * Writes a JSON file through a temporary file, which replaces the file once it is complete.
+     * @param file The file.
+     * @param content Writes the content of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeAtomically(Path file, JsonContent content) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            content.write(generator);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The content of a JSON file.
+     */
+    private interface JsonContent {
+
+        /**
+         * Writes the content.
+         * @param generator The generator of the file.
+         * @throws IOException If the file cannot be written.
+         */
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,647 @@
+package org.taskmanager.taskmanager.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import org.taskmanager.taskmanager.exporter.ChangeFeedExporter;
+import org.taskmanager.taskmanager.exporter.TaskExporter;
+import org.taskmanager.taskmanager.importer.ImportProgress;
+import org.taskmanager.taskmanager.importer.ImportResult;
+import org.taskmanager.taskmanager.importer.RejectedRow;
+import org.taskmanager.taskmanager.importer.TaskImporter;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.ChangeFeed;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.repository.TaskStatistics;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskJsonUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class is the command-line entry point of the application, for scripts and bulk maintenance.
+ * It loads the repositories from the medialab folder without starting JavaFX, runs a single command
+ * given as arguments or every command of a batch file, and then saves the tasks once, only if a command
+ * changed them. If any command fails, nothing is saved, so a batch is applied either whole or not at all.
+ * The commands that change many tasks select them in a single pass and change them through the bulk
+ * methods of the task repository. It has to run from the folder that holds the medialab folder:
+ * java ... org.taskmanager.taskmanager.cli.MediaLabCommandLine [--dry-run] (--batch FILE | COMMAND ...)
+ * There are 8 commands: add, update, delete, search, stats, export, import and changes, run help for their options.
+ */
+public class MediaLabCommandLine {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: MediaLabCommandLine [--dry-run] COMMAND [OPTIONS]",
+            "       MediaLabCommandLine [--dry-run] --batch FILE   (one command per line, - for the standard input)",
+            "",
+            "Commands:",
+            "  add     --name NAME --deadline yyyy-MM-dd [--description TEXT] [--category NAME]",
+            "          [--priority LEVEL] [--state STATE] [--recurrence RECURRENCE]",
+            "  update  SELECTION [--name NAME] [--description TEXT] [--deadline yyyy-MM-dd]",
+            "          [--category NAME] [--priority LEVEL] [--state STATE] [--recurrence RECURRENCE]",
+            "  delete  SELECTION",
+            "  search  [SELECTION]",
+            "  stats",
+            "  export  --output FILE [--format json|csv|jsonl] [SELECTION]",
+            "  import  FILE [--format csv|jsonl] [--batch-size N]   (- for the standard input, with --format)",
+            "  changes --output FILE [--since VERSION]   (JSON Lines of the changes after VERSION, - for the standard output)",
+            "",
+            "SELECTION is any of: task ids, --id ID, --match TEXT (in the name), --in-category NAME,",
+            "  --in-priority LEVEL, --in-state STATE, --due-before yyyy-MM-dd, --due-after yyyy-MM-dd,",
+            "  or --all. update and delete need at least one of them.",
+            "States: Open, In Progress, Postponed, Completed, Delayed. Recurrences: Does not repeat, Daily, Weekly, Monthly.",
+            "--dry-run runs the commands without saving the tasks.");
+
+    private final TaskRepository taskRepository = new TaskRepository();
+    private final CategoryRepository categoryRepository = new CategoryRepository();
+    private final PriorityRepository priorityRepository = new PriorityRepository();
+
+    // Whether a command changed the tasks, so they have to be saved at the end.
+    private boolean modified = false;
+
+    /**
+     * The constructor of the MediaLabCommandLine, used only by main.
+     */
+    private MediaLabCommandLine() {}
+
+    /**
+     * Runs the command or the batch file given as arguments. The exit code is 0 on success,
+     * 1 if a command failed, for example because of an unknown option, and 2 if the batch file could not be read.
+     * @param args The global options followed by a command and its arguments.
+     */
+    public static void main(String[] args) {
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        boolean dryRun = arguments.remove("--dry-run");
+
+        if (arguments.isEmpty() || arguments.get(0).equals("help") || arguments.get(0).equals("--help")) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        List<List<String>> commands;
+        try {
+            commands = arguments.get(0).equals("--batch") ? readBatch(arguments) : List.of(arguments);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        MediaLabCommandLine commandLine = new MediaLabCommandLine();
+        commandLine.load();
+
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                commandLine.run(new CommandArguments(commands.get(i)));
+            } catch (IllegalArgumentException | IOException e) {
+                String where = commands.size() > 1 ? " in command " + (i + 1) + " (" + String.join(" ", commands.get(i)) + ")" : "";
+                System.err.println("Error" + where + ": " + e.getMessage());
+                System.err.println("Nothing was saved.");
+                System.exit(1);
+                return;
+            }
+        }
+
+        if (commandLine.modified && !dryRun) {
+            commandLine.taskRepository.saveAll();
+        } else if (commandLine.modified) {
+            System.out.println("Dry run, nothing was saved.");
+        }
+    }
+
+    /**
+     * Reads the commands of a batch file, one per line, skipping the blank lines and the comments.
+     * @param arguments The arguments of the program, --batch followed by the file, - for the standard input.
+     * @return The arguments of every command.
+     * @throws IOException If the file cannot be read.
+     */
+    private static List<List<String>> readBatch(List<String> arguments) throws IOException {
+
+        if (arguments.size() != 2) {
+            throw new IllegalArgumentException("--batch takes a single file and no command");
+        }
+
+        List<String> lines;
+        if (arguments.get(1).equals("-")) {
+            lines = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } else {
+            lines = Files.readAllLines(Paths.get(arguments.get(1)), StandardCharsets.UTF_8);
+        }
+
+        List<List<String>> commands = new ArrayList<>();
+        for (String line : lines) {
+            List<String> command = CommandArguments.split(line);
+            if (!command.isEmpty()) {
+                commands.add(command);
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Loads the categories, priorities and tasks from the JSON files, on the calling thread.
+     */
+    private void load() {
+        categoryRepository.load();
+        priorityRepository.load();
+        taskRepository.loadTasks();
+    }
+
+    /**
+     * Runs a single command.
+     * @param arguments The command and its arguments.
+     * @throws IOException If an export cannot be written or an import cannot be read.
+     */
+    private void run(CommandArguments arguments) throws IOException {
+        switch (arguments.command()) {
+            case "add":
+                add(arguments);
+                break;
+            case "update":
+                update(arguments);
+                break;
+            case "delete":
+                delete(arguments);
+                break;
+            case "search":
+                search(arguments);
+                break;
+            case "stats":
+                arguments.checkAllUsed();
+                stats();
+                break;
+            case "export":
+                export(arguments);
+                break;
+            case "import":
+                importTasks(arguments);
+                break;
+            case "changes":
+                changes(arguments);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + arguments.command() + ", run help for the commands");
+        }
+    }
+
+    /**
+     * Adds a task. The category and priority are found by name, and the
+     * task is Uncategorized and of Default priority unless they are given.
+     * @param arguments The arguments of the command.
+     */
+    private void add(CommandArguments arguments) {
+
+        String name = required(arguments, "name");
+        String deadline = date(required(arguments, "deadline"));
+        String description = arguments.has("description") ? arguments.get("description") : "";
+        int categoryId = arguments.has("category") ? categoryId(arguments.get("category")) : -1;
+        int priorityId = arguments.has("priority") ? priorityId(arguments.get("priority")) : -1;
+        TaskStateUtils state = arguments.has("state") ? state(arguments.get("state")) : TaskStateUtils.OPEN;
+        RecurrenceUtils recurrence = arguments.has("recurrence") ? recurrence(arguments.get("recurrence")) : RecurrenceUtils.NONE;
+        arguments.checkAllUsed();
+
+        taskRepository.add(name, description, deadline, categoryId, priorityId, state, recurrence);
+        modified = true;
+        System.out.println("Added task " + name);
+    }
+
+    /**
+     * Updates the selected tasks. The state, category, priority and deadline are set on all
+     * of them at once through the bulk methods of the repository, while the name, description
+     * and recurrence need the update of each task.
+     * @param arguments The arguments of the command.
+     */
+    private void update(CommandArguments arguments) {
+
+        Predicate<Task> selection = selection(arguments, true);
+
+        String name = arguments.get("name");
+        String description = arguments.get("description");
+        String deadline = arguments.has("deadline") ? date(arguments.get("deadline")) : null;
+        Integer categoryId = arguments.has("category") ? categoryId(arguments.get("category")) : null;
+        Integer priorityId = arguments.has("priority") ? priorityId(arguments.get("priority")) : null;
+        TaskStateUtils state = arguments.has("state") ? state(arguments.get("state")) : null;
+        RecurrenceUtils recurrence = arguments.has("recurrence") ? recurrence(arguments.get("recurrence")) : null;
+        arguments.checkAllUsed();
+
+        if (name == null && description == null && deadline == null && categoryId == null
+                && priorityId == null && state == null && recurrence == null) {
+            throw new IllegalArgumentException("update needs at least one value to change");
+        }
+
+        List<Task> selected = select(selection);
+
+        if (name != null || description != null || recurrence != null) {
+            for (Task task : selected) {
+                taskRepository.update(task,
+                        name != null ? name : task.getName(),
+                        description != null ? description : task.getDescription(),
+                        deadline != null ? deadline : task.getDeadline(),
+                        categoryId != null ? categoryId : task.getCategoryId(),
+                        priorityId != null ? priorityId : task.getPriorityId(),
+                        state != null ? state : task.getState(),
+                        recurrence != null ? recurrence : task.getRecurrence());
+            }
+        } else {
+            // The deadline goes first, so that completing a recurring task moves on from the new one.
+            if (deadline != null) {
+                taskRepository.updateDeadline(selected, deadline);
+            }
+            if (categoryId != null) {
+                taskRepository.updateCategory(selected, categoryId);
+            }
+            if (priorityId != null) {
+                taskRepository.updatePriority(selected, priorityId);
+            }
+            if (state != null) {
+                taskRepository.updateState(selected, state);
+            }
+        }
+
+        modified |= !selected.isEmpty();
+        System.out.println("Updated " + selected.size() + " tasks");
+    }
+
+    /**
+     * Deletes the selected tasks, all at once.
+     * @param arguments The arguments of the command.
+     */
+    private void delete(CommandArguments arguments) {
+
+        Predicate<Task> selection = selection(arguments, true);
+        arguments.checkAllUsed();
+
+        List<Task> selected = select(selection);
+        taskRepository.deleteAll(selected);
+
+        modified |= !selected.isEmpty();
+        System.out.println("Deleted " + selected.size() + " tasks");
+    }
+
+    /**
+     * Prints the selected tasks, one per line, sorted by id.
+     * @param arguments The arguments of the command.
+     */
+    private void search(CommandArguments arguments) {
+
+        Predicate<Task> selection = selection(arguments, false);
+        arguments.checkAllUsed();
+
+        List<Task> selected = select(selection);
+        System.out.printf("%-6s  %-30s  %-10s  %-20s  %-10s  %s%n", "ID", "Name", "Deadline", "Category", "Priority", "State");
+        for (Task task : selected) {
+            System.out.printf("%-6d  %-30s  %-10s  %-20s  %-10s  %s%n", task.getTaskId(), task.getName(), task.getDeadline(),
+                    categoryRepository.getCategoryMapReverse().get(task.getCategoryId()),
+                    priorityRepository.getPriorityMapReverse().get(task.getPriorityId()), task.getState());
+        }
+        System.out.println(selected.size() + " tasks");
+    }
+
+    /**
+     * Prints the summary of the main window, along with the number of tasks of each category and priority,
+     * how long the delayed tasks are overdue and how many notifications are waiting. It reads the statistics
+     * the repository keeps up to date, so it does not go through the tasks.
+     */
+    private void stats() {
+
+        TaskStatistics statistics = taskRepository.statistics();
+        System.out.println("Total Tasks: " + statistics.getTotal());
+        for (TaskStateUtils state : TaskStateUtils.values()) {
+            System.out.println(state + ": " + statistics.getTotal(state));
+        }
+        System.out.println("Due in 7 Days: " + statistics.getDueInSevenDays());
+
+        Map<String, Integer> byCategory = new TreeMap<>();
+        Map<String, Integer> byPriority = new TreeMap<>();
+        for (TaskStatistics.Group group : statistics.getGroups()) {
+            byCategory.merge(String.valueOf(categoryRepository.getCategoryMapReverse().get(group.getCategoryId())), group.getTotal(), Integer::sum);
+            byPriority.merge(String.valueOf(priorityRepository.getPriorityMapReverse().get(group.getPriorityId())), group.getTotal(), Integer::sum);
+        }
+        System.out.println("By category: " + byCategory);
+        System.out.println("By priority: " + byPriority);
+        System.out.println("Overdue: " + statistics.getOverdueAges());
+        System.out.printf("Notifications: %d due, %d in the next 7 days, %d later%n", statistics.getNotificationsDue(),
+                statistics.getNotificationsNextSevenDays(), statistics.getNotificationsLater());
+    }
+
+    /**
+     * Writes the selected tasks to a file, as JSON in the format of the tasks file, or as CSV or JSON Lines.
+     * The CSV and JSON Lines files are written by the TaskExporter as the tasks are selected, so their memory
+     * does not grow with the number of tasks, while the JSON file needs all the selected tasks at once.
+     * @param arguments The arguments of the command.
+     * @throws IOException If the file cannot be written.
+     */
+    private void export(CommandArguments arguments) throws IOException {
+
+        String output = required(arguments, "output");
+        String format = arguments.has("format") ? arguments.get("format").toLowerCase() : "json";
+        Predicate<Task> selection = selection(arguments, false);
+        arguments.checkAllUsed();
+
+        long exported;
+        switch (format) {
+            case "json":
+                List<Task> selected = select(selection);
+                TaskJsonUtils.writeTaskListToFile(output, selected);
+                exported = selected.size();
+                break;
+            case "csv":
+                exported = new TaskExporter(taskRepository, categoryRepository, priorityRepository)
+                        .export(Paths.get(output), TaskExporter.Format.CSV, selection);
+                break;
+            case "jsonl":
+                exported = new TaskExporter(taskRepository, categoryRepository, priorityRepository)
+                        .export(Paths.get(output), TaskExporter.Format.JSON_LINES, selection);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown export format: " + format + ", expected json, csv or jsonl");
+        }
+        System.out.println("Exported " + exported + " tasks to " + output);
+    }
+
+    /**
+     * Writes the changes of the tasks, notifications, categories and priorities made after a version to a JSON Lines
+     * file through the ChangeFeedExporter, all the items if no version is given, and prints the version to give next time.
+     * @param arguments The arguments of the command.
+     * @throws IOException If the file cannot be written.
+     */
+    private void changes(CommandArguments arguments) throws IOException {
+
+        String output = required(arguments, "output");
+        long since = 0;
+        if (arguments.has("since")) {
+            try {
+                since = Long.parseLong(arguments.get("since"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a version: " + arguments.get("since"));
+            }
+        }
+        arguments.checkAllUsed();
+
+        ChangeFeedExporter exporter = new ChangeFeedExporter(new ChangeFeed());
+        long version;
+        if (output.equals("-")) {
+            version = exporter.export(Channels.newChannel(System.out), since);
+            System.out.flush();
+        } else {
+            version = exporter.export(Paths.get(output), since);
+            System.out.println("Exported the changes after version " + since + " to " + output + ", sync from version " + version + " next time");
+        }
+    }
+
+    /**
+     * Imports tasks from a CSV or JSON Lines file through the TaskImporter, reporting the progress
+     * at most once a second and the first rejected rows. The rejected rows do not fail the command,
+     * but a file that cannot be read to its end does, so nothing is saved.
+     * @param arguments The arguments of the command.
+     * @throws IOException If the file cannot be read.
+     */
+    private void importTasks(CommandArguments arguments) throws IOException {
+
+        if (arguments.positional().size() != 1) {
+            throw new IllegalArgumentException("import takes a single file");
+        }
+        String input = arguments.positional().get(0);
+        int batchSize = TaskImporter.DEFAULT_BATCH_SIZE;
+        if (arguments.has("batch-size")) {
+            try {
+                batchSize = Integer.parseInt(arguments.get("batch-size"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a batch size: " + arguments.get("batch-size"));
+            }
+        }
+        TaskImporter.Format format;
+        if (arguments.has("format")) {
+            String name = arguments.get("format").toLowerCase();
+            if (name.equals("csv")) {
+                format = TaskImporter.Format.CSV;
+            } else if (name.equals("jsonl")) {
+                format = TaskImporter.Format.JSON_LINES;
+            } else {
+                throw new IllegalArgumentException("Unknown import format: " + name + ", expected csv or jsonl");
+            }
+        } else if (input.equals("-")) {
+            throw new IllegalArgumentException("import from the standard input needs --format");
+        } else {
+            format = TaskImporter.Format.of(Paths.get(input));
+        }
+        arguments.checkAllUsed();
+
+        long[] lastReport = {System.nanoTime()};
+        ImportProgress progress = (rowsRead, tasksImported, rowsRejected) -> {
+            if (System.nanoTime() - lastReport[0] >= 1_000_000_000L) {
+                lastReport[0] = System.nanoTime();
+                System.out.println("... " + rowsRead + " rows read, " + tasksImported + " imported, " + rowsRejected + " rejected");
+            }
+        };
+
+        TaskImporter importer = new TaskImporter(taskRepository, categoryRepository, priorityRepository);
+        ImportResult result;
+        if (input.equals("-")) {
+            result = importer.importFrom(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), format, batchSize, progress);
+        } else {
+            try (BufferedReader reader = Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8)) {
+                result = importer.importFrom(reader, format, batchSize, progress);
+            }
+        }
+
+        modified |= result.getTasksImported() > 0;
+        System.out.println(result);
+        List<RejectedRow> rejectedRows = result.getRejectedRows();
+        for (int i = 0; i < Math.min(rejectedRows.size(), 20); i++) {
+            System.out.println("  rejected " + rejectedRows.get(i));
+        }
+        if (result.getRowsRejected() > 20) {
+            System.out.println("  ... and " + (result.getRowsRejected() - 20) + " more rejected rows");
+        }
+        if (result.getFailure() != null) {
+            throw new IOException("The import of " + input + " stopped: " + result.getFailure());
+        }
+    }
+
+    /**
+     * Finds the tasks of the repository that match a selection, in a single pass.
+     * @param selection The selection.
+     * @return The matching tasks, sorted by id.
+     */
+    private List<Task> select(Predicate<Task> selection) {
+        List<Task> selected = new ArrayList<>();
+        for (Task task : taskRepository.snapshot()) {
+            if (selection.test(task)) {
+                selected.add(task);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Builds the selection of tasks from the ids and the selection options of a command.
+     * All the given conditions have to match.
+     * @param arguments The arguments of the command.
+     * @param required True if the command needs an explicit selection, --all selects every task.
+     * @return The selection.
+     */
+    private Predicate<Task> selection(CommandArguments arguments, boolean required) {
+
+        Predicate<Task> selection = task -> true;
+        boolean selected = arguments.has("all");
+
+        Set<Integer> ids = new HashSet<>();
+        List<String> idArguments = new ArrayList<>(arguments.positional());
+        idArguments.addAll(arguments.getAll("id"));
+        for (String id : idArguments) {
+            try {
+                ids.add(Integer.parseInt(id));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a task id: " + id);
+            }
+        }
+        if (!ids.isEmpty()) {
+            selection = selection.and(task -> ids.contains(task.getTaskId()));
+            selected = true;
+        }
+
+        if (arguments.has("match")) {
+            String match = arguments.get("match").toLowerCase();
+            selection = selection.and(task -> task.getName().toLowerCase().contains(match));
+            selected = true;
+        }
+        if (arguments.has("in-category")) {
+            int categoryId = categoryId(arguments.get("in-category"));
+            selection = selection.and(task -> task.getCategoryId() == categoryId);
+            selected = true;
+        }
+        if (arguments.has("in-priority")) {
+            int priorityId = priorityId(arguments.get("in-priority"));
+            selection = selection.and(task -> task.getPriorityId() == priorityId);
+            selected = true;
+        }
+        if (arguments.has("in-state")) {
+            TaskStateUtils state = state(arguments.get("in-state"));
+            selection = selection.and(task -> task.getState() == state);
+            selected = true;
+        }
+        // The deadlines are stored as yyyy-MM-dd, so comparing them as text compares the dates.
+        if (arguments.has("due-before")) {
+            String date = date(arguments.get("due-before"));
+            selection = selection.and(task -> task.getDeadline().compareTo(date) < 0);
+            selected = true;
+        }
+        if (arguments.has("due-after")) {
+            String date = date(arguments.get("due-after"));
+            selection = selection.and(task -> task.getDeadline().compareTo(date) > 0);
+            selected = true;
+        }
+
+        if (required && !selected) {
+            throw new IllegalArgumentException(arguments.command() + " needs task ids, a selection option or --all");
+        }
+        return selection;
+    }
+
+    /**
+     * Returns the value of an option the command cannot run without.
+     * @param arguments The arguments of the command.
+     * @param name The name of the option.
+     * @return The value of the option.
+     */
+    private static String required(CommandArguments arguments, String name) {
+        String value = arguments.get(name);
+        if (value == null || value.equals("true")) {
+            throw new IllegalArgumentException(arguments.command() + " needs --" + name);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that a date is in the yyyy-MM-dd format.
+     * @param text The date.
+     * @return The same date.
+     */
+    private static String date(String text) {
+        try {
+            return LocalDate.parse(text).toString();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a yyyy-MM-dd date: " + text);
+        }
+    }
+
+    /**
+     * Finds a state by its name, as shown in the application, ignoring case.
+     * Unlike TaskStateUtils.fromString, an unknown name is an error.
+     * @param text The name of the state.
+     * @return The state.
+     */
+    private static TaskStateUtils state(String text) {
+        for (TaskStateUtils state : TaskStateUtils.values()) {
+            if (state.toString().equalsIgnoreCase(text) || state.name().equalsIgnoreCase(text)) {
+                return state;
+            }
+        }
+        throw new IllegalArgumentException("Unknown state: " + text);
+    }
+
+    /**
+     * Finds a recurrence by its name, as shown in the application, ignoring case.
+     * @param text The name of the recurrence.
+     * @return The recurrence.
+     */
+    private static RecurrenceUtils recurrence(String text) {
+        for (RecurrenceUtils recurrence : RecurrenceUtils.values()) {
+            if (recurrence.toString().equalsIgnoreCase(text) || recurrence.name().equalsIgnoreCase(text)) {
+                return recurrence;
+            }
+        }
+        throw new IllegalArgumentException("Unknown recurrence: " + text);
+    }
+
+    /**
+     * Finds the id of a category by its name, ignoring case.
+     * @param name The name of the category.
+     * @return The id of the category.
+     */
+    private int categoryId(String name) {
+        for (Map.Entry<String, Integer> category : categoryRepository.getCategoryMap().entrySet()) {
+            if (category.getKey().equalsIgnoreCase(name)) {
+                return category.getValue();
+            }
+        }
+        throw new IllegalArgumentException("Unknown category: " + name);
+    }
+
+    /**
+     * Finds the id of a priority by its level, ignoring case.
+     * @param level The level of the priority.
+     * @return The id of the priority.
+     */
+    private int priorityId(String level) {
+        for (Map.Entry<String, Integer> priority : priorityRepository.getPriorityMap().entrySet()) {
+            if (priority.getKey().equalsIgnoreCase(level)) {
+                return priority.getValue();
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority: " + level);
+    }
+}
@@ -0,0 +1,160 @@
+package org.taskmanager.taskmanager.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.ChangeFeed;
+import org.taskmanager.taskmanager.repository.FeedChange;
+
+/**
+ * This class writes the changes of the ChangeFeed since a version as a JSON Lines file, for a system that keeps
+ * its own copy of the tasks, notifications, categories and priorities in sync. Every line is one changed item:
+ * an upsert, with the item as it is now, or a delete, with only its id. The last line ends the file, with the version
+ * to sync from next time and whether the changes are a full sync, which replaces everything the consumer has.
+ * A file without it was cut off and should be read again. As with the TaskExporter, the changes are written straight
+ * to a buffered channel, so the memory it uses does not grow with the number of changes written.
+ */
+public class ChangeFeedExporter {
+
+    // The size of the buffer between the lines and the channel.
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ChangeFeed changeFeed;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Constructor of the ChangeFeedExporter.
+     * @param changeFeed The feed of the changes.
+     */
+    public ChangeFeedExporter(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Exports the changes since a version to a file, which is replaced if it exists.
+     * @param file The file, written in UTF-8.
+     * @param since The version the consumer synced to, 0 if it never synced.
+     * @return The version to sync from next time.
+     * @throws IOException If the file cannot be written.
+     */
+    public long export(Path file, long since) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return export(channel, since);
+        }
+    }
+
+    /**
+     * Exports the changes since a version to a channel, for example the body of an HTTP response. The channel is not closed.
+     * @param channel The channel, written in UTF-8.
+     * @param since The version the consumer synced to, 0 if it never synced.
+     * @return The version to sync from next time.
+     * @throws IOException If the channel cannot be written.
+     */
+    public long export(WritableByteChannel channel, long since) throws IOException {
+
+        // The writer is flushed at the end but never closed, as closing it would close the channel.
+        BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        boolean full = changeFeed.isFullSync(since);
+        long[] count = {0};
+        long version;
+        try {
+            version = changeFeed.changesSince(since, change -> {
+                writeChange(generator, change);
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("op", "end");
+        generator.writeNumberField("since", since);
+        generator.writeNumberField("version", version);
+        generator.writeNumberField("changes", count[0]);
+        generator.writeBooleanField("full", full);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.close();
+        writer.flush();
+        return version;
+    }
+
+    /**
+     * Writes a change as a line of the file.
+     * @param generator The generator of the file.
+     * @param change The change.
+     */
+    private static void writeChange(JsonGenerator generator, FeedChange change) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("op", change.isDeleted() ? "delete" : "upsert");
+            generator.writeNumberField("version", change.getVersion());
+            generator.writeStringField("kind", change.getKind().name().toLowerCase(Locale.ROOT));
+            generator.writeNumberField("id", change.getId());
+            if (change.getKind() == FeedChange.Kind.NOTIFICATION) {
+                generator.writeNumberField("taskId", change.getTaskId());
+            }
+            if (!change.isDeleted()) {
+                generator.writeFieldName("item");
+                writeItem(generator, change);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the item of an upsert, a task without its notifications, which are items of their own.
+     * @param generator The generator of the file.
+     * @param change The upsert.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void writeItem(JsonGenerator generator, FeedChange change) throws IOException {
+
+        generator.writeStartObject();
+        switch (change.getKind()) {
+            case TASK:
+                Task task = change.getTask();
+                generator.writeStringField("name", task.getName());
+                generator.writeStringField("description", task.getDescription());
+                generator.writeStringField("deadline", task.getDeadline());
+                generator.writeNumberField("categoryId", task.getCategoryId());
+                generator.writeNumberField("priorityId", task.getPriorityId());
+                generator.writeStringField("state", task.getState().toString());
+                generator.writeStringField("recurrence", task.getRecurrence().toString());
+                generator.writeStringField("recurrenceStart", task.getRecurrenceStart());
+                break;
+            case NOTIFICATION:
+                Notification notification = change.getNotification();
+                generator.writeStringField("message", notification.getMessage());
+                generator.writeStringField("date", notification.getNotificationDate());
+                break;
+            case CATEGORY:
+                generator.writeStringField("name", change.getName());
+                break;
+            default:
+                generator.writeStringField("level", change.getName());
+        }
+        generator.writeEndObject();
+    }
+}
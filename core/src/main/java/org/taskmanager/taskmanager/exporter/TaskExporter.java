@@ -0,0 +1,231 @@
+package org.taskmanager.taskmanager.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.repository.TaskSnapshot;
+
+/**
+ * This class exports the tasks that match a filter, such as a TaskFilter of the search, to a CSV or
+ * a JSON Lines file, for other systems to read. It walks the latest TaskSnapshot of the repository and writes
+ * each matching task straight to a buffered channel, without collecting the tasks in a list first, so the memory
+ * it uses does not grow with the number of tasks. The snapshot is never changed, so the export is consistent even
+ * while the tasks are edited, and it does not lock the repository. The tasks are written in the order of the snapshot,
+ * which is not sorted. The files have the columns of the command line export, so they can be imported back.
+ */
+public class TaskExporter {
+
+    /**
+     * The formats the tasks can be exported to.
+     */
+    public enum Format {
+        // A header line with the names of the fields, then one task per line.
+        CSV,
+        // One JSON object per line, with the notifications of the task.
+        JSON_LINES;
+
+        /**
+         * Finds the format of a file from its extension, .csv for CSV, and .jsonl or .ndjson for JSON Lines.
+         * @param file The file.
+         * @return The format of the file.
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return JSON_LINES;
+            }
+            throw new IllegalArgumentException("Unknown export format of " + file.getFileName() + ", expected .csv or .jsonl");
+        }
+    }
+
+    private static final String CSV_HEADER = "id,name,description,deadline,category,priority,state,recurrence,notifications";
+
+    // The size of the buffer between the rows and the channel.
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Constructor of the TaskExporter.
+     * @param taskRepository The repository of the tasks.
+     * @param categoryRepository The categories, their names are written instead of their ids.
+     * @param priorityRepository The priorities, their levels are written instead of their ids.
+     */
+    public TaskExporter(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.priorityRepository = priorityRepository;
+    }
+
+    /**
+     * Exports the matching tasks to a file, which is replaced if it exists.
+     * @param file The file, written in UTF-8.
+     * @param format The format of the file.
+     * @param filter Which tasks are exported.
+     * @return The number of exported tasks.
+     * @throws IOException If the file cannot be written.
+     */
+    public long export(Path file, Format format, Predicate<Task> filter) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return export(channel, format, filter);
+        }
+    }
+
+    /**
+     * Exports the matching tasks to a channel, for example the body of an HTTP response. The channel is not closed.
+     * @param channel The channel, written in UTF-8.
+     * @param format The format of the rows.
+     * @param filter Which tasks are exported.
+     * @return The number of exported tasks.
+     * @throws IOException If the channel cannot be written.
+     */
+    public long export(WritableByteChannel channel, Format format, Predicate<Task> filter) throws IOException {
+
+        // The writer is flushed at the end but never closed, as closing it would close the channel.
+        BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+
+        TaskSnapshot snapshot = taskRepository.currentSnapshot();
+        Map<Integer, String> categoryNames = categoryRepository.getCategoryMapReverse();
+        Map<Integer, String> priorityLevels = priorityRepository.getPriorityMapReverse();
+        long[] exported = {0};
+
+        try {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+                snapshot.forEach(task -> {
+                    if (filter.test(task)) {
+                        writeCsvRow(writer, task, categoryNames, priorityLevels);
+                        exported[0]++;
+                    }
+                });
+                writer.flush();
+            } else {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                snapshot.forEach(task -> {
+                    if (filter.test(task)) {
+                        writeJsonLine(generator, task, categoryNames, priorityLevels);
+                        exported[0]++;
+                    }
+                });
+                if (exported[0] > 0) {
+                    generator.writeRaw('\n');
+                }
+                generator.close();
+                writer.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return exported[0];
+    }
+
+    /**
+     * Writes a task as a line of a CSV file.
+     * @param writer The writer of the file.
+     * @param task The task.
+     * @param categoryNames The names of the categories by their ids.
+     * @param priorityLevels The levels of the priorities by their ids.
+     */
+    private static void writeCsvRow(Writer writer, Task task, Map<Integer, String> categoryNames, Map<Integer, String> priorityLevels) {
+        try {
+            writer.write(String.valueOf(task.getTaskId()));
+            writer.write(',');
+            writer.write(csv(task.getName()));
+            writer.write(',');
+            writer.write(csv(task.getDescription()));
+            writer.write(',');
+            writer.write(task.getDeadline());
+            writer.write(',');
+            writer.write(csv(categoryNames.get(task.getCategoryId())));
+            writer.write(',');
+            writer.write(csv(priorityLevels.get(task.getPriorityId())));
+            writer.write(',');
+            writer.write(task.getState().toString());
+            writer.write(',');
+            writer.write(task.getRecurrence().toString());
+            writer.write(',');
+            writer.write(String.valueOf(task.getNotifications().size()));
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a task as a line of a JSON Lines file, with the names of its category and priority and its notifications.
+     * @param generator The generator of the file.
+     * @param task The task.
+     * @param categoryNames The names of the categories by their ids.
+     * @param priorityLevels The levels of the priorities by their ids.
+     */
+    private static void writeJsonLine(JsonGenerator generator, Task task, Map<Integer, String> categoryNames, Map<Integer, String> priorityLevels) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", task.getTaskId());
+            generator.writeStringField("name", task.getName());
+            generator.writeStringField("description", task.getDescription());
+            generator.writeStringField("deadline", task.getDeadline());
+            generator.writeStringField("category", categoryNames.get(task.getCategoryId()));
+            generator.writeStringField("priority", priorityLevels.get(task.getPriorityId()));
+            generator.writeStringField("state", task.getState().toString());
+            generator.writeStringField("recurrence", task.getRecurrence().toString());
+            generator.writeArrayFieldStart("notifications");
+            for (Notification notification : task.getNotifications()) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", notification.getNotificationId());
+                generator.writeStringField("message", notification.getMessage());
+                generator.writeStringField("date", notification.getNotificationDate());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Quotes a value for a CSV file if it has a comma, a quote or a line break.
+     * @param value The value.
+     * @return The value as it is written in the CSV file.
+     */
+    public static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,113 @@
+package org.taskmanager.taskmanager.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads a CSV file one record at a time, without keeping more than the
+ * current record in memory. Values may be quoted, a quoted value may hold commas,
+ * line breaks and doubled quotes, and lines may end with \n or \r\n.
+ * It reads the files the command line exports, as well as those of most spreadsheets.
+ */
+class CsvRowReader {
+
+    private final Reader reader;
+
+    // The line the reader is on, and the line the last record started on.
+    private long line = 1;
+    private long recordLine = 1;
+
+    // A character that was read ahead and has to be read again, -2 if there is none.
+    private int pushedBack = -2;
+
+    /**
+     * Constructor of the CsvRowReader.
+     * @param reader The reader of the file, it should be buffered.
+     */
+    CsvRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     * @return The values of the record, or null at the end of the file.
+     * @throws IOException If the file cannot be read or ends inside a quoted value.
+     */
+    List<String> next() throws IOException {
+
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("The quoted value that starts on line " + recordLine + " is never closed");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = following;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                // The \r of a \r\n line ending is not part of the value.
+                int length = value.length();
+                if (length > 0 && value.charAt(length - 1) == '\r') {
+                    value.setLength(length - 1);
+                }
+                values.add(value.toString());
+                return values;
+            } else {
+                value.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Returns the line the last record started on, counting from 1.
+     * @return The line of the last record.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Reads the next character, or the one that was read ahead.
+     * @return The character, or -1 at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,17 @@
+package org.taskmanager.taskmanager.importer;
+
+/**
+ * This interface receives the progress of an import, after every batch of tasks is added
+ * to the repository. It is called on the thread that runs the import, so a user interface
+ * has to hand the numbers over to its own thread.
+ */
+public interface ImportProgress {
+
+    /**
+     * Called after a batch of tasks is added to the repository.
+     * @param rowsRead The number of rows read from the file so far.
+     * @param tasksImported The number of tasks added to the repository so far.
+     * @param rowsRejected The number of rows rejected so far.
+     */
+    void progress(long rowsRead, long tasksImported, long rowsRejected);
+}
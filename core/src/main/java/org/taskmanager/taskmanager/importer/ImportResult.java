@@ -0,0 +1,103 @@
+package org.taskmanager.taskmanager.importer;
+
+import java.util.List;
+
+/**
+ * The outcome of an import: how many rows were read, imported and rejected, the first
+ * of the rejected rows, how long it took and, if the file could not be read to its end,
+ * why. The tasks of the rows before a failure are imported all the same.
+ */
+public class ImportResult {
+
+    private final long rowsRead;
+    private final long tasksImported;
+    private final long rowsRejected;
+    private final List<RejectedRow> rejectedRows;
+    private final long elapsedNanos;
+    private final String failure;
+
+    /**
+     * Constructor of the ImportResult.
+     * @param rowsRead The number of rows read from the file.
+     * @param tasksImported The number of tasks added to the repository.
+     * @param rowsRejected The number of rows rejected.
+     * @param rejectedRows The first of the rejected rows.
+     * @param elapsedNanos How long the import took, in nanoseconds.
+     * @param failure Why the file could not be read to its end, or null if it was.
+     */
+    ImportResult(long rowsRead, long tasksImported, long rowsRejected, List<RejectedRow> rejectedRows, long elapsedNanos, String failure) {
+        this.rowsRead = rowsRead;
+        this.tasksImported = tasksImported;
+        this.rowsRejected = rowsRejected;
+        this.rejectedRows = List.copyOf(rejectedRows);
+        this.elapsedNanos = elapsedNanos;
+        this.failure = failure;
+    }
+
+    /**
+     * Getter of the number of rows read.
+     * @return The number of rows read from the file, without the header and the blank lines.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Getter of the number of tasks imported.
+     * @return The number of tasks added to the repository.
+     */
+    public long getTasksImported() {
+        return tasksImported;
+    }
+
+    /**
+     * Getter of the number of rows rejected.
+     * @return The number of rows rejected, which can be more than the rejected rows that are kept.
+     */
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    /**
+     * Getter of the rejected rows.
+     * @return The first of the rejected rows, in the order of the file.
+     */
+    public List<RejectedRow> getRejectedRows() {
+        return rejectedRows;
+    }
+
+    /**
+     * Getter of the duration.
+     * @return How long the import took, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the import.
+     * @return The rows read per second.
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Getter of the failure.
+     * @return Why the file could not be read to its end, or null if it was.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Summarises the import in one line.
+     * @return The numbers of the import.
+     */
+    @Override
+    public String toString() {
+        return String.format("Imported %d of %d rows, %d rejected, in %.2f s (%.0f rows/s)%s",
+                tasksImported, rowsRead, rowsRejected, elapsedNanos / 1e9, getRowsPerSecond(),
+                failure == null ? "" : ", stopped: " + failure);
+    }
+}
@@ -0,0 +1,45 @@
+package org.taskmanager.taskmanager.importer;
+
+/**
+ * A row of an import that did not become a task, along with the reason.
+ */
+public class RejectedRow {
+
+    private final long line;
+    private final String reason;
+
+    /**
+     * Constructor of the RejectedRow.
+     * @param line The line of the file the row starts on, counting from 1.
+     * @param reason Why the row was rejected.
+     */
+    RejectedRow(long line, String reason) {
+        this.line = line;
+        this.reason = reason;
+    }
+
+    /**
+     * Getter of the line.
+     * @return The line of the file the row starts on, counting from 1.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Getter of the reason.
+     * @return Why the row was rejected.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Describes the rejected row, as it is shown to the user.
+     * @return The line and the reason.
+     */
+    @Override
+    public String toString() {
+        return "line " + line + ": " + reason;
+    }
+}
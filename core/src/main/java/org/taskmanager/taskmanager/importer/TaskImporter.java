@@ -0,0 +1,538 @@
+package org.taskmanager.taskmanager.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class imports tasks in bulk from a CSV or a JSON Lines file, for example when moving from another tracker.
+ * The file goes through a pipeline of three stages that run at the same time, each on its own thread:
+ * the rows are parsed as the file is read, then they are validated against the categories and priorities
+ * that exist and turned into tasks, and then the tasks are added to the repository in batches. The stages hand
+ * batches to each other through small bounded queues, so only a few batches are in memory at any time, however
+ * large the file is, and a fast stage waits for a slow one. The user interface sees the whole import as a single change.
+ * The rows have the fields name and deadline (yyyy-MM-dd), which are required, and description, category, priority,
+ * state and recurrence, by name as shown in the application, which are optional. Other fields are ignored, so
+ * the CSV files of the command line export are imported as they are. A row that is not valid is rejected with the
+ * reason, and the import goes on. The import runs on the calling thread, which must not be the JavaFX thread.
+ */
+public class TaskImporter {
+
+    /**
+     * The formats of the files that can be imported.
+     */
+    public enum Format {
+        // A header line with the names of the fields, then one task per line.
+        CSV,
+        // One JSON object per line.
+        JSON_LINES;
+
+        /**
+         * Finds the format of a file from its extension, .csv for CSV, and .jsonl or .ndjson for JSON Lines.
+         * A .json file, such as the tasks file of the application, holds a single JSON array
+         * instead of one object per line, so it is rejected with its own message.
+         * @param file The file.
+         * @return The format of the file.
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return JSON_LINES;
+            }
+            if (name.endsWith(".json")) {
+                throw new IllegalArgumentException(file.getFileName() + " is a JSON file, only JSON Lines files (.jsonl or .ndjson)"
+                        + " with one task per line can be imported");
+            }
+            throw new IllegalArgumentException("Unknown import format of " + file.getFileName() + ", expected .csv or .jsonl");
+        }
+    }
+
+    public static final int DEFAULT_BATCH_SIZE = 2000;
+
+    // How many batches may wait between two stages.
+    private static final int QUEUE_CAPACITY = 4;
+
+    // How many rejected rows are kept for the result, the rest are only counted.
+    private static final int MAX_REJECTED_ROWS = 1000;
+
+    // Marks the end of the batches in a queue.
+    private static final List<?> END = new ArrayList<>();
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Constructor of the TaskImporter.
+     * @param taskRepository The repository the tasks are added to.
+     * @param categoryRepository The categories the rows may refer to.
+     * @param priorityRepository The priorities the rows may refer to.
+     */
+    public TaskImporter(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.priorityRepository = priorityRepository;
+    }
+
+    /**
+     * Imports the tasks of a file, its format is found from its extension.
+     * @param file The file, in UTF-8.
+     * @param batchSize The number of rows in each batch.
+     * @param progress Receives the progress of the import.
+     * @return The outcome of the import.
+     * @throws IOException If the file cannot be opened.
+     */
+    public ImportResult importFile(Path file, int batchSize, ImportProgress progress) throws IOException {
+        Format format = Format.of(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, format, batchSize, progress);
+        }
+    }
+
+    /**
+     * Imports the tasks of a reader, for example the standard input. The reader is not closed.
+     * @param reader The reader, it should be buffered.
+     * @param format The format of the rows.
+     * @param batchSize The number of rows in each batch.
+     * @param progress Receives the progress of the import.
+     * @return The outcome of the import.
+     */
+    public ImportResult importFrom(Reader reader, Format format, int batchSize, ImportProgress progress) {
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+
+        long start = System.nanoTime();
+        Pipeline pipeline = new Pipeline(batchSize);
+
+        Thread parser = new Thread(() -> pipeline.parse(reader, format), "import-parse");
+        Thread validator = new Thread(pipeline::validate, "import-validate");
+        parser.setDaemon(true);
+        validator.setDaemon(true);
+        parser.start();
+        validator.start();
+
+        long imported = 0;
+        try {
+            // The last stage runs on the calling thread, the repository tells the listeners once all batches are added.
+            imported = taskRepository.addBatches(pipeline.tasks(), added ->
+                    progress.progress(pipeline.rowsRead.get(), added, pipeline.rowsRejected.get()));
+        } finally {
+            // If adding the tasks failed, the other stages may be waiting for room in their queues.
+            parser.interrupt();
+            validator.interrupt();
+            join(parser);
+            join(validator);
+        }
+
+        List<RejectedRow> rejectedRows;
+        synchronized (pipeline.rejectedRows) {
+            rejectedRows = new ArrayList<>(pipeline.rejectedRows);
+        }
+        rejectedRows.sort((first, second) -> Long.compare(first.getLine(), second.getLine()));
+        return new ImportResult(pipeline.rowsRead.get(), imported, pipeline.rowsRejected.get(),
+                rejectedRows, System.nanoTime() - start, pipeline.failure.get());
+    }
+
+    /**
+     * Waits for a stage to finish.
+     * @param stage The thread of the stage.
+     */
+    private static void join(Thread stage) {
+        try {
+            stage.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads a required field of a row.
+     * @param row The row.
+     * @param field The name of the field.
+     * @return The value of the field, trimmed.
+     */
+    private static String required(Row row, String field) {
+        String value = row.fields.get(field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing " + field);
+        }
+        return value.trim();
+    }
+
+    /**
+     * Reads an optional field of a row.
+     * @param row The row.
+     * @param field The name of the field.
+     * @return The value of the field, trimmed, or null if it is missing or blank.
+     */
+    private static String optional(Row row, String field) {
+        String value = row.fields.get(field);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Finds a value by its name, ignoring case.
+     * @param names The values by their names in lower case.
+     * @param field The name of the field, for the error message.
+     * @param name The name of the value, null for the default value.
+     * @param defaultValue The value if no name is given.
+     * @param <T> The type of the values.
+     * @return The value.
+     */
+    private static <T> T lookup(Map<String, T> names, String field, String name, T defaultValue) {
+        if (name == null) {
+            return defaultValue;
+        }
+        T value = names.get(name.toLowerCase(Locale.ROOT));
+        if (value == null) {
+            throw new IllegalArgumentException("unknown " + field + " " + name);
+        }
+        return value;
+    }
+
+    /**
+     * The state of a single import, shared by its three stages.
+     */
+    private final class Pipeline {
+
+        private final int batchSize;
+
+        // The parsed rows, from the first stage to the second, and the tasks, from the second stage to the third.
+        private final BlockingQueue<List<Row>> rows = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final BlockingQueue<List<Task>> tasks = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final List<RejectedRow> rejectedRows = new ArrayList<>();
+        private final AtomicReference<String> failure = new AtomicReference<>();
+
+        /*
+            The names the rows may refer to, in lower case. They are taken once, when the import
+            starts, so every row of the import is checked against the same categories and priorities.
+        */
+        private final Map<String, Integer> categoryIds = new HashMap<>();
+        private final Map<String, Integer> priorityIds = new HashMap<>();
+        private final Map<String, TaskStateUtils> states = new HashMap<>();
+        private final Map<String, RecurrenceUtils> recurrences = new HashMap<>();
+
+        /**
+         * Constructor of the Pipeline.
+         * @param batchSize The number of rows in each batch.
+         */
+        private Pipeline(int batchSize) {
+            this.batchSize = batchSize;
+            categoryRepository.getCategoryMap().forEach((name, id) -> categoryIds.put(name.toLowerCase(Locale.ROOT), id));
+            priorityRepository.getPriorityMap().forEach((level, id) -> priorityIds.put(level.toLowerCase(Locale.ROOT), id));
+            for (TaskStateUtils state : TaskStateUtils.values()) {
+                states.put(state.toString().toLowerCase(Locale.ROOT), state);
+                states.put(state.name().toLowerCase(Locale.ROOT), state);
+            }
+            for (RecurrenceUtils recurrence : RecurrenceUtils.values()) {
+                recurrences.put(recurrence.toString().toLowerCase(Locale.ROOT), recurrence);
+                recurrences.put(recurrence.name().toLowerCase(Locale.ROOT), recurrence);
+            }
+        }
+
+        /**
+         * The first stage: reads the rows of the file and hands them to the second stage in batches.
+         * A failure to read the file stops the import after the rows read before it.
+         * @param reader The reader of the file.
+         * @param format The format of the rows.
+         */
+        private void parse(Reader reader, Format format) {
+            List<Row> batch = new ArrayList<>(batchSize);
+            try {
+                if (format == Format.CSV) {
+                    parseCsv(reader, batch);
+                } else {
+                    parseJsonLines(reader, batch);
+                }
+                if (!batch.isEmpty()) {
+                    rows.put(batch);
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e.getMessage() != null ? e.getMessage() : e.toString());
+            } catch (InterruptedException e) {
+                return;
+            }
+            end(rows);
+        }
+
+        /**
+         * Reads the rows of a CSV file, the first line names the fields.
+         * @param reader The reader of the file.
+         * @param batch The batch the rows are added to.
+         * @throws IOException If the file cannot be read.
+         * @throws InterruptedException If the import stopped.
+         */
+        private void parseCsv(Reader reader, List<Row> batch) throws IOException, InterruptedException {
+
+            CsvRowReader csv = new CsvRowReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                return;
+            }
+            List<String> fields = new ArrayList<>();
+            for (String field : header) {
+                // A file saved by a spreadsheet may start with a byte order mark.
+                fields.add(field.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+            }
+
+            List<String> values;
+            while ((values = csv.next()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                Row row = new Row(csv.recordLine());
+                if (values.size() != fields.size()) {
+                    row.problem = "expected " + fields.size() + " values, found " + values.size();
+                } else {
+                    for (int i = 0; i < fields.size(); i++) {
+                        row.fields.put(fields.get(i), values.get(i));
+                    }
+                }
+                add(batch, row);
+            }
+        }
+
+        /**
+         * Reads the rows of a JSON Lines file, one object per line. A file that starts with
+         * a JSON array is a whole JSON file instead, which fails the import with its own message
+         * rather than rejecting every one of its lines.
+         * @param reader The reader of the file.
+         * @param batch The batch the rows are added to.
+         * @throws IOException If the file cannot be read.
+         * @throws InterruptedException If the import stopped.
+         */
+        private void parseJsonLines(Reader reader, List<Row> batch) throws IOException, InterruptedException {
+
+            BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+            long lineNumber = 0;
+            boolean firstRow = true;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (firstRow && line.replace("\uFEFF", "").trim().startsWith("[")) {
+                    throw new IllegalArgumentException("The file is a JSON array, only JSON Lines with one task per line can be imported");
+                }
+                firstRow = false;
+                Row row = new Row(lineNumber);
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    if (node.isObject()) {
+                        node.fields().forEachRemaining(field -> row.fields.put(field.getKey().toLowerCase(Locale.ROOT),
+                                field.getValue().isNull() ? null : field.getValue().asText()));
+                    } else {
+                        row.problem = "not a JSON object";
+                    }
+                } catch (JsonProcessingException e) {
+                    row.problem = "not valid JSON";
+                }
+                add(batch, row);
+            }
+        }
+
+        /**
+         * Adds a row to the batch, and hands a copy of the batch to the second stage once it is full.
+         * @param batch The batch, it is emptied once it is handed over.
+         * @param row The row.
+         * @throws InterruptedException If the import stopped.
+         */
+        private void add(List<Row> batch, Row row) throws InterruptedException {
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                rows.put(new ArrayList<>(batch));
+                batch.clear();
+            }
+        }
+
+        /**
+         * The second stage: turns the rows into tasks, rejecting the rows that are not valid,
+         * and hands the tasks to the third stage in batches.
+         */
+        private void validate() {
+            try {
+                List<Row> batch;
+                while ((batch = rows.take()) != END) {
+                    List<Task> valid = new ArrayList<>(batch.size());
+                    for (Row row : batch) {
+                        try {
+                            valid.add(toTask(row));
+                        } catch (IllegalArgumentException e) {
+                            reject(row.line, e.getMessage());
+                        }
+                    }
+                    rowsRead.addAndGet(batch.size());
+                    if (!valid.isEmpty()) {
+                        tasks.put(valid);
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                failure.compareAndSet(null, e.toString());
+            }
+            end(tasks);
+        }
+
+        /**
+         * Turns a row into a task.
+         * @param row The row.
+         * @return The task.
+         */
+        private Task toTask(Row row) {
+
+            if (row.problem != null) {
+                throw new IllegalArgumentException(row.problem);
+            }
+
+            String name = required(row, "name");
+            String deadline = required(row, "deadline");
+            try {
+                deadline = LocalDate.parse(deadline).toString();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("not a yyyy-MM-dd deadline: " + deadline);
+            }
+            String description = optional(row, "description");
+            int categoryId = lookup(categoryIds, "category", optional(row, "category"), -1);
+            int priorityId = lookup(priorityIds, "priority", optional(row, "priority"), -1);
+            TaskStateUtils state = lookup(states, "state", optional(row, "state"), TaskStateUtils.OPEN);
+            RecurrenceUtils recurrence = lookup(recurrences, "recurrence", optional(row, "recurrence"), RecurrenceUtils.NONE);
+
+            Task task = new Task(name, description != null ? description : "", deadline, categoryId, priorityId, state);
+            task.setRecurrence(recurrence);
+            return task;
+        }
+
+        /**
+         * Records a rejected row.
+         * @param line The line of the file the row starts on.
+         * @param reason Why the row was rejected.
+         */
+        private void reject(long line, String reason) {
+            rowsRejected.incrementAndGet();
+            synchronized (rejectedRows) {
+                if (rejectedRows.size() < MAX_REJECTED_ROWS) {
+                    rejectedRows.add(new RejectedRow(line, reason));
+                }
+            }
+        }
+
+        /**
+         * Marks the end of the batches of a queue.
+         * @param queue The queue.
+         * @param <T> The type of the items of the batches.
+         */
+        @SuppressWarnings("unchecked")
+        private <T> void end(BlockingQueue<List<T>> queue) {
+            try {
+                queue.put((List<T>) END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * The third stage reads the batches of tasks through an iterator, which waits for the next batch.
+         * @return The batches of tasks, in the order of the file.
+         */
+        private Iterator<List<Task>> tasks() {
+            return new Iterator<List<Task>>() {
+
+                private List<Task> next;
+                private boolean ended = false;
+
+                /**
+                 * Waits for the next batch, unless the end was reached.
+                 * @return True if there is another batch.
+                 */
+                @Override
+                public boolean hasNext() {
+                    if (next == null && !ended) {
+                        try {
+                            next = tasks.take();
+                            ended = next == END;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            failure.compareAndSet(null, "The import was interrupted");
+                            ended = true;
+                        }
+                    }
+                    return !ended;
+                }
+
+                /**
+                 * Returns the next batch.
+                 * @return The next batch of tasks.
+                 */
+                @Override
+                public List<Task> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    List<Task> batch = next;
+                    next = null;
+                    return batch;
+                }
+            };
+        }
+    }
+
+    /**
+     * A row of the file, with its fields by their names in lower case.
+     */
+    private static final class Row {
+
+        private final long line;
+        private final Map<String, String> fields = new HashMap<>();
+
+        // Why the row cannot become a task before it is validated, null if it may.
+        private String problem;
+
+        /**
+         * Constructor of the Row.
+         * @param line The line of the file the row starts on.
+         */
+        private Row(long line) {
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.taskmanager.taskmanager.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class counts events, such as the changes a slow subscriber dropped. Counting is a single
+ * atomic addition, it allocates nothing and never blocks, so it can be done from any thread
+ * and while the repository is locked.
+ */
+public final class Counter extends Metric implements CounterMBean {
+
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Constructor of the Counter, created through Metrics.counter().
+     * @param name The name of the family of the counter.
+     * @param labelName The name of the label, or null.
+     * @param labelValue The value of the label, or null.
+     */
+    Counter(String name, String labelName, String labelValue) {
+        super(name, labelName, labelValue);
+    }
+
+    /**
+     * Counts an event.
+     */
+    public void increment() {
+        count.incrementAndGet();
+    }
+
+    /**
+     * Counts many events at once.
+     * @param events The number of events.
+     */
+    public void add(long events) {
+        count.addAndGet(events);
+    }
+
+    /**
+     * Returns the number of events counted since the application started.
+     * @return The count.
+     */
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the Prometheus type of the counter.
+     * @return counter.
+     */
+    @Override
+    String type() {
+        return "counter";
+    }
+
+    /**
+     * Writes the count in the Prometheus text format.
+     * @param writer The writer of the exposition.
+     * @throws IOException If the writer fails.
+     */
+    @Override
+    void write(Writer writer) throws IOException {
+        writeSample(writer, "", null, Long.toString(count.get()));
+    }
+}
@@ -0,0 +1,13 @@
+package org.taskmanager.taskmanager.metrics;
+
+/**
+ * The management interface of a Counter, as JMX shows it.
+ */
+public interface CounterMBean {
+
+    /**
+     * Returns the number of events counted since the application started.
+     * @return The count.
+     */
+    long getCount();
+}
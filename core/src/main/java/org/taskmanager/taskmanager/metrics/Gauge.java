@@ -0,0 +1,54 @@
+package org.taskmanager.taskmanager.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.LongSupplier;
+
+/**
+ * This class shows a value that goes up and down, such as the number of tasks. The value is
+ * not recorded, it is read only when the metrics are read, so keeping it costs nothing.
+ */
+public final class Gauge extends Metric implements GaugeMBean {
+
+    private final LongSupplier value;
+
+    /**
+     * Constructor of the Gauge, created through Metrics.gauge().
+     * @param name The name of the family of the gauge.
+     * @param labelName The name of the label, or null.
+     * @param labelValue The value of the label, or null.
+     * @param value Reads the value, it may be called from any thread.
+     */
+    Gauge(String name, String labelName, String labelValue, LongSupplier value) {
+        super(name, labelName, labelValue);
+        this.value = value;
+    }
+
+    /**
+     * Returns the current value of the gauge.
+     * @return The value.
+     */
+    @Override
+    public long getValue() {
+        return value.getAsLong();
+    }
+
+    /**
+     * Returns the Prometheus type of the gauge.
+     * @return gauge.
+     */
+    @Override
+    String type() {
+        return "gauge";
+    }
+
+    /**
+     * Writes the value in the Prometheus text format.
+     * @param writer The writer of the exposition.
+     * @throws IOException If the writer fails.
+     */
+    @Override
+    void write(Writer writer) throws IOException {
+        writeSample(writer, "", null, Long.toString(getValue()));
+    }
+}
@@ -0,0 +1,13 @@
+package org.taskmanager.taskmanager.metrics;
+
+/**
+ * The management interface of a Gauge, as JMX shows it.
+ */
+public interface GaugeMBean {
+
+    /**
+     * Returns the current value of the gauge.
+     * @return The value.
+     */
+    long getValue();
+}
@@ -0,0 +1,200 @@
+package org.taskmanager.taskmanager.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class counts how long an operation takes in fixed buckets, from 10 microseconds to 10 seconds,
+ * along with the sum and the longest of the times. Recording a time finds its bucket among the fixed bounds
+ * and updates three atomic numbers, it allocates nothing and never blocks, so it can be done on every call
+ * of an operation, from any thread and while the repository is locked. The buckets are those of a Prometheus histogram,
+ * each counts the times up to its bound, so the percentiles can be found from them by any reader.
+ */
+public final class LatencyHistogram extends Metric implements LatencyHistogramMBean {
+
+    // The upper bounds of the buckets in nanoseconds, the last bucket, +Inf, has no bound.
+    private static final long[] BOUNDS = {
+            10_000L, 25_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L};
+
+    // The bounds in seconds, as the le label of the Prometheus buckets.
+    private static final String[] BOUND_LABELS = new String[BOUNDS.length + 1];
+
+    static {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            BOUND_LABELS[i] = "le=\"" + BigDecimal.valueOf(BOUNDS[i], 9).stripTrailingZeros().toPlainString() + "\"";
+        }
+        BOUND_LABELS[BOUNDS.length] = "le=\"+Inf\"";
+    }
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+    private final AtomicLong sumNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Constructor of the LatencyHistogram, created through Metrics.histogram().
+     * @param name The name of the family of the histogram.
+     * @param labelName The name of the label, or null.
+     * @param labelValue The value of the label, or null.
+     */
+    LatencyHistogram(String name, String labelName, String labelValue) {
+        super(name, labelName, labelValue);
+    }
+
+    /**
+     * Records how long an operation took.
+     * @param nanos The time in nanoseconds, a negative time counts as 0.
+     */
+    public void record(long nanos) {
+
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        int bucket = 0;
+        while (bucket < BOUNDS.length && nanos > BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        sumNanos.addAndGet(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Records how long an operation took since it started.
+     * @param startNanos The System.nanoTime() when the operation started.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns how many times were recorded.
+     * @return The count.
+     */
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of all the recorded times.
+     * @return The total in milliseconds.
+     */
+    @Override
+    public double getTotalMillis() {
+        return sumNanos.get() / 1e6;
+    }
+
+    /**
+     * Returns the average of the recorded times.
+     * @return The mean in milliseconds, 0 if nothing was recorded.
+     */
+    @Override
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : sumNanos.get() / 1e6 / count;
+    }
+
+    /**
+     * Returns the longest recorded time.
+     * @return The maximum in milliseconds.
+     */
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * Returns the time half of the recorded times are not above.
+     * @return The median in milliseconds.
+     */
+    @Override
+    public double getP50Millis() {
+        return percentileMillis(0.5);
+    }
+
+    /**
+     * Returns the time 90 percent of the recorded times are not above.
+     * @return The 90th percentile in milliseconds.
+     */
+    @Override
+    public double getP90Millis() {
+        return percentileMillis(0.9);
+    }
+
+    /**
+     * Returns the time 99 percent of the recorded times are not above.
+     * @return The 99th percentile in milliseconds.
+     */
+    @Override
+    public double getP99Millis() {
+        return percentileMillis(0.99);
+    }
+
+    /**
+     * Finds a percentile from the buckets, as the bound of the bucket it falls in.
+     * It is never above the longest recorded time, which also stands for the last bucket.
+     * @param quantile The part of the times, between 0 and 1.
+     * @return The percentile in milliseconds, 0 if nothing was recorded.
+     */
+    private double percentileMillis(double quantile) {
+
+        long[] counts = new long[buckets.length()];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(BOUNDS[i], maxNanos.get()) / 1e6;
+            }
+        }
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * Returns the Prometheus type of the histogram.
+     * @return histogram.
+     */
+    @Override
+    String type() {
+        return "histogram";
+    }
+
+    /**
+     * Writes the cumulative buckets, the sum in seconds and the count in the Prometheus text format.
+     * @param writer The writer of the exposition.
+     * @throws IOException If the writer fails.
+     */
+    @Override
+    void write(Writer writer) throws IOException {
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            cumulative += buckets.get(i);
+            writeSample(writer, "_bucket", BOUND_LABELS[i], Long.toString(cumulative));
+        }
+        writeSample(writer, "_sum", null, Double.toString(sumNanos.get() / 1e9));
+        writeSample(writer, "_count", null, Long.toString(cumulative));
+    }
+}
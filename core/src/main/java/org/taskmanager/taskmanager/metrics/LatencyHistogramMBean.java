@@ -0,0 +1,50 @@
+package org.taskmanager.taskmanager.metrics;
+
+/**
+ * The management interface of a LatencyHistogram, as JMX shows it. The percentiles are the
+ * upper bounds of the buckets they fall in, so they are never lower than the real ones.
+ */
+public interface LatencyHistogramMBean {
+
+    /**
+     * Returns how many times were recorded.
+     * @return The count.
+     */
+    long getCount();
+
+    /**
+     * Returns the sum of all the recorded times.
+     * @return The total in milliseconds.
+     */
+    double getTotalMillis();
+
+    /**
+     * Returns the average of the recorded times.
+     * @return The mean in milliseconds, 0 if nothing was recorded.
+     */
+    double getMeanMillis();
+
+    /**
+     * Returns the longest recorded time.
+     * @return The maximum in milliseconds.
+     */
+    double getMaxMillis();
+
+    /**
+     * Returns the time half of the recorded times are not above.
+     * @return The median in milliseconds.
+     */
+    double getP50Millis();
+
+    /**
+     * Returns the time 90 percent of the recorded times are not above.
+     * @return The 90th percentile in milliseconds.
+     */
+    double getP90Millis();
+
+    /**
+     * Returns the time 99 percent of the recorded times are not above.
+     * @return The 99th percentile in milliseconds.
+     */
+    double getP99Millis();
+}
@@ -0,0 +1,95 @@
+package org.taskmanager.taskmanager.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * This class is the base of the metrics the Metrics registry keeps. A metric belongs to a family,
+ * named after the Prometheus conventions, and may have a single label that tells it apart
+ * from the other metrics of its family, such as the operation of a repository.
+ */
+abstract class Metric {
+
+    private final String name;
+    private final String labelName;
+    private final String labelValue;
+
+    /**
+     * Constructor of the Metric.
+     * @param name The name of the family of the metric.
+     * @param labelName The name of the label, or null if the family has a single metric.
+     * @param labelValue The value of the label, or null if the family has a single metric.
+     */
+    Metric(String name, String labelName, String labelValue) {
+        this.name = name;
+        this.labelName = labelName;
+        this.labelValue = labelValue;
+    }
+
+    /**
+     * Returns the name of the family of the metric.
+     * @return The name.
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns the label of the metric as it is written in the Prometheus text format.
+     * @return The label, such as operation="add", or an empty text if the metric has none.
+     */
+    String label() {
+        return labelName == null ? "" : labelName + "=\"" + labelValue + "\"";
+    }
+
+    /**
+     * Returns the name the metric is registered with as an MBean.
+     * @return The name, the type is the family and the label is a key of its own.
+     * @throws MalformedObjectNameException If the label is not a valid key.
+     */
+    ObjectName objectName() throws MalformedObjectNameException {
+        return new ObjectName(Metrics.JMX_DOMAIN + ":type=" + name + (labelName == null ? "" : "," + labelName + "=" + labelValue));
+    }
+
+    /**
+     * Returns the Prometheus type of the metric.
+     * @return counter, gauge or histogram.
+     */
+    abstract String type();
+
+    /**
+     * Writes the samples of the metric in the Prometheus text format, without the HELP and TYPE lines of the family.
+     * @param writer The writer of the exposition.
+     * @throws IOException If the writer fails.
+     */
+    abstract void write(Writer writer) throws IOException;
+
+    /**
+     * Writes a sample line.
+     * @param writer The writer of the exposition.
+     * @param suffix The suffix of the family name, such as _bucket, or an empty text.
+     * @param extraLabel Another label of the sample, such as the bucket of a histogram, or null.
+     * @param value The value of the sample.
+     * @throws IOException If the writer fails.
+     */
+    void writeSample(Writer writer, String suffix, String extraLabel, String value) throws IOException {
+        writer.write(name);
+        writer.write(suffix);
+        String label = label();
+        if (!label.isEmpty() || extraLabel != null) {
+            writer.write('{');
+            writer.write(label);
+            if (extraLabel != null) {
+                writer.write(label.isEmpty() ? "" : ",");
+                writer.write(extraLabel);
+            }
+            writer.write('}');
+        }
+        writer.write(' ');
+        writer.write(value);
+        writer.write('\n');
+    }
+}
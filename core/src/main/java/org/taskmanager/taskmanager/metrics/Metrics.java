@@ -0,0 +1,224 @@
+package org.taskmanager.taskmanager.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+
+/**
+ * This class is the registry of the runtime metrics of the application: the counters, the latency
+ * histograms and the gauges of the repositories, the notifications and the tables. The classes that record
+ * a metric create it once, usually in a static field, and record into it on every call, which allocates nothing.
+ * All the metrics can be read through JMX, once registerMBeans() was called, under the org.taskmanager.taskmanager
+ * domain, and in the Prometheus text format through writePrometheus(), which the MetricsExporter serves.
+ * A family is a group of metrics with the same name, told apart by a single label. Like the repositories,
+ * the registry is shared by the whole application, so its state is static.
+ */
+public final class Metrics {
+
+    // The domain of the names of the MBeans.
+    static final String JMX_DOMAIN = "org.taskmanager.taskmanager";
+
+    // The families by their name, in the order they were created, which is the order they are written in.
+    private static final Map<String, Family> families = new LinkedHashMap<>();
+
+    // Whether the metrics are registered as MBeans, the ones created later are then registered right away.
+    private static boolean mbeansRegistered = false;
+
+    /**
+     * The constructor of the Metrics which is never used or called.
+     */
+    private Metrics() {}
+
+    /**
+     * Returns a counter, created on the first call.
+     * @param name The name of the family, ending in _total.
+     * @param help What the family counts.
+     * @return The counter.
+     */
+    public static Counter counter(String name, String help) {
+        return counter(name, help, null, null);
+    }
+
+    /**
+     * Returns a counter of a family with a label, created on the first call for the label.
+     * @param name The name of the family, ending in _total.
+     * @param help What the family counts.
+     * @param labelName The name of the label, or null.
+     * @param labelValue The value of the label, or null.
+     * @return The counter.
+     */
+    public static synchronized Counter counter(String name, String help, String labelName, String labelValue) {
+        Metric metric = find(name, help, "counter", labelName, labelValue);
+        return metric != null ? (Counter) metric : register(name, help, new Counter(name, labelName, labelValue));
+    }
+
+    /**
+     * Returns a latency histogram, created on the first call.
+     * @param name The name of the family, ending in _seconds.
+     * @param help What the family times.
+     * @return The histogram.
+     */
+    public static LatencyHistogram histogram(String name, String help) {
+        return histogram(name, help, null, null);
+    }
+
+    /**
+     * Returns a latency histogram of a family with a label, created on the first call for the label.
+     * @param name The name of the family, ending in _seconds.
+     * @param help What the family times.
+     * @param labelName The name of the label, or null.
+     * @param labelValue The value of the label, or null.
+     * @return The histogram.
+     */
+    public static synchronized LatencyHistogram histogram(String name, String help, String labelName, String labelValue) {
+        Metric metric = find(name, help, "histogram", labelName, labelValue);
+        return metric != null ? (LatencyHistogram) metric : register(name, help, new LatencyHistogram(name, labelName, labelValue));
+    }
+
+    /**
+     * Registers a gauge, whose value is read when the metrics are read. A gauge that
+     * was already registered with the same name keeps its first reader.
+     * @param name The name of the gauge.
+     * @param help What the gauge shows.
+     * @param value Reads the value, it may be called from any thread.
+     * @return The gauge.
+     */
+    public static synchronized Gauge gauge(String name, String help, LongSupplier value) {
+        Metric metric = find(name, help, "gauge", null, null);
+        return metric != null ? (Gauge) metric : register(name, help, new Gauge(name, null, null, value));
+    }
+
+    /**
+     * Registers all the metrics as MBeans of the platform MBean server, along with the ones created later.
+     * It can be called more than once, the metrics are only registered the first time.
+     */
+    public static synchronized void registerMBeans() {
+        if (mbeansRegistered) {
+            return;
+        }
+        mbeansRegistered = true;
+        for (Family family : families.values()) {
+            for (Metric metric : family.metrics) {
+                registerMBean(metric);
+            }
+        }
+    }
+
+    /**
+     * Writes all the metrics in the Prometheus text exposition format, version 0.0.4.
+     * The values are read as they are written, so they may be a little apart in time.
+     * @param writer The writer of the exposition, it is not flushed.
+     * @throws IOException If the writer fails.
+     */
+    public static void writePrometheus(Writer writer) throws IOException {
+
+        // The families are copied, so the metrics that are created meanwhile do not wait for the writer.
+        List<Family> copies = new ArrayList<>();
+        synchronized (Metrics.class) {
+            for (Family family : families.values()) {
+                copies.add(new Family(family.help, family.type, new ArrayList<>(family.metrics)));
+            }
+        }
+
+        for (Family family : copies) {
+            String name = family.metrics.get(0).name();
+            writer.write("# HELP " + name + " " + family.help + "\n");
+            writer.write("# TYPE " + name + " " + family.type + "\n");
+            for (Metric metric : family.metrics) {
+                metric.write(writer);
+            }
+        }
+    }
+
+    /**
+     * Finds a metric that was already created, it is called while the registry is locked.
+     * @param name The name of the family.
+     * @param help What the family shows, for a new family.
+     * @param type The Prometheus type of the metric.
+     * @param labelName The name of the label, or null.
+     * @param labelValue The value of the label, or null.
+     * @return The metric, or null if there is none with the label.
+     * @throws IllegalArgumentException If the family exists with another type.
+     */
+    private static Metric find(String name, String help, String type, String labelName, String labelValue) {
+
+        Family family = families.get(name);
+        if (family == null) {
+            families.put(name, new Family(help, type, new ArrayList<>()));
+            return null;
+        }
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("The metric " + name + " is a " + family.type + ", not a " + type);
+        }
+
+        String label = labelName == null ? "" : labelName + "=\"" + labelValue + "\"";
+        for (Metric metric : family.metrics) {
+            if (metric.label().equals(label)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a new metric to its family, which find() created, and registers it as an MBean
+     * if the metrics are already registered. It is called while the registry is locked.
+     * @param name The name of the family.
+     * @param help What the family shows.
+     * @param metric The new metric.
+     * @param <M> The type of the metric.
+     * @return The metric.
+     */
+    private static <M extends Metric> M register(String name, String help, M metric) {
+        families.get(name).metrics.add(metric);
+        if (mbeansRegistered) {
+            registerMBean(metric);
+        }
+        return metric;
+    }
+
+    /**
+     * Registers a metric as an MBean. A failure is only reported, the metric is still recorded.
+     * @param metric The metric.
+     */
+    private static void registerMBean(Metric metric) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (!server.isRegistered(metric.objectName())) {
+                server.registerMBean(metric, metric.objectName());
+            }
+        } catch (JMException e) {
+            System.err.println("Failed to register the metric " + metric.name() + " with JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A family of metrics, which share their name, help and type.
+     */
+    private static final class Family {
+
+        private final String help;
+        private final String type;
+        private final List<Metric> metrics;
+
+        /**
+         * Constructor of a family.
+         * @param help What the family shows.
+         * @param type The Prometheus type of the metrics.
+         * @param metrics The metrics of the family.
+         */
+        private Family(String help, String type, List<Metric> metrics) {
+            this.help = help;
+            this.type = type;
+            this.metrics = metrics;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.taskmanager.taskmanager.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class hands the metrics to Prometheus, or any tool that reads its text format. It can serve
+ * them at /metrics on a port of the loopback address, for Prometheus to scrape, and write them to a file
+ * every few seconds, for example for the textfile collector of the node exporter. The file is written to a
+ * temporary file first which then replaces it, so a reader never sees it half-written.
+ * The application starts it from the system properties, see fromSystemProperties().
+ */
+public class MetricsExporter {
+
+    // The content type of the Prometheus text format.
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // How often the file is written when no interval is given.
+    private static final long DEFAULT_INTERVAL_SECONDS = 15;
+
+    private HttpServer server;
+    private ScheduledExecutorService fileWriter;
+    private Path file;
+
+    /**
+     * Constructor of the MetricsExporter, it exports nothing until it is started.
+     */
+    public MetricsExporter() {}
+
+    /**
+     * Starts an exporter as the system properties ask: medialab.metrics.port serves the metrics on that port,
+     * medialab.metrics.file writes them to that file, every medialab.metrics.interval seconds, 15 by default.
+     * Failures are reported and the application goes on without the metrics.
+     * @return The exporter, or null if neither the port nor the file was given.
+     */
+    public static MetricsExporter fromSystemProperties() {
+
+        String port = System.getProperty("medialab.metrics.port");
+        String file = System.getProperty("medialab.metrics.file");
+        if (port == null && file == null) {
+            return null;
+        }
+
+        MetricsExporter exporter = new MetricsExporter();
+        if (port != null) {
+            try {
+                exporter.startServer(Integer.parseInt(port));
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Could not serve the metrics on port " + port);
+                e.printStackTrace();
+            }
+        }
+        if (file != null) {
+            try {
+                long interval = Long.parseLong(System.getProperty("medialab.metrics.interval", String.valueOf(DEFAULT_INTERVAL_SECONDS)));
+                exporter.startFile(Paths.get(file), interval);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Could not write the metrics to " + file + ": " + e.getMessage());
+            }
+        }
+        return exporter;
+    }
+
+    /**
+     * Starts serving the metrics at /metrics on a port of the loopback address.
+     * @param port The port, 0 for any free port.
+     * @throws IOException If the server cannot listen on the port.
+     */
+    public synchronized void startServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handleMetrics);
+        server.start();
+        System.out.println("Metrics served on http://localhost:" + getPort() + "/metrics");
+    }
+
+    /**
+     * Starts writing the metrics to a file, right away and then at a fixed rate.
+     * @param file The file, its folder has to exist.
+     * @param intervalSeconds The seconds between two writes.
+     */
+    public synchronized void startFile(Path file, long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("The interval has to be at least a second");
+        }
+        this.file = file;
+        fileWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-file-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        fileWriter.scheduleAtFixedRate(this::writeFile, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops serving the metrics and writing the file, which is written a last time.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (fileWriter != null) {
+            fileWriter.shutdownNow();
+            fileWriter = null;
+            writeFile();
+        }
+    }
+
+    /**
+     * Returns the port the metrics are served on, useful when the server was started on any free port.
+     * @return The port.
+     */
+    public synchronized int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Answers a request for the metrics, only GET and HEAD are allowed.
+     * @param exchange The request and its response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            StringWriter text = new StringWriter();
+            Metrics.writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Writes the metrics to the file, through a temporary file that then replaces it.
+     * A failure is only reported, the next write tries again.
+     */
+    private void writeFile() {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(temporary), StandardCharsets.UTF_8))) {
+                Metrics.writePrometheus(writer);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to write the metrics to " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.taskmanager.taskmanager.model;
 
+import org.taskmanager.taskmanager.utils.IdAllocator;
+
 /**
  * This is a Class representing a Category of the application.
  * A category is essentially a name that the user can provide to
@@ -16,25 +18,25 @@ public class Category {
     private String name;
 
     /* 
-        ID numbering starts from 0, and it goes up one value per category, it is static. 
+        The ids are handed out by an IdAllocator, which continues after the ids of the previous runs.
         Uncategorized has ID -1.
      */
-    private static int idNum = 0;
+    private static final IdAllocator ids = new IdAllocator("category");
 
     /**
      * Constructor for new Category that the User can
-     * add to the application. The id is preset by idNum.
+     * add to the application. The id is handed out by the IdAllocator of the categories.
      * @param name The name of the new Category is required.
      */
     public Category(String name) {
-        this.categoryID = idNum++;
+        this.categoryID = ids.next();
         this.name = name;
     }
 
     /**
      * Constructor used by the CategoryJsonUtils to recreate categories
      * upon loading the application, created in the previous runs of the application.
-     * idNum changes according to the highest value of id found.
+     * The IdAllocator of the categories never hands out the id again.
      * @param id The id that was provided to the Category.
      * @param name The name that was given to the Category.
      */
@@ -42,13 +44,7 @@ public class Category {
         this.categoryID = id;
         this.name = name;
 
-        /* 
-            idNum has a value of idMax + 1, where idMax is the 
-            highest ID value found in the Category JSON file.
-        */
-        if (idNum < id + 1){
-            idNum = id + 1;
-        }
+        ids.observe(id);
     }
 
     /**
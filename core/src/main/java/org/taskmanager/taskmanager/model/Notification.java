@@ -0,0 +1,175 @@
+package org.taskmanager.taskmanager.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.taskmanager.taskmanager.utils.IdAllocator;
+import org.taskmanager.taskmanager.utils.NotificationPresetUtils;
+
+/**
+ * This Class represents the Notifications of the application.
+ * Notifications are essentially a message that will be shown on
+ * specific date. Along with it, the details of the task it corresponds
+ * to will be shown.
+ * The Class has 3 parameters, the id, the message and the date.
+ * The date is either a fixed date, or a preset relative to the deadline of
+ * the task, such as a day before it. A preset notification does not keep a date,
+ * its date is found from the deadline of its task whenever it is needed, so
+ * nothing has to change when the deadline changes.
+ * There are 3 Constructors, one for creating a new Notification,
+ * one for creating a new preset Notification and one for adding one
+ * from the JSON file (which has already been given an id).
+ * There are 6 methods, 3 getters and 3 setters, one for
+ * each of the parameters of the class, 3 more for the preset and one that copies it.
+ */
+public class Notification {
+
+    private int notificationId;
+    private String message;
+    private String notificationDate;
+    private NotificationPresetUtils preset;
+
+    // The task the notification belongs to, set by the task, its deadline gives the date of a preset.
+    private Task task;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /*
+        The ids are handed out by an IdAllocator, which continues after the ids
+        of the previous runs. The id in Notifications is used solely for them to be unique.
+     */
+    private static final IdAllocator ids = new IdAllocator("notification");
+
+    /**
+     * Constructor for a new Notification that the User can
+     * add to the application.
+     * @param message The message that will be shown when the
+     *                notification appears to the user.
+     * @param notificationDate The date when the Notification
+     *                         will appear.
+     */
+    public  Notification(String message, String notificationDate) {
+        this.notificationId = ids.next();
+        this.message = message;
+        this.notificationDate = notificationDate;
+    }
+
+    /**
+     * Constructor for a new preset Notification, that appears some time
+     * before the deadline of its task, no matter how the deadline changes.
+     * @param message The message that will be shown when the
+     *                notification appears to the user.
+     * @param preset How long before the deadline the notification will appear.
+     */
+    public  Notification(String message, NotificationPresetUtils preset) {
+        this.notificationId = ids.next();
+        this.message = message;
+        this.preset = preset;
+    }
+
+    /**
+     * Constructor used by the TaskJsonUtils to recreate tasks and notifications
+     * upon loading the application, created in the previous runs of the application.
+     * The IdAllocator of the notifications never hands out the id again.
+     * @param notificationId The id that was provided to the Notification.
+     * @param message The message that will appear when the Notification is shown.
+     * @param notificationDate The date when the Notification will appear.
+     */
+    public  Notification(int notificationId, String message, String notificationDate) {
+        this.notificationId = notificationId;
+        this.message = message;
+        this.notificationDate = notificationDate;
+
+        ids.observe(notificationId);
+    }
+
+    /**
+     * Method that returns a copy of the Notification with the same id, the task
+     * it belongs to is set when the copy is added to a copy of the task.
+     * @return The copy of the Notification.
+     */
+    public Notification copy() {
+        Notification copy = new Notification(notificationId, message, notificationDate);
+        copy.preset = preset;
+        return copy;
+    }
+
+    /**
+     * Method that returns the Notification id.
+     * @return The id of the Notification.
+     */
+    public int getNotificationId() {
+        return this.notificationId;
+    }
+
+    /**
+     * Method that returns the message of the Notification.
+     * @return The message of the Notification.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Method that returns the date of the Notification. For a preset
+     * it is found from the current deadline of the task.
+     * @return The date when the notification will appear.
+     */
+    public String getNotificationDate() {
+        if (preset != null && task != null) {
+            return preset.resolve(LocalDate.parse(task.getDeadline(), FORMATTER)).format(FORMATTER);
+        }
+        return this.notificationDate;
+    }
+
+    /**
+     * Method that returns the preset of the Notification.
+     * @return The preset, or null if the notification has a fixed date.
+     */
+    public NotificationPresetUtils getPreset() {
+        return this.preset;
+    }
+
+    /**
+     * Method that makes the Notification a preset one, its fixed date is dropped.
+     * @param preset How long before the deadline the notification will appear.
+     */
+    public void setPreset(NotificationPresetUtils preset) {
+        this.preset = preset;
+        this.notificationDate = null;
+    }
+
+    /**
+     * Method that sets the task the Notification belongs to, called by the task itself.
+     * @param task The task of the Notification.
+     */
+    void setTask(Task task) {
+        this.task = task;
+    }
+
+    /**
+     * Method that sets a new value for the Notification id, never used.
+     * @param notificationId The new id for the Notification.
+     */
+    public void setNotificationId(int notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    /**
+     * Method that sets a new value for the Notification Message.
+     * @param message The new message for the notification.
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Method that sets a new value for the Notification date, the notification
+     * stops being a preset one.
+     * @param notificationDate The new date for when the Notification will appear.
+     */
+    public void setNotificationDate(String notificationDate) {
+        this.notificationDate = notificationDate;
+        this.preset = null;
+    }
+}
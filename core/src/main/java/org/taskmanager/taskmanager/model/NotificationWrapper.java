@@ -3,11 +3,11 @@ package org.taskmanager.taskmanager.model;
 /**
  * This is a Class that assists us in showing the notification table
  * in the MediaLabAssistant window and was created for ease of usage.
- * It essentially engulfs each Notification along with the id and the name of
- * the Task the Notification is corresponding to. No other information
- * was included as it was not considered essential.
- * It includes one constructor and 6 getters only, as setters were not required for
- * this Class. The getters return the Notification, the Task id or the Task Name, but 3 more
+ * It essentially engulfs each Notification along with a reference to
+ * the Task the Notification is corresponding to, so that nothing is copied and
+ * the rest of the task information can be shown when it is needed.
+ * It includes one constructor and 7 getters only, as setters were not required for
+ * this Class. The getters return the Notification, the Task, the Task id or the Task Name, but 3 more
  * getters that return the NotificationId, the Notification message and the
  * Notification Date separately were included, since this was the information
  * we require from this class.
@@ -15,19 +15,16 @@ package org.taskmanager.taskmanager.model;
 public class NotificationWrapper{
 
     private final Notification notification;
-    private final int taskId;
-    private final String taskName;
+    private final Task task;
 
     /**
      * Constructor for the NotificationWrapper.
      * @param notification The Notification to which the wrapper belongs.
-     * @param taskId The id of the Task that the Notification belongs to.
-     * @param taskName The name of the Task that the Notification belongs to.
+     * @param task The Task that the Notification belongs to.
      */
-    public NotificationWrapper(Notification notification,int taskId, String taskName) {
+    public NotificationWrapper(Notification notification, Task task) {
         this.notification = notification;
-        this.taskId = taskId;
-        this.taskName = taskName;
+        this.task = task;
     }
 
     /**
@@ -38,6 +35,14 @@ public class NotificationWrapper{
         return notification;
     }
 
+    /**
+     * Returns the task the notification belongs to.
+     * @return The Task of this Notification Wrapper.
+     */
+    public Task getTask() {
+        return task;
+    }
+
     /**
      * Returns the notification id.
      * @return The id of the notification.
@@ -66,14 +71,14 @@ public class NotificationWrapper{
      * Returns the id of the task to which the Notification belongs.
      * @return The id of the Task to which the Notification belongs.
      */
-    public int getTaskId(){return taskId;}
+    public int getTaskId(){return task.getTaskId();}
 
     /**
      * Returns the name of the task to which the notification belongs
      * @return String The name of the Task to which the notification belongs.
      */
     public String getTaskName() {
-        return taskName;
+        return task.getName();
     }
 }
 
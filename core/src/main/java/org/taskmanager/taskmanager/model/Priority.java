@@ -1,5 +1,7 @@
 package org.taskmanager.taskmanager.model;
 
+import org.taskmanager.taskmanager.utils.IdAllocator;
+
 /**
  * This is a Class representing a Priority of the application.
  * A priority is essentially a level that the user can provide to
@@ -16,26 +18,26 @@ public class Priority {
     private String level;
 
     /*
-        ID numbering starts from 0, and it goes up one value per priority, it is static.
+        The ids are handed out by an IdAllocator, which continues after the ids of the previous runs.
         Default has ID -1.
      */
-    private static int idNum = 0;
+    private static final IdAllocator ids = new IdAllocator("priority");
 
     /**
      * Constructor for new Priority that the User can
      * add to the application.
      * @param level The level of the new Priority is required,
-     *             the ID is preset from idNum.
+     *             the ID is handed out by the IdAllocator of the priorities.
      */
     public Priority(String level) {
-        this.priorityID = idNum++;
+        this.priorityID = ids.next();
         this.level = level;
     }
 
     /**
      * Constructor used by the PriorityJsonUtils to recreate priorities
      * upon loading the application, created in the previous runs of the application.
-     * idNum changes according to the highest value of id found.
+     * The IdAllocator of the priorities never hands out the id again.
      * @param id The id that was provided to the Priority.
      * @param level The level that was given to the Priority.
      */
@@ -43,13 +45,7 @@ public class Priority {
         this.priorityID = id;
         this.level = level;
 
-        /*
-            idNum has a value of idMax + 1, where idMax is the
-            highest ID value found in the Priority JSON file.
-        */
-        if (idNum < id + 1){
-            idNum = id + 1;
-        }
+        ids.observe(id);
     }
 
     /**
@@ -7,6 +7,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.taskmanager.taskmanager.utils.IdAllocator;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
 import org.taskmanager.taskmanager.utils.TaskStateUtils;
 
 /**
@@ -16,12 +18,16 @@ import org.taskmanager.taskmanager.utils.TaskStateUtils;
  * Notification list and state (enumeration). There are 2 Constructors, one
  * for when a new Task is added to the application by the user, and one for when tasks
  * are loaded to the application from the task Json file.
- * There are 7 setters and 8 getters in this class, as well as 4 more methods
+ * There are 9 setters and 10 getters in this class, as well as 10 more methods
  * that assist with properly running the application and returning information about
  * the task.
  * Notifications were added as a list inside each task as they belong to a
  * specific task every time and this implementation added less complexity to the application
  * code.
+ * A task can also repeat daily, weekly or monthly. Only its recurrence and the date it
+ * started from are kept, the deadline is always the current occurrence and the following
+ * occurrences are counted from the start only when they are needed, so a recurring task
+ * takes the same memory and file space no matter how far it repeats.
  */
 public class Task {
 
@@ -33,16 +39,18 @@ public class Task {
     private int priorityId;
     private List<Notification> notifications = new ArrayList<>();
     private TaskStateUtils state;
+    private RecurrenceUtils recurrence = RecurrenceUtils.NONE;
+    private String recurrenceStart;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     /*
-         ID numbering starts from 0, and it goes up one value per task, it is static.
+         The ids are handed out by an IdAllocator, which continues after the ids of the previous runs.
       */
-    private static int idNum = 0;
+    private static final IdAllocator ids = new IdAllocator("task");
 
     /**
      * Constructor used when the user is directly adding a task to the application.
-     * The id is preset by idNum.
+     * The id is handed out by the IdAllocator of the tasks.
      * @param name The name of the application.
      * @param description The description of the application.
      * @param deadline The deadline of the application.
@@ -51,7 +59,7 @@ public class Task {
      * @param state The state of the task, belongs to TaskStateUtils.
      */
     public Task(String name, String description, String deadline, int categoryId, int priorityId, TaskStateUtils state) {
-        this.taskId = idNum++;
+        this.taskId = ids.next();
         this.name = name;
         this.description = description;
         this.deadline = deadline;
@@ -63,7 +71,7 @@ public class Task {
     /**
      * Constructor used by the TaskJsonUtils to recreate tasks
      * upon loading the application, created in the previous runs of the application.
-     * idNum changes according to the highest value of id found.
+     * The IdAllocator of the tasks never hands out the id again.
      * @param pre_id The previous id of the Task.
      * @param name The name of the Task.
      * @param description The Description of the Task.
@@ -83,13 +91,11 @@ public class Task {
         this.notifications = notifications;
         this.state = state;
 
-        /*
-            idNum has a value of idMax + 1, where idMax is the
-            highest ID value found in the Category JSON file.
-        */
-        if (idNum < pre_id + 1){
-            idNum = pre_id + 1;
+        for (Notification notification : notifications) {
+            notification.setTask(this);
         }
+
+        ids.observe(pre_id);
     }
 
     /**
@@ -196,6 +202,16 @@ public class Task {
         return this.notifications;
     }
 
+    /**
+     * Adds a notification to the task, so that the date of a preset
+     * notification is found from the deadline of this task.
+     * @param notification The new notification of the task.
+     */
+    public void addNotification(Notification notification) {
+        notification.setTask(this);
+        this.notifications.add(notification);
+    }
+
     /**
      * Returns the state of the task.
      * @return The state of the task.
@@ -234,6 +250,105 @@ public class Task {
         }
     }
 
+    /**
+     * Returns how often the task repeats.
+     * @return The recurrence of the task.
+     */
+    public RecurrenceUtils getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns the date the occurrences of a recurring task are counted from.
+     * @return The first deadline of the recurrence, null if the task does not repeat.
+     */
+    public String getRecurrenceStart() {
+        return recurrenceStart;
+    }
+
+    /**
+     * Sets how often the task repeats, the occurrences are counted from the current deadline.
+     * @param recurrence The new recurrence of the task.
+     */
+    public void setRecurrence(RecurrenceUtils recurrence) {
+        setRecurrence(recurrence, this.deadline);
+    }
+
+    /**
+     * Sets how often the task repeats and the date the occurrences are counted from,
+     * used when the tasks are loaded from the JSON file.
+     * @param recurrence The recurrence of the task.
+     * @param recurrenceStart The first deadline of the recurrence.
+     */
+    public void setRecurrence(RecurrenceUtils recurrence, String recurrenceStart) {
+        this.recurrence = recurrence == null ? RecurrenceUtils.NONE : recurrence;
+        this.recurrenceStart = this.recurrence == RecurrenceUtils.NONE ? null : recurrenceStart;
+    }
+
+    /**
+     * Shows directly whether the task repeats.
+     * @return boolean True if the task repeats, else false.
+     */
+    public boolean isRecurring() {
+        return recurrence != RecurrenceUtils.NONE;
+    }
+
+    /**
+     * Finds the first occurrence of a recurring task after a date.
+     * @param date The date after which the occurrence is needed.
+     * @return The date of the occurrence, in the yyyy-MM-dd format.
+     */
+    public String nextOccurrenceAfter(LocalDate date) {
+        return recurrence.nextOccurrenceAfter(LocalDate.parse(recurrenceStart, formatter), date).format(formatter);
+    }
+
+    /**
+     * Finds the occurrences of the task between two dates, starting from the current deadline,
+     * as the earlier occurrences are already done. They are only counted for the given dates,
+     * a task that does not repeat only has its deadline.
+     * @param from The first date of the window.
+     * @param to The last date of the window.
+     * @return The dates of the occurrences in the window, in order.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+
+        List<LocalDate> occurrences = new ArrayList<>();
+        LocalDate occurrence = LocalDate.parse(this.deadline, formatter);
+
+        // Skip to the first occurrence of the window without going through the ones before it.
+        if (isRecurring() && occurrence.isBefore(from)) {
+            occurrence = recurrence.nextOccurrenceAfter(LocalDate.parse(recurrenceStart, formatter), from.minusDays(1));
+        }
+
+        while (!occurrence.isAfter(to)) {
+            if (!occurrence.isBefore(from)) {
+                occurrences.add(occurrence);
+            }
+            if (!isRecurring()) {
+                break;
+            }
+            occurrence = recurrence.nextOccurrenceAfter(LocalDate.parse(recurrenceStart, formatter), occurrence);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns a copy of the task with copies of its notifications, used by the repository
+     * to keep the version of the task at each change, which later changes of the task do not affect.
+     * @return The copy of the task, with the same id.
+     */
+    public Task copy() {
+
+        List<Notification> notificationCopies = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            notificationCopies.add(notification.copy());
+        }
+
+        Task copy = new Task(taskId, name, description, deadline, categoryId, priorityId, notificationCopies, state);
+        copy.setRecurrence(recurrence, recurrenceStart);
+        return copy;
+    }
+
     /**
      * Shows directly whether the state of the task is delayed,
      * it is used for the summary in the main application.
@@ -263,4 +378,18 @@ public class Task {
         long daysBetween = ChronoUnit.DAYS.between(today, dueDateHelp);
         return daysBetween >= 0 && daysBetween <= 7;
     }
+
+    /**
+     * Counts the occurrences of the task in the next 7 days, it is used for the summary
+     * in the main application. A task that does not repeat counts once if it is due in 7 days,
+     * a recurring one counts once for every occurrence in these days.
+     * @return The number of occurrences due in the next 7 days.
+     */
+    public int occurrencesDueInSevenDays() {
+        if (!isRecurring()) {
+            return isDueInSevenDays() ? 1 : 0;
+        }
+        LocalDate today = LocalDate.now();
+        return occurrencesBetween(today, today.plusDays(7)).size();
+    }
 }
@@ -0,0 +1,266 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+import org.taskmanager.taskmanager.model.Category;
+import org.taskmanager.taskmanager.utils.CategoryJsonUtils;
+
+/**
+ * This class is a repository of all the categories as well as
+ * the category maps (from name to id and reverse). It contains
+ * all the categories in memory when the application is running.
+ * It contains all methods for addition, update and delete. Furthermore,
+ * it returns the category maps and the categories, but also operates
+ * as the connector between the controllers and the models and JsonUtils.
+ * As with the TaskRepository, it can be used from any thread, its changes are
+ * locked and reach its listeners, such as the tables, and the subscribers of its ChangeStream.
+ */
+public class CategoryRepository {
+
+    private static final String CATEGORY_FILE = "medialab/categories.json";
+
+    // The categories by their id, and the listeners of their changes.
+    private static final Map<Integer, Category> categories = new ConcurrentHashMap<>();
+    private static final RepositoryListeners<Category> listeners = new RepositoryListeners<>();
+
+    // Every change of a category, for the subscribers outside the user interface.
+    private static final ChangeStream<Category> changeStream = new ChangeStream<>(Category::getCategoryId);
+
+    // Guards every change of the categories and the maps, the maps can be read without it.
+    private static final StampedLock lock = new StampedLock();
+
+    /*
+        The maps basically translate the ids that tasks have to names in the drop-down
+        boxes and in the table views.
+        categoryMap - Name-to-ID, used to add properly the category to a task.
+        categoryMapReverse - ID-to-Name, used to show the category with its name to the user.
+     */
+    private static final Map<String, Integer> categoryMap = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> categoryMapReverse = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor of the Category Repository, only called in MediaLabController
+     * and then passed on in the apps it is needed to avoid having duplicate repositories.
+     * It starts empty, the categories are loaded either directly through load()
+     * or in the background through readAll() and setAll().
+     */
+    public CategoryRepository() {}
+
+    /**
+     * The actual loading happens in this method that reads the categories from
+     * the JSON categories file and then sets the categories list as well as
+     * the category Maps properly. It runs on the calling thread.
+     */
+    public void load() {
+        setAll(readAll());
+    }
+
+    /**
+     * Reads the categories from the JSON categories file without touching the
+     * repository, so that it can be called from a background thread during startup.
+     * @return The categories found in the JSON file, or an empty list in case of an error.
+     */
+    public List<Category> readAll() {
+        try {
+            return CategoryJsonUtils.readCategoryListFromFile(CATEGORY_FILE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Replaces the categories of the repository with the loaded ones and sets
+     * the category Maps properly. It can be called from any thread.
+     * @param loadedCategories The categories read from the JSON file.
+     */
+    public void setAll(List<Category> loadedCategories) {
+        write(() -> {
+
+            categories.clear();
+            // Clears the maps in case they are not empty.
+            categoryMap.clear();
+            categoryMapReverse.clear();
+
+            // Properly set the category maps.
+            for (Category category : loadedCategories) {
+                categories.put(category.getCategoryId(), category);
+                categoryMap.put(category.getName(), category.getCategoryId());
+                categoryMapReverse.put(category.getCategoryId(), category.getName());
+            }
+            listeners.reset(loadedCategories);
+        });
+    }
+
+    /**
+     * This method adds a category to the categories list and
+     * adds the new category in the category maps as well
+     * @param categoryName The name of the new category.
+     */
+    public void add(String categoryName) {
+
+        write(() -> {
+            Category newCategory = new Category(categoryName);
+
+            categories.put(newCategory.getCategoryId(), newCategory);
+            categoryMap.put(newCategory.getName(), newCategory.getCategoryId());
+            categoryMapReverse.put(newCategory.getCategoryId(), newCategory.getName());
+            listeners.added(List.of(newCategory));
+            changeStream.emit(ChangeRecord.Type.ADDED, newCategory);
+            ChangeFeed.itemChanged(FeedChange.Kind.CATEGORY, newCategory.getCategoryId(), false);
+        });
+    }
+
+    /**
+     * This method updates a category that already exists. Based on the
+     * id we find the category that corresponds to it from the categories list.
+     * After it finds the category, it deletes its entries from the map,
+     * then sets the new name and then re-adds them to the map.
+     * @param selectedCategory The category the user selected from the table to update.
+     * @param name The updated name of the category.
+     */
+    public void update(Category selectedCategory, String name) {
+        write(() -> {
+
+            Category category = categories.get(selectedCategory.getCategoryId());
+            if (category == null) {
+                return;
+            }
+
+            // Remove the old name from the map.
+            categoryMap.remove(category.getName());
+
+            // Update the category.
+            category.setName(name);
+
+            // Add the new entries to the maps, the id keeps its entry so it is never missing for the readers.
+            categoryMap.put(category.getName(), category.getCategoryId());
+            categoryMapReverse.put(category.getCategoryId(), category.getName());
+            listeners.updated(List.of(category));
+            changeStream.emit(ChangeRecord.Type.UPDATED, category);
+            ChangeFeed.itemChanged(FeedChange.Kind.CATEGORY, category.getCategoryId(), false);
+        });
+    }
+
+    /**
+     * This method deletes a category from the repository based on its id.
+     * It finds the category and then, if it exists, removes the entries from the
+     * category maps and removes the category from the categories list as well.
+     * The id is used because it is unique for each Category.
+     * @param categoryID The id of the to-be-deleted category.
+     */
+    public void delete(int categoryID) {
+        write(() -> {
+
+            // Find the category based on its id, and if it exists, remove it along with its map entries.
+            Category categoryToRemove = categories.remove(categoryID);
+            if (categoryToRemove != null) {
+                categoryMap.remove(categoryToRemove.getName());
+                categoryMapReverse.remove(categoryToRemove.getCategoryId());
+                listeners.removed(List.of(categoryToRemove));
+                changeStream.emit(ChangeRecord.Type.REMOVED, categoryToRemove);
+                ChangeFeed.itemChanged(FeedChange.Kind.CATEGORY, categoryToRemove.getCategoryId(), true);
+            }
+        });
+    }
+
+    /**
+     * Returns the category map that is given the name of a category and returns its id.
+     *
+     * @return The category map that is given the name of a category and returns its id.
+     */
+    public Map<String, Integer> getCategoryMap() {
+        return categoryMap;
+    }
+
+    /**
+     * Returns the category map reverse that is given the id of a category and returns its name.
+     *
+     * @return The category map reverse that is given the id of a category and returns its name.
+     */
+    public Map<Integer, String> getCategoryMapReverse() {
+        return categoryMapReverse;
+    }
+
+    /**
+     * Returns the same map as getCategoryMapReverse, without an instance of the repository,
+     * used by the task repository to sort the tasks by the name of their category.
+     * @return The category map reverse that is given the id of a category and returns its name.
+     */
+    static Map<Integer, String> categoryMapReverse() {
+        return categoryMapReverse;
+    }
+
+    /**
+     * Returns the stream of the changes of the categories, delivered on background threads.
+     * As with the tasks, loading the categories replaces them without emitting anything.
+     * @return The change stream of the categories.
+     */
+    public ChangeStream<Category> changes() {
+        return changeStream;
+    }
+
+    /**
+     * Adds a listener of the categories, it learns about every change made from now on,
+     * for example the JavaFX lists of the user interface.
+     * @param listener The listener to add.
+     */
+    public void addListener(RepositoryListener<Category> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the categories.
+     * @param listener The listener to remove.
+     */
+    public void removeListener(RepositoryListener<Category> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns a copy of all the categories in the repository, sorted by id,
+     * it can be used from any thread.
+     * @return A new list of all categories in the repository.
+     */
+    public List<Category> snapshot() {
+        List<Category> snapshot = new ArrayList<>(categories.values());
+        snapshot.sort(Comparator.comparingInt(Category::getCategoryId));
+        return snapshot;
+    }
+
+    /**
+     * Runs a change of the repository while it is locked for writing, then tells the
+     * listeners that it is done, outside the lock as they may read the repository.
+     * @param change The change to run.
+     */
+    private static void write(Runnable change) {
+
+        long stamp = lock.writeLock();
+        try {
+            change.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        listeners.changed(EnumSet.of(ChangeTopic.CATEGORIES));
+    }
+
+    /**
+     * Calls the writeCategoryListToFile method from CategoryJsonUtils. It is
+     * used only when the MediaLabAssistant window is closed, as we want to save to
+     * JSON files only when the whole application terminates.
+     */
+    public void saveAll() {
+        try {
+            CategoryJsonUtils.writeCategoryListToFile(CATEGORY_FILE, snapshot());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,378 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.utils.IdAllocator;
+
+/**
+ * This class gives every change of the tasks, notifications, categories and priorities a version,
+ * so that other systems, like a reporting warehouse, can copy only what changed since they last synced
+ * instead of reading all the tasks again. The versions are handed out by an IdAllocator, so they only grow,
+ * also across runs of the application and after a crash, but they may have gaps.
+ * The repositories record each change while they are locked. The feed keeps only the latest change of every item,
+ * a tombstone for the deleted ones, so what a consumer reads grows with the number of changed items, not of all items.
+ * The latest changes are saved with the tasks, to the JSON changes file. The items that did not change since the file
+ * was first created have its base version, so a consumer that never synced, or synced before it, gets all the items.
+ */
+public class ChangeFeed {
+
+    private static final String CHANGE_FILE = "medialab/changes.json";
+
+    private static final IdAllocator versions = new IdAllocator("change");
+
+    // The latest change of every item by its kind and id, and the same changes by version, guarded by the class.
+    private static final Map<Long, FeedChange> latestChanges = new HashMap<>();
+    private static final TreeMap<Long, FeedChange> changesByVersion = new TreeMap<>();
+
+    // The version of the items that never changed, and the version of the latest change.
+    private static long baseVersion;
+    private static long latestVersion;
+
+    // The latest version of the changes file when it was read, and the first version of this run. A consumer
+    // that synced to a version between them saw the changes of a run that was never saved, as it crashed.
+    private static long savedVersion;
+    private static long runVersion;
+
+    static {
+        load();
+    }
+
+    /**
+     * Constructor of the ChangeFeed, the feed itself is shared by all its instances, as the repositories are.
+     */
+    public ChangeFeed() {}
+
+    /**
+     * Returns the version of the latest change.
+     * @return The latest version.
+     */
+    public long latestVersion() {
+        synchronized (ChangeFeed.class) {
+            return latestVersion;
+        }
+    }
+
+    /**
+     * Shows whether reading the changes since a version gives all the items, because the consumer never synced,
+     * the version is from before the feed started, or it is from a run whose changes were lost when it crashed.
+     * After a full sync the consumer should replace all it has with the given items.
+     * @param since The version the consumer synced to, 0 if it never synced.
+     * @return True if all the items are given, else false.
+     */
+    public boolean isFullSync(long since) {
+        synchronized (ChangeFeed.class) {
+            return since <= 0 || since < baseVersion || (since > savedVersion && since < runVersion);
+        }
+    }
+
+    /**
+     * Gives the changes made after a version, the latest change of every changed item, in the order of their versions.
+     * If isFullSync is true for the version, it gives every item instead, along with every tombstone, in no particular order.
+     * The changes are read under the read lock of the tasks, so the tasks are given as they were at their versions or later,
+     * and then given to the action without any lock. The returned version is the one the consumer should sync from next time,
+     * the changes after it may be given again then, with the same or a later state of their items.
+     * @param since The version the consumer synced to, 0 if it never synced.
+     * @param action Receives the changes.
+     * @return The version the consumer synced to after the changes.
+     */
+    public long changesSince(long since, Consumer<FeedChange> action) {
+
+        boolean full = isFullSync(since);
+        List<FeedChange> changes = new ArrayList<>();
+        long[] latest = new long[1];
+
+        // The tasks are taken with the changes, so no task is older than its change.
+        TaskSnapshot snapshot = TaskRepository.read(() -> {
+            synchronized (ChangeFeed.class) {
+                changes.addAll(full ? changesByVersion.values() : changesByVersion.tailMap(since, false).values());
+                latest[0] = latestVersion;
+            }
+            return new TaskRepository().currentSnapshot();
+        });
+
+        long synced = latest[0];
+        if (full) {
+            giveAll(snapshot, changes, action);
+            return synced;
+        }
+
+        for (FeedChange change : changes) {
+            if (change.isDeleted()) {
+                action.accept(change);
+                continue;
+            }
+            FeedChange upsert = resolve(change, snapshot);
+            if (upsert != null) {
+                action.accept(upsert);
+            } else {
+                // A category or priority deleted after the changes were read, its tombstone comes next time.
+                synced = Math.min(synced, change.getVersion() - 1);
+            }
+        }
+        return synced;
+    }
+
+    /**
+     * Gives every item with its version, and every tombstone, for a consumer that syncs from the start.
+     * @param snapshot The tasks, taken with the changes.
+     * @param changes All the latest changes.
+     * @param action Receives the changes.
+     */
+    private static void giveAll(TaskSnapshot snapshot, List<FeedChange> changes, Consumer<FeedChange> action) {
+
+        Map<Long, Long> versionsByItem = new HashMap<>();
+        for (FeedChange change : changes) {
+            versionsByItem.put(key(change.getKind(), change.getId()), change.getVersion());
+            if (change.isDeleted()) {
+                action.accept(change);
+            }
+        }
+
+        snapshot.forEach(task -> {
+            action.accept(new FeedChange(FeedChange.Kind.TASK, task.getTaskId(), -1,
+                    versionsByItem.getOrDefault(key(FeedChange.Kind.TASK, task.getTaskId()), baseVersion), false).withTask(task));
+            for (Notification notification : task.getNotifications()) {
+                action.accept(new FeedChange(FeedChange.Kind.NOTIFICATION, notification.getNotificationId(), task.getTaskId(),
+                        versionsByItem.getOrDefault(key(FeedChange.Kind.NOTIFICATION, notification.getNotificationId()), baseVersion), false)
+                        .withNotification(notification));
+            }
+        });
+        CategoryRepository.categoryMapReverse().forEach((id, name) -> action.accept(new FeedChange(FeedChange.Kind.CATEGORY, id, -1,
+                versionsByItem.getOrDefault(key(FeedChange.Kind.CATEGORY, id), baseVersion), false).withName(name)));
+        PriorityRepository.priorityMapReverse().forEach((id, level) -> action.accept(new FeedChange(FeedChange.Kind.PRIORITY, id, -1,
+                versionsByItem.getOrDefault(key(FeedChange.Kind.PRIORITY, id), baseVersion), false).withName(level)));
+    }
+
+    /**
+     * Finds the item of an upsert as it is now.
+     * @param change The upsert.
+     * @param snapshot The tasks, taken with the changes.
+     * @return The upsert with its item, or null if the item no longer exists.
+     */
+    private static FeedChange resolve(FeedChange change, TaskSnapshot snapshot) {
+
+        switch (change.getKind()) {
+            case TASK:
+                Task task = snapshot.get(change.getId());
+                return task == null ? null : change.withTask(task);
+            case NOTIFICATION:
+                Task owner = snapshot.get(change.getTaskId());
+                if (owner != null) {
+                    for (Notification notification : owner.getNotifications()) {
+                        if (notification.getNotificationId() == change.getId()) {
+                            return change.withNotification(notification);
+                        }
+                    }
+                }
+                return null;
+            case CATEGORY:
+                String name = CategoryRepository.categoryMapReverse().get(change.getId());
+                return name == null ? null : change.withName(name);
+            default:
+                String level = PriorityRepository.priorityMapReverse().get(change.getId());
+                return level == null ? null : change.withName(level);
+        }
+    }
+
+    /**
+     * Records the change of a task and of its notifications, it is called by the task repository while it is locked.
+     * The task is only recorded if one of its own fields changed, and each notification only if it was added,
+     * changed or deleted, a deleted task also deletes all its notifications.
+     * @param taskId The id of the task.
+     * @param previous The previous version of the task, null if it is new.
+     * @param current The new version of the task, null if it was deleted.
+     */
+    static synchronized void taskChanged(int taskId, Task previous, Task current) {
+
+        if (current == null) {
+            record(FeedChange.Kind.TASK, taskId, -1, true);
+        } else if (previous == null || !sameFields(previous, current)) {
+            record(FeedChange.Kind.TASK, taskId, -1, false);
+        }
+
+        Map<Integer, Notification> previousNotifications = new HashMap<>();
+        if (previous != null) {
+            for (Notification notification : previous.getNotifications()) {
+                previousNotifications.put(notification.getNotificationId(), notification);
+            }
+        }
+        if (current != null) {
+            for (Notification notification : current.getNotifications()) {
+                Notification before = previousNotifications.remove(notification.getNotificationId());
+                if (before == null || !Objects.equals(before.getMessage(), notification.getMessage())
+                        || !Objects.equals(before.getNotificationDate(), notification.getNotificationDate())) {
+                    record(FeedChange.Kind.NOTIFICATION, notification.getNotificationId(), taskId, false);
+                }
+            }
+        }
+        // The notifications left were deleted, with the task or on their own.
+        for (Integer notificationId : previousNotifications.keySet()) {
+            record(FeedChange.Kind.NOTIFICATION, notificationId, taskId, true);
+        }
+    }
+
+    /**
+     * Records the change of a category or a priority, it is called by their repositories while they are locked.
+     * @param kind The kind of the item.
+     * @param id The id of the item.
+     * @param deleted Whether the item was deleted.
+     */
+    static synchronized void itemChanged(FeedChange.Kind kind, int id, boolean deleted) {
+        record(kind, id, -1, deleted);
+    }
+
+    /**
+     * Gives a change the next version and replaces the previous change of its item, while the class is locked.
+     * @param kind The kind of the item.
+     * @param id The id of the item.
+     * @param taskId The id of the task of a notification, -1 for the other kinds.
+     * @param deleted Whether the item was deleted.
+     */
+    private static void record(FeedChange.Kind kind, int id, int taskId, boolean deleted) {
+
+        long version = versions.next();
+        FeedChange change = new FeedChange(kind, id, taskId, version, deleted);
+        FeedChange previous = latestChanges.put(key(kind, id), change);
+        if (previous != null) {
+            changesByVersion.remove(previous.getVersion());
+        }
+        changesByVersion.put(version, change);
+        latestVersion = version;
+    }
+
+    /**
+     * Shows whether the fields of two versions of a task are the same, apart from their notifications.
+     * @param previous The previous version.
+     * @param current The new version.
+     * @return True if no field changed, else false.
+     */
+    private static boolean sameFields(Task previous, Task current) {
+        return Objects.equals(previous.getName(), current.getName())
+                && Objects.equals(previous.getDescription(), current.getDescription())
+                && Objects.equals(previous.getDeadline(), current.getDeadline())
+                && previous.getCategoryId() == current.getCategoryId()
+                && previous.getPriorityId() == current.getPriorityId()
+                && previous.getState() == current.getState()
+                && previous.getRecurrence() == current.getRecurrence()
+                && Objects.equals(previous.getRecurrenceStart(), current.getRecurrenceStart());
+    }
+
+    /**
+     * Returns the key of an item in the latest changes.
+     * @param kind The kind of the item.
+     * @param id The id of the item.
+     * @return The key, made of the kind and the id.
+     */
+    private static long key(FeedChange.Kind kind, int id) {
+        return ((long) kind.ordinal() << 32) | (id & 0xffffffffL);
+    }
+
+    /**
+     * Saves the latest changes to the JSON changes file, it is called when the tasks are saved,
+     * so the file matches the saved items. The changes are first written to a temporary file which
+     * then replaces the changes file, so a crash never leaves it half-written.
+     */
+    static void save() {
+
+        List<FeedChange> changes;
+        long base;
+        long latest;
+        synchronized (ChangeFeed.class) {
+            changes = new ArrayList<>(changesByVersion.values());
+            base = baseVersion;
+            latest = latestVersion;
+        }
+
+        Path file = new File(CHANGE_FILE).toPath();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temporary);
+             JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(output)) {
+
+            generator.writeStartObject();
+            generator.writeNumberField("baseVersion", base);
+            generator.writeNumberField("latestVersion", latest);
+            generator.writeArrayFieldStart("changes");
+            for (FeedChange change : changes) {
+                generator.writeStartObject();
+                generator.writeStringField("kind", change.getKind().name());
+                generator.writeNumberField("id", change.getId());
+                if (change.getKind() == FeedChange.Kind.NOTIFICATION) {
+                    generator.writeNumberField("taskId", change.getTaskId());
+                }
+                generator.writeNumberField("version", change.getVersion());
+                generator.writeBooleanField("deleted", change.isDeleted());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            System.err.println("Failed to save the changes file: " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to save the changes file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the latest changes from the JSON changes file, once, when the class is first used.
+     * Without the file, or if it cannot be read, the feed starts again from a new base version, which is saved
+     * at once, so every consumer syncs all the items once more.
+     */
+    private static void load() {
+
+        File file = new File(CHANGE_FILE);
+        if (file.exists() && file.length() > 0) {
+            try {
+                JsonNode jsonNode = new ObjectMapper().readTree(file);
+                for (JsonNode changeNode : jsonNode.get("changes")) {
+                    FeedChange change = new FeedChange(FeedChange.Kind.valueOf(changeNode.get("kind").asText()), changeNode.get("id").asInt(),
+                            changeNode.path("taskId").asInt(-1), changeNode.get("version").asLong(), changeNode.get("deleted").asBoolean());
+                    latestChanges.put(key(change.getKind(), change.getId()), change);
+                    changesByVersion.put(change.getVersion(), change);
+                }
+                baseVersion = jsonNode.get("baseVersion").asLong();
+                latestVersion = jsonNode.get("latestVersion").asLong();
+                savedVersion = latestVersion;
+                runVersion = versions.next();
+                return;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to read the changes file, the consumers will sync all the items again: " + e.getMessage());
+                latestChanges.clear();
+                changesByVersion.clear();
+            }
+        }
+        // Version 0 means that a consumer never synced, so it is never a base version.
+        baseVersion = versions.next();
+        if (baseVersion == 0) {
+            baseVersion = versions.next();
+        }
+        latestVersion = baseVersion;
+        savedVersion = baseVersion;
+        runVersion = baseVersion;
+
+        // The new base version is saved right away, even if the tasks are not, or every run would start a new one.
+        save();
+    }
+}
@@ -0,0 +1,90 @@
+package org.taskmanager.taskmanager.repository;
+
+/**
+ * This class is a single change of a repository, as delivered by its ChangeStream.
+ * Every change of a repository gets the next sequence number of its stream, so the
+ * subscribers can tell whether they missed changes and can resume after the last one they saw.
+ * For the tasks the item is a copy of the task taken at the change, for the categories and
+ * priorities it is the item itself, so its fields may be newer than the change.
+ * @param <T> The type of the items of the repository.
+ */
+public final class ChangeRecord<T> {
+
+    /**
+     * The kinds of changes of a repository.
+     */
+    public enum Type {
+        /**
+         * The item was added to the repository.
+         */
+        ADDED,
+        /**
+         * The item was changed, including its notifications for a task.
+         */
+        UPDATED,
+        /**
+         * The item was deleted from the repository.
+         */
+        REMOVED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final int id;
+    private final T item;
+
+    /**
+     * Constructor of a change record, only created by the ChangeStream.
+     * @param sequence The sequence number of the change in its stream.
+     * @param type The kind of the change.
+     * @param id The id of the changed item.
+     * @param item The changed item.
+     */
+    ChangeRecord(long sequence, Type type, int id, T item) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.item = item;
+    }
+
+    /**
+     * Returns the sequence number of the change, they start from 1 and have no gaps within a run of the application.
+     * @return The sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the kind of the change.
+     * @return The type of the change.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the id of the changed item, it stays the same even if the item is deleted.
+     * @return The id of the item.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the changed item.
+     * @return The item.
+     */
+    public T getItem() {
+        return item;
+    }
+
+    /**
+     * Overrides the toString() method, used when the changes are printed.
+     * @return The sequence, type and id of the change.
+     */
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " " + id;
+    }
+}
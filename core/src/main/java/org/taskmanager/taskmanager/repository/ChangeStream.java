@@ -0,0 +1,330 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import org.taskmanager.taskmanager.metrics.Counter;
+import org.taskmanager.taskmanager.metrics.Metrics;
+
+/**
+ * This class publishes the changes of a repository as a java.util.concurrent.Flow stream,
+ * for exporters, indexers and audit sinks. The repository emits every change while it is
+ * locked, so the changes get their sequence numbers in the order they happened, but emitting
+ * never waits for a subscriber: each subscriber has a bounded buffer, and when a slow subscriber
+ * lets it fill up, its overflow policy decides what happens, so a mutation on the JavaFX thread
+ * is never blocked. The changes are delivered on background threads, as much as each subscriber requested.
+ * The latest changes are also kept in a bounded history, so a subscriber can resume after the last
+ * sequence number it saw, for example after it was cancelled or dropped changes.
+ * @param <T> The type of the items of the repository.
+ */
+public class ChangeStream<T> implements Flow.Publisher<ChangeRecord<T>> {
+
+    /**
+     * What happens when the buffer of a subscriber is full and a new change arrives.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest buffered change is dropped, the subscriber sees a gap in the sequence numbers.
+         */
+        DROP_OLDEST,
+        /**
+         * The new change is dropped, the subscriber sees a gap in the sequence numbers.
+         */
+        DROP_LATEST,
+        /**
+         * The subscription fails with an error, the subscriber can resume after its last change.
+         */
+        ERROR
+    }
+
+    /**
+     * The buffer size of the subscribers that do not choose one.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    // How many of the latest changes are kept for the subscribers that resume.
+    private static final int HISTORY_SIZE = 4096;
+
+    // Delivers the changes of all the streams, its threads never keep the application running.
+    private static final Executor deliveryExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The changes dropped by the subscribers of all the streams, as their buffers were full.
+    private static final Counter DROPPED_CHANGES = Metrics.counter("medialab_change_stream_dropped_total",
+            "The changes the subscribers of the change streams missed because their buffers were full.");
+
+    private final ToIntFunction<T> idOf;
+    private final List<StreamSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // The sequence number of the next change and the latest changes, guarded by the stream.
+    private long nextSequence = 1;
+    private final ArrayDeque<ChangeRecord<T>> history = new ArrayDeque<>();
+
+    /**
+     * Constructor of the ChangeStream, it starts with no changes.
+     * @param idOf Returns the id of an item.
+     */
+    ChangeStream(ToIntFunction<T> idOf) {
+        this.idOf = idOf;
+    }
+
+    /**
+     * Emits a change to every subscriber, it is called by the repository while it is locked.
+     * It only adds the change to the buffers, so it never waits for a subscriber.
+     * @param type The kind of the change.
+     * @param item The changed item.
+     */
+    synchronized void emit(ChangeRecord.Type type, T item) {
+
+        ChangeRecord<T> record = new ChangeRecord<>(nextSequence++, type, idOf.applyAsInt(item), item);
+
+        history.addLast(record);
+        if (history.size() > HISTORY_SIZE) {
+            history.removeFirst();
+        }
+
+        for (StreamSubscription subscription : subscriptions) {
+            subscription.offer(record);
+        }
+    }
+
+    /**
+     * Returns the sequence number of the latest change, a subscriber that resumes
+     * from the next one receives every change made after this call.
+     * @return The sequence number of the latest change, 0 if nothing changed yet.
+     */
+    public synchronized long latestSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Subscribes to the changes made from now on, with the default buffer size,
+     * dropping the oldest buffered change when the buffer is full.
+     * @param subscriber The subscriber.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super ChangeRecord<T>> subscriber) {
+        subscribe(subscriber, 0, DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Subscribes to the changes, starting from a sequence number. If the changes from that number
+     * are no longer kept, the subscription fails with an error right away, and the subscriber should
+     * read the whole repository again and subscribe from the latest sequence number.
+     * @param subscriber The subscriber.
+     * @param fromSequence The sequence number of the first change to receive, 0 for the changes made from now on.
+     * @param bufferSize How many changes are buffered for the subscriber at most.
+     * @param policy What happens when the buffer is full.
+     */
+    public void subscribe(Flow.Subscriber<? super ChangeRecord<T>> subscriber, long fromSequence, int bufferSize, OverflowPolicy policy) {
+
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive: " + bufferSize);
+        }
+
+        StreamSubscription subscription = new StreamSubscription(subscriber, bufferSize, Objects.requireNonNull(policy, "policy"));
+
+        synchronized (this) {
+            if (fromSequence > 0) {
+
+                long oldestKept = history.isEmpty() ? nextSequence : history.peekFirst().getSequence();
+                if (fromSequence < oldestKept || fromSequence > nextSequence) {
+                    subscription.fail(new IllegalStateException("The changes from " + fromSequence
+                            + " are not available, the stream keeps the changes from " + oldestKept + " to " + (nextSequence - 1)));
+                    subscription.schedule();
+                    return;
+                }
+
+                // The changes the subscriber missed go to its buffer first, as with new changes.
+                for (ChangeRecord<T> record : history) {
+                    if (record.getSequence() >= fromSequence) {
+                        subscription.offer(record);
+                    }
+                }
+            }
+            subscriptions.add(subscription);
+        }
+
+        // The subscriber learns about its subscription on the delivery thread, before any change.
+        subscription.schedule();
+    }
+
+    /**
+     * Returns how many subscribers the stream has.
+     * @return The number of subscribers.
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * The subscription of a subscriber to the stream. All the signals to the subscriber are
+     * sent by a single delivery loop at a time, which runs on the delivery threads whenever there
+     * are changes or demand.
+     */
+    public final class StreamSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ChangeRecord<T>> subscriber;
+        private final int bufferSize;
+        private final OverflowPolicy policy;
+
+        // The changes waiting for demand, guarded by itself.
+        private final ArrayDeque<ChangeRecord<T>> buffer = new ArrayDeque<>();
+
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private volatile boolean cancelled = false;
+        private volatile Throwable failure;
+        private boolean started = false;
+
+        /**
+         * Constructor of a subscription.
+         * @param subscriber The subscriber.
+         * @param bufferSize How many changes are buffered at most.
+         * @param policy What happens when the buffer is full.
+         */
+        private StreamSubscription(Flow.Subscriber<? super ChangeRecord<T>> subscriber, int bufferSize, OverflowPolicy policy) {
+            this.subscriber = subscriber;
+            this.bufferSize = bufferSize;
+            this.policy = policy;
+        }
+
+        /**
+         * Requests more changes, the subscriber receives at most as many changes as it requested.
+         * @param n The number of changes, it has to be positive.
+         */
+        @Override
+        public void request(long n) {
+
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of requested changes must be positive: " + n));
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        /**
+         * Cancels the subscription, the buffered changes are dropped.
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (buffer) {
+                buffer.clear();
+            }
+        }
+
+        /**
+         * Returns how many changes were dropped because the buffer was full.
+         * @return The number of dropped changes.
+         */
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        /**
+         * Adds a change to the buffer, following the overflow policy if it is full.
+         * @param record The change.
+         */
+        private void offer(ChangeRecord<T> record) {
+
+            if (cancelled || failure != null) {
+                return;
+            }
+
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    dropped.incrementAndGet();
+                    DROPPED_CHANGES.increment();
+                    switch (policy) {
+                        case DROP_OLDEST:
+                            buffer.pollFirst();
+                            break;
+                        case DROP_LATEST:
+                            return;
+                        case ERROR:
+                            fail(new IllegalStateException("The buffer of " + bufferSize
+                                    + " changes is full, the subscriber can resume from " + buffer.peekFirst().getSequence()));
+                            schedule();
+                            return;
+                    }
+                }
+                buffer.addLast(record);
+            }
+            schedule();
+        }
+
+        /**
+         * Makes the subscription fail, the error is sent by the delivery loop and ends the subscription.
+         * @param error The reason of the failure.
+         */
+        private void fail(Throwable error) {
+            if (failure == null) {
+                failure = error;
+            }
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Runs the delivery loop on a delivery thread, unless it is already running,
+         * in which case the running loop goes around once more.
+         */
+        private void schedule() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        /**
+         * The delivery loop, it sends the subscription first and then as many buffered
+         * changes as requested, or the error if the subscription failed.
+         */
+        private void drain() {
+
+            int missed = 1;
+            do {
+                if (!started) {
+                    started = true;
+                    subscriber.onSubscribe(this);
+                }
+
+                while (!cancelled && failure == null && demand.get() > 0) {
+
+                    ChangeRecord<T> record;
+                    synchronized (buffer) {
+                        record = buffer.pollFirst();
+                    }
+                    if (record == null) {
+                        break;
+                    }
+
+                    demand.decrementAndGet();
+                    subscriber.onNext(record);
+                }
+
+                if (!cancelled && failure != null) {
+                    cancel();
+                    subscriber.onError(failure);
+                }
+
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.taskmanager.taskmanager.repository;
+
+/**
+ * This is an enumeration of the kinds of data the repositories change, given to
+ * their listeners with every change, so that each window of the application
+ * only refreshes for the data it shows.
+ */
+public enum ChangeTopic {
+
+    /**
+     * The tasks were added, deleted or changed.
+     */
+    TASKS,
+    /**
+     * The notifications of some tasks were added, deleted or changed.
+     */
+    NOTIFICATIONS,
+    /**
+     * The categories were added, deleted or renamed.
+     */
+    CATEGORIES,
+    /**
+     * The priorities were added, deleted or renamed.
+     */
+    PRIORITIES
+}
@@ -0,0 +1,168 @@
+package org.taskmanager.taskmanager.repository;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Task;
+
+/**
+ * This class is one entry of the ChangeFeed: the latest change of an item, with the version it got.
+ * An item that still exists is an upsert and comes with the item as it is now, an item that was deleted
+ * is a tombstone and only has its id. The feed keeps only the latest change of every item, so the entries
+ * of an item replace each other and a consumer gets each changed item once, however often it changed.
+ */
+public final class FeedChange {
+
+    /**
+     * The kinds of items the feed follows.
+     */
+    public enum Kind {
+        TASK,
+        NOTIFICATION,
+        CATEGORY,
+        PRIORITY
+    }
+
+    private final Kind kind;
+    private final int id;
+    private final int taskId;
+    private final long version;
+    private final boolean deleted;
+
+    // The item as it is now, only for the upserts given to a consumer, one of them is set by the kind.
+    private final Task task;
+    private final Notification notification;
+    private final String name;
+
+    /**
+     * Constructor of a FeedChange without its item, as the feed keeps it.
+     * @param kind The kind of the item.
+     * @param id The id of the item.
+     * @param taskId The id of the task of a notification, -1 for the other kinds.
+     * @param version The version of the change.
+     * @param deleted Whether the item was deleted.
+     */
+    FeedChange(Kind kind, int id, int taskId, long version, boolean deleted) {
+        this(kind, id, taskId, version, deleted, null, null, null);
+    }
+
+    /**
+     * Constructor of a FeedChange.
+     * @param kind The kind of the item.
+     * @param id The id of the item.
+     * @param taskId The id of the task of a notification, -1 for the other kinds.
+     * @param version The version of the change.
+     * @param deleted Whether the item was deleted.
+     * @param task The task of an upsert of a task.
+     * @param notification The notification of an upsert of a notification.
+     * @param name The name of a category or the level of a priority of an upsert.
+     */
+    private FeedChange(Kind kind, int id, int taskId, long version, boolean deleted, Task task, Notification notification, String name) {
+        this.kind = kind;
+        this.id = id;
+        this.taskId = taskId;
+        this.version = version;
+        this.deleted = deleted;
+        this.task = task;
+        this.notification = notification;
+        this.name = name;
+    }
+
+    /**
+     * Returns the same change with a task, for a consumer.
+     * @param task The task as it is now.
+     * @return The change with the task.
+     */
+    FeedChange withTask(Task task) {
+        return new FeedChange(kind, id, taskId, version, false, task, null, null);
+    }
+
+    /**
+     * Returns the same change with a notification, for a consumer.
+     * @param notification The notification as it is now.
+     * @return The change with the notification.
+     */
+    FeedChange withNotification(Notification notification) {
+        return new FeedChange(kind, id, taskId, version, false, null, notification, null);
+    }
+
+    /**
+     * Returns the same change with the name of a category or the level of a priority, for a consumer.
+     * @param name The name as it is now.
+     * @return The change with the name.
+     */
+    FeedChange withName(String name) {
+        return new FeedChange(kind, id, taskId, version, false, null, null, name);
+    }
+
+    /**
+     * Returns the kind of the changed item.
+     * @return The kind of the item.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the id of the changed item, the ids are unique within each kind.
+     * @return The id of the item.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the id of the task a notification belongs to.
+     * @return The id of the task, -1 if the item is not a notification.
+     */
+    public int getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Returns the version of the change, a later change of any item has a greater version.
+     * @return The version of the change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Shows whether the change is a tombstone.
+     * @return True if the item was deleted, else false.
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Returns the task of an upsert of a task, a copy that later changes do not affect.
+     * @return The task, or null for a tombstone or another kind.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Returns the notification of an upsert of a notification, a copy that later changes do not affect.
+     * @return The notification, or null for a tombstone or another kind.
+     */
+    public Notification getNotification() {
+        return notification;
+    }
+
+    /**
+     * Returns the name of a category or the level of a priority of an upsert.
+     * @return The name, or null for a tombstone or another kind.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Overrides the toString() method, used when the changes are printed.
+     * @return The version, kind and id of the change, and whether it is a tombstone.
+     */
+    @Override
+    public String toString() {
+        return "#" + version + " " + kind + " " + id + (deleted ? " deleted" : "");
+    }
+}
@@ -0,0 +1,246 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.NotificationWrapper;
+import org.taskmanager.taskmanager.model.Task;
+
+/**
+ * This class raises the notifications of the tasks when they become due while
+ * the application is running. The scheduled notifications are kept sorted by the
+ * time they become due, which is the start of their date, and a single timer thread
+ * sleeps until the first of them. Adding, updating and removing a notification
+ * only touches that notification, in O(log n), and nothing scans the tasks.
+ * The task repository keeps the scheduler up to date on every change of the
+ * notifications, and the scheduler only starts raising them once start is called,
+ * so it can be filled before anyone listens to it.
+ */
+public class NotificationScheduler {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // The scheduled notifications, sorted by the time they are due and then by their id.
+    private final TreeSet<ScheduledNotification> queue = new TreeSet<>(
+            Comparator.comparingLong((ScheduledNotification scheduled) -> scheduled.dueTime)
+                    .thenComparingInt(scheduled -> scheduled.notification.getNotificationId()));
+
+    // Finds the entry of a notification in the queue, the notifications are compared by identity.
+    private final Map<Notification, ScheduledNotification> entries = new IdentityHashMap<>();
+
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpTime;
+    private Consumer<List<ScheduledNotification>> listener;
+
+    /**
+     * Constructor of the NotificationScheduler, called by the task repository.
+     */
+    NotificationScheduler() {}
+
+    /**
+     * Starts the timer thread. From now on the due notifications are removed from the
+     * scheduler and handed to the listener, on the timer thread, in the order they became due.
+     * @param listener Receives the notifications that became due, along with their tasks and the time they became due.
+     */
+    public synchronized void start(Consumer<List<ScheduledNotification>> listener) {
+
+        if (timer != null) {
+            return;
+        }
+
+        this.listener = listener;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        armTimer();
+    }
+
+    /**
+     * Stops the timer thread, the notifications stay scheduled.
+     */
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+            wakeUp = null;
+        }
+    }
+
+    /**
+     * Schedules a notification, or moves it if it was already scheduled.
+     * @param task The task the notification belongs to.
+     * @param notification The notification to schedule.
+     */
+    public synchronized void schedule(Task task, Notification notification) {
+
+        ScheduledNotification previous = entries.remove(notification);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+
+        ScheduledNotification scheduled = new ScheduledNotification(task, notification, dueTime(notification));
+        queue.add(scheduled);
+        entries.put(notification, scheduled);
+        armTimer();
+    }
+
+    /**
+     * Schedules all the notifications of the given tasks.
+     * @param tasks The tasks whose notifications are scheduled.
+     */
+    public synchronized void scheduleAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            for (Notification notification : task.getNotifications()) {
+                schedule(task, notification);
+            }
+        }
+    }
+
+    /**
+     * Removes a notification from the scheduler, if it was scheduled.
+     * @param notification The notification to remove.
+     */
+    public synchronized void unschedule(Notification notification) {
+
+        ScheduledNotification scheduled = entries.remove(notification);
+        if (scheduled != null) {
+            queue.remove(scheduled);
+            armTimer();
+        }
+    }
+
+    /**
+     * Removes all notifications of a task from the scheduler.
+     * @param task The task whose notifications are removed.
+     */
+    public synchronized void unscheduleAll(Task task) {
+        for (Notification notification : task.getNotifications()) {
+            unschedule(notification);
+        }
+    }
+
+    /**
+     * Returns how many notifications are scheduled.
+     * @return The number of scheduled notifications.
+     */
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    /**
+     * Makes the timer wake up when the first notification becomes due. Nothing
+     * changes if it is already set for that time.
+     */
+    private void armTimer() {
+
+        if (timer == null || queue.isEmpty()) {
+            return;
+        }
+
+        long dueTime = queue.first().dueTime;
+        if (wakeUp != null && !wakeUp.isDone() && wakeUpTime == dueTime) {
+            return;
+        }
+
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpTime = dueTime;
+        wakeUp = timer.schedule(this::raiseDueNotifications, Math.max(0, dueTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the timer thread, removes the notifications that are due and hands them to the listener.
+     */
+    private void raiseDueNotifications() {
+
+        List<ScheduledNotification> due = new ArrayList<>();
+        Consumer<List<ScheduledNotification>> currentListener;
+
+        synchronized (this) {
+
+            long now = System.currentTimeMillis();
+            while (!queue.isEmpty() && queue.first().dueTime <= now) {
+                ScheduledNotification scheduled = queue.pollFirst();
+                entries.remove(scheduled.notification);
+                due.add(scheduled);
+            }
+
+            wakeUp = null;
+            armTimer();
+            currentListener = listener;
+        }
+
+        // The listener is called outside the lock, so it can schedule notifications again.
+        if (!due.isEmpty() && currentListener != null) {
+            currentListener.accept(due);
+        }
+    }
+
+    /**
+     * Returns the time a notification becomes due, the start of its date.
+     * @param notification The notification.
+     * @return The time in milliseconds since the epoch.
+     */
+    private static long dueTime(Notification notification) {
+        return LocalDate.parse(notification.getNotificationDate(), FORMATTER)
+                .atStartOfDay(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    /**
+     * A notification in the queue, along with its task and the time it becomes due.
+     * It is also what the listener receives once the notification is due.
+     */
+    public static final class ScheduledNotification {
+
+        private final Task task;
+        private final Notification notification;
+        private final long dueTime;
+
+        /**
+         * Constructor of a queue entry.
+         * @param task The task the notification belongs to.
+         * @param notification The scheduled notification.
+         * @param dueTime The time the notification becomes due.
+         */
+        private ScheduledNotification(Task task, Notification notification, long dueTime) {
+            this.task = task;
+            this.notification = notification;
+            this.dueTime = dueTime;
+        }
+
+        /**
+         * Returns the notification, along with the task it belongs to.
+         * @return A NotificationWrapper of the notification.
+         */
+        public NotificationWrapper toWrapper() {
+            return new NotificationWrapper(notification, task);
+        }
+
+        /**
+         * Returns the time the notification became due, the start of its date.
+         * @return The time in milliseconds since the epoch.
+         */
+        public long getDueTime() {
+            return dueTime;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This class is an immutable map from int keys to values, used for the versions of the tasks.
+ * Adding or removing a key returns a new map that shares all of its nodes with the old one,
+ * except for the few on the path to the key, so keeping many versions of the map costs little
+ * and a version can be handed to other threads without copying or locking it.
+ * The map is a trie of 32-way nodes indexed by 5 bits of the key at a time, starting from the
+ * lowest ones, so a key is found in at most 7 steps, and each node only keeps the slots it uses.
+ * @param <V> The type of the values.
+ */
+final class PersistentIntMap<V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * Constructor of a version of the map.
+     * @param root The root node.
+     * @param size The number of keys.
+     */
+    private PersistentIntMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     * @param <V> The type of the values.
+     * @return The empty map.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    /**
+     * Returns the number of keys of the map.
+     * @return The size of the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key The key.
+     * @return The value, or null if the map does not have the key.
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+
+            int bit = 1 << ((key >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Entry) {
+                Entry entry = (Entry) slot;
+                return entry.key == key ? (V) entry.value : null;
+            }
+            node = (Node) slot;
+        }
+    }
+
+    /**
+     * Returns a map with a key set to a value, this map does not change.
+     * @param key The key.
+     * @param value The value, not null.
+     * @return The new version of the map.
+     */
+    PersistentIntMap<V> plus(int key, V value) {
+        boolean exists = get(key) != null;
+        return new PersistentIntMap<>(put(root, 0, new Entry(key, value)), exists ? size : size + 1);
+    }
+
+    /**
+     * Returns a map without a key, this map does not change.
+     * @param key The key.
+     * @return The new version of the map, or this map if it does not have the key.
+     */
+    PersistentIntMap<V> minus(int key) {
+        if (get(key) == null) {
+            return this;
+        }
+        // The root is never replaced by its only entry, so the result is always a node.
+        return new PersistentIntMap<>((Node) remove(root, 0, key), size - 1);
+    }
+
+    /**
+     * Runs an action for every value of the map, in no particular order.
+     * @param action The action to run.
+     */
+    void forEachValue(Consumer<V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * Returns the values of the map in a new list, in no particular order.
+     * @return The values.
+     */
+    List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        forEachValue(values::add);
+        return values;
+    }
+
+    /**
+     * Returns a copy of a node with an entry set, along with copies of the nodes below it on the way to the key.
+     * @param node The node.
+     * @param shift The bits of the key already used by the nodes above.
+     * @param entry The entry to set.
+     * @return The new node.
+     */
+    private static Node put(Node node, int shift, Entry entry) {
+
+        int bit = 1 << ((entry.key >>> shift) & MASK);
+        if ((node.bitmap & bit) == 0) {
+            return node.with(shift, entry, entry.key);
+        }
+
+        Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+        if (slot instanceof Node) {
+            return node.replace(bit, put((Node) slot, shift + BITS, entry));
+        }
+
+        Entry existing = (Entry) slot;
+        if (existing.key == entry.key) {
+            return node.replace(bit, entry);
+        }
+
+        // Two keys share the slot, they move to a new node that looks at the next bits.
+        Node child = Node.EMPTY.with(shift + BITS, existing, existing.key);
+        return node.replace(bit, put(child, shift + BITS, entry));
+    }
+
+    /**
+     * Returns a copy of a node without a key, which the node has.
+     * @param node The node.
+     * @param shift The bits of the key already used by the nodes above.
+     * @param key The key to remove.
+     * @return The new node, or its only entry if nothing else is left in it, so that the trie stays short.
+     */
+    private static Object remove(Node node, int shift, int key) {
+
+        int bit = 1 << ((key >>> shift) & MASK);
+        Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+
+        Node result;
+        if (slot instanceof Entry) {
+            result = node.without(bit);
+        } else {
+            Object child = remove((Node) slot, shift + BITS, key);
+            result = node.replace(bit, child);
+        }
+
+        if (shift > 0 && result.slots.length == 1 && result.slots[0] instanceof Entry) {
+            return result.slots[0];
+        }
+        return result;
+    }
+
+    /**
+     * Runs an action for every value below a node.
+     * @param node The node.
+     * @param action The action to run.
+     * @param <V> The type of the values.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> void forEach(Node node, Consumer<V> action) {
+        for (Object slot : node.slots) {
+            if (slot instanceof Entry) {
+                action.accept((V) ((Entry) slot).value);
+            } else {
+                forEach((Node) slot, action);
+            }
+        }
+    }
+
+    /**
+     * A key and its value.
+     */
+    private static final class Entry {
+
+        private final int key;
+        private final Object value;
+
+        /**
+         * Constructor of an entry.
+         * @param key The key.
+         * @param value The value.
+         */
+        private Entry(int key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A node of the trie, the bitmap shows which of the 32 slots are used,
+     * and the array only has the used ones, each an entry or a node below.
+     */
+    private static final class Node {
+
+        private static final Node EMPTY = new Node(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        /**
+         * Constructor of a node.
+         * @param bitmap The used slots.
+         * @param slots The contents of the used slots, in order.
+         */
+        private Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        /**
+         * Returns a copy of the node with a new slot, which must not be used yet.
+         * @param shift The bits of the key used by the nodes above.
+         * @param slot The contents of the slot.
+         * @param key The key that picks the slot.
+         * @return The new node.
+         */
+        private Node with(int shift, Object slot, int key) {
+
+            int bit = 1 << ((key >>> shift) & MASK);
+            int index = Integer.bitCount(bitmap & (bit - 1));
+
+            Object[] newSlots = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            newSlots[index] = slot;
+            System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+            return new Node(bitmap | bit, newSlots);
+        }
+
+        /**
+         * Returns a copy of the node with a used slot replaced.
+         * @param bit The bit of the slot.
+         * @param slot The new contents of the slot.
+         * @return The new node.
+         */
+        private Node replace(int bit, Object slot) {
+            Object[] newSlots = slots.clone();
+            newSlots[Integer.bitCount(bitmap & (bit - 1))] = slot;
+            return new Node(bitmap, newSlots);
+        }
+
+        /**
+         * Returns a copy of the node without a used slot.
+         * @param bit The bit of the slot.
+         * @return The new node.
+         */
+        private Node without(int bit) {
+
+            int index = Integer.bitCount(bitmap & (bit - 1));
+
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+            return new Node(bitmap & ~bit, newSlots);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+import org.taskmanager.taskmanager.model.Priority;
+import org.taskmanager.taskmanager.utils.PriorityJsonUtils;
+
+/**
+ * This class is a repository of all the priorities as well as
+ * the priority maps (from name to id and reverse). It contains
+ * all the priorities in memory when the application is running.
+ * It contains all methods for addition, update and delete. Furthermore,
+ * it returns the priority maps and the priorities, but also operates
+ * as the connector between the controllers and the models and JsonUtils.
+ * As with the TaskRepository, it can be used from any thread, its changes are
+ * locked and reach its listeners, such as the tables, and the subscribers of its ChangeStream.
+ * It contains a method to load the priorities from the previous session as
+ * saved in the JSON file, and one to save all the priorities from 
+ * the current session to the JSON file.
+ */
+public class PriorityRepository {
+
+    private static final String PRIORITY_FILE = "medialab/priorities.json";
+
+    // The priorities by their id, and the listeners of their changes.
+    private static final Map<Integer, Priority> priorities = new ConcurrentHashMap<>();
+    private static final RepositoryListeners<Priority> listeners = new RepositoryListeners<>();
+
+    // Every change of a priority, for the subscribers outside the user interface.
+    private static final ChangeStream<Priority> changeStream = new ChangeStream<>(Priority::getPriorityId);
+
+    // Guards every change of the priorities and the maps, the maps can be read without it.
+    private static final StampedLock lock = new StampedLock();
+
+    /*
+        The maps basically translate the ids that tasks have to names in the drop-down
+        boxes and in the table views.
+        priorityMap - Name-to-ID, used to add properly the priority to a task.
+        priorityMapReverse - ID-to-Name, used to show the priority with its name to the user.
+     */
+    private static final Map<String, Integer> priorityMap = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> priorityMapReverse = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor of the Priority Repository, only called in MediaLabController
+     * and then passed on in the apps it is needed to avoid having duplicate repositories.
+     * It starts empty, the priorities are loaded either directly through load()
+     * or in the background through readAll() and setAll().
+     */
+    public PriorityRepository() {}
+
+    /**
+     * The actual loading happens in this method that reads the priorities from
+     * the JSON priorities file and then sets the priorities list as well as
+     * the priority Maps properly. It runs on the calling thread.
+     */
+    public void load() {
+        setAll(readAll());
+    }
+
+    /**
+     * Reads the priorities from the JSON priorities file without touching the
+     * repository, so that it can be called from a background thread during startup.
+     * @return The priorities found in the JSON file, or an empty list in case of an error.
+     */
+    public List<Priority> readAll() {
+        try {
+            return PriorityJsonUtils.readPriorityListFromFile(PRIORITY_FILE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Replaces the priorities of the repository with the loaded ones and sets
+     * the priority Maps properly. It can be called from any thread.
+     * @param loadedPriorities The priorities read from the JSON file.
+     */
+    public void setAll(List<Priority> loadedPriorities) {
+        write(() -> {
+
+            priorities.clear();
+            // Clears the maps in case they are not empty.
+            priorityMap.clear();
+            priorityMapReverse.clear();
+
+            // Properly set the priority maps.
+            for (Priority priority : loadedPriorities) {
+                priorities.put(priority.getPriorityId(), priority);
+                priorityMap.put(priority.getLevel(), priority.getPriorityId());
+                priorityMapReverse.put(priority.getPriorityId(), priority.getLevel());
+            }
+            listeners.reset(loadedPriorities);
+        });
+    }
+
+    /**
+     * This method adds a priority to the priorities list and
+     * adds the new priority in the priority maps as well
+     * @param priorityLevel The level of the new priority.
+     */
+    public void add(String priorityLevel) {
+
+        write(() -> {
+            Priority newPriority = new Priority(priorityLevel);
+
+            priorities.put(newPriority.getPriorityId(), newPriority);
+            priorityMap.put(newPriority.getLevel(), newPriority.getPriorityId());
+            priorityMapReverse.put(newPriority.getPriorityId(), newPriority.getLevel());
+            listeners.added(List.of(newPriority));
+            changeStream.emit(ChangeRecord.Type.ADDED, newPriority);
+            ChangeFeed.itemChanged(FeedChange.Kind.PRIORITY, newPriority.getPriorityId(), false);
+        });
+    }
+
+    /**
+     * This method updates a priority that already exists. Based on the
+     * id we find the priority that corresponds to it from the priorities list.
+     * After it finds the priority, it deletes its entries from the map,
+     * then sets the new name and then re-adds them to the map.
+     * @param selectedPriority The priority the user selected from the table to update.
+     * @param name The updated name of the priority.
+     */
+    public void update(Priority selectedPriority, String name) {
+        write(() -> {
+
+            Priority priority = priorities.get(selectedPriority.getPriorityId());
+            if (priority == null) {
+                return;
+            }
+
+            // Remove the old name from the map.
+            priorityMap.remove(priority.getLevel());
+
+            // Update the priority.
+            priority.setLevel(name);
+
+            // Add the new entries to the maps, the id keeps its entry so it is never missing for the readers.
+            priorityMap.put(priority.getLevel(), priority.getPriorityId());
+            priorityMapReverse.put(priority.getPriorityId(), priority.getLevel());
+            listeners.updated(List.of(priority));
+            changeStream.emit(ChangeRecord.Type.UPDATED, priority);
+            ChangeFeed.itemChanged(FeedChange.Kind.PRIORITY, priority.getPriorityId(), false);
+        });
+    }
+
+    /**
+     * This method deletes a priority from the repository based on its id.
+     * It finds the priority and then, if it exists, removes the entries from the
+     * priority maps and removes the priority from the priorities list as well.
+     * The id is used because it is unique for each priority.
+     * @param priorityID The id of the to-be-deleted priority.
+     */
+    public void delete(int priorityID) {
+        write(() -> {
+
+            // Find the priority based on its id, and if it exists, remove it along with its map entries.
+            Priority priorityToRemove = priorities.remove(priorityID);
+            if (priorityToRemove != null) {
+                priorityMap.remove(priorityToRemove.getLevel());
+                priorityMapReverse.remove(priorityToRemove.getPriorityId());
+                listeners.removed(List.of(priorityToRemove));
+                changeStream.emit(ChangeRecord.Type.REMOVED, priorityToRemove);
+                ChangeFeed.itemChanged(FeedChange.Kind.PRIORITY, priorityToRemove.getPriorityId(), true);
+            }
+        });
+    }
+
+    /**
+     * Returns the priority map that is given the name of a priority and returns its id.
+     *
+     * @return The priority map that is given the name of a priority and returns its id.
+     */
+    public Map<String, Integer> getPriorityMap() {
+        return priorityMap;
+    }
+
+    /**
+     * Returns the priority map reverse that is given the id of a priority and returns its name.
+     *
+     * @return The priority map reverse that is given the id of a priority and returns its name.
+     */
+    public Map<Integer, String> getPriorityMapReverse() {
+        return priorityMapReverse;
+    }
+    
+    /**
+     * Returns the same map as getPriorityMapReverse, without an instance of the repository,
+     * used by the task repository to sort the tasks by the name of their priority.
+     * @return The priority map reverse that is given the id of a priority and returns its name.
+     */
+    static Map<Integer, String> priorityMapReverse() {
+        return priorityMapReverse;
+    }
+
+    /**
+     * Returns the stream of the changes of the priorities, delivered on background threads.
+     * As with the tasks, loading the priorities replaces them without emitting anything.
+     * @return The change stream of the priorities.
+     */
+    public ChangeStream<Priority> changes() {
+        return changeStream;
+    }
+
+    /**
+     * Adds a listener of the priorities, it learns about every change made from now on,
+     * for example the JavaFX lists of the user interface.
+     * @param listener The listener to add.
+     */
+    public void addListener(RepositoryListener<Priority> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the priorities.
+     * @param listener The listener to remove.
+     */
+    public void removeListener(RepositoryListener<Priority> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns a copy of all the priorities in the repository, sorted by id,
+     * it can be used from any thread.
+     * @return A new list of all priorities in the repository.
+     */
+    public List<Priority> snapshot() {
+        List<Priority> snapshot = new ArrayList<>(priorities.values());
+        snapshot.sort(Comparator.comparingInt(Priority::getPriorityId));
+        return snapshot;
+    }
+
+    /**
+     * Runs a change of the repository while it is locked for writing, then tells the
+     * listeners that it is done, outside the lock as they may read the repository.
+     * @param change The change to run.
+     */
+    private static void write(Runnable change) {
+
+        long stamp = lock.writeLock();
+        try {
+            change.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        listeners.changed(EnumSet.of(ChangeTopic.PRIORITIES));
+    }
+
+    /**
+     * Calls the writePriorityListToFile method from PriorityJsonUtils. It is
+     * used only when the MediaLabAssistant window is closed, as we want to save to
+     * JSON files only when the whole application terminates.
+     */
+    public void saveAll() {
+        try {
+            PriorityJsonUtils.writePriorityListToFile(PRIORITY_FILE, snapshot());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * This interface is how the user interface, or any other part of the application that keeps
+ * its own view of a repository, learns about its changes. The first four methods are called
+ * while the repository is locked, in the order the changes happened, so they must only record
+ * the change and return quickly, without reading the repository or waiting for anything.
+ * Once the change is done and the lock is released, changed() is called with its topics,
+ * which is where the listener may read the repository or hand the changes to another thread.
+ * All the methods do nothing unless they are overridden, and the listeners are called
+ * on the thread that changed the repository, in the order they were added.
+ * @param <T> The type of the items of the repository.
+ */
+public interface RepositoryListener<T> {
+
+    /**
+     * Called while the repository is locked, when items were added to it.
+     * @param added The added items.
+     */
+    default void added(Collection<T> added) {}
+
+    /**
+     * Called while the repository is locked, when items were removed from it.
+     * @param removed The removed items.
+     */
+    default void removed(Collection<T> removed) {}
+
+    /**
+     * Called while the repository is locked, when items stayed in it but their values changed.
+     * @param updated The changed items.
+     */
+    default void updated(Collection<T> updated) {}
+
+    /**
+     * Called while the repository is locked, when all its items were replaced, for example when they are loaded.
+     * @param all The new items of the repository.
+     */
+    default void reset(Collection<T> all) {}
+
+    /**
+     * Called after a change of the repository is done and the lock is released.
+     * @param topics The topics the change belongs to.
+     */
+    default void changed(Set<ChangeTopic> topics) {}
+}
@@ -0,0 +1,88 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class holds the listeners of a repository and passes every change on to all of them.
+ * The listeners are rarely added and called on every change, so they are kept in a
+ * copy-on-write list which is read without locking.
+ * @param <T> The type of the items of the repository.
+ */
+final class RepositoryListeners<T> {
+
+    private final List<RepositoryListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor of the RepositoryListeners, it starts with no listeners.
+     */
+    RepositoryListeners() {}
+
+    /**
+     * Adds a listener, it receives the changes made from now on.
+     * @param listener The listener to add.
+     */
+    void add(RepositoryListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener The listener to remove.
+     */
+    void remove(RepositoryListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Tells the listeners that items were added, while the repository is locked.
+     * @param added The added items.
+     */
+    void added(Collection<T> added) {
+        for (RepositoryListener<T> listener : listeners) {
+            listener.added(added);
+        }
+    }
+
+    /**
+     * Tells the listeners that items were removed, while the repository is locked.
+     * @param removed The removed items.
+     */
+    void removed(Collection<T> removed) {
+        for (RepositoryListener<T> listener : listeners) {
+            listener.removed(removed);
+        }
+    }
+
+    /**
+     * Tells the listeners that the values of items changed, while the repository is locked.
+     * @param updated The changed items.
+     */
+    void updated(Collection<T> updated) {
+        for (RepositoryListener<T> listener : listeners) {
+            listener.updated(updated);
+        }
+    }
+
+    /**
+     * Tells the listeners that all the items were replaced, while the repository is locked.
+     * @param all The new items of the repository.
+     */
+    void reset(Collection<T> all) {
+        for (RepositoryListener<T> listener : listeners) {
+            listener.reset(all);
+        }
+    }
+
+    /**
+     * Tells the listeners that a change is done, after the lock of the repository is released.
+     * @param topics The topics the change belongs to.
+     */
+    void changed(Set<ChangeTopic> topics) {
+        for (RepositoryListener<T> listener : listeners) {
+            listener.changed(topics);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class keeps the statistics of the tasks up to date as they change, so that reading them
+ * does not go through all the tasks. The repository removes the previous version of a task and adds
+ * the new one on every change, while it is locked for writing. What depends on the day, like how long a delayed
+ * task is overdue or which notifications are due, is kept by date and only counted when the statistics are read,
+ * so the counts stay right when the day changes without anything being recounted.
+ */
+class TaskAggregates {
+
+    // The ranges of days a delayed task may be overdue, by the last day of each range.
+    private static final int[] OVERDUE_LIMITS = {7, 30, 90, 365};
+    private static final String[] OVERDUE_RANGES = {"1-7 days", "8-30 days", "31-90 days", "91-365 days", "Over a year"};
+
+    private static final int STATES = TaskStateUtils.values().length;
+
+    // The number of tasks of each state for every category and priority, the key holds both ids.
+    private final Map<Long, int[]> groups = new HashMap<>();
+    private final int[] stateTotals = new int[STATES];
+
+    // The dates are stored as yyyy-MM-dd, so the maps sort them by date.
+    private final TreeMap<String, Integer> delayedByDeadline = new TreeMap<>();
+    private final TreeMap<String, Integer> notificationsByDate = new TreeMap<>();
+    private final TreeMap<String, Integer> oneOffByDeadline = new TreeMap<>();
+
+    // The recurring tasks by deadline, and for each deadline the ones that have the same occurrences,
+    // with one of them and how many they are.
+    private final TreeMap<String, Map<String, RecurringGroup>> recurringByDeadline = new TreeMap<>();
+
+    /**
+     * Constructor of the TaskAggregates, it starts empty.
+     */
+    TaskAggregates() {}
+
+    /**
+     * Adds a version of a task to the statistics.
+     * @param task The version of the task, which must not change afterwards.
+     */
+    void add(Task task) {
+        count(task, 1);
+    }
+
+    /**
+     * Removes a version of a task that was added before from the statistics.
+     * @param task The version of the task, as it was added.
+     */
+    void remove(Task task) {
+        count(task, -1);
+    }
+
+    /**
+     * Removes all tasks from the statistics.
+     */
+    void clear() {
+        groups.clear();
+        Arrays.fill(stateTotals, 0);
+        delayedByDeadline.clear();
+        notificationsByDate.clear();
+        oneOffByDeadline.clear();
+        recurringByDeadline.clear();
+    }
+
+    /**
+     * Counts the statistics on a day, it costs as much as the number of groups and dates, not of tasks.
+     * @param today The day the ages and the notifications are counted from.
+     * @return The statistics.
+     */
+    TaskStatistics statistics(LocalDate today) {
+
+        List<TaskStatistics.Group> groupList = new ArrayList<>(groups.size());
+        for (Map.Entry<Long, int[]> group : groups.entrySet()) {
+            long key = group.getKey();
+            groupList.add(new TaskStatistics.Group((int) (key >> 32), (int) key, group.getValue().clone()));
+        }
+
+        // How long the delayed tasks are overdue, a task delayed with a later deadline counts as just overdue.
+        Map<String, Integer> overdueAges = new LinkedHashMap<>();
+        for (String range : OVERDUE_RANGES) {
+            overdueAges.put(range, 0);
+        }
+        for (Map.Entry<String, Integer> deadline : delayedByDeadline.entrySet()) {
+            long days = ChronoUnit.DAYS.between(LocalDate.parse(deadline.getKey()), today);
+            int range = 0;
+            while (range < OVERDUE_LIMITS.length && days > OVERDUE_LIMITS[range]) {
+                range++;
+            }
+            overdueAges.merge(OVERDUE_RANGES[range], deadline.getValue(), Integer::sum);
+        }
+
+        String todayText = today.toString();
+        String weekText = today.plusDays(7).toString();
+        int notificationsDue = sum(notificationsByDate.headMap(todayText, true));
+        int notificationsNextSevenDays = sum(notificationsByDate.subMap(todayText, false, weekText, true));
+        int notificationsLater = sum(notificationsByDate.tailMap(weekText, false));
+
+        // The tasks that do not repeat count once if they are due, the recurring ones once for every occurrence.
+        int dueInSevenDays = sum(oneOffByDeadline.subMap(todayText, true, weekText, true));
+        // A recurring task whose deadline passed has the same occurrences as the others with the same phase,
+        // so they are found once for each phase, and the ones with a later deadline have none in the window.
+        Map<String, Integer> occurrencesByPhase = new HashMap<>();
+        for (Map.Entry<String, Map<String, RecurringGroup>> deadline : recurringByDeadline.headMap(weekText, true).entrySet()) {
+            boolean passed = deadline.getKey().compareTo(todayText) < 0;
+            for (Map.Entry<String, RecurringGroup> phase : deadline.getValue().entrySet()) {
+                RecurringGroup recurring = phase.getValue();
+                int occurrences = passed
+                        ? occurrencesByPhase.computeIfAbsent(phase.getKey(), k -> recurring.sample.occurrencesBetween(today, today.plusDays(7)).size())
+                        : recurring.sample.occurrencesBetween(today, today.plusDays(7)).size();
+                dueInSevenDays += occurrences * recurring.count;
+            }
+        }
+
+        return new TaskStatistics(today, groupList, stateTotals.clone(), overdueAges,
+                notificationsDue, notificationsNextSevenDays, notificationsLater, dueInSevenDays);
+    }
+
+    /**
+     * Adds or removes a version of a task in every statistic.
+     * @param task The version of the task.
+     * @param delta 1 to add it, -1 to remove it.
+     */
+    private void count(Task task, int delta) {
+
+        int state = task.getState().ordinal();
+        long key = ((long) task.getCategoryId() << 32) | (task.getPriorityId() & 0xffffffffL);
+        int[] counts = groups.computeIfAbsent(key, k -> new int[STATES]);
+        counts[state] += delta;
+        if (isEmpty(counts)) {
+            groups.remove(key);
+        }
+        stateTotals[state] += delta;
+
+        if (task.getState() == TaskStateUtils.DELAYED) {
+            merge(delayedByDeadline, task.getDeadline(), delta);
+        }
+        for (Notification notification : task.getNotifications()) {
+            merge(notificationsByDate, notification.getNotificationDate(), delta);
+        }
+
+        if (!task.isRecurring()) {
+            merge(oneOffByDeadline, task.getDeadline(), delta);
+        } else {
+            Map<String, RecurringGroup> phases = recurringByDeadline.computeIfAbsent(task.getDeadline(), k -> new HashMap<>());
+            String phase = phase(task);
+            RecurringGroup recurring = phases.computeIfAbsent(phase, k -> new RecurringGroup(task));
+            recurring.count += delta;
+            if (recurring.count == 0) {
+                phases.remove(phase);
+                if (phases.isEmpty()) {
+                    recurringByDeadline.remove(task.getDeadline());
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds what decides the occurrences of a recurring task after its deadline: its recurrence, and the day of the
+     * week or of the month of its first deadline, as the occurrences are counted from it. A first deadline after the
+     * deadline, which only happens when the deadline was moved back, is kept whole as the occurrences start from it.
+     * @param task The recurring task.
+     * @return The phase of the task, the same for tasks with the same occurrences after the same deadline.
+     */
+    private static String phase(Task task) {
+
+        String start = task.getRecurrenceStart();
+        if (start.compareTo(task.getDeadline()) > 0) {
+            return task.getRecurrence().name() + "|" + start;
+        }
+        LocalDate startDate = LocalDate.parse(start);
+        switch (task.getRecurrence()) {
+            case WEEKLY:
+                return "WEEKLY|" + startDate.getDayOfWeek();
+            case MONTHLY:
+                return "MONTHLY|" + startDate.getDayOfMonth();
+            default:
+                return task.getRecurrence().name();
+        }
+    }
+
+    /**
+     * Adds to the number of a date, and removes the date when nothing is left on it.
+     * @param counts The numbers by date.
+     * @param date The date.
+     * @param delta What is added, -1 to remove one.
+     */
+    private static void merge(Map<String, Integer> counts, String date, int delta) {
+        counts.merge(date, delta, (previous, added) -> previous + added == 0 ? null : previous + added);
+    }
+
+    /**
+     * Adds up the numbers of some dates.
+     * @param counts The numbers by date.
+     * @return Their sum.
+     */
+    private static int sum(Map<String, Integer> counts) {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Shows whether a group has no tasks left.
+     * @param counts The number of tasks of each state in the group.
+     * @return True if every count is zero, else false.
+     */
+    private static boolean isEmpty(int[] counts) {
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The recurring tasks that have the same deadline and phase, and so the same occurrences.
+     */
+    private static final class RecurringGroup {
+
+        private final Task sample;
+        private int count;
+
+        /**
+         * Constructor of the RecurringGroup.
+         * @param sample One of the tasks, its occurrences are counted for all of them.
+         */
+        private RecurringGroup(Task sample) {
+            this.sample = sample;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class keeps the tasks that can still become delayed, meaning the ones
+ * that are neither completed nor delayed, sorted by their deadline, as well as
+ * the number of tasks in each state. When the day changes, the tasks whose deadline
+ * just passed are the first ones of the order, so they are found without going through
+ * all the tasks. A task has to be removed before its deadline
+ * or state changes and added again afterwards.
+ */
+class TaskDeadlineIndex {
+
+    // The deadlines are stored as yyyy-MM-dd, so comparing them as text sorts them by date.
+    private final TreeSet<Task> pending = new TreeSet<>(
+            Comparator.comparing(Task::getDeadline).thenComparingInt(Task::getTaskId));
+
+    private final Map<TaskStateUtils, Integer> stateCounts = new EnumMap<>(TaskStateUtils.class);
+
+    /**
+     * Constructor of the TaskDeadlineIndex, it starts empty.
+     */
+    TaskDeadlineIndex() {}
+
+    /**
+     * Adds a task to the index.
+     * @param task The task to add.
+     */
+    void add(Task task) {
+        stateCounts.merge(task.getState(), 1, Integer::sum);
+        if (canBecomeDelayed(task)) {
+            pending.add(task);
+        }
+    }
+
+    /**
+     * Adds tasks to the index.
+     * @param tasks The tasks to add.
+     */
+    void addAll(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index, it has to be called before its deadline or state changes.
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        stateCounts.merge(task.getState(), -1, Integer::sum);
+        pending.remove(task);
+    }
+
+    /**
+     * Removes all tasks from the index.
+     */
+    void clear() {
+        pending.clear();
+        stateCounts.clear();
+    }
+
+    /**
+     * Removes and returns the tasks whose deadline is before the given date,
+     * in the order of their deadline. Their state is not changed here, the caller
+     * changes it and adds them again.
+     * @param date The date in the yyyy-MM-dd format, usually today.
+     * @return The tasks whose deadline passed.
+     */
+    List<Task> pollDeadlinesBefore(String date) {
+
+        List<Task> passed = new ArrayList<>();
+
+        while (!pending.isEmpty() && pending.first().getDeadline().compareTo(date) < 0) {
+            Task task = pending.pollFirst();
+            stateCounts.merge(task.getState(), -1, Integer::sum);
+            passed.add(task);
+        }
+        return passed;
+    }
+
+    /**
+     * Returns the number of tasks in a state.
+     * @param state The state to count.
+     * @return The number of tasks in that state.
+     */
+    int count(TaskStateUtils state) {
+        return stateCounts.getOrDefault(state, 0);
+    }
+
+    /**
+     * Checks whether a task can still become delayed.
+     * @param task The task to check.
+     * @return True if the task is neither completed nor delayed, False otherwise.
+     */
+    private static boolean canBecomeDelayed(Task task) {
+        return task.getState() != TaskStateUtils.COMPLETED && task.getState() != TaskStateUtils.DELAYED;
+    }
+}
@@ -0,0 +1,45 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.util.function.Predicate;
+
+import org.taskmanager.taskmanager.model.Task;
+
+/**
+ * This class is the filter of the search, the tasks whose name contains a text, ignoring case,
+ * and that belong to a category and a priority. An empty name matches every name and the id -2 matches
+ * every category or priority, as in the Search window. It is shared by searchTasks and the exports,
+ * so an export of the results of a search has exactly the tasks the search shows.
+ */
+public final class TaskFilter implements Predicate<Task> {
+
+    // The id that matches every category or priority.
+    public static final int ANY = -2;
+
+    private final String name;
+    private final int categoryId;
+    private final int priorityId;
+
+    /**
+     * Constructor of the TaskFilter.
+     * @param name The text the name of the task has to contain, null or empty for any name.
+     * @param categoryId The id of the category of the task, ANY for any category.
+     * @param priorityId The id of the priority of the task, ANY for any priority.
+     */
+    public TaskFilter(String name, int categoryId, int priorityId) {
+        this.name = name == null ? "" : name.toLowerCase();
+        this.categoryId = categoryId;
+        this.priorityId = priorityId;
+    }
+
+    /**
+     * Checks whether a task matches the filter.
+     * @param task The task.
+     * @return True if the task matches the filter.
+     */
+    @Override
+    public boolean test(Task task) {
+        return (categoryId == ANY || task.getCategoryId() == categoryId)
+                && (priorityId == ANY || task.getPriorityId() == priorityId)
+                && (name.isEmpty() || task.getName().toLowerCase().contains(name));
+    }
+}
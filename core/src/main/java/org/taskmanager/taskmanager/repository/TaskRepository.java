@@ -0,0 +1,1129 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.taskmanager.taskmanager.metrics.LatencyHistogram;
+import org.taskmanager.taskmanager.metrics.Metrics;
+import org.taskmanager.taskmanager.model.*;
+import org.taskmanager.taskmanager.utils.NotificationPresetUtils;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskJsonUtils;
+
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class is a repository of all the tasks as well as
+ * the notifications. It contains all the tasks, and by extend
+ * the notifications, in memory when the application is running.
+ * It contains all methods for addition, update and delete for tasks
+ * and notifications. Furthermore, it returns the tasks list, but also operates
+ * as the connector between the controllers and the models and JsonUtils.
+ * Notifications were included here as they are a list inside each task,
+ * and it was considered more concise than creating a new repository for it.
+ * The repository can be used from any thread. The tasks are kept in a concurrent map,
+ * so they can be read and searched without locking, while every change, along with the
+ * indexes, is guarded by a stamped lock. The user interface learns about the changes through
+ * RepositoryListeners, so the repository does not depend on JavaFX. The fields of a task are only
+ * changed through the repository, while it is locked. Every change of a task is also
+ * emitted, in order, to the ChangeStream returned by changes(), and a copy of the changed task
+ * goes to a new version of an immutable map, which currentSnapshot() hands out as a TaskSnapshot.
+ * How long the changes, the searches, the loads and the saves take is recorded in the Metrics.
+ */
+public class TaskRepository {
+
+    private static final String TASK_FILE = "medialab/tasks.json";
+
+    // The tasks by their id, the core of the repository, and the listeners of their changes.
+    private static final Map<Integer, Task> tasks = new ConcurrentHashMap<>();
+    private static final RepositoryListeners<Task> listeners = new RepositoryListeners<>();
+
+    // Every change of a task, for the subscribers outside the user interface.
+    private static final ChangeStream<Task> changeStream = new ChangeStream<>(Task::getTaskId);
+
+    /*
+        The copies of the tasks after their latest change, changed under the lock, and the
+        latest snapshot, which is replaced once at the end of every change that touched the copies.
+     */
+    private static PersistentIntMap<Task> versions = PersistentIntMap.empty();
+    private static volatile TaskSnapshot latestSnapshot = new TaskSnapshot(0, versions);
+
+    // Guards every change of the tasks and the indexes, the indexes are also read under it.
+    private static final StampedLock lock = new StampedLock();
+
+    // The topics given to the listeners, a change of the tasks may also change their notifications.
+    private static final Set<ChangeTopic> TASK_CHANGES = EnumSet.of(ChangeTopic.TASKS, ChangeTopic.NOTIFICATIONS);
+    private static final Set<ChangeTopic> NOTIFICATION_CHANGES = EnumSet.of(ChangeTopic.NOTIFICATIONS);
+
+    // The tasks that can still become delayed sorted by deadline, along with the number of tasks in each state.
+    private static final TaskDeadlineIndex deadlineIndex = new TaskDeadlineIndex();
+    // The statistics of the versions of the tasks, kept up to date as they change.
+    private static final TaskAggregates aggregates = new TaskAggregates();
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // Raises the notifications while the application is running, kept up to date on every change.
+    private static final NotificationScheduler notificationScheduler = new NotificationScheduler();
+
+    // How long each kind of change takes, from waiting for the lock until the listeners were told.
+    private static final LatencyHistogram LOAD_LATENCY = operationLatency("load");
+    private static final LatencyHistogram ADD_LATENCY = operationLatency("add");
+    private static final LatencyHistogram ADD_MANY_LATENCY = operationLatency("add_many");
+    private static final LatencyHistogram UPDATE_LATENCY = operationLatency("update");
+    private static final LatencyHistogram UPDATE_MANY_LATENCY = operationLatency("update_many");
+    private static final LatencyHistogram DELETE_LATENCY = operationLatency("delete");
+    private static final LatencyHistogram DELETE_MANY_LATENCY = operationLatency("delete_many");
+    private static final LatencyHistogram MARK_DELAYED_LATENCY = operationLatency("mark_delayed");
+    private static final LatencyHistogram ADD_NOTIFICATION_LATENCY = operationLatency("add_notification");
+    private static final LatencyHistogram UPDATE_NOTIFICATION_LATENCY = operationLatency("update_notification");
+    private static final LatencyHistogram DELETE_NOTIFICATION_LATENCY = operationLatency("delete_notification");
+    private static final LatencyHistogram TAKE_DUE_NOTIFICATIONS_LATENCY = operationLatency("take_due_notifications");
+    private static final LatencyHistogram RENAME_LATENCY = operationLatency("rename");
+
+    // How long reading and writing the tasks file take, and the searches.
+    private static final LatencyHistogram FILE_LOAD_LATENCY = Metrics.histogram("medialab_tasks_file_seconds",
+            "How long loading or saving the tasks file takes.", "operation", "load");
+    private static final LatencyHistogram FILE_SAVE_LATENCY = Metrics.histogram("medialab_tasks_file_seconds",
+            "How long loading or saving the tasks file takes.", "operation", "save");
+    private static final LatencyHistogram SEARCH_LATENCY = Metrics.histogram("medialab_task_search_seconds",
+            "How long a search of the tasks takes.");
+
+    static {
+        Metrics.gauge("medialab_tasks", "The number of tasks in the repository.", tasks::size);
+
+        // The tables sort the tasks by the names of their category and priority, so a rename updates their tasks.
+        new CategoryRepository().addListener(renameListener(Category::getCategoryId, Task::getCategoryId));
+        new PriorityRepository().addListener(renameListener(Priority::getPriorityId, Task::getPriorityId));
+    }
+
+    /**
+     * Constructor of the Task Repository, only called in MediaLabController
+     * and then passed on in the apps it is needed to avoid having duplicate repositories.
+     * It starts empty, the tasks (and notifications) are loaded either directly
+     * through loadTasks() or in batches through readTasks() and addLoaded().
+     */
+    public TaskRepository() {}
+
+    /**
+     * Creates the latency histogram of a kind of change of the repository.
+     * @param operation The kind of change, the label of the histogram.
+     * @return The histogram.
+     */
+    private static LatencyHistogram operationLatency(String operation) {
+        return Metrics.histogram("medialab_task_repository_seconds",
+                "How long a change of the task repository takes, from waiting for the lock until the listeners were told.",
+                "operation", operation);
+    }
+
+    /**
+     * Creates a listener of the category or the priority repository that keeps the ids of the renamed items
+     * while that repository is locked, and once it is released tells the listeners of the tasks that the tasks
+     * of those items were updated, as the lists that sort the tasks by the name of the item have to place them again.
+     * @param itemId Returns the id of a category or a priority.
+     * @param taskItemId Returns the id of the category or the priority of a task.
+     * @param <T> Category or Priority.
+     * @return The listener.
+     */
+    private static <T> RepositoryListener<T> renameListener(ToIntFunction<T> itemId, ToIntFunction<Task> taskItemId) {
+
+        Set<Integer> renamed = ConcurrentHashMap.newKeySet();
+
+        return new RepositoryListener<T>() {
+            @Override
+            public void updated(Collection<T> updated) {
+                for (T item : updated) {
+                    renamed.add(itemId.applyAsInt(item));
+                }
+            }
+
+            @Override
+            public void changed(Set<ChangeTopic> topics) {
+                if (!renamed.isEmpty()) {
+                    renamed(renamed, taskItemId);
+                }
+            }
+        };
+    }
+
+    /**
+     * Tells the listeners that the tasks of renamed categories or priorities were updated,
+     * the tasks themselves stay as they were, so no change of them is recorded.
+     * @param renamed The ids of the renamed categories or priorities, they are taken out of the set.
+     * @param taskItemId Returns the id of the category or the priority of a task.
+     */
+    private static void renamed(Set<Integer> renamed, ToIntFunction<Task> taskItemId) {
+        write(RENAME_LATENCY, EnumSet.of(ChangeTopic.TASKS), () -> {
+
+            Set<Integer> ids = new HashSet<>();
+            for (Iterator<Integer> iterator = renamed.iterator(); iterator.hasNext(); ) {
+                ids.add(iterator.next());
+                iterator.remove();
+            }
+
+            List<Task> updated = new ArrayList<>();
+            for (Task task : tasks.values()) {
+                if (ids.contains(taskItemId.applyAsInt(task))) {
+                    updated.add(task);
+                }
+            }
+            if (!updated.isEmpty()) {
+                listeners.updated(updated);
+            }
+        });
+    }
+
+    /**
+     * The actual loading happens in this method that reads the tasks from
+     * the JSON tasks file and then sets the tasks list properly.
+     * It runs on the calling thread.
+     */
+    public void loadTasks() {
+        long start = System.nanoTime();
+        try {
+            List<Task> loadedTasks = TaskJsonUtils.readTaskListFromFile(TASK_FILE);
+            write(LOAD_LATENCY, () -> {
+                tasks.clear();
+                for (Task task : loadedTasks) {
+                    tasks.put(task.getTaskId(), task);
+                }
+                deadlineIndex.clear();
+                indexAll(loadedTasks);
+                listeners.reset(loadedTasks);
+
+                versions = PersistentIntMap.empty();
+                aggregates.clear();
+                for (Task task : loadedTasks) {
+                    Task copy = task.copy();
+                    versions = versions.plus(task.getTaskId(), copy);
+                    aggregates.add(copy);
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        FILE_LOAD_LATENCY.recordSince(start);
+    }
+
+    /**
+     * Reads the tasks from the JSON tasks file in batches without touching the
+     * repository, so that it can be called from a background thread and each
+     * batch can be added to the repository through addLoaded() as soon as it is read.
+     * @param batchSize The maximum number of tasks in each batch.
+     * @param batchConsumer Receives every batch of tasks that was read.
+     * @return True if the whole file was read, False otherwise.
+     */
+    public boolean readTasks(int batchSize, Consumer<List<Task>> batchConsumer) {
+        long start = System.nanoTime();
+        try {
+            return TaskJsonUtils.readTaskListFromFile(TASK_FILE, batchSize, batchConsumer);
+        } finally {
+            FILE_LOAD_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Adds the tasks of a batch read from the JSON tasks file to the repository.
+     * It can be called from any thread. Like loadTasks(), the tasks were already saved,
+     * so they only become the starting versions and statistics and are not
+     * recorded as changes in the change feed or emitted to the change stream.
+     * @param loadedTasks The tasks read from the JSON tasks file.
+     */
+    public void addLoaded(List<Task> loadedTasks) {
+        write(ADD_MANY_LATENCY, () -> {
+            for (Task task : loadedTasks) {
+                tasks.put(task.getTaskId(), task);
+                Task copy = task.copy();
+                versions = versions.plus(task.getTaskId(), copy);
+                aggregates.add(copy);
+            }
+            indexAll(loadedTasks);
+            listeners.added(loadedTasks);
+        });
+    }
+
+    /**
+     * Adds already created tasks to the repository as new tasks.
+     * It can be called from any thread.
+     * Each task is emitted to the change stream as added.
+     * @param loadedTasks The tasks to add to the repository.
+     */
+    public void addAll(List<Task> loadedTasks) {
+        write(ADD_MANY_LATENCY, () -> {
+            for (Task task : loadedTasks) {
+                tasks.put(task.getTaskId(), task);
+                changed(ChangeRecord.Type.ADDED, task);
+            }
+            indexAll(loadedTasks);
+            listeners.added(loadedTasks);
+        });
+    }
+
+    /**
+     * Adds already created tasks to the repository in batches, as they come, used by the imports.
+     * Each batch is added while the repository is locked, so the readers and the user interface
+     * wait for one batch at most, but the listeners are only told that the tasks changed once, when
+     * there are no more batches, so the user interface sees all the tasks added as a single change.
+     * Each task is emitted to the change stream as added.
+     * @param batches The batches of tasks, next() may wait until the next batch is ready.
+     * @param progress Receives the number of tasks added so far after every batch.
+     * @return The number of tasks added.
+     */
+    public int addBatches(Iterator<List<Task>> batches, IntConsumer progress) {
+
+        int added = 0;
+        try {
+            while (batches.hasNext()) {
+                List<Task> batch = batches.next();
+                long start = System.nanoTime();
+                writeLocked(() -> {
+                    for (Task task : batch) {
+                        tasks.put(task.getTaskId(), task);
+                        changed(ChangeRecord.Type.ADDED, task);
+                    }
+                    indexAll(batch);
+                    listeners.added(batch);
+                });
+                ADD_MANY_LATENCY.recordSince(start);
+                added += batch.size();
+                progress.accept(added);
+            }
+        } finally {
+            // The batches added before a failure are still published.
+            if (added > 0) {
+                listeners.changed(TASK_CHANGES);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * This method creates a new task and adds it to the repository.
+     * @param taskName The name of the task.
+     * @param description The description of the task.
+     * @param deadline The deadline of the task.
+     * @param categoryId The id of the category to which the task belongs to.
+     * @param PriorityId The id of the priority to which the task belongs to.
+     * @param state The state of the task.
+     * @param recurrence How often the task repeats, its occurrences are counted from the deadline.
+     * @return The new task.
+     */
+    public Task add(String taskName, String description, String deadline, int categoryId, int PriorityId, TaskStateUtils state, RecurrenceUtils recurrence) {
+
+        Task newTask = new Task(taskName, description, deadline, categoryId, PriorityId, state);
+        write(ADD_LATENCY, () -> {
+            newTask.setRecurrence(recurrence);
+
+            tasks.put(newTask.getTaskId(), newTask);
+            index(newTask);
+            listeners.added(List.of(newTask));
+            changed(ChangeRecord.Type.ADDED, newTask);
+        });
+        return newTask;
+    }
+
+    /**
+     * This method updates a task that already exists in the repository.
+     * Based on the id we find the task that corresponds to it from the
+     * tasks list. After it finds the task, it sets the new and updated
+     * parameters, which are directly passed to the repository. This was
+     * in order to keep the task id the same after the update.
+     * Furthermore, in case that the state is set to Completed,
+     * all notifications are deleted for this task and the window
+     * closes if it is open, unless the task repeats, as then it moves on to its
+     * next occurrence through completeTask(). Otherwise, if the deadline changed, the
+     * notifications are moved along with it through deadlineChanged().
+     * @param selectedTask The task selected for update.
+     * @param taskName The updated name of the task.
+     * @param description The updated description of the task.
+     * @param dueDate The updated due date of the task.
+     * @param categoryId The updated category id of the task.
+     * @param priorityId The updated priority id of the task.
+     * @param state The updated state of the task.
+     * @param recurrence How often the task repeats, its occurrences are counted from the updated due date.
+     */
+    public void update(Task selectedTask, String taskName, String description, String dueDate, int categoryId, int priorityId, TaskStateUtils state, RecurrenceUtils recurrence) {
+
+        write(UPDATE_LATENCY, () -> {
+
+            Task task = tasks.get(selectedTask.getTaskId());
+            if (task == null) {
+                return;
+            }
+
+            String previousDeadline = task.getDeadline();
+
+            // The indexes find the task by its old values, so it is removed before they change.
+            unindex(task);
+
+            task.setName(taskName);
+            task.setDescription(description);
+            task.setDeadline(dueDate);
+            task.setCategoryId(categoryId);
+            task.setPriorityId(priorityId);
+            task.setRecurrence(recurrence);
+
+            // In case the state is set to completed, the task is completed along with its notifications.
+            if (state == TaskStateUtils.COMPLETED) {
+                completeTask(task);
+            }
+            else {
+                task.setState(state);
+            }
+
+            index(task);
+
+            if (state != TaskStateUtils.COMPLETED && !dueDate.equals(previousDeadline)) {
+                deadlineChanged(task, previousDeadline);
+            }
+            changed(ChangeRecord.Type.UPDATED, task);
+        });
+    }
+
+    /**
+     * This method completes a task. A task that does not repeat is set to Completed
+     * and all its notifications are deleted. A recurring task instead moves on to its next
+     * occurrence that is not in the past and opens again, its preset notifications follow
+     * the new deadline and the ones with a fixed date, which belonged to the completed
+     * occurrence, are deleted. It has to be called while the task is out of the indexes.
+     * @param task The task to complete.
+     */
+    private void completeTask(Task task) {
+
+        if (!task.isRecurring()) {
+            task.setState(TaskStateUtils.COMPLETED);
+            notificationScheduler.unscheduleAll(task);
+            task.getNotifications().clear();
+            return;
+        }
+
+        // Occurrences that were missed while the task was delayed are skipped.
+        LocalDate deadline = LocalDate.parse(task.getDeadline(), FORMATTER);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        task.setDeadline(task.nextOccurrenceAfter(deadline.isAfter(yesterday) ? deadline : yesterday));
+        task.setState(TaskStateUtils.OPEN);
+
+        task.getNotifications().removeIf(notification -> {
+            if (notification.getPreset() != null) {
+                notificationScheduler.schedule(task, notification);
+                return false;
+            }
+            notificationScheduler.unschedule(notification);
+            return true;
+        });
+    }
+
+    /**
+     * This method moves the notifications of a task after its deadline changed. The preset
+     * notifications find their date from the deadline, so they only move in the notification
+     * scheduler. The notifications with a fixed date are checked only when the deadline
+     * moved earlier, as it wouldn't make sense to have notifications after the updated due date,
+     * and those are deleted. Nothing is deleted while the notifications are being iterated.
+     * @param task The task whose deadline changed.
+     * @param previousDeadline The deadline of the task before the change.
+     */
+    private void deadlineChanged(Task task, String previousDeadline) {
+
+        // The deadlines are stored as yyyy-MM-dd, so comparing them as text compares the dates.
+        boolean movedEarlier = task.getDeadline().compareTo(previousDeadline) < 0;
+        String deadline = task.getDeadline();
+
+        task.getNotifications().removeIf(notification -> {
+
+            if (notification.getPreset() != null) {
+                notificationScheduler.schedule(task, notification);
+                return false;
+            }
+            if (!movedEarlier || deadline.compareTo(notification.getNotificationDate()) >= 0) {
+                return false;
+            }
+            notificationScheduler.unschedule(notification);
+            return true;
+        });
+    }
+
+    /**
+     * This method deletes a task from the repository based on its id.
+     * Basically if the id of a task matches the id of the selected task,
+     * the task is deleted from the list and from the deadline index.
+     * @param taskID The id of the to-be-deleted task.
+     */
+    public void delete(int taskID) {
+        write(DELETE_LATENCY, () -> {
+            Task task = tasks.remove(taskID);
+            if (task != null) {
+                unindex(task);
+                notificationScheduler.unscheduleAll(task);
+                listeners.removed(List.of(task));
+                changed(ChangeRecord.Type.REMOVED, task);
+            }
+        });
+    }
+
+    /**
+     * This method sets the state of many tasks at once. As with the update of a single task,
+     * the tasks that are set to Completed are completed through completeTask().
+     * The tasks stay in the repository, so the listeners are told they were updated.
+     * @param selectedTasks The tasks selected for the update.
+     * @param state The new state of the tasks.
+     */
+    public void updateState(Collection<Task> selectedTasks, TaskStateUtils state) {
+        updateAll(selectedTasks, task -> {
+            if (state == TaskStateUtils.COMPLETED) {
+                completeTask(task);
+            }
+            else {
+                task.setState(state);
+            }
+        });
+    }
+
+    /**
+     * This method moves many tasks to a category at once.
+     * @param selectedTasks The tasks selected for the update.
+     * @param categoryId The id of the new category of the tasks.
+     */
+    public void updateCategory(Collection<Task> selectedTasks, int categoryId) {
+        updateAll(selectedTasks, task -> task.setCategoryId(categoryId));
+    }
+
+    /**
+     * This method sets the priority of many tasks at once.
+     * @param selectedTasks The tasks selected for the update.
+     * @param priorityId The id of the new priority of the tasks.
+     */
+    public void updatePriority(Collection<Task> selectedTasks, int priorityId) {
+        updateAll(selectedTasks, task -> task.setPriorityId(priorityId));
+    }
+
+    /**
+     * This method sets the deadline of many tasks at once. As with the update of a single task,
+     * the preset notifications follow the new deadline and the notifications with a fixed date
+     * that would appear after it are deleted.
+     * @param selectedTasks The tasks selected for the update.
+     * @param dueDate The new due date of the tasks.
+     */
+    public void updateDeadline(Collection<Task> selectedTasks, String dueDate) {
+        updateAll(selectedTasks, task -> {
+            String previousDeadline = task.getDeadline();
+            task.setDeadline(dueDate);
+            if (!dueDate.equals(previousDeadline)) {
+                deadlineChanged(task, previousDeadline);
+            }
+        });
+    }
+
+    /**
+     * This method sets the state of the tasks whose deadline passed to Delayed. It is called
+     * when the day changes, and only the tasks whose deadline just passed are found and changed,
+     * through the tasks that can still become delayed sorted by deadline.
+     * The tasks stay in the repository, so the listeners are told they were updated.
+     * @param today The current date.
+     * @return The tasks that became delayed.
+     */
+    public List<Task> markDelayedTasks(LocalDate today) {
+
+        List<Task> delayed = new ArrayList<>();
+
+        write(MARK_DELAYED_LATENCY, () -> {
+            // The deadline index already dropped these tasks.
+            delayed.addAll(deadlineIndex.pollDeadlinesBefore(today.format(FORMATTER)));
+
+            for (Task task : delayed) {
+                task.setState(TaskStateUtils.DELAYED);
+                index(task);
+                changed(ChangeRecord.Type.UPDATED, task);
+            }
+        });
+        return delayed;
+    }
+
+    /**
+     * Returns the number of tasks in a state, kept up to date on every change
+     * so that the summary does not go through all the tasks.
+     * @param state The state to count.
+     * @return The number of tasks in that state.
+     */
+    public int countTasks(TaskStateUtils state) {
+
+        // The count is read without locking, and read again under the lock only if a change happened meanwhile.
+        long stamp = lock.tryOptimisticRead();
+        int count = deadlineIndex.count(state);
+
+        if (!lock.validate(stamp)) {
+            count = read(() -> deadlineIndex.count(state));
+        }
+        return count;
+    }
+
+    /**
+     * Returns the statistics of the tasks, by category, priority and state, with the overdue delayed tasks,
+     * the waiting notifications and the occurrences due in the next 7 days. They are kept up to date on every change,
+     * so taking them costs as much as the number of categories and priorities in use, not of tasks.
+     * @return The statistics of the tasks as of today.
+     */
+    public TaskStatistics statistics() {
+        return read(() -> aggregates.statistics(LocalDate.now()));
+    }
+
+    /**
+     * Runs a change of the tasks while the repository is locked for writing.
+     * @param latency Records how long the change took.
+     * @param change The change to run.
+     */
+    private static void write(LatencyHistogram latency, Runnable change) {
+        write(latency, TASK_CHANGES, change);
+    }
+
+    /**
+     * Runs a change of the repository while it is locked for writing, then tells the
+     * listeners that it is done, outside the lock as they may read the repository. The lock is not reentrant, so a change must not call the
+     * public methods of the repository. The time of the change, from waiting for the lock until the listeners
+     * were told, is recorded in the latency histogram of its operation.
+     * @param latency Records how long the change took.
+     * @param topics The topics the change belongs to.
+     * @param change The change to run.
+     */
+    private static void write(LatencyHistogram latency, Set<ChangeTopic> topics, Runnable change) {
+        long start = System.nanoTime();
+        writeLocked(change);
+        listeners.changed(topics);
+        latency.recordSince(start);
+    }
+
+    /**
+     * Runs a change of the repository while it is locked for writing and publishes the new
+     * snapshot, without telling the listeners that the change is done.
+     * @param change The change to run.
+     */
+    private static void writeLocked(Runnable change) {
+
+        long stamp = lock.writeLock();
+        try {
+            change.run();
+        } finally {
+            // A change that fails halfway still publishes the tasks it already changed.
+            if (versions != latestSnapshot.map()) {
+                latestSnapshot = new TaskSnapshot(latestSnapshot.getVersion() + 1, versions);
+            }
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Records a change of a task, while the repository is locked: a copy of the task replaces
+     * its previous one in the versions of the tasks and in their statistics, the change gets a version in the ChangeFeed,
+     * and the copy is emitted to the change stream,
+     * so the subscribers see the task as it was after the change. The listeners are told here
+     * about the tasks that changed in place, the additions and removals are told by their callers.
+     * @param type The kind of the change.
+     * @param task The changed task.
+     */
+    private static void changed(ChangeRecord.Type type, Task task) {
+
+        // A task that was deleted meanwhile, for example one whose notification window was still open, is not brought back.
+        if (type != ChangeRecord.Type.REMOVED && tasks.get(task.getTaskId()) != task) {
+            return;
+        }
+
+        // The statistics lose the previous version of the task and count the new one.
+        Task previous = versions.get(task.getTaskId());
+        if (previous != null) {
+            aggregates.remove(previous);
+        }
+
+        Task copy = task.copy();
+        if (type == ChangeRecord.Type.REMOVED) {
+            versions = versions.minus(task.getTaskId());
+            ChangeFeed.taskChanged(task.getTaskId(), previous, null);
+        } else {
+            versions = versions.plus(task.getTaskId(), copy);
+            aggregates.add(copy);
+            ChangeFeed.taskChanged(task.getTaskId(), previous, copy);
+        }
+        if (type == ChangeRecord.Type.UPDATED) {
+            listeners.updated(List.of(task));
+        }
+        changeStream.emit(type, copy);
+    }
+
+    /**
+     * Reads the indexes of the repository while it is locked for reading,
+     * many threads can read at the same time. The ChangeFeed also uses it to read
+     * its changes together with the snapshot of the tasks they belong to.
+     * @param reader Reads the indexes.
+     * @param <T> The type of the result.
+     * @return The result of the reader.
+     */
+    static <T> T read(Supplier<T> reader) {
+
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds a task to the deadline index.
+     * @param task The task to add.
+     */
+    private static void index(Task task) {
+        deadlineIndex.add(task);
+    }
+
+    /**
+     * Adds tasks to the deadline index.
+     * @param taskList The tasks to add.
+     */
+    private static void indexAll(List<Task> taskList) {
+        deadlineIndex.addAll(taskList);
+    }
+
+    /**
+     * Removes a task from the deadline index,
+     * it has to be called before the deadline or the state of the task change.
+     * @param task The task to remove.
+     */
+    private static void unindex(Task task) {
+        deadlineIndex.remove(task);
+    }
+
+    /**
+     * Applies a change to many tasks, keeping the deadline index up to date.
+     * @param selectedTasks The tasks to change.
+     * @param change The change to apply to each task.
+     */
+    private void updateAll(Collection<Task> selectedTasks, Consumer<Task> change) {
+        write(UPDATE_MANY_LATENCY, () -> {
+            for (Task task : selectedTasks) {
+                // A task that was deleted meanwhile is not changed.
+                if (tasks.get(task.getTaskId()) != task) {
+                    continue;
+                }
+                unindex(task);
+                change.accept(task);
+                index(task);
+                changed(ChangeRecord.Type.UPDATED, task);
+            }
+        });
+    }
+
+    /**
+     * This method deletes many tasks at once. They are removed from the tasks list
+     * of the tables in a single pass, so the list raises a single change for all of them.
+     * @param selectedTasks The tasks selected for deletion.
+     */
+    public void deleteAll(Collection<Task> selectedTasks) {
+        write(DELETE_MANY_LATENCY, () -> {
+
+            List<Task> deleted = new ArrayList<>();
+            for (Task task : selectedTasks) {
+                if (tasks.remove(task.getTaskId(), task)) {
+                    unindex(task);
+                    notificationScheduler.unscheduleAll(task);
+                    changed(ChangeRecord.Type.REMOVED, task);
+                    deleted.add(task);
+                }
+            }
+            listeners.removed(deleted);
+        });
+    }
+
+    /**
+     * Include a new notification to the task's notification list.
+     * The method is here since it changes the task, and we wanted
+     * changes to happen mainly in the repositories.
+     * @param task The task to which the notification will be added.
+     * @param message The message of the new notification.
+     * @param notificationDate The date of the new notification.
+     */
+    public void addNotification(Task task, String message, String  notificationDate) {
+        write(ADD_NOTIFICATION_LATENCY, NOTIFICATION_CHANGES, () -> {
+            Notification newNotification = new Notification(message, notificationDate);
+            task.addNotification(newNotification);
+            notificationScheduler.schedule(task, newNotification);
+            changed(ChangeRecord.Type.UPDATED, task);
+        });
+    }
+
+    /**
+     * Include a new preset notification to the task's notification list. Its date
+     * is not stored, it is found from the deadline of the task when it is needed.
+     * @param task The task to which the notification will be added.
+     * @param message The message of the new notification.
+     * @param preset How long before the deadline the notification will appear.
+     */
+    public void addNotification(Task task, String message, NotificationPresetUtils preset) {
+        write(ADD_NOTIFICATION_LATENCY, NOTIFICATION_CHANGES, () -> {
+            Notification newNotification = new Notification(message, preset);
+            task.addNotification(newNotification);
+            notificationScheduler.schedule(task, newNotification);
+            changed(ChangeRecord.Type.UPDATED, task);
+        });
+    }
+
+    /**
+     * This method updates a notification. It sets the message and the
+     * date the notification will appear to the user. It finds the notification
+     * from the list of notifications and then properly updates the notification.
+     * @param task The task to which the notification belongs to.
+     * @param selectedNotification The notification the user selected to be updated.
+     * @param message The updated message of the notification.
+     * @param notificationDate The date of the notification.
+     */
+    public void updateNotification(Task task, Notification selectedNotification, String message, String notificationDate){
+
+        write(UPDATE_NOTIFICATION_LATENCY, NOTIFICATION_CHANGES, () -> {
+
+            Optional<Notification> existingNotification = task.getNotifications().stream()
+                    .filter(notification -> notification.getNotificationId() == selectedNotification.getNotificationId())
+                    .findFirst();
+
+            existingNotification.ifPresent(notification -> {
+                selectedNotification.setMessage(message);
+                selectedNotification.setNotificationDate(notificationDate);
+                notificationScheduler.schedule(task, selectedNotification);
+                changed(ChangeRecord.Type.UPDATED, task);
+            });
+        });
+    }
+
+    /**
+     * This method updates a notification and makes it a preset one, it sets the message
+     * and how long before the deadline the notification will appear to the user.
+     * @param task The task to which the notification belongs to.
+     * @param selectedNotification The notification the user selected to be updated.
+     * @param message The updated message of the notification.
+     * @param preset How long before the deadline the notification will appear.
+     */
+    public void updateNotification(Task task, Notification selectedNotification, String message, NotificationPresetUtils preset){
+
+        write(UPDATE_NOTIFICATION_LATENCY, NOTIFICATION_CHANGES, () -> {
+            if (task.getNotifications().contains(selectedNotification)) {
+                selectedNotification.setMessage(message);
+                selectedNotification.setPreset(preset);
+                notificationScheduler.schedule(task, selectedNotification);
+                changed(ChangeRecord.Type.UPDATED, task);
+            }
+        });
+    }
+
+    /**
+     * This method deletes the selected notification from the notifications
+     * list of the task to which it belongs to.
+     * @param task The task to which the notification belongs to.
+     * @param selectedNotification The selected notification to be deleted.
+     */
+    public void deleteNotification(Task task, Notification selectedNotification){
+        write(DELETE_NOTIFICATION_LATENCY, NOTIFICATION_CHANGES, () -> {
+            if (task.getNotifications().remove(selectedNotification)) {
+                notificationScheduler.unschedule(selectedNotification);
+                changed(ChangeRecord.Type.UPDATED, task);
+            }
+        });
+    }
+
+    /**
+     * This method removes all the notifications that are due on a date or before it from their tasks,
+     * so they can be shown once, like the notification display window does when it opens. They are
+     * removed in a single change while the repository is locked, and every changed task is recorded
+     * like any other change, so the snapshot, the statistics, the ChangeFeed and the scheduler all lose them.
+     * @param today The date, the notifications of that date or of earlier dates are due.
+     * @return The removed notifications, along with their tasks.
+     */
+    public List<NotificationWrapper> takeDueNotifications(LocalDate today) {
+
+        List<NotificationWrapper> due = new ArrayList<>();
+        write(TAKE_DUE_NOTIFICATIONS_LATENCY, NOTIFICATION_CHANGES, () -> {
+            for (Task task : tasks.values()) {
+
+                List<Notification> toRemove = new ArrayList<>();
+                for (Notification notification : task.getNotifications()) {
+                    if (!LocalDate.parse(notification.getNotificationDate(), FORMATTER).isAfter(today)) {
+                        toRemove.add(notification);
+                    }
+                }
+                if (toRemove.isEmpty()) {
+                    continue;
+                }
+
+                for (Notification notification : toRemove) {
+                    due.add(new NotificationWrapper(notification, task));
+                    notificationScheduler.unschedule(notification);
+                }
+                task.getNotifications().removeAll(toRemove);
+                changed(ChangeRecord.Type.UPDATED, task);
+            }
+        });
+        return due;
+    }
+
+    /**
+     * This method filters tasks based on the search inputs of the user
+     * and returns a list of the remaining tasks. in the case that there
+     * is no input for the name and "Any" is selected for category and priority,
+     * all tasks appear and no tasks are filtered. For the name specifically
+     * it doesn't have to match perfectly, but it could be contained in the task name.
+     * @param name The name the user wants to search for.
+     * @param categoryId The id of the category that was selected. -2 represents "Any".
+     * @param priorityId The id of the priority that was selected. -2 represents "Any".
+     * The search filters the latest snapshot, so it neither locks nor copies the repository and can run on
+     * a background thread. The tasks found are the copies of the snapshot, in no particular order.
+     * @return The filtered tasks that match the search requirements of the user.
+     */
+    public List<Task> searchTasks(String name, int categoryId, int priorityId) {
+        long start = System.nanoTime();
+        TaskFilter filter = new TaskFilter(name, categoryId, priorityId);
+        List<Task> found = new ArrayList<>();
+        currentSnapshot().forEach(task -> {
+            if (filter.test(task)) {
+                found.add(task);
+            }
+        });
+        SEARCH_LATENCY.recordSince(start);
+        return found;
+    }
+
+    /**
+     * This method is utilised when a priority is deleted. It goes to all
+     * tasks which had the priority level that was deleted and changes their
+     * priority to "Default" with an id of -1.
+     * @param priorityId The id of the recently deleted priority.
+     */
+    public void ChangeTaskPriority(int priorityId) {
+        write(UPDATE_MANY_LATENCY, () -> {
+            for (Task task : tasks.values()) {
+                if (task.getPriorityId() == priorityId) {
+                    unindex(task);
+                    task.setPriorityId(-1);
+                    index(task);
+                    changed(ChangeRecord.Type.UPDATED, task);
+                }
+            }
+        });
+    }
+
+    /**
+     * This method handles the deletion of a category. When a category
+     * is deleted, all the tasks which belong to said category need to
+     * be deleted as well. This cannot happen for uncategorized tasks
+     * as uncategorized cannot be deleted.
+     * @param categoryID The id of the recently deleted category.
+     */
+    public void deleteTasksByCategory(int categoryID) {
+        write(DELETE_MANY_LATENCY, () -> {
+
+            List<Task> deleted = new ArrayList<>();
+            for (Task task : tasks.values()) {
+                if (task.getCategoryId() == categoryID) {
+                    deleted.add(task);
+                }
+            }
+
+            for (Task task : deleted) {
+                tasks.remove(task.getTaskId());
+                unindex(task);
+                notificationScheduler.unscheduleAll(task);
+                changed(ChangeRecord.Type.REMOVED, task);
+            }
+            listeners.removed(deleted);
+        });
+    }
+
+    /**
+     * This method checks whether at least one delayed task exists
+     * in the tasks list. This is used when the application initiates
+     * and checks whether the delayedTasksPopUpWindow will be required
+     * or not.
+     * @return True if there is at least 1 delayed task, False otherwise.
+     */
+    public boolean hasDelayedTasks() {
+        return countTasks(TaskStateUtils.DELAYED) > 0;
+    }
+
+    /**
+     * This method checks whether at least one delayed task exists
+     * in the given tasks, used on every batch while the tasks are loading.
+     * @param taskList The tasks to check.
+     * @return True if there is at least 1 delayed task, False otherwise.
+     */
+    public static boolean hasDelayedTasks(List<Task> taskList) {
+        for (Task task : taskList) {
+            if (task.getState() == TaskStateUtils.DELAYED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method shows whether any task has any application
+     * to be shown to the user or not. If there is at least one
+     * notification with a date before or same with the current date
+     * when the application opens, it returns true, otherwise false.
+     * @return True if at least one notification needs to be shown to the user, False otherwise.
+     */
+    public boolean hasNotifications(){
+        return hasNotifications(snapshot());
+    }
+
+    /**
+     * This method shows whether any of the given tasks has a notification
+     * to be shown to the user, used on every batch while the tasks are loading.
+     * @param taskList The tasks to check.
+     * @return True if at least one notification needs to be shown to the user, False otherwise.
+     */
+    public static boolean hasNotifications(List<Task> taskList){
+
+        LocalDate now = LocalDate.now();
+
+        for (Task task : taskList) {
+            for (Notification notification : task.getNotifications()){
+
+                LocalDate notificationDate = LocalDate.parse(notification.getNotificationDate(), FORMATTER);
+
+                if (notificationDate.isBefore(now) || notificationDate.isEqual(now)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method loads all the notifications that exist in the application
+     * into a NotificationWrapper list which is used for the user to have
+     * an overview of the notification on the first page. It is needed
+     * mainly so that the user has the necessary information about the task
+     * along with the information of the notification itself.
+     * @return A list of all notifications along with the task they belong to.
+     */
+    public List<NotificationWrapper> loadNotifications() {
+        return loadNotifications(snapshot());
+    }
+
+    /**
+     * This method loads the notifications of the given tasks into a
+     * NotificationWrapper list, used on every batch while the tasks are loading.
+     * @param taskList The tasks whose notifications are needed.
+     * @return A list of the notifications along with the task they belong to.
+     */
+    public static List<NotificationWrapper> loadNotifications(List<Task> taskList) {
+
+        List<NotificationWrapper> notificationWrappers = new ArrayList<>();
+
+        for (Task task : taskList) {
+            for (Notification notification : task.getNotifications()) {
+                notificationWrappers.add(new NotificationWrapper(notification, task));
+            }
+        }
+        return notificationWrappers;
+    }
+
+    /**
+     * Returns the scheduler that raises the notifications while the application is running.
+     * The repository keeps it up to date whenever a notification is added, updated or deleted.
+     * @return The notification scheduler.
+     */
+    public NotificationScheduler getNotificationScheduler() {
+        return notificationScheduler;
+    }
+
+    /**
+     * Returns the stream of the changes of the tasks, including the changes of their notifications,
+     * which are emitted as updates of the task. The tasks of the changes are copies taken at the change. Subscribers receive the changes on background threads,
+     * and a slow subscriber never delays a change of the repository. Loading the tasks through
+     * loadTasks() replaces them all without emitting anything, so a subscriber that mirrors the tasks
+     * should read them again through snapshot() afterwards.
+     * @return The change stream of the tasks.
+     */
+    public ChangeStream<Task> changes() {
+        return changeStream;
+    }
+
+    /**
+     * Returns a consistent view of all the tasks at the latest version of the repository.
+     * It takes the same short time no matter how many tasks there are, never waits for
+     * a change, and can be used from any thread for as long as needed.
+     * @return The latest snapshot of the tasks.
+     */
+    public TaskSnapshot currentSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * Adds a listener of the tasks, it learns about every change made from now on,
+     * for example the JavaFX lists of the user interface.
+     * @param listener The listener to add.
+     */
+    public void addListener(RepositoryListener<Task> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the tasks.
+     * @param listener The listener to remove.
+     */
+    public void removeListener(RepositoryListener<Task> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns a copy of all the tasks in the repository, sorted by id. It does
+     * not lock the repository, so it can be used from any thread.
+     * @return A new list of all tasks in the repository.
+     */
+    public List<Task> snapshot() {
+        List<Task> snapshot = new ArrayList<>(tasks.values());
+        snapshot.sort(Comparator.comparingInt(Task::getTaskId));
+        return snapshot;
+    }
+
+    /**
+     * Checks whether a task is still in the repository, for example for the
+     * windows that show a task which may have been deleted meanwhile.
+     * @param task The task to check.
+     * @return True if the task is in the repository, False otherwise.
+     */
+    public boolean contains(Task task) {
+        return tasks.get(task.getTaskId()) == task;
+    }
+
+    /**
+     * Returns the number of tasks in the repository, from any thread.
+     * @return The number of tasks.
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Calls the writeTaskListToFile method from TaskJsonUtils. It is used only
+     * when the MediaLabAssistant window is closed, as we want to save to
+     * JSON files only when the whole application terminates. The tasks are saved
+     * from the current snapshot, so no change is half-saved and no change waits for the save.
+     * The ChangeFeed is saved along with them, also for the changes of the categories and priorities,
+     * which are saved just before the tasks.
+     */
+    public void saveAll() {
+        System.out.println("Saving all tasks");
+        long start = System.nanoTime();
+        try {
+            TaskJsonUtils.writeTaskListToFile(TASK_FILE, currentSnapshot().tasks());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        // The versions of the changes are saved with the items they belong to.
+        ChangeFeed.save();
+        FILE_SAVE_LATENCY.recordSince(start);
+    }
+}
@@ -0,0 +1,85 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.taskmanager.taskmanager.model.Task;
+
+/**
+ * This class is a consistent view of all the tasks at one version of the TaskRepository,
+ * for saving, exporting and searching while the tasks keep changing. The repository keeps
+ * a copy of every task as it was after its latest change in an immutable map, and each change
+ * of the repository makes a new version of the map that shares almost all of it with the previous one.
+ * Taking a snapshot only reads the latest version, so it takes the same time no matter how many tasks
+ * there are, never waits for a change, and is never affected by the changes made after it.
+ * The tasks of a snapshot are copies, so changing them does not change the repository,
+ * and they must not be changed as other snapshots may share them.
+ */
+public final class TaskSnapshot {
+
+    private final long version;
+    private final PersistentIntMap<Task> tasks;
+
+    /**
+     * Constructor of a snapshot, only created by the TaskRepository.
+     * @param version The version of the repository.
+     * @param tasks The copies of the tasks at that version, by id.
+     */
+    TaskSnapshot(long version, PersistentIntMap<Task> tasks) {
+        this.version = version;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Returns the version of the repository the snapshot shows, every change of the repository
+     * makes a new version, so two snapshots with the same version have the same tasks.
+     * @return The version, 0 before the tasks are loaded.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of tasks in the snapshot.
+     * @return The number of tasks.
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns a task of the snapshot by its id.
+     * @param taskId The id of the task.
+     * @return The copy of the task, or null if the task did not exist at this version.
+     */
+    public Task get(int taskId) {
+        return tasks.get(taskId);
+    }
+
+    /**
+     * Runs an action for every task of the snapshot, in no particular order, without copying them to a list.
+     * @param action The action to run.
+     */
+    public void forEach(Consumer<Task> action) {
+        tasks.forEachValue(action);
+    }
+
+    /**
+     * Returns the tasks of the snapshot in a new list, sorted by id as in the JSON tasks file.
+     * @return The copies of the tasks.
+     */
+    public List<Task> tasks() {
+        List<Task> list = tasks.values();
+        list.sort(Comparator.comparingInt(Task::getTaskId));
+        return list;
+    }
+
+    /**
+     * Returns the map of the tasks, used by the repository to make the next version.
+     * @return The copies of the tasks by id.
+     */
+    PersistentIntMap<Task> map() {
+        return tasks;
+    }
+}
@@ -0,0 +1,185 @@
+package org.taskmanager.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class holds the statistics of the tasks at one moment, as the repository keeps them up to date on every change:
+ * the number of tasks of each state for every category and priority, how long the delayed tasks are overdue,
+ * how many notifications are waiting and how many occurrences are due in the next 7 days.
+ * It is never changed, so it can be read on any thread, and taking it costs as much as the number of groups, not of tasks.
+ */
+public final class TaskStatistics {
+
+    private final LocalDate date;
+    private final List<Group> groups;
+    private final int[] stateTotals;
+    private final Map<String, Integer> overdueAges;
+    private final int notificationsDue;
+    private final int notificationsNextSevenDays;
+    private final int notificationsLater;
+    private final int dueInSevenDays;
+
+    /**
+     * Constructor of the TaskStatistics, used by the repository.
+     * @param date The day the statistics were taken, the ages and the notifications are counted from it.
+     * @param groups The groups of tasks by category and priority.
+     * @param stateTotals The number of tasks of each state, by the ordinal of the state.
+     * @param overdueAges The number of delayed tasks for each range of days they are overdue, in order.
+     * @param notificationsDue The number of notifications whose date has come.
+     * @param notificationsNextSevenDays The number of notifications in the next 7 days.
+     * @param notificationsLater The number of notifications after the next 7 days.
+     * @param dueInSevenDays The number of occurrences of tasks due in the next 7 days.
+     */
+    TaskStatistics(LocalDate date, List<Group> groups, int[] stateTotals, Map<String, Integer> overdueAges,
+                   int notificationsDue, int notificationsNextSevenDays, int notificationsLater, int dueInSevenDays) {
+        this.date = date;
+        this.groups = Collections.unmodifiableList(groups);
+        this.stateTotals = stateTotals;
+        this.overdueAges = Collections.unmodifiableMap(overdueAges);
+        this.notificationsDue = notificationsDue;
+        this.notificationsNextSevenDays = notificationsNextSevenDays;
+        this.notificationsLater = notificationsLater;
+        this.dueInSevenDays = dueInSevenDays;
+    }
+
+    /**
+     * Getter of the date.
+     * @return The day the statistics were taken.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Getter of the groups.
+     * @return The groups of tasks by category and priority, only those that have tasks, in no particular order.
+     */
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Returns the number of tasks of a state.
+     * @param state The state.
+     * @return The number of tasks of the state.
+     */
+    public int getTotal(TaskStateUtils state) {
+        return stateTotals[state.ordinal()];
+    }
+
+    /**
+     * Returns the number of tasks.
+     * @return The number of tasks of all states.
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int count : stateTotals) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Getter of the overdue ages.
+     * @return The number of delayed tasks for each range of days they are overdue, from the shortest to the longest.
+     */
+    public Map<String, Integer> getOverdueAges() {
+        return overdueAges;
+    }
+
+    /**
+     * Getter of the notifications that are due.
+     * @return The number of notifications whose date is today or has passed.
+     */
+    public int getNotificationsDue() {
+        return notificationsDue;
+    }
+
+    /**
+     * Getter of the notifications of the next 7 days.
+     * @return The number of notifications from tomorrow up to 7 days from today.
+     */
+    public int getNotificationsNextSevenDays() {
+        return notificationsNextSevenDays;
+    }
+
+    /**
+     * Getter of the later notifications.
+     * @return The number of notifications after the next 7 days.
+     */
+    public int getNotificationsLater() {
+        return notificationsLater;
+    }
+
+    /**
+     * Getter of the occurrences due in the next 7 days.
+     * @return The number of occurrences due from today up to 7 days from today, counted as the summary of the main window counts them.
+     */
+    public int getDueInSevenDays() {
+        return dueInSevenDays;
+    }
+
+    /**
+     * The tasks of a category and a priority, counted by their state.
+     */
+    public static final class Group {
+
+        private final int categoryId;
+        private final int priorityId;
+        private final int[] counts;
+
+        /**
+         * Constructor of the Group.
+         * @param categoryId The id of the category.
+         * @param priorityId The id of the priority.
+         * @param counts The number of tasks of each state, by the ordinal of the state.
+         */
+        Group(int categoryId, int priorityId, int[] counts) {
+            this.categoryId = categoryId;
+            this.priorityId = priorityId;
+            this.counts = counts;
+        }
+
+        /**
+         * Getter of the category id.
+         * @return The id of the category.
+         */
+        public int getCategoryId() {
+            return categoryId;
+        }
+
+        /**
+         * Getter of the priority id.
+         * @return The id of the priority.
+         */
+        public int getPriorityId() {
+            return priorityId;
+        }
+
+        /**
+         * Returns the number of tasks of a state in the group.
+         * @param state The state.
+         * @return The number of tasks.
+         */
+        public int getCount(TaskStateUtils state) {
+            return counts[state.ordinal()];
+        }
+
+        /**
+         * Returns the number of tasks in the group.
+         * @return The number of tasks of all states.
+         */
+        public int getTotal() {
+            int total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,823 @@
+package org.taskmanager.taskmanager.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.taskmanager.taskmanager.exporter.ChangeFeedExporter;
+import org.taskmanager.taskmanager.exporter.TaskExporter;
+import org.taskmanager.taskmanager.metrics.Metrics;
+import org.taskmanager.taskmanager.metrics.MetricsExporter;
+import org.taskmanager.taskmanager.model.Category;
+import org.taskmanager.taskmanager.model.Notification;
+import org.taskmanager.taskmanager.model.Priority;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.repository.CategoryRepository;
+import org.taskmanager.taskmanager.repository.ChangeFeed;
+import org.taskmanager.taskmanager.repository.ChangeTopic;
+import org.taskmanager.taskmanager.repository.PriorityRepository;
+import org.taskmanager.taskmanager.repository.RepositoryListener;
+import org.taskmanager.taskmanager.repository.TaskRepository;
+import org.taskmanager.taskmanager.repository.TaskSnapshot;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class is a small HTTP server that gives the other tools on the same computer a JSON API
+ * over the repositories. It is built on the HTTP server of the JDK and only listens on the loopback
+ * address. It can run inside the application, next to the user interface, or on its own through main.
+ * The tasks are read from the latest TaskSnapshot, so a request sees a consistent view of them, never
+ * locks the repository and never slows down the user interface, while new and deleted tasks go through
+ * the repository like the changes of the windows, which then follow them through their listeners.
+ * Every request runs on a thread of its own, a virtual thread where the JDK has them.
+ * The API has 8 endpoints:
+ * GET /api/tasks, with the filters state, category, priority, match, dueBefore and dueAfter, and offset and limit for paging.
+ * GET /api/tasks/{id}, POST /api/tasks with a JSON task, and DELETE /api/tasks/{id}.
+ * GET /api/categories and GET /api/priorities.
+ * GET /api/notifications, with the filters taskId and dueBefore, and paging.
+ * GET /api/export, with the filters of /api/tasks and format csv or jsonl, which streams all the matching tasks.
+ * GET /api/changes, with since, the version the caller synced to, which streams the changes after it as JSON Lines.
+ */
+public class MediaLabServer {
+
+    private static final int DEFAULT_PORT = 8085;
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+
+    // How long the standalone server waits after a change before it saves the tasks.
+    private static final int AUTOSAVE_DELAY_SECONDS = 2;
+
+    /*
+        The HTTP server of the JDK writes the headers and the body of a response separately, so with
+        Nagle's algorithm on, every response on a kept alive connection waits about 40 ms for the
+        delayed acknowledgement of the client. The setting is read once, when the first server is created.
+    */
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Constructor of the MediaLabServer, it does not listen until it is started.
+     * @param taskRepository The task repository, shared with the user interface if there is one.
+     * @param categoryRepository The category repository.
+     * @param priorityRepository The priority repository.
+     */
+    public MediaLabServer(TaskRepository taskRepository, CategoryRepository categoryRepository, PriorityRepository priorityRepository) {
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.priorityRepository = priorityRepository;
+    }
+
+    /**
+     * Loads the repositories from the medialab folder and serves them until the process is stopped.
+     * The tasks are saved a few seconds after every change, several changes close together are saved once,
+     * and again when the process is stopped, so a crash loses at most the last few seconds. The metrics are registered with JMX and exported as the medialab.metrics
+     * system properties ask, see MetricsExporter. It has to run from the folder that holds the medialab folder:
+     * java ... org.taskmanager.taskmanager.server.MediaLabServer [port]
+     * @param args The port, 8085 by default.
+     * @throws IOException If the server cannot listen on the port.
+     */
+    public static void main(String[] args) throws IOException {
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+
+        TaskRepository taskRepository = new TaskRepository();
+        CategoryRepository categoryRepository = new CategoryRepository();
+        PriorityRepository priorityRepository = new PriorityRepository();
+        categoryRepository.load();
+        priorityRepository.load();
+        taskRepository.loadTasks();
+
+        MediaLabServer server = new MediaLabServer(taskRepository, categoryRepository, priorityRepository);
+        server.start(port);
+
+        Metrics.registerMBeans();
+        MetricsExporter metricsExporter = MetricsExporter.fromSystemProperties();
+
+        ScheduledExecutorService autosave = scheduleAutosave(taskRepository);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+
+            // A save that already started finishes first, the one waiting is replaced by the last save.
+            autosave.shutdownNow();
+            try {
+                autosave.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            taskRepository.saveAll();
+            if (metricsExporter != null) {
+                metricsExporter.stop();
+            }
+        }, "medialab-server-shutdown"));
+    }
+
+    /**
+     * Saves the tasks a few seconds after they change, for the standalone server which has no window
+     * to save them on close. The first change schedules the save and the changes until it runs are saved with it.
+     * @param taskRepository The task repository to save.
+     * @return The executor that runs the saves, to be shut down before the last save.
+     */
+    private static ScheduledExecutorService scheduleAutosave(TaskRepository taskRepository) {
+
+        ScheduledExecutorService autosave = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "medialab-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicBoolean saveScheduled = new AtomicBoolean(false);
+
+        taskRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void changed(Set<ChangeTopic> topics) {
+                if (saveScheduled.compareAndSet(false, true)) {
+                    autosave.schedule(() -> {
+                        // Cleared before the save, so a change during the save schedules the next one.
+                        saveScheduled.set(false);
+                        taskRepository.saveAll();
+                    }, AUTOSAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+                }
+            }
+        });
+        return autosave;
+    }
+
+    /**
+     * Starts listening on a port of the loopback address.
+     * @param port The port, 0 for any free port.
+     * @throws IOException If the server cannot listen on the port.
+     */
+    public synchronized void start(int port) throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/api/tasks", this::handleTasks);
+        server.createContext("/api/categories", exchange -> handle(exchange, "GET", () -> categories()));
+        server.createContext("/api/priorities", exchange -> handle(exchange, "GET", () -> priorities()));
+        server.createContext("/api/export", this::handleExport);
+        server.createContext("/api/changes", this::handleChanges);
+        server.createContext("/api/notifications", exchange -> handle(exchange, "GET", () -> notifications(query(exchange))));
+
+        executor = newThreadPerRequestExecutor();
+        server.setExecutor(executor);
+        server.start();
+        System.out.println("MediaLab API listening on http://localhost:" + getPort() + "/api");
+    }
+
+    /**
+     * Stops the server, the requests that are running are given a second to finish.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    /**
+     * Returns the port the server listens on, useful when it was started on any free port.
+     * @return The port.
+     */
+    public synchronized int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Creates the executor of the requests, which runs each request on a new thread. Virtual threads
+     * are used where the JDK has them, found at runtime since the application is built for Java 11,
+     * otherwise daemon platform threads, which are reused while they are idle.
+     * @return The executor.
+     */
+    private static ExecutorService newThreadPerRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "medialab-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Handles the requests for the tasks, the list, a single task, a new task or a deleted one.
+     * @param exchange The request and its response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handleTasks(HttpExchange exchange) throws IOException {
+
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+
+        // The path is either /api/tasks or /api/tasks/{id}.
+        String rest = path.substring("/api/tasks".length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            if (method.equals("POST")) {
+                handle(exchange, "POST", () -> addTask(exchange));
+            } else {
+                handle(exchange, "GET", () -> tasks(query(exchange)));
+            }
+            return;
+        }
+
+        int taskId;
+        try {
+            taskId = Integer.parseInt(rest.substring(1));
+        } catch (NumberFormatException e) {
+            send(exchange, 404, error("Not found: " + path));
+            return;
+        }
+
+        if (method.equals("DELETE")) {
+            handle(exchange, "DELETE", () -> deleteTask(taskId));
+        } else {
+            handle(exchange, "GET", () -> task(taskId));
+        }
+    }
+
+    /**
+     * Runs a request and sends its response, or the error it failed with.
+     * @param exchange The request and its response.
+     * @param method The method the endpoint accepts.
+     * @param endpoint Produces the response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handle(HttpExchange exchange, String method, Endpoint endpoint) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals(method)) {
+                exchange.getResponseHeaders().set("Allow", method);
+                send(exchange, 405, error("Method not allowed: " + exchange.getRequestMethod()));
+                return;
+            }
+            Response response = endpoint.call();
+            send(exchange, response.status, response.body);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            send(exchange, 500, error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Lists the tasks of the latest snapshot that match the filters, sorted by id, one page at a time.
+     * @param query The parameters of the request.
+     * @return The page of tasks, along with the number of matching tasks and the version of the snapshot.
+     */
+    private Response tasks(Map<String, String> query) {
+
+        Predicate<Task> filter = filter(query);
+
+        TaskSnapshot snapshot = taskRepository.currentSnapshot();
+        List<Task> matching = new ArrayList<>();
+        snapshot.forEach(task -> {
+            if (filter.test(task)) {
+                matching.add(task);
+            }
+        });
+        matching.sort(Comparator.comparingInt(Task::getTaskId));
+
+        ObjectNode page = page(query, matching.size());
+        page.put("version", snapshot.getVersion());
+        ArrayNode items = page.putArray("items");
+        for (Task task : slice(matching, page)) {
+            items.add(taskNode(task));
+        }
+        return new Response(200, page);
+    }
+
+    /**
+     * Builds the filter of the tasks from the parameters of a request, all the given conditions have to match.
+     * @param query The parameters of the request, state, category, priority, match, dueBefore and dueAfter.
+     * @return The filter.
+     */
+    private Predicate<Task> filter(Map<String, String> query) {
+
+        Predicate<Task> filter = task -> true;
+        if (query.containsKey("state")) {
+            TaskStateUtils state = state(query.get("state"));
+            filter = filter.and(task -> task.getState() == state);
+        }
+        if (query.containsKey("category")) {
+            int categoryId = categoryId(query.get("category"));
+            filter = filter.and(task -> task.getCategoryId() == categoryId);
+        }
+        if (query.containsKey("priority")) {
+            int priorityId = priorityId(query.get("priority"));
+            filter = filter.and(task -> task.getPriorityId() == priorityId);
+        }
+        if (query.containsKey("match")) {
+            String match = query.get("match").toLowerCase();
+            filter = filter.and(task -> task.getName().toLowerCase().contains(match));
+        }
+        // The deadlines are stored as yyyy-MM-dd, so comparing them as text compares the dates.
+        if (query.containsKey("dueBefore")) {
+            String date = date(query.get("dueBefore"));
+            filter = filter.and(task -> task.getDeadline().compareTo(date) <= 0);
+        }
+        if (query.containsKey("dueAfter")) {
+            String date = date(query.get("dueAfter"));
+            filter = filter.and(task -> task.getDeadline().compareTo(date) >= 0);
+        }
+        return filter;
+    }
+
+    /**
+     * Streams the tasks of the latest snapshot that match the filters of /api/tasks as CSV or JSON Lines,
+     * chosen by the format parameter, through the TaskExporter. The response is sent in chunks as the tasks
+     * are written, so its size is not known in advance and the server does not hold it in memory.
+     * @param exchange The request and its response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handleExport(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, error("Method not allowed: " + exchange.getRequestMethod()));
+                return;
+            }
+
+            Map<String, String> query = query(exchange);
+            TaskExporter.Format format;
+            String formatName = query.getOrDefault("format", "jsonl");
+            if (formatName.equals("csv")) {
+                format = TaskExporter.Format.CSV;
+                exchange.getResponseHeaders().set("Content-Type", "text/csv; charset=utf-8");
+            } else if (formatName.equals("jsonl")) {
+                format = TaskExporter.Format.JSON_LINES;
+                exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+            } else {
+                send(exchange, 400, error("Unknown export format: " + formatName + ", expected csv or jsonl"));
+                return;
+            }
+
+            Predicate<Task> filter;
+            try {
+                filter = filter(query);
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(e.getMessage()));
+                return;
+            }
+
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream output = exchange.getResponseBody()) {
+                new TaskExporter(taskRepository, categoryRepository, priorityRepository).export(Channels.newChannel(output), format, filter);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Streams the changes of the ChangeFeed after the version given by the since parameter, or all the items
+     * without it, as JSON Lines through the ChangeFeedExporter. The last line has the version to sync from next time.
+     * @param exchange The request and its response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handleChanges(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, error("Method not allowed: " + exchange.getRequestMethod()));
+                return;
+            }
+
+            long since;
+            try {
+                since = Long.parseLong(query(exchange).getOrDefault("since", "0"));
+            } catch (NumberFormatException e) {
+                send(exchange, 400, error("Not a version: since=" + query(exchange).get("since")));
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream output = exchange.getResponseBody()) {
+                new ChangeFeedExporter(changeFeed).export(Channels.newChannel(output), since);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Returns a single task of the latest snapshot.
+     * @param taskId The id of the task.
+     * @return The task, or an error if it does not exist.
+     */
+    private Response task(int taskId) {
+        Task task = taskRepository.currentSnapshot().get(taskId);
+        return task == null ? new Response(404, error("No task with id " + taskId)) : new Response(200, taskNode(task));
+    }
+
+    /**
+     * Adds a task from the JSON body of the request, which needs the name and the deadline
+     * and may have the description, category, priority, state and recurrence, by name.
+     * @param exchange The request.
+     * @return The new task.
+     * @throws IOException If the body cannot be read.
+     */
+    private Response addTask(HttpExchange exchange) throws IOException {
+
+        JsonNode body;
+        try (InputStream input = exchange.getRequestBody()) {
+            body = objectMapper.readTree(input);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The body is not valid JSON");
+        }
+        if (body == null || !body.isObject()) {
+            throw new IllegalArgumentException("The body must be a JSON object");
+        }
+
+        String name = text(body, "name");
+        String deadline = text(body, "deadline");
+        if (name == null || name.isBlank() || deadline == null) {
+            throw new IllegalArgumentException("A task needs a name and a deadline");
+        }
+
+        Task task = taskRepository.add(name,
+                text(body, "description") != null ? text(body, "description") : "",
+                date(deadline),
+                text(body, "category") != null ? categoryId(text(body, "category")) : -1,
+                text(body, "priority") != null ? priorityId(text(body, "priority")) : -1,
+                text(body, "state") != null ? state(text(body, "state")) : TaskStateUtils.OPEN,
+                text(body, "recurrence") != null ? recurrence(text(body, "recurrence")) : RecurrenceUtils.NONE);
+
+        return new Response(201, taskNode(taskRepository.currentSnapshot().get(task.getTaskId())));
+    }
+
+    /**
+     * Deletes a task.
+     * @param taskId The id of the task.
+     * @return No content, or an error if the task does not exist.
+     */
+    private Response deleteTask(int taskId) {
+        if (taskRepository.currentSnapshot().get(taskId) == null) {
+            return new Response(404, error("No task with id " + taskId));
+        }
+        taskRepository.delete(taskId);
+        return new Response(204, null);
+    }
+
+    /**
+     * Lists the categories.
+     * @return The categories, sorted by id.
+     */
+    private Response categories() {
+        ArrayNode items = objectMapper.createArrayNode();
+        for (Category category : categoryRepository.snapshot()) {
+            items.addObject().put("id", category.getCategoryId()).put("name", category.getName());
+        }
+        return new Response(200, items);
+    }
+
+    /**
+     * Lists the priorities.
+     * @return The priorities, sorted by id.
+     */
+    private Response priorities() {
+        ArrayNode items = objectMapper.createArrayNode();
+        for (Priority priority : priorityRepository.snapshot()) {
+            items.addObject().put("id", priority.getPriorityId()).put("level", priority.getLevel());
+        }
+        return new Response(200, items);
+    }
+
+    /**
+     * Lists the notifications of the latest snapshot that match the filters, sorted by date, one page at a time.
+     * @param query The parameters of the request.
+     * @return The page of notifications, each with the id and name of its task.
+     */
+    private Response notifications(Map<String, String> query) {
+
+        Integer taskId = null;
+        if (query.containsKey("taskId")) {
+            try {
+                taskId = Integer.parseInt(query.get("taskId"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a task id: " + query.get("taskId"));
+            }
+        }
+        String dueBefore = query.containsKey("dueBefore") ? date(query.get("dueBefore")) : null;
+
+        List<Notification> matching = new ArrayList<>();
+        Map<Notification, Task> taskOf = new HashMap<>();
+        Integer finalTaskId = taskId;
+        taskRepository.currentSnapshot().forEach(task -> {
+            if (finalTaskId != null && task.getTaskId() != finalTaskId) {
+                return;
+            }
+            for (Notification notification : task.getNotifications()) {
+                if (dueBefore == null || notification.getNotificationDate().compareTo(dueBefore) <= 0) {
+                    matching.add(notification);
+                    taskOf.put(notification, task);
+                }
+            }
+        });
+        matching.sort(Comparator.comparing(Notification::getNotificationDate).thenComparingInt(Notification::getNotificationId));
+
+        ObjectNode page = page(query, matching.size());
+        ArrayNode items = page.putArray("items");
+        for (Notification notification : slice(matching, page)) {
+            Task task = taskOf.get(notification);
+            items.add(notificationNode(notification).put("taskId", task.getTaskId()).put("taskName", task.getName()));
+        }
+        return new Response(200, page);
+    }
+
+    /**
+     * Creates the node of a page, with the offset and limit of the request and the total number of items.
+     * @param query The parameters of the request.
+     * @param total The number of matching items.
+     * @return The page, without its items.
+     */
+    private ObjectNode page(Map<String, String> query, int total) {
+        int offset = number(query, "offset", 0);
+        int limit = Math.min(number(query, "limit", DEFAULT_LIMIT), MAX_LIMIT);
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("The offset and the limit cannot be negative");
+        }
+        return objectMapper.createObjectNode().put("total", total).put("offset", offset).put("limit", limit);
+    }
+
+    /**
+     * Returns the items of a page.
+     * @param items All the matching items.
+     * @param page The page, with its offset and limit.
+     * @param <T> The type of the items.
+     * @return The items of the page.
+     */
+    private static <T> List<T> slice(List<T> items, ObjectNode page) {
+        int from = Math.min(page.get("offset").asInt(), items.size());
+        int to = Math.min(from + page.get("limit").asInt(), items.size());
+        return items.subList(from, to);
+    }
+
+    /**
+     * Creates the JSON of a task, with the names of its category and priority and its notifications.
+     * @param task The task.
+     * @return The JSON of the task.
+     */
+    private ObjectNode taskNode(Task task) {
+
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", task.getTaskId());
+        node.put("name", task.getName());
+        node.put("description", task.getDescription());
+        node.put("deadline", task.getDeadline());
+        node.put("categoryId", task.getCategoryId());
+        node.put("category", categoryRepository.getCategoryMapReverse().get(task.getCategoryId()));
+        node.put("priorityId", task.getPriorityId());
+        node.put("priority", priorityRepository.getPriorityMapReverse().get(task.getPriorityId()));
+        node.put("state", task.getState().toString());
+        node.put("recurrence", task.getRecurrence().toString());
+
+        ArrayNode notifications = node.putArray("notifications");
+        for (Notification notification : task.getNotifications()) {
+            notifications.add(notificationNode(notification));
+        }
+        return node;
+    }
+
+    /**
+     * Creates the JSON of a notification.
+     * @param notification The notification.
+     * @return The JSON of the notification.
+     */
+    private ObjectNode notificationNode(Notification notification) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", notification.getNotificationId());
+        node.put("message", notification.getMessage());
+        node.put("date", notification.getNotificationDate());
+        if (notification.getPreset() != null) {
+            node.put("preset", notification.getPreset().toString());
+        }
+        return node;
+    }
+
+    /**
+     * Creates the JSON of an error.
+     * @param message The message of the error.
+     * @return The JSON of the error.
+     */
+    private ObjectNode error(String message) {
+        return objectMapper.createObjectNode().put("error", message);
+    }
+
+    /**
+     * Sends a response with a JSON body.
+     * @param exchange The request and its response.
+     * @param status The status code.
+     * @param body The body, null for no body.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Reads the parameters of the query string of a request.
+     * @param exchange The request.
+     * @return The parameters by name, the last value of a parameter given more than once.
+     */
+    private static Map<String, String> query(HttpExchange exchange) {
+
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            parameters.put(name, value);
+        }
+        return parameters;
+    }
+
+    /**
+     * Reads a number parameter.
+     * @param query The parameters of the request.
+     * @param name The name of the parameter.
+     * @param defaultValue The value if the parameter is not given.
+     * @return The number.
+     */
+    private static int number(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + name + "=" + value);
+        }
+    }
+
+    /**
+     * Reads a text field of a JSON object.
+     * @param node The object.
+     * @param field The name of the field.
+     * @return The text, or null if the field is missing or null.
+     */
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Checks that a date is in the yyyy-MM-dd format.
+     * @param text The date.
+     * @return The same date.
+     */
+    private static String date(String text) {
+        try {
+            return LocalDate.parse(text).toString();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a yyyy-MM-dd date: " + text);
+        }
+    }
+
+    /**
+     * Finds a state by its name, as shown in the application, ignoring case.
+     * @param text The name of the state.
+     * @return The state.
+     */
+    private static TaskStateUtils state(String text) {
+        for (TaskStateUtils state : TaskStateUtils.values()) {
+            if (state.toString().equalsIgnoreCase(text) || state.name().equalsIgnoreCase(text)) {
+                return state;
+            }
+        }
+        throw new IllegalArgumentException("Unknown state: " + text);
+    }
+
+    /**
+     * Finds a recurrence by its name, as shown in the application, ignoring case.
+     * @param text The name of the recurrence.
+     * @return The recurrence.
+     */
+    private static RecurrenceUtils recurrence(String text) {
+        for (RecurrenceUtils recurrence : RecurrenceUtils.values()) {
+            if (recurrence.toString().equalsIgnoreCase(text) || recurrence.name().equalsIgnoreCase(text)) {
+                return recurrence;
+            }
+        }
+        throw new IllegalArgumentException("Unknown recurrence: " + text);
+    }
+
+    /**
+     * Finds the id of a category by its name, ignoring case.
+     * @param name The name of the category.
+     * @return The id of the category.
+     */
+    private int categoryId(String name) {
+        for (Map.Entry<String, Integer> category : categoryRepository.getCategoryMap().entrySet()) {
+            if (category.getKey().equalsIgnoreCase(name)) {
+                return category.getValue();
+            }
+        }
+        throw new IllegalArgumentException("Unknown category: " + name);
+    }
+
+    /**
+     * Finds the id of a priority by its level, ignoring case.
+     * @param level The level of the priority.
+     * @return The id of the priority.
+     */
+    private int priorityId(String level) {
+        for (Map.Entry<String, Integer> priority : priorityRepository.getPriorityMap().entrySet()) {
+            if (priority.getKey().equalsIgnoreCase(level)) {
+                return priority.getValue();
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority: " + level);
+    }
+
+    /**
+     * An endpoint of the API, which produces the response of a request.
+     */
+    private interface Endpoint {
+
+        /**
+         * Produces the response.
+         * @return The response.
+         * @throws Exception If the request fails, IllegalArgumentException for a bad request.
+         */
+        Response call() throws Exception;
+    }
+
+    /**
+     * The status and the body of a response.
+     */
+    private static final class Response {
+
+        private final int status;
+        private final JsonNode body;
+
+        /**
+         * Constructor of a response.
+         * @param status The status code.
+         * @param body The body, null for no body.
+         */
+        private Response(int status, JsonNode body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
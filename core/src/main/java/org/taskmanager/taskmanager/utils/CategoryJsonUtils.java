@@ -97,6 +97,9 @@ public class CategoryJsonUtils {
             Category category = new Category(-1,"Uncategorized");
             categories.add(category);
             return categories;
+        } finally {
+            // The ids of the categories that were read are saved once, not on every one of them.
+            IdAllocator.saveObserved();
         }
     }
 
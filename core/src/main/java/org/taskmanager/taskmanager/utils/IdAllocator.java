@@ -0,0 +1,192 @@
+package org.taskmanager.taskmanager.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * This class hands out the ids of one kind of item of the application (tasks, notifications,
+ * categories or priorities). The ids are taken from a block leased in advance: before any id
+ * of a new block is handed out, the end of the block, the high-water mark, is saved to the JSON
+ * ids file. When the application starts again it continues after the saved mark, so an id is never
+ * handed out twice, not even the id of an item that was deleted or never saved because the application
+ * crashed, and new ids can be handed out before the items of the previous runs are loaded.
+ * Inside a block the ids are handed out with a single atomic operation, so any thread can create items.
+ * The marks of all the kinds are kept in the same file, which is replaced atomically on every save.
+ * The ids read from a file are only observed one by one, and the readers save the marks once the whole file is read.
+ */
+public class IdAllocator {
+
+    private static final String ID_FILE = "medialab/ids.json";
+
+    // How many ids are leased at once, every lease saves the ids file.
+    private static final int BLOCK_SIZE = 256;
+
+    // The saved high-water mark of every kind, read once when the first allocator is created.
+    private static final Map<String, Integer> highWaterMarks = readHighWaterMarks();
+
+    // Every allocator, so the ids observed while a file was read are saved for all the kinds at once.
+    private static final List<IdAllocator> allocators = new ArrayList<>();
+
+    private final String kind;
+
+    // The next id to hand out, and the end of the leased block, which is not part of it.
+    private final AtomicInteger nextId;
+    private volatile int leaseEnd;
+
+    /**
+     * Constructor of the IdAllocator, it continues after the high-water mark
+     * saved for its kind, or from 0 for a kind that was never saved.
+     * @param kind The name of the kind of items, the key of its mark in the ids file.
+     */
+    public IdAllocator(String kind) {
+        this.kind = kind;
+        synchronized (IdAllocator.class) {
+            this.leaseEnd = highWaterMarks.getOrDefault(kind, 0);
+            allocators.add(this);
+        }
+        this.nextId = new AtomicInteger(leaseEnd);
+    }
+
+    /**
+     * Hands out a new id. It can be called from any thread, and only waits when
+     * the leased block is used up and the next one has to be saved.
+     * @return An id that was never handed out before.
+     */
+    public int next() {
+        while (true) {
+            int id = nextId.get();
+            if (id >= leaseEnd) {
+                lease(id);
+            } else if (nextId.compareAndSet(id, id + 1)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Makes sure an id that already exists, for example one read from a JSON file,
+     * is never handed out. It is only needed for files saved before the ids file existed,
+     * as otherwise the saved high-water mark is already after every existing id.
+     * Nothing is saved here, as it is called for every item of a file: an id past the leased block
+     * makes the next id handed out lease a new block first, and the reader of the file calls
+     * saveObserved() once it is done, so the mark is saved once per file.
+     * @param id The id that exists.
+     */
+    public void observe(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Leases a new block for every kind whose observed ids reached past its leased block,
+     * saving the ids file a single time for all of them. It is called once a file of items was read,
+     * so the marks are saved right away and not only once the next id is handed out.
+     */
+    public static void saveObserved() {
+        synchronized (IdAllocator.class) {
+
+            Map<IdAllocator, Integer> newLeaseEnds = new HashMap<>();
+            for (IdAllocator allocator : allocators) {
+                int next = allocator.nextId.get();
+                if (next > allocator.leaseEnd) {
+                    newLeaseEnds.put(allocator, next + BLOCK_SIZE);
+                    highWaterMarks.put(allocator.kind, next + BLOCK_SIZE);
+                }
+            }
+
+            if (newLeaseEnds.isEmpty()) {
+                return;
+            }
+
+            // The marks are saved before any id of the new blocks can be handed out.
+            writeHighWaterMarks();
+            for (Map.Entry<IdAllocator, Integer> newLeaseEnd : newLeaseEnds.entrySet()) {
+                newLeaseEnd.getKey().leaseEnd = newLeaseEnd.getValue();
+            }
+        }
+    }
+
+    /**
+     * Leases the next block of ids, once the current one is used up, and saves
+     * its end before any of its ids is handed out.
+     * @param id The next id when the block was found to be used up.
+     */
+    private void lease(int id) {
+        synchronized (IdAllocator.class) {
+
+            // Another thread may have leased the block already.
+            if (id < leaseEnd) {
+                return;
+            }
+
+            int newLeaseEnd = Math.max(nextId.get(), id) + BLOCK_SIZE;
+            highWaterMarks.put(kind, newLeaseEnd);
+            writeHighWaterMarks();
+            leaseEnd = newLeaseEnd;
+        }
+    }
+
+    /**
+     * Reads the high-water marks of all the kinds from the ids file.
+     * @return The marks by kind, empty if the file does not exist or cannot be read.
+     */
+    private static Map<String, Integer> readHighWaterMarks() {
+
+        Map<String, Integer> marks = new TreeMap<>();
+        File file = new File(ID_FILE);
+
+        if (!file.exists() || file.length() == 0) {
+            return marks;
+        }
+
+        try {
+            JsonNode jsonNode = new ObjectMapper().readTree(file);
+            Iterator<Map.Entry<String, JsonNode>> fields = jsonNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                marks.put(field.getKey(), field.getValue().asInt());
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read the ids file, the ids continue from the loaded items: " + e.getMessage());
+        }
+        return marks;
+    }
+
+    /**
+     * Writes the high-water marks of all the kinds to the ids file. The marks are first
+     * written to a temporary file which then replaces the ids file, so a crash never leaves
+     * it half-written. It is called while the class is locked.
+     */
+    private static void writeHighWaterMarks() {
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode jsonNode = objectMapper.createObjectNode();
+        for (Map.Entry<String, Integer> mark : highWaterMarks.entrySet()) {
+            jsonNode.put(mark.getKey(), mark.getValue());
+        }
+
+        Path file = new File(ID_FILE).toPath();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(jsonNode),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to save the ids file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.taskmanager.taskmanager.utils;
+
+import java.time.LocalDate;
+
+/**
+ * This is an enumeration of the notification presets, the notifications
+ * that appear some time before the deadline of their task. There are 3 presets:
+ * 1 Day Before - The notification appears the day before the deadline.
+ * 1 Week Before - The notification appears a week before the deadline.
+ * 1 Month Before - The notification appears a month before the deadline.
+ * A preset notification keeps only its preset, its date is found from the
+ * deadline every time it is needed, so it follows the deadline when it changes.
+ * It contains methods for displaying NotificationPresetUtils and for finding the date.
+ */
+public enum NotificationPresetUtils {
+
+    /**
+     * Represents a notification the day before the deadline.
+     */
+    DAY_BEFORE("1 Day Before"),
+    /**
+     * Represents a notification a week before the deadline.
+     */
+    WEEK_BEFORE("1 Week Before"),
+    /**
+     * Represents a notification a month before the deadline.
+     */
+    MONTH_BEFORE("1 Month Before");
+
+    private final String displayName;
+
+    /**
+     * Constructor of the enumerator.
+     * @param displayName The name that is displayed when we need to display it in String.
+     */
+    NotificationPresetUtils(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Finds the date of a notification with this preset.
+     * @param deadline The deadline of the task of the notification.
+     * @return The date the notification appears.
+     */
+    public LocalDate resolve(LocalDate deadline) {
+        switch (this) {
+            case DAY_BEFORE:
+                return deadline.minusDays(1);
+            case WEEK_BEFORE:
+                return deadline.minusWeeks(1);
+            default:
+                return deadline.minusMonths(1);
+        }
+    }
+
+    /**
+     * Overrides the toString() method and returns the displayName.
+     * @return String returns the display name as String.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    /**
+     * Method used to turn a String preset to a NotificationPresetUtils preset,
+     * used for the preset drop-down menu and the JSON tasks file.
+     * @param text Receives the display name of one of the 3 presets.
+     * @return NotificationPresetUtils Returns the preset that the text corresponds to,
+     *         or null if it does not correspond to a preset, for example "Any".
+     */
+    public static NotificationPresetUtils fromString(String text) {
+
+        if (text == null) {
+            return null;
+        }
+        for (NotificationPresetUtils preset : NotificationPresetUtils.values()) {
+            if (preset.displayName.equalsIgnoreCase(text)) {
+                return preset;
+            }
+        }
+        return null;
+    }
+}
@@ -96,6 +96,9 @@ public class PriorityJsonUtils {
             Priority priority = new Priority(-1,"Default");
             priorities.add(priority);
             return priorities;
+        } finally {
+            // The ids of the priorities that were read are saved once, not on every one of them.
+            IdAllocator.saveObserved();
         }
     }
 
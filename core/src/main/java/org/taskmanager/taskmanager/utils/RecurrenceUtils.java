@@ -0,0 +1,112 @@
+package org.taskmanager.taskmanager.utils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * This is an enumeration used to organise properly
+ * how often a task repeats. There are 4 different recurrences:
+ * Does not repeat - The task happens once, at its deadline.
+ * Daily - The task happens every day.
+ * Weekly - The task happens every week, on the same day of the week.
+ * Monthly - The task happens every month, on the same day of the month.
+ * The occurrences of a recurring task are never stored, they are counted
+ * from the first deadline of the task whenever they are needed.
+ * It contains methods for displaying RecurrenceUtils and for finding the occurrences.
+ */
+public enum RecurrenceUtils {
+
+    /**
+     * Represents a task that does not repeat.
+     */
+    NONE("Does not repeat", null),
+    /**
+     * Represents a task that repeats every day.
+     */
+    DAILY("Daily", ChronoUnit.DAYS),
+    /**
+     * Represents a task that repeats every week.
+     */
+    WEEKLY("Weekly", ChronoUnit.WEEKS),
+    /**
+     * Represents a task that repeats every month.
+     */
+    MONTHLY("Monthly", ChronoUnit.MONTHS);
+
+    private final String displayName;
+    private final ChronoUnit unit;
+
+    /**
+     * Constructor of the enumerator.
+     * @param displayName The name that is displayed when we need to display it in String.
+     * @param unit The time between two occurrences, null if the task does not repeat.
+     */
+    RecurrenceUtils(String displayName, ChronoUnit unit) {
+        this.displayName = displayName;
+        this.unit = unit;
+    }
+
+    /**
+     * Finds the n-th occurrence of a recurring task. Counting from the first
+     * deadline keeps the day of the month, even after months with fewer days.
+     * @param start The first deadline of the task.
+     * @param n The number of the occurrence, 0 is the first deadline.
+     * @return The date of the occurrence.
+     */
+    public LocalDate occurrence(LocalDate start, long n) {
+        return unit == null ? start : start.plus(n, unit);
+    }
+
+    /**
+     * Finds the first occurrence of a recurring task after a date, without going
+     * through the occurrences before it.
+     * @param start The first deadline of the task.
+     * @param date The date after which the occurrence is needed.
+     * @return The first occurrence after the date, or the first deadline if the task does not repeat.
+     */
+    public LocalDate nextOccurrenceAfter(LocalDate start, LocalDate date) {
+
+        if (unit == null || date.isBefore(start)) {
+            return start;
+        }
+
+        // Start from the number of whole units between the dates, it is at most one occurrence early.
+        long n = unit.between(start, date);
+        LocalDate occurrence = occurrence(start, n);
+        while (!occurrence.isAfter(date)) {
+            occurrence = occurrence(start, ++n);
+        }
+        return occurrence;
+    }
+
+    /**
+     * Overrides the toString() method and returns the displayName.
+     * @return String returns the display name as String.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    /**
+     * Method used to turn String recurrence to RecurrenceUtils recurrence,
+     * used by the readTaskListFromFile method in TaskJsonUtils.
+     * @param text Receives a String of text that will be turned into one
+     *             of the 4 different recurrences.
+     * @return RecurrenceUtils Returns the recurrence that the text corresponds to, or
+     *         Does not repeat if it is empty or corresponds to invalid recurrence.
+     */
+    public static RecurrenceUtils fromString(String text) {
+
+        if (text == null) {
+            return RecurrenceUtils.NONE;
+        }
+        for (RecurrenceUtils recurrence : RecurrenceUtils.values()) {
+            if (recurrence.displayName.equalsIgnoreCase(text)) {
+                return recurrence;
+            }
+        }
+        System.out.println("No matching Recurrence for: " + text + ", returning Does not repeat");
+        return RecurrenceUtils.NONE;
+    }
+}
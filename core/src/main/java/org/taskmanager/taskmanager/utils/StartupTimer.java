@@ -0,0 +1,39 @@
+package org.taskmanager.taskmanager.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is used to report how long each phase of the
+ * application startup takes. It is created when the application
+ * starts and every call of the phase method prints how long
+ * the phase took, as well as the time since the application started.
+ * Phases can end on different threads, so the methods are synchronized.
+ */
+public class StartupTimer {
+
+    private final long startTime;
+    private long phaseStartTime;
+
+    /**
+     * Constructor of the StartupTimer, the startup and the first phase start now.
+     */
+    public StartupTimer() {
+        this.startTime = System.nanoTime();
+        this.phaseStartTime = startTime;
+    }
+
+    /**
+     * Ends the current phase, prints its duration and starts the next phase.
+     * @param phase The name of the phase that just ended.
+     */
+    public synchronized void phase(String phase) {
+
+        long now = System.nanoTime();
+
+        System.out.println("Startup phase '" + phase + "' took "
+                + TimeUnit.NANOSECONDS.toMillis(now - phaseStartTime) + " ms ("
+                + TimeUnit.NANOSECONDS.toMillis(now - startTime) + " ms since start)");
+
+        phaseStartTime = now;
+    }
+}
@@ -0,0 +1,265 @@
+package org.taskmanager.taskmanager.utils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.taskmanager.taskmanager.model.*;
+
+/**
+ *  This class is used for the communication between the
+ *  Task Repository and the JSON document. It includes
+ *  methods for reading a Task List from a JSON file, either
+ *  at once or in batches, and one for writing a Task List on a JSON file.
+ */
+
+public class TaskJsonUtils {
+
+    // The number of tasks handed over at a time when the whole file is read at once.
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * The constructor of the TaskJsonUtils which is never used or called.
+     */
+    public  TaskJsonUtils(){}
+
+    /**
+     * This method is used to read the JSON file with the
+     * Tasks stored in it. The Tasks are then
+     * stored in the Task Repository and used for all
+     * the CRUD methods in the application revolving around
+     * Tasks.
+     *
+     * @param filePath The file path to the JSON file.
+     * @return The list of all Tasks from the JSON file.
+     * @throws IOException Returns an empty list in case of an error.
+     */
+    public static List<Task> readTaskListFromFile(String filePath) throws IOException {
+
+        List<Task> tasks = new ArrayList<>();
+
+        // Collect every batch into a single list, an error returns an empty list as before.
+        if (!readTaskListFromFile(filePath, DEFAULT_BATCH_SIZE, tasks::addAll)) {
+            return new ArrayList<>();
+        }
+        return tasks;
+    }
+
+    /**
+     * This method reads the JSON file with the Tasks stored in it one task
+     * at a time and hands them over in batches, so that the caller can show
+     * the first tasks before the whole file has been read. The tree of the
+     * whole file is never built, only the tree of the current task.
+     *
+     * @param filePath The file path to the JSON file.
+     * @param batchSize The maximum number of tasks in each batch.
+     * @param batchConsumer Receives every batch of tasks in the order they appear in the file.
+     * @return True if the whole file was read, False in case of invalid JSON format or any error.
+     */
+    public static boolean readTaskListFromFile(String filePath, int batchSize, Consumer<List<Task>> batchConsumer) {
+
+        File file = new File(filePath);
+
+        /*
+            Checking whether the file exists. If it doesn't exist, there
+            is nothing to hand over.
+        */
+        if (!file.exists() || file.length() == 0) {
+            System.out.println("No tasks found. Returning an empty list.");
+            return true;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(file)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                System.err.println("Invalid JSON format. Returning an empty list.");
+                return false;
+            }
+
+            List<Task> batch = new ArrayList<>(batchSize);
+
+            // Read the tasks one by one, each one is a JSON object inside the array.
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+
+                JsonNode jsonNode = objectMapper.readTree(parser);
+
+                if (jsonNode.isEmpty()) {
+                    continue;
+                }
+
+                batch.add(taskFromNode(jsonNode));
+
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(batch);
+            }
+            return true;
+
+            // In the case of invalid JSON format or any error, stop reading.
+        } catch (JsonParseException | JsonMappingException e) {
+            System.err.println("Invalid JSON format. Returning an empty list.");
+            return false;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            // The ids of the tasks and notifications that were read are saved once, not on every task.
+            IdAllocator.saveObserved();
+        }
+    }
+
+    /**
+     * Creates a task, along with its notifications, from its JSON node.
+     * @param jsonNode The JSON node of the task.
+     * @return The task the JSON node describes.
+     */
+    private static Task taskFromNode(JsonNode jsonNode) {
+
+        List<Notification> notifications = new ArrayList<>();
+        JsonNode notificationsNode = jsonNode.get("notifications");
+
+        /*
+            From each jsonNode create a notification. Notifications are
+            stored in JsonNodes inside the task json node.
+        */
+        if (notificationsNode != null && notificationsNode.isArray()) {
+            for (JsonNode notificationNode : notificationsNode) {
+                String message = notificationNode.get("message").asText();
+                NotificationPresetUtils preset = notificationNode.has("preset")
+                        ? NotificationPresetUtils.fromString(notificationNode.get("preset").asText())
+                        : null;
+
+                // A preset notification keeps only its preset, its date is found from the deadline.
+                String date = preset != null ? null : notificationNode.get("date").asText();
+
+                // The saved id is kept, so a notification is the same one in every run, files without it get new ids.
+                Notification notification;
+                if (notificationNode.has("notificationId")) {
+                    notification = new Notification(notificationNode.get("notificationId").asInt(), message, date);
+                } else {
+                    notification = new Notification(message, date);
+                }
+                if (preset != null) {
+                    notification.setPreset(preset);
+                }
+                notifications.add(notification);
+            }
+        }
+
+        // From each jsonNode create a task.
+        Task task = new Task(jsonNode.get("taskID").asInt(),
+                jsonNode.get("name").asText(),
+                jsonNode.get("description").asText(),
+                jsonNode.get("dueDate").asText(),
+                jsonNode.get("categoryID").asInt(),
+                jsonNode.get("priorityID").asInt(),
+                notifications,
+                TaskStateUtils.fromString(jsonNode.get("state").asText())
+        );
+
+        // Only recurring tasks keep a recurrence, along with the date their occurrences are counted from.
+        if (jsonNode.has("recurrence")) {
+            task.setRecurrence(RecurrenceUtils.fromString(jsonNode.get("recurrence").asText()),
+                    jsonNode.path("recurrenceStart").asText(task.getDeadline()));
+        }
+
+        /*
+            Checking directly here if the task is delayed in order to
+            directly add it to the application with the correct state.
+        */
+        task.checkIfDelayed();
+        return task;
+    }
+
+    /**
+     * This method is used to write in the JSON file with the
+     * Tasks stored in the application memory, inside the Task Repository.
+     * The Tasks are then stored in the JSON file with the proper name and
+     * will be used again once we open the application. They are first written
+     * to a temporary file which then replaces the JSON file, so a crash while
+     * saving never leaves it half-written.
+     *
+     * @param filePath The file path to the JSON file.
+     * @param tasks    The list of Tasks that were used in the application and will be stored.
+     * @throws IOException In case of an error nothing is saved and the JSON file remains untouched.
+     */
+    public static void writeTaskListToFile(String filePath, List<Task> tasks) throws IOException {
+
+        Path file = new File(filePath).toPath();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        ObjectMapper objectMapper = new ObjectMapper();
+        ArrayList<ObjectNode> jsonNodes = new ArrayList<>();
+
+        try {
+            
+            /* 
+                In this for-loop we create jsonNodes based on the Tasks we have
+                and create an ArrayList of jsonNodes to write in our file.
+            */
+            for (Task task : tasks) {
+
+                ObjectNode jsonNode = objectMapper.createObjectNode();
+
+                ArrayNode notificationsArray = objectMapper.createArrayNode();
+
+                /*
+                    First we need to create a Json Node of notifications in order
+                    to store them properly inside the task.
+                 */
+                for (Notification notification : task.getNotifications()) {
+                    ObjectNode notificationNode = objectMapper.createObjectNode();
+                    notificationNode.put("notificationId", notification.getNotificationId());
+                    notificationNode.put("message", notification.getMessage());
+                    notificationNode.put("date", notification.getNotificationDate());
+                    if (notification.getPreset() != null) {
+                        notificationNode.put("preset", notification.getPreset().toString());
+                    }
+                    notificationsArray.add(notificationNode);
+                }
+
+                // Then we create the Task JsonNode and we include notifications there.
+                jsonNode.put("taskID", task.getTaskId());
+                jsonNode.put("name", task.getName());
+                jsonNode.put("description", task.getDescription());
+                jsonNode.put("dueDate", task.getDeadline());
+                jsonNode.put("categoryID", task.getCategoryId());
+                jsonNode.put("priorityID", task.getPriorityId());
+                jsonNode.set("notifications", notificationsArray);
+                jsonNode.put("state", task.getState().toString());
+                if (task.isRecurring()) {
+                    jsonNode.put("recurrence", task.getRecurrence().toString());
+                    jsonNode.put("recurrenceStart", task.getRecurrenceStart());
+                }
+                jsonNodes.add(jsonNode);
+            }
+
+            // The objectMapper is used to properly write the Nodes on the temporary file, which then replaces the JSON file.
+            objectMapper.writeValue(temporary.toFile(), jsonNodes);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // In case of failure, the previous file still exists.
+            System.err.println("Failed to save tasks: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
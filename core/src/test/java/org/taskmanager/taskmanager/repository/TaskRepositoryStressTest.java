@@ -0,0 +1,312 @@
+package org.taskmanager.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.taskmanager.taskmanager.model.Task;
+import org.taskmanager.taskmanager.utils.RecurrenceUtils;
+import org.taskmanager.taskmanager.utils.TaskStateUtils;
+
+/**
+ * This class stresses the task repository from many threads at once, with some threads
+ * adding, updating and deleting tasks and others searching and counting them.
+ * Every writer only changes the tasks it added itself and remembers what it last wrote to each,
+ * so once every thread is done the repository must hold exactly the tasks the writers kept,
+ * with the values they last wrote, and the latest snapshot and the state counts
+ * must agree with it. A subscriber follows the change stream meanwhile and checks that it sees
+ * every sequence number in order.
+ */
+class TaskRepositoryStressTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final long SECONDS = 2;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    /**
+     * Creates the medialab folder of the working directory, where the ids and the changes are saved.
+     * @throws IOException If the folder cannot be created.
+     */
+    @BeforeAll
+    static void createMediaLabFolder() throws IOException {
+        Files.createDirectories(Paths.get("medialab"));
+    }
+
+    /**
+     * Runs the writers and the readers together and checks the repository once they are done.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    void concurrentChangesKeepTheRepositoryConsistent() throws InterruptedException {
+
+        TaskRepository taskRepository = new TaskRepository();
+        taskRepository.deleteAll(taskRepository.snapshot());
+
+        SequenceChecker checker = new SequenceChecker(taskRepository.changes());
+        taskRepository.changes().subscribe(checker, taskRepository.changes().latestSequence() + 1, 16_384, ChangeStream.OverflowPolicy.ERROR);
+
+        // What every writer last wrote to each of its tasks, by task id.
+        Map<Integer, Task> expected = new ConcurrentHashMap<>();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        CountDownLatch finished = new CountDownLatch(WRITERS + READERS);
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < WRITERS; i++) {
+            threads.add(new Thread(() -> {
+                Map<Integer, Task> own = new HashMap<>();
+                try {
+                    while (System.nanoTime() < end) {
+                        write(taskRepository, own);
+                    }
+                    expected.putAll(own);
+                } catch (Throwable throwable) {
+                    synchronized (failures) {
+                        failures.add(throwable);
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            }, "writer-" + i));
+        }
+        for (int i = 0; i < READERS; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        read(taskRepository);
+                    }
+                } catch (Throwable throwable) {
+                    synchronized (failures) {
+                        failures.add(throwable);
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            }, "reader-" + i));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        assertTrue(finished.await(SECONDS + 30, TimeUnit.SECONDS), "The threads did not finish");
+        assertTrue(failures.isEmpty(), () -> "A thread failed: " + failures.get(0));
+
+        // No update was lost: the repository holds exactly the tasks the writers kept, as they left them.
+        Set<Integer> ids = new HashSet<>();
+        for (Task task : taskRepository.snapshot()) {
+            ids.add(task.getTaskId());
+        }
+        assertEquals(expected.keySet(), ids, "The repository does not hold the tasks the writers kept");
+        for (Task task : taskRepository.snapshot()) {
+            Task written = expected.get(task.getTaskId());
+            assertEquals(written.getDescription(), task.getDescription(), "Lost update of task " + task.getTaskId());
+            assertEquals(written.getState(), task.getState(), "Lost state change of task " + task.getTaskId());
+            assertEquals(written.getDeadline(), task.getDeadline(), "Lost deadline of task " + task.getTaskId());
+        }
+        assertEquals(expected.size(), taskRepository.size());
+
+        // The latest snapshot has a copy of every task, with the same values.
+        TaskSnapshot snapshot = taskRepository.currentSnapshot();
+        assertEquals(expected.size(), snapshot.size());
+        for (Task task : taskRepository.snapshot()) {
+            Task copy = snapshot.get(task.getTaskId());
+            assertNotNull(copy, "The snapshot misses task " + task.getTaskId());
+            assertEquals(task.getState(), copy.getState());
+            assertEquals(task.getDeadline(), copy.getDeadline());
+            assertEquals(task.getDescription(), copy.getDescription());
+        }
+
+        // The state counts add up to the tasks and agree with each task.
+        int counted = 0;
+        for (TaskStateUtils state : TaskStateUtils.values()) {
+            int inState = 0;
+            for (Task task : taskRepository.snapshot()) {
+                if (task.getState() == state) {
+                    inState++;
+                }
+            }
+            assertEquals(inState, taskRepository.countTasks(state), "The count of " + state + " is wrong");
+            counted += inState;
+        }
+        assertEquals(expected.size(), counted);
+
+        // The checker is given a few seconds to catch up with the last change.
+        long latest = taskRepository.changes().latestSequence();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (checker.lastSequence < latest && checker.error == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(checker.error, () -> "The change stream failed: " + checker.error);
+        assertEquals(latest, checker.lastSequence, "The change stream did not reach the last change");
+    }
+
+    /**
+     * Makes a random change to one of the tasks of the writer, tasks are added as often as they are deleted.
+     * The values the writer expects of each task are kept as a copy of the task after the change.
+     * @param taskRepository The repository to change.
+     * @param own The tasks the writer added and has not deleted, by id.
+     */
+    private static void write(TaskRepository taskRepository, Map<Integer, Task> own) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int operation = random.nextInt(10);
+
+        if (operation < 3 || own.isEmpty()) {
+            Task task = taskRepository.add("Task " + random.nextInt(100_000), "Added by the stress test", randomDate(random),
+                    -1, -1, TaskStateUtils.OPEN, RecurrenceUtils.NONE);
+            own.put(task.getTaskId(), task.copy());
+            return;
+        }
+
+        List<Integer> ids = new ArrayList<>(own.keySet());
+        Task task = find(taskRepository, ids.get(random.nextInt(ids.size())));
+
+        switch (operation) {
+            case 3:
+            case 4:
+            case 5:
+                TaskStateUtils state = random.nextBoolean() ? TaskStateUtils.IN_PROGRESS : TaskStateUtils.POSTPONED;
+                String description = "Update " + random.nextInt(1_000_000);
+                taskRepository.update(task, task.getName(), description, randomDate(random), -1, -1, state, RecurrenceUtils.NONE);
+                break;
+            case 6:
+                taskRepository.updateState(List.of(task), TaskStateUtils.COMPLETED);
+                break;
+            default:
+                taskRepository.delete(task.getTaskId());
+                own.remove(task.getTaskId());
+                return;
+        }
+        own.put(task.getTaskId(), find(taskRepository, task.getTaskId()).copy());
+    }
+
+    /**
+     * Reads the repository in one of the ways the controllers do.
+     * @param taskRepository The repository to read.
+     */
+    private static void read(TaskRepository taskRepository) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        switch (random.nextInt(4)) {
+            case 0:
+                taskRepository.searchTasks("Task 1", -2, -2);
+                break;
+            case 1:
+                taskRepository.snapshot();
+                break;
+            case 2:
+                taskRepository.statistics();
+                break;
+            default:
+                taskRepository.countTasks(TaskStateUtils.COMPLETED);
+                break;
+        }
+    }
+
+    /**
+     * Finds a task of the repository by its id, the writers only look for their own tasks.
+     * @param taskRepository The repository to search.
+     * @param taskId The id of the task.
+     * @return The task of the repository.
+     */
+    private static Task find(TaskRepository taskRepository, int taskId) {
+        Task task = taskRepository.currentSnapshot().get(taskId);
+        assertNotNull(task, "Task " + taskId + " disappeared");
+        for (Task live : taskRepository.snapshot()) {
+            if (live.getTaskId() == taskId) {
+                return live;
+            }
+        }
+        throw new AssertionError("Task " + taskId + " is in the snapshot but not in the repository");
+    }
+
+    /**
+     * Picks a random deadline after today, so that no task becomes delayed during the test.
+     * @param random The random generator of the thread.
+     * @return The deadline in the yyyy-MM-dd format.
+     */
+    private static String randomDate(ThreadLocalRandom random) {
+        return TODAY.plusDays(random.nextInt(1, 60)).toString();
+    }
+
+    /**
+     * A subscriber that keeps up with the change stream and checks that the sequence numbers have
+     * no gaps. When its buffer overflows it resumes after the last change it saw.
+     */
+    private static final class SequenceChecker implements Flow.Subscriber<ChangeRecord<Task>> {
+
+        private final ChangeStream<Task> stream;
+        private volatile long lastSequence;
+        private volatile Throwable error;
+
+        /**
+         * Constructor of the SequenceChecker.
+         * @param stream The stream it follows, used to resume.
+         */
+        private SequenceChecker(ChangeStream<Task> stream) {
+            this.stream = stream;
+            this.lastSequence = stream.latestSequence();
+        }
+
+        /**
+         * Requests all the changes.
+         * @param subscription The subscription to the stream.
+         */
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        /**
+         * Checks that the change follows the previous one.
+         * @param record The change.
+         */
+        @Override
+        public void onNext(ChangeRecord<Task> record) {
+            if (record.getSequence() != lastSequence + 1 && error == null) {
+                error = new IllegalStateException("Change " + record + " after " + lastSequence);
+            }
+            lastSequence = record.getSequence();
+        }
+
+        /**
+         * Resumes after the last change it saw, the overflow is the only expected error.
+         * @param throwable The reason the subscription ended.
+         */
+        @Override
+        public void onError(Throwable throwable) {
+            if (error == null && throwable.getMessage().startsWith("The buffer")) {
+                stream.subscribe(this, lastSequence + 1, 16_384, ChangeStream.OverflowPolicy.ERROR);
+            } else if (error == null) {
+                error = throwable;
+            }
+        }
+
+        /**
+         * The stream never completes.
+         */
+        @Override
+        public void onComplete() {}
+    }
+}